@@ -0,0 +1,132 @@
+package com.kylas.sales.workflow;
+
+import static com.kylas.sales.workflow.domain.workflow.EntityType.LEAD;
+import static com.kylas.sales.workflow.domain.workflow.TriggerFrequency.CREATED;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.context.support.TestPropertySourceUtils.addInlinedPropertiesToEnvironment;
+
+import com.kylas.sales.workflow.ActiveWorkflowRegistryIntegrationTests.TestMqSetup;
+import com.kylas.sales.workflow.config.TestDatabaseInitializer;
+import com.kylas.sales.workflow.domain.ActiveWorkflowRegistry;
+import com.kylas.sales.workflow.domain.WorkflowFacade;
+import com.kylas.sales.workflow.domain.user.User;
+import com.kylas.sales.workflow.domain.workflow.Workflow;
+import com.kylas.sales.workflow.mq.event.WorkflowRegistryInvalidatedEvent;
+import com.kylas.sales.workflow.security.AuthService;
+import com.kylas.sales.workflow.stubs.UserStub;
+import java.util.List;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.jdbc.Sql;
+import org.testcontainers.containers.RabbitMQContainer;
+
+@SpringBootTest(properties = "workflow.registry.enabled=true")
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@ContextConfiguration(initializers = {TestMqSetup.class, TestDatabaseInitializer.class})
+public class ActiveWorkflowRegistryIntegrationTests {
+
+  static final String WORKFLOW_EXCHANGE = "ex.workflow";
+
+  private static RabbitMQContainer rabbitMQContainer =
+      new RabbitMQContainer("rabbitmq:3.7-management-alpine");
+
+  @Autowired private WorkflowFacade workflowFacade;
+  @Autowired private ActiveWorkflowRegistry activeWorkflowRegistry;
+  @Autowired private RabbitTemplate rabbitTemplate;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @MockBean AuthService authService;
+
+  @BeforeAll
+  public static void initialise() {
+    rabbitMQContainer.start();
+  }
+
+  @AfterAll
+  public static void tearDown() {
+    rabbitMQContainer.stop();
+  }
+
+  @BeforeEach
+  public void clearRegistry() {
+    activeWorkflowRegistry.clear();
+  }
+
+  @Test
+  @Sql("/test-scripts/insert-create-lead-workflow.sql")
+  public void givenWorkflowDeactivated_shouldInvalidateCachedActiveWorkflows() {
+    // given
+    User aUser = UserStub.aUser(12L, 99L, true, true, true, true, true).withName("user 1");
+    given(authService.getLoggedInUser()).willReturn(aUser);
+    var cached = workflowFacade.findActiveBy(99L, LEAD, CREATED);
+    assertThat(cached).extracting(Workflow::getId).containsExactly(301L);
+    assertThat(workflowFacade.findActiveBy(99L, LEAD, CREATED)).isSameAs(cached);
+    // when
+    workflowFacade.deactivate(301L);
+    // then
+    assertThat(workflowFacade.findActiveBy(99L, LEAD, CREATED)).isEmpty();
+  }
+
+  @Test
+  @Sql("/test-scripts/insert-create-lead-workflow.sql")
+  public void givenInvalidationFromAnotherInstance_shouldReloadActiveWorkflows() throws InterruptedException {
+    // given
+    var cached = workflowFacade.findActiveBy(99L, LEAD, CREATED);
+    assertThat(cached).extracting(Workflow::getId).containsExactly(301L);
+    jdbcTemplate.update("UPDATE workflow SET active = false WHERE id = 301");
+    assertThat(workflowFacade.findActiveBy(99L, LEAD, CREATED)).isSameAs(cached);
+    // when
+    rabbitTemplate.convertAndSend(WORKFLOW_EXCHANGE, WorkflowRegistryInvalidatedEvent.getEventName(),
+        new WorkflowRegistryInvalidatedEvent(99L, 301L, LEAD, CREATED));
+    // then
+    assertThat(awaitReload(() -> workflowFacade.findActiveBy(99L, LEAD, CREATED), cached)).isEmpty();
+  }
+
+  private List<Workflow> awaitReload(Supplier<List<Workflow>> lookup, List<Workflow> cached) throws InterruptedException {
+    var workflows = lookup.get();
+    for (int attempt = 0; attempt < 50 && workflows == cached; attempt++) {
+      Thread.sleep(100);
+      workflows = lookup.get();
+    }
+    return workflows;
+  }
+
+  @TestConfiguration
+  public static class TestMqSetup
+      implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+
+    @Override
+    public void initialize(ConfigurableApplicationContext configurableApplicationContext) {
+      rabbitMQContainer.withExchange(WORKFLOW_EXCHANGE, "topic").start();
+
+      addInlinedPropertiesToEnvironment(
+          configurableApplicationContext,
+          "spring.rabbitmq.port=" + rabbitMQContainer.getAmqpPort());
+      addInlinedPropertiesToEnvironment(
+          configurableApplicationContext,
+          "spring.rabbitmq.host=" + rabbitMQContainer.getContainerIpAddress());
+      addInlinedPropertiesToEnvironment(
+          configurableApplicationContext,
+          "spring.rabbitmq.username=" + rabbitMQContainer.getAdminUsername());
+      addInlinedPropertiesToEnvironment(
+          configurableApplicationContext,
+          "spring.rabbitmq.password=" + rabbitMQContainer.getAdminPassword());
+      addInlinedPropertiesToEnvironment(
+          configurableApplicationContext, "spring.rabbitmq.virtual-host=" + "/");
+    }
+  }
+}
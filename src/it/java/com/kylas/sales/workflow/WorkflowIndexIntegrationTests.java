@@ -0,0 +1,127 @@
+package com.kylas.sales.workflow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kylas.sales.workflow.config.TestDatabaseInitializer;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+
+@SpringBootTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@ContextConfiguration(initializers = {TestDatabaseInitializer.class})
+@TestInstance(Lifecycle.PER_CLASS)
+public class WorkflowIndexIntegrationTests {
+
+  private static final int TENANTS = 10_000;
+  private static final int WORKFLOWS = 1_000_000;
+  private static final long FIRST_USER_ID = 900_000L;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @BeforeAll
+  void seed() {
+    jdbcTemplate.update(
+        "INSERT INTO users (id, tenant_id, name) "
+            + "SELECT ? + t, t, 'user-' || t FROM generate_series(1, ?) t",
+        FIRST_USER_ID, TENANTS);
+    jdbcTemplate.update(
+        "INSERT INTO workflow (name, description, entity_type, tenant_id, created_by, created_at, updated_by, updated_at, active) "
+            + "SELECT 'workflow-' || i, repeat('description ', 50), "
+            + "(ARRAY['LEAD','CONTACT','DEAL'])[1 + (i / ?) % 3], "
+            + "1 + i % ?, ? + 1 + i % ?, now() - (i || ' minutes')::interval, "
+            + "? + 1 + i % ?, now() - ((i % 100000) || ' seconds')::interval, "
+            + "(i / ?) % 4 <> 0 "
+            + "FROM generate_series(0, ? - 1) i",
+        TENANTS, TENANTS, FIRST_USER_ID, TENANTS, FIRST_USER_ID, TENANTS, TENANTS, WORKFLOWS);
+    jdbcTemplate.update(
+        "INSERT INTO workflow_trigger (trigger_type, trigger_frequency, workflow_id) "
+            + "SELECT 'EVENT', CASE WHEN (id / 7) % 2 = 0 THEN 'CREATED' ELSE 'UPDATED' END, id FROM workflow");
+    jdbcTemplate.execute("VACUUM ANALYZE workflow");
+    jdbcTemplate.execute("VACUUM ANALYZE workflow_trigger");
+  }
+
+  @AfterAll
+  void cleanUp() {
+    jdbcTemplate.execute("TRUNCATE workflow CASCADE");
+    jdbcTemplate.update("DELETE FROM users WHERE id > ?", FIRST_USER_ID);
+  }
+
+  @Test
+  public void givenActiveWorkflowLookup_shouldUseCompositeIndexes() throws IOException {
+    var plan = explain(
+        "SELECT w.* FROM workflow w JOIN workflow_trigger t ON t.workflow_id = w.id "
+            + "WHERE w.tenant_id = 4242 AND w.entity_type = 'CONTACT' AND w.active = true AND t.trigger_frequency = 'UPDATED'");
+
+    assertThat(seqScannedRelations(plan)).doesNotContain("workflow", "workflow_trigger");
+    assertThat(indexNames(plan)).contains("idx_workflow_active_tenant_entity", "idx_workflow_trigger_workflow_frequency");
+  }
+
+  @Test
+  public void givenUsageAggregation_shouldScanOnlyPartialIndex() throws IOException {
+    var plan = explain("SELECT tenant_id, count(id) FROM workflow WHERE active = true GROUP BY tenant_id");
+
+    assertThat(nodes(plan))
+        .anyMatch(node -> "Index Only Scan".equals(node.path("Node Type").asText())
+            && "idx_workflow_active_tenant_entity".equals(node.path("Index Name").asText()));
+  }
+
+  @Test
+  public void givenTenantSearchSortedByUpdatedAt_shouldAvoidSequentialScan() throws IOException {
+    var unfiltered = explain("SELECT * FROM workflow WHERE tenant_id = 4242 ORDER BY updated_at DESC LIMIT 10");
+    var filtered = explain(
+        "SELECT * FROM workflow WHERE tenant_id = 4242 AND entity_type = 'LEAD' ORDER BY updated_at DESC LIMIT 10");
+
+    assertThat(seqScannedRelations(unfiltered)).doesNotContain("workflow");
+    assertThat(indexNames(unfiltered)).contains("idx_workflow_tenant_updated_at");
+    assertThat(seqScannedRelations(filtered)).doesNotContain("workflow");
+  }
+
+  private JsonNode explain(String sql) throws IOException {
+    var json = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + sql, String.class);
+    return objectMapper.readTree(json).get(0).get("Plan");
+  }
+
+  private List<JsonNode> nodes(JsonNode plan) {
+    var nodes = new ArrayList<JsonNode>();
+    collect(plan, nodes);
+    return nodes;
+  }
+
+  private void collect(JsonNode node, List<JsonNode> nodes) {
+    nodes.add(node);
+    node.path("Plans").forEach(child -> collect(child, nodes));
+  }
+
+  private List<String> seqScannedRelations(JsonNode plan) {
+    return nodes(plan).stream()
+        .filter(node -> "Seq Scan".equals(node.path("Node Type").asText()))
+        .map(node -> node.path("Relation Name").asText())
+        .collect(Collectors.toList());
+  }
+
+  private List<String> indexNames(JsonNode plan) {
+    return nodes(plan).stream()
+        .map(node -> node.path("Index Name").asText(null))
+        .filter(Objects::nonNull)
+        .collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,91 @@
+package com.kylas.sales.workflow.load;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+class LatencyRecorder {
+
+  private static final long PENDING = -1L;
+
+  private final long firstSequence;
+  private final AtomicLongArray scheduledAt;
+  private final AtomicLongArray latencies;
+  private final CountDownLatch completions;
+  private final AtomicLong duplicates = new AtomicLong();
+  private volatile long lastCompletedAt;
+
+  LatencyRecorder(long firstSequence, int events) {
+    this.firstSequence = firstSequence;
+    this.scheduledAt = new AtomicLongArray(events);
+    this.latencies = new AtomicLongArray(events);
+    for (int i = 0; i < events; i++) {
+      latencies.set(i, PENDING);
+    }
+    this.completions = new CountDownLatch(events);
+  }
+
+  /*
+   * Latency is measured from the intended send time rather than the actual one, so a stalled publisher
+   * does not hide queueing delay (coordinated omission).
+   */
+  void scheduled(long sequence, long nanoTime) {
+    scheduledAt.set(index(sequence), nanoTime);
+  }
+
+  void completed(long sequence, long nanoTime) {
+    var index = index(sequence);
+    if (index < 0 || index >= latencies.length()) {
+      return;
+    }
+    if (latencies.compareAndSet(index, PENDING, nanoTime - scheduledAt.get(index))) {
+      lastCompletedAt = nanoTime;
+      completions.countDown();
+    } else {
+      duplicates.incrementAndGet();
+    }
+  }
+
+  boolean await(long timeout, TimeUnit unit) throws InterruptedException {
+    return completions.await(timeout, unit);
+  }
+
+  long completed() {
+    return latencies.length() - completions.getCount();
+  }
+
+  long duplicates() {
+    return duplicates.get();
+  }
+
+  long lastCompletedAt() {
+    return lastCompletedAt;
+  }
+
+  long[] sortedLatencies() {
+    var sorted = new long[(int) completed()];
+    int n = 0;
+    for (int i = 0; i < latencies.length() && n < sorted.length; i++) {
+      var latency = latencies.get(i);
+      if (latency != PENDING) {
+        sorted[n++] = latency;
+      }
+    }
+    Arrays.sort(sorted, 0, n);
+    return n == sorted.length ? sorted : Arrays.copyOf(sorted, n);
+  }
+
+  static double percentileMillis(long[] sorted, double percentile) {
+    if (sorted.length == 0) {
+      return Double.NaN;
+    }
+    var rank = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+    return sorted[Math.max(0, Math.min(rank, sorted.length - 1))] / 1_000_000D;
+  }
+
+  private int index(long sequence) {
+    return (int) (sequence - firstSequence);
+  }
+}
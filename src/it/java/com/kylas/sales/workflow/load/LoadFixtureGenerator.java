@@ -0,0 +1,230 @@
+package com.kylas.sales.workflow.load;
+
+import static com.kylas.sales.workflow.mq.event.ContactEvent.getContactCreatedEventName;
+import static com.kylas.sales.workflow.mq.event.ContactEvent.getContactUpdatedEventName;
+import static com.kylas.sales.workflow.mq.event.DealEvent.getDealCreatedEventName;
+import static com.kylas.sales.workflow.mq.event.DealEvent.getDealUpdatedEventName;
+import static com.kylas.sales.workflow.mq.event.LeadEvent.getLeadCreatedEventName;
+import static com.kylas.sales.workflow.mq.event.LeadEvent.getLeadUpdatedEventName;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.kylas.sales.workflow.domain.workflow.EntityType;
+import com.kylas.sales.workflow.domain.workflow.TriggerFrequency;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@Slf4j
+class LoadFixtureGenerator {
+
+  static final long FIRST_ID = 5_000_000L;
+  static final String WEBHOOK_PATH = "/load/webhook/";
+
+  private static final List<TriggerFrequency> FREQUENCIES = List.of(TriggerFrequency.CREATED, TriggerFrequency.UPDATED);
+
+  private final JdbcTemplate jdbcTemplate;
+  private final ObjectMapper objectMapper;
+  private final LoadProfile profile;
+  private final String webhookBaseUrl;
+  private final Random random = new Random(42);
+
+  LoadFixtureGenerator(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, LoadProfile profile, String webhookBaseUrl) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.objectMapper = objectMapper;
+    this.profile = profile;
+    this.webhookBaseUrl = webhookBaseUrl;
+  }
+
+  int seed() {
+    List<Object[]> users = new ArrayList<>();
+    List<Object[]> workflows = new ArrayList<>();
+    List<Object[]> triggers = new ArrayList<>();
+    List<Object[]> conditions = new ArrayList<>();
+    List<Object[]> actions = new ArrayList<>();
+    List<Object[]> editPropertyActions = new ArrayList<>();
+    List<Object[]> webhookActions = new ArrayList<>();
+    List<Object[]> parameters = new ArrayList<>();
+    List<Object[]> executedEvents = new ArrayList<>();
+    var now = new Timestamp(System.currentTimeMillis());
+    long workflowId = FIRST_ID;
+
+    for (int t = 0; t < profile.getTenants(); t++) {
+      long tenantId = FIRST_ID + t;
+      long userId = FIRST_ID + t;
+      users.add(new Object[]{userId, tenantId, "load-user-" + t});
+      for (EntityType entityType : profile.getEntityTypes()) {
+        for (TriggerFrequency frequency : FREQUENCIES) {
+          for (int k = 0; k < profile.getWorkflowsPerTrigger(); k++, workflowId++) {
+            workflows.add(new Object[]{workflowId, "load-" + workflowId, entityType.name(), tenantId, userId, now, userId, now});
+            triggers.add(new Object[]{frequency.name(), workflowId});
+            if (k > 0 && random.nextDouble() < profile.getConditionRatio()) {
+              conditions.add(new Object[]{"CONDITION_BASED", conditionOf(entityType, frequency), workflowId});
+            } else {
+              conditions.add(new Object[]{"FOR_ALL", null, workflowId});
+            }
+
+            var editPropertyActionId = UUID.randomUUID();
+            actions.add(new Object[]{editPropertyActionId, workflowId});
+            editPropertyActions.add(new Object[]{editPropertyActionId, workflowId, editablePropertyOf(entityType), "load " + workflowId});
+
+            if (random.nextDouble() < profile.getWebhookRatio()) {
+              var webhookActionId = UUID.randomUUID();
+              actions.add(new Object[]{webhookActionId, workflowId});
+              webhookActions.add(new Object[]{webhookActionId, workflowId, "load-webhook-" + workflowId,
+                  webhookBaseUrl + WEBHOOK_PATH + tenantId + "/" + workflowId});
+              parameters.add(new Object[]{"name", entityType.name(), editablePropertyOf(entityType), webhookActionId});
+              parameters.add(new Object[]{"owner", ownerEntityOf(entityType), "lastName", webhookActionId});
+              parameters.add(new Object[]{"tenant", "TENANT", "accountName", webhookActionId});
+            }
+            executedEvents.add(new Object[]{workflowId});
+          }
+        }
+      }
+    }
+
+    jdbcTemplate.batchUpdate("INSERT INTO users (id, tenant_id, name) VALUES (?, ?, ?)", users);
+    jdbcTemplate.batchUpdate(
+        "INSERT INTO workflow (id, name, entity_type, tenant_id, created_by, created_at, updated_by, updated_at) "
+            + "OVERRIDING SYSTEM VALUE VALUES (?, ?, ?, ?, ?, ?, ?, ?)", workflows);
+    jdbcTemplate.batchUpdate("INSERT INTO workflow_trigger (trigger_type, trigger_frequency, workflow_id) VALUES ('EVENT', ?, ?)",
+        triggers);
+    jdbcTemplate.batchUpdate("INSERT INTO workflow_condition (type, expression, workflow_id) VALUES (?, ?::jsonb, ?)", conditions);
+    jdbcTemplate.batchUpdate("INSERT INTO abstract_workflow_action (id, workflow_id) VALUES (?, ?)", actions);
+    jdbcTemplate.batchUpdate("INSERT INTO edit_property_action (id, workflow_id, name, value, value_type) VALUES (?, ?, ?, ?, 'PLAIN')",
+        editPropertyActions);
+    jdbcTemplate.batchUpdate(
+        "INSERT INTO webhook_action (id, workflow_id, name, method, authorization_type, request_url) VALUES (?, ?, ?, 'POST', 'NONE', ?)",
+        webhookActions);
+    jdbcTemplate.batchUpdate("INSERT INTO parameter (name, entity, attribute, webhook_action_id) VALUES (?, ?, ?, ?)", parameters);
+    jdbcTemplate.batchUpdate("INSERT INTO workflow_executed_event (workflow_id, trigger_count) VALUES (?, 0)", executedEvents);
+    jdbcTemplate.execute("ANALYZE");
+
+    log.info("Seeded {} tenants with {} workflows, {} of them with webhooks", users.size(), workflows.size(), webhookActions.size());
+    return workflows.size();
+  }
+
+  void cleanUp() {
+    jdbcTemplate.update("DELETE FROM parameter WHERE webhook_action_id IN (SELECT id FROM webhook_action WHERE workflow_id >= ?)", FIRST_ID);
+    for (String table : List.of("webhook_action", "edit_property_action", "abstract_workflow_action", "workflow_executed_event",
+        "workflow_condition", "workflow_trigger")) {
+      jdbcTemplate.update("DELETE FROM " + table + " WHERE workflow_id >= ?", FIRST_ID);
+    }
+    jdbcTemplate.update("DELETE FROM workflow WHERE id >= ?", FIRST_ID);
+    jdbcTemplate.update("DELETE FROM users WHERE id >= ?", FIRST_ID);
+  }
+
+  GeneratedEvent next(long sequence) {
+    var entityType = profile.getEntityTypes().get(random.nextInt(profile.getEntityTypes().size()));
+    var frequency = FREQUENCIES.get(random.nextInt(FREQUENCIES.size()));
+    long tenantId = FIRST_ID + random.nextInt(profile.getTenants());
+    long entityId = FIRST_ID + sequence;
+
+    var event = objectMapper.createObjectNode();
+    event.set("entity", entityOf(entityType, entityId, tenantId, "Stark"));
+    if (frequency == TriggerFrequency.UPDATED) {
+      event.set("oldEntity", entityOf(entityType, entityId, tenantId, "Starke"));
+    }
+    event.putObject("metadata")
+        .put("tenantId", tenantId)
+        .put("userId", tenantId)
+        .put("entityType", entityType.name())
+        .put("entityAction", frequency.name())
+        .putArray("executedWorkflows");
+    try {
+      return new GeneratedEvent(entityId, exchangeOf(entityType), routingKeyOf(entityType, frequency), objectMapper.writeValueAsBytes(event));
+    } catch (JsonProcessingException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private ObjectNode entityOf(EntityType entityType, long entityId, long tenantId, String lastName) {
+    var entity = objectMapper.createObjectNode();
+    entity.put("id", entityId);
+    var owner = entity.objectNode().put("id", tenantId).put("name", "load-user");
+    entity.set("createdBy", owner);
+    entity.set("updatedBy", owner);
+    if (entityType == EntityType.DEAL) {
+      entity.put("name", "Deal " + lastName);
+      entity.set("ownedBy", owner);
+      entity.putObject("estimatedValue").put("currencyId", 1).put("value", 1000 + random.nextInt(100_000));
+      entity.putObject("pipeline").put("id", 11).put("name", "Default").putObject("stage").put("id", 21).put("name", "Open");
+      return entity;
+    }
+    entity.put("tenantId", tenantId);
+    entity.put("firstName", "Tony");
+    entity.put("lastName", lastName);
+    entity.put("city", random.nextBoolean() ? "Malibu" : "Pune");
+    entity.set("ownerId", owner);
+    entity.putArray("emails").addObject().put("type", "OFFICE").put("value", "load" + entityId + "@example.com").put("isPrimary", true);
+    entity.putArray("phoneNumbers").addObject()
+        .put("type", "MOBILE").put("code", "IN").put("value", "98765" + entityId % 100_000).put("dialCode", "+91").put("isPrimary", true);
+    return entity;
+  }
+
+  /*
+   * Every generated condition holds for every generated event, so each event produces exactly one update command.
+   */
+  private String conditionOf(EntityType entityType, TriggerFrequency frequency) {
+    var property = editablePropertyOf(entityType);
+    var condition = objectMapper.createObjectNode().put("operator", "AND");
+    condition.putObject("operand1").put("operator", "IS_NOT_NULL").put("name", property).put("triggerOn", "NEW_VALUE");
+    var either = condition.putObject("operand2").put("operator", "OR");
+    var changed = entityType == EntityType.DEAL ? "name" : "lastName";
+    if (frequency == TriggerFrequency.UPDATED) {
+      either.putObject("operand1").put("operator", "IS_NOT_NULL").put("name", changed).put("triggerOn", "IS_CHANGED");
+    } else {
+      either.putObject("operand1").put("operator", "IS_NULL").put("name", changed).put("triggerOn", "NEW_VALUE");
+    }
+    if (entityType == EntityType.DEAL) {
+      either.putObject("operand2").put("operator", "GREATER").put("name", "estimatedValue").put("value", 100).put("triggerOn", "NEW_VALUE");
+    } else {
+      either.putObject("operand2").put("operator", "IN").put("name", "city").put("value", "Malibu,Mumbai,Pune").put("triggerOn", "NEW_VALUE");
+    }
+    return condition.toString();
+  }
+
+  private static String editablePropertyOf(EntityType entityType) {
+    return entityType == EntityType.DEAL ? "name" : "firstName";
+  }
+
+  private static String ownerEntityOf(EntityType entityType) {
+    return entityType.name() + "_OWNER";
+  }
+
+  private static String exchangeOf(EntityType entityType) {
+    return entityType == EntityType.DEAL ? "ex.deal" : "ex.sales";
+  }
+
+  private static String routingKeyOf(EntityType entityType, TriggerFrequency frequency) {
+    var created = frequency == TriggerFrequency.CREATED;
+    switch (entityType) {
+      case LEAD:
+        return created ? getLeadCreatedEventName() : getLeadUpdatedEventName();
+      case DEAL:
+        return created ? getDealCreatedEventName() : getDealUpdatedEventName();
+      case CONTACT:
+        return created ? getContactCreatedEventName() : getContactUpdatedEventName();
+      default:
+        throw new IllegalArgumentException("No event stream for " + entityType);
+    }
+  }
+
+  @Getter
+  @AllArgsConstructor
+  static class GeneratedEvent {
+
+    private final long entityId;
+    private final String exchange;
+    private final String routingKey;
+    private final byte[] body;
+  }
+}
@@ -0,0 +1,49 @@
+package com.kylas.sales.workflow.load;
+
+import static java.util.stream.Collectors.toList;
+
+import com.kylas.sales.workflow.domain.workflow.EntityType;
+import java.util.Arrays;
+import java.util.List;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+class LoadProfile {
+
+  private final int tenants;
+  private final int workflowsPerTrigger;
+  private final double conditionRatio;
+  private final double webhookRatio;
+  private final List<EntityType> entityTypes;
+  private final int warmupEvents;
+  private final int events;
+  private final int ratePerSecond;
+  private final int webhookLatencyMillis;
+  private final int timeoutSeconds;
+
+  private LoadProfile() {
+    this.tenants = Integer.getInteger("load.tenants", 20);
+    this.workflowsPerTrigger = Integer.getInteger("load.workflowsPerTrigger", 3);
+    this.conditionRatio = Double.parseDouble(System.getProperty("load.conditionRatio", "0.5"));
+    this.webhookRatio = Double.parseDouble(System.getProperty("load.webhookRatio", "0.2"));
+    this.entityTypes = Arrays.stream(System.getProperty("load.entityTypes", "LEAD,DEAL,CONTACT").split(","))
+        .map(String::trim)
+        .map(EntityType::valueOf)
+        .collect(toList());
+    this.warmupEvents = Integer.getInteger("load.warmupEvents", 1_000);
+    this.events = Integer.getInteger("load.events", 10_000);
+    this.ratePerSecond = Integer.getInteger("load.ratePerSecond", 0);
+    this.webhookLatencyMillis = Integer.getInteger("load.webhookLatencyMillis", 50);
+    this.timeoutSeconds = Integer.getInteger("load.timeoutSeconds", 600);
+  }
+
+  static LoadProfile fromSystemProperties() {
+    return new LoadProfile();
+  }
+
+  boolean isThrottled() {
+    return ratePerSecond > 0;
+  }
+}
@@ -0,0 +1,47 @@
+package com.kylas.sales.workflow.load;
+
+import static com.kylas.sales.workflow.load.LatencyRecorder.percentileMillis;
+
+import lombok.Getter;
+
+@Getter
+class LoadReport {
+
+  private final String profile;
+  private final int workflows;
+  private final int events;
+  private final long completed;
+  private final long duplicateCommands;
+  private final double durationSeconds;
+  private final double eventsPerSecond;
+  private final double p50Millis;
+  private final double p99Millis;
+  private final double p999Millis;
+  private final double maxMillis;
+  private final double allocatedMegabytesPerSecond;
+  private final long allocatedBytesPerEvent;
+  private final double statementsPerEvent;
+  private final double entityLoadsPerEvent;
+  private final int webhookRequests;
+
+  LoadReport(LoadProfile profile, int workflows, LatencyRecorder recorder, long startedAt, long allocatedBytes, long statements,
+      long entityLoads, int webhookRequests) {
+    var latencies = recorder.sortedLatencies();
+    this.profile = profile.toString();
+    this.workflows = workflows;
+    this.events = profile.getEvents();
+    this.completed = recorder.completed();
+    this.duplicateCommands = recorder.duplicates();
+    this.durationSeconds = (recorder.lastCompletedAt() - startedAt) / 1_000_000_000D;
+    this.eventsPerSecond = completed / durationSeconds;
+    this.p50Millis = percentileMillis(latencies, 50);
+    this.p99Millis = percentileMillis(latencies, 99);
+    this.p999Millis = percentileMillis(latencies, 99.9);
+    this.maxMillis = percentileMillis(latencies, 100);
+    this.allocatedMegabytesPerSecond = allocatedBytes / durationSeconds / (1024 * 1024);
+    this.allocatedBytesPerEvent = completed == 0 ? 0 : allocatedBytes / completed;
+    this.statementsPerEvent = completed == 0 ? 0 : (double) statements / completed;
+    this.entityLoadsPerEvent = completed == 0 ? 0 : (double) entityLoads / completed;
+    this.webhookRequests = webhookRequests;
+  }
+}
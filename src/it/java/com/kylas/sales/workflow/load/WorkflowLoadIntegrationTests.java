@@ -0,0 +1,279 @@
+package com.kylas.sales.workflow.load;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.any;
+import static com.github.tomakehurst.wiremock.client.WireMock.anyRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.findAll;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.okForContentType;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathMatching;
+import static com.kylas.sales.workflow.load.LoadFixtureGenerator.FIRST_ID;
+import static com.kylas.sales.workflow.load.LoadFixtureGenerator.WEBHOOK_PATH;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.context.support.TestPropertySourceUtils.addInlinedPropertiesToEnvironment;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.kylas.sales.workflow.config.TestDatabaseInitializer;
+import com.kylas.sales.workflow.load.LoadFixtureGenerator.GeneratedEvent;
+import com.kylas.sales.workflow.load.WorkflowLoadIntegrationTests.LoadMqSetup;
+import com.sun.management.ThreadMXBean;
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import javax.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.FileUtils;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cloud.contract.wiremock.AutoConfigureWireMock;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.testcontainers.containers.RabbitMQContainer;
+
+/*
+ * Drives generated entity events through the broker, EventListener, WorkflowProcessor and the command publisher,
+ * with every downstream service stubbed. Run it with: mvn -Pload-test verify [-Dload.events=...]
+ */
+@Slf4j
+@SpringBootTest(properties = {
+    "spring.jpa.show-sql=false",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "spring.datasource.hikari.maximum-pool-size=${load.dbPoolSize:10}",
+    "workflow.registry.enabled=true",
+    "workflow.executedEvent.writeBehind.enabled=true",
+    "client.company.basePath=http://localhost:9090/company"})
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@AutoConfigureWireMock(port = 9090)
+@ContextConfiguration(initializers = {LoadMqSetup.class, TestDatabaseInitializer.class})
+@TestInstance(Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "load.test", matches = "true")
+public class WorkflowLoadIntegrationTests {
+
+  private static final String COMMAND_QUEUE = "q.load.workflow.commands";
+
+  private static final RabbitMQContainer rabbitMQContainer = new RabbitMQContainer("rabbitmq:3.7-management-alpine");
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+  @Autowired
+  private ObjectMapper objectMapper;
+  @Autowired
+  private RabbitTemplate rabbitTemplate;
+  @Autowired
+  private AmqpAdmin rabbitAdmin;
+  @Autowired
+  private ConnectionFactory connectionFactory;
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  private final LoadProfile profile = LoadProfile.fromSystemProperties();
+  private LoadFixtureGenerator generator;
+  private SimpleMessageListenerContainer commandListener;
+  private volatile LatencyRecorder recorder;
+  private int workflows;
+
+  @BeforeAll
+  void setUp() throws IOException {
+    log.info("Running load test with {}", profile);
+    stubDownstreams();
+    generator = new LoadFixtureGenerator(jdbcTemplate, objectMapper, profile, "http://localhost:9090");
+    workflows = generator.seed();
+    commandListener = listenForCommands();
+  }
+
+  @AfterAll
+  void tearDown() {
+    if (commandListener != null) {
+      commandListener.stop();
+    }
+    generator.cleanUp();
+    rabbitMQContainer.stop();
+  }
+
+  @Test
+  public void givenGeneratedEventStream_shouldSustainLoadAndReport() throws Exception {
+    run(0, generate(0, profile.getWarmupEvents()));
+
+    var events = generate(profile.getWarmupEvents(), profile.getEvents());
+    var statistics = statistics();
+    statistics.clear();
+    var webhooksBefore = webhookRequests();
+    var allocatedBefore = allocatedBytes();
+    var startedAt = System.nanoTime();
+    var measured = run(profile.getWarmupEvents(), events);
+    var allocated = allocatedBytes() - allocatedBefore;
+
+    var report = new LoadReport(profile, workflows, measured, startedAt, allocated, statistics.getPrepareStatementCount(),
+        statistics.getEntityLoadCount(), webhookRequests() - webhooksBefore);
+    var reportFile = new File(System.getProperty("load.report", "target/load-test-report.json"));
+    FileUtils.forceMkdirParent(reportFile);
+    objectMapper.writerWithDefaultPrettyPrinter().writeValue(reportFile, report);
+    log.info("Load test report written to {}:\n{}", reportFile.getAbsolutePath(),
+        objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(report));
+
+    assertThat(measured.completed()).isEqualTo(profile.getEvents());
+  }
+
+  private List<GeneratedEvent> generate(long firstSequence, int count) {
+    List<GeneratedEvent> generated = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      generated.add(generator.next(firstSequence + i));
+    }
+    return generated;
+  }
+
+  private LatencyRecorder run(long firstSequence, List<GeneratedEvent> generated) throws InterruptedException {
+    var events = generated.size();
+    var phase = new LatencyRecorder(firstSequence, events);
+    recorder = phase;
+    var intervalNanos = profile.isThrottled() ? TimeUnit.SECONDS.toNanos(1) / profile.getRatePerSecond() : 0L;
+    var start = System.nanoTime();
+    for (int i = 0; i < events; i++) {
+      var event = generated.get(i);
+      var sequence = firstSequence + i;
+      if (profile.isThrottled()) {
+        var intended = start + i * intervalNanos;
+        long wait;
+        while ((wait = intended - System.nanoTime()) > 0) {
+          LockSupport.parkNanos(wait);
+        }
+        phase.scheduled(sequence, intended);
+      } else {
+        phase.scheduled(sequence, System.nanoTime());
+      }
+      rabbitTemplate.send(event.getExchange(), event.getRoutingKey(), MessageBuilder.withBody(event.getBody())
+          .setContentType(MessageProperties.CONTENT_TYPE_JSON)
+          .setMessageId(String.valueOf(event.getEntityId()))
+          .setTimestamp(new Date())
+          .build());
+    }
+
+    if (!phase.await(profile.getTimeoutSeconds(), TimeUnit.SECONDS)) {
+      log.warn("Only {} of {} events completed within {}s", phase.completed(), events, profile.getTimeoutSeconds());
+    }
+    return phase;
+  }
+
+  private SimpleMessageListenerContainer listenForCommands() {
+    var queue = new Queue(COMMAND_QUEUE, false, false, true);
+    rabbitAdmin.declareQueue(queue);
+    rabbitAdmin.declareBinding(BindingBuilder.bind(queue).to(new TopicExchange("ex.workflow")).with("workflow.*.update"));
+
+    var container = new SimpleMessageListenerContainer(connectionFactory);
+    container.setQueueNames(COMMAND_QUEUE);
+    container.setConcurrentConsumers(4);
+    container.setPrefetchCount(250);
+    container.setMessageListener(message -> {
+      var receivedAt = System.nanoTime();
+      try {
+        var entityId = objectMapper.readTree(message.getBody()).path("metadata").path("entityId").asLong();
+        recorder.completed(entityId - FIRST_ID, receivedAt);
+      } catch (IOException e) {
+        log.error("Unreadable command {}", new String(message.getBody()), e);
+      }
+    });
+    container.start();
+    return container;
+  }
+
+  private void stubDownstreams() throws IOException {
+    stubFor(get(urlPathMatching("/iam/v1/users/[0-9]+"))
+        .willReturn(json("/contracts/user/responses/user-details-by-id.json")));
+    stubFor(get(urlPathMatching("/iam/v1/tenants/[0-9]+/creator"))
+        .willReturn(json("/contracts/user/responses/user-details-by-id.json")));
+    stubFor(get(urlPathEqualTo("/iam/v1/tenants"))
+        .willReturn(json("/contracts/user/responses/tenant-details.json")));
+    stubFor(get(urlPathMatching("/config/v1/entities/[a-z]+/fields"))
+        .willReturn(json("/contracts/config/response/get-all-lead-fields.json")));
+    stubFor(get(urlPathEqualTo("/config/v1/currencies"))
+        .willReturn(json("/contracts/config/response/get-currency.json")));
+    stubFor(get(urlPathEqualTo("/search/v1/summaries/pipeline"))
+        .willReturn(json("/contracts/pipeline/responses/pipeline-details.json")));
+    stubFor(get(urlPathEqualTo("/search/v1/summaries/pipeline-stage"))
+        .willReturn(json("/contracts/pipeline/responses/pipeline-stage-details.json")));
+    stubFor(get(urlPathMatching("/product/v1/products/[0-9]+"))
+        .willReturn(json("/contracts/product/responses/product-details.json")));
+    stubFor(get(urlPathMatching("/company/v1/companies/[0-9]+"))
+        .willReturn(okForContentType(MediaType.APPLICATION_JSON_VALUE, "{\"id\": 61, \"name\": \"Stark Industries\"}")));
+    stubFor(any(urlPathMatching(WEBHOOK_PATH + ".*"))
+        .willReturn(aResponse().withStatus(200).withFixedDelay(profile.getWebhookLatencyMillis())));
+  }
+
+  private ResponseDefinitionBuilder json(String resourcePath) throws IOException {
+    return okForContentType(MediaType.APPLICATION_JSON_VALUE, getResourceAsString(resourcePath));
+  }
+
+  private String getResourceAsString(String resourcePath) throws IOException {
+    var resource = new ClassPathResource(resourcePath);
+    var file = resource.getFile();
+    return FileUtils.readFileToString(file, "UTF-8");
+  }
+
+  private int webhookRequests() {
+    return findAll(anyRequestedFor(urlPathMatching(WEBHOOK_PATH + ".*"))).size();
+  }
+
+  private Statistics statistics() {
+    return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+  }
+
+  /*
+   * Sums allocations of live threads only; the listener, executor and Reactor threads are long-lived, so
+   * allocations of short-lived threads are the only part this misses.
+   */
+  private long allocatedBytes() {
+    var threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long total = 0;
+    for (long allocated : threads.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+      total += Math.max(0, allocated);
+    }
+    return total;
+  }
+
+  @TestConfiguration
+  public static class LoadMqSetup implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+
+    @Override
+    public void initialize(ConfigurableApplicationContext configurableApplicationContext) {
+      rabbitMQContainer.start();
+      addInlinedPropertiesToEnvironment(configurableApplicationContext,
+          "spring.rabbitmq.host=" + rabbitMQContainer.getContainerIpAddress(),
+          "spring.rabbitmq.port=" + rabbitMQContainer.getAmqpPort(),
+          "spring.rabbitmq.username=" + rabbitMQContainer.getAdminUsername(),
+          "spring.rabbitmq.password=" + rabbitMQContainer.getAdminPassword(),
+          "spring.rabbitmq.virtual-host=/");
+    }
+  }
+}
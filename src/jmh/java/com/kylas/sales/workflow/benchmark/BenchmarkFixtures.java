@@ -0,0 +1,231 @@
+package com.kylas.sales.workflow.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.kylas.sales.workflow.mq.event.ContactEvent;
+import com.kylas.sales.workflow.mq.event.DealEvent;
+import com.kylas.sales.workflow.mq.event.EntityEvent;
+import com.kylas.sales.workflow.mq.event.LeadEvent;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+final class BenchmarkFixtures {
+
+  static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  private static final String CREATED_AT = "2020-06-01T10:15:30.000Z";
+  private static final String UPDATED_AT = "2020-06-02T11:45:00.000Z";
+
+  private BenchmarkFixtures() {
+  }
+
+  static int collectionSize(String size) {
+    switch (size) {
+      case "small":
+        return 1;
+      case "medium":
+        return 10;
+      case "large":
+        return 100;
+      default:
+        throw new IllegalArgumentException("Unknown fixture size " + size);
+    }
+  }
+
+  static Class<? extends EntityEvent> eventType(String entity) {
+    switch (entity) {
+      case "lead":
+        return LeadEvent.class;
+      case "deal":
+        return DealEvent.class;
+      case "contact":
+        return ContactEvent.class;
+      default:
+        throw new IllegalArgumentException("Unknown entity " + entity);
+    }
+  }
+
+  static byte[] eventJson(String entity, String size) {
+    var count = collectionSize(size);
+    ObjectNode entityNode;
+    ObjectNode oldEntityNode;
+    switch (entity) {
+      case "lead":
+        entityNode = lead(count, "Tony");
+        oldEntityNode = lead(count, "Anthony");
+        break;
+      case "deal":
+        entityNode = deal(count, 2500D);
+        oldEntityNode = deal(count, 1500D);
+        break;
+      case "contact":
+        entityNode = contact(count, "Stark");
+        oldEntityNode = contact(count, "Starke");
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown entity " + entity);
+    }
+    var event = OBJECT_MAPPER.createObjectNode();
+    event.set("entity", entityNode);
+    event.set("oldEntity", oldEntityNode);
+    event.set("metadata", metadata(entity.toUpperCase(), count));
+    try {
+      return OBJECT_MAPPER.writeValueAsBytes(event);
+    } catch (JsonProcessingException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  static EntityEvent event(String entity, String size) {
+    try {
+      return OBJECT_MAPPER.readValue(eventJson(entity, size), eventType(entity));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  static ObjectNode lead(int count, String lastName) {
+    var lead = OBJECT_MAPPER.createObjectNode();
+    lead.put("id", 101L);
+    lead.put("tenantId", 55L);
+    lead.set("ownerId", idName(12L, "Tony Stark"));
+    lead.put("firstName", "Tony");
+    lead.put("lastName", lastName);
+    lead.put("name", "Tony " + lastName);
+    lead.set("salutation", idName(473L, "Mr"));
+    lead.put("timezone", "Asia/Calcutta");
+    lead.put("address", "10880 Malibu Point");
+    lead.put("city", "city-" + (count - 1));
+    lead.put("state", "California");
+    lead.put("zipcode", "90265");
+    lead.put("country", "US");
+    lead.put("dnd", false);
+    lead.set("phoneNumbers", phoneNumbers(count));
+    lead.set("emails", emails(count));
+    lead.set("pipeline", idName(11L, "Default Pipeline"));
+    lead.set("pipelineStage", idName(21L, "Open"));
+    lead.put("companyName", "Stark Industries");
+    lead.put("companyEmployees", 5000);
+    lead.put("companyAnnualRevenue", 1.2E9);
+    lead.set("companyPhones", phoneNumbers(count));
+    lead.put("requirementName", "Arc reactor");
+    lead.put("requirementCurrency", "USD");
+    lead.put("requirementBudget", 250000D);
+    lead.put("expectedClosureOn", UPDATED_AT);
+    var products = lead.putArray("products");
+    for (int i = 0; i < count; i++) {
+      products.addObject().put("id", 300L + i).put("name", "product-" + i);
+    }
+    lead.set("source", idName(31L, "Google"));
+    lead.set("campaign", idName(41L, "Organic"));
+    lead.put("forecastingType", "OPEN");
+    var customFieldValues = lead.putObject("customFieldValues");
+    for (int i = 0; i < count * 5; i++) {
+      customFieldValues.put("cfField" + i, "value-" + i);
+    }
+    lead.put("deleted", false);
+    lead.put("version", 3);
+    return audited(lead);
+  }
+
+  static ObjectNode deal(int count, double estimatedValue) {
+    var deal = OBJECT_MAPPER.createObjectNode();
+    deal.put("id", 201L);
+    deal.put("name", "Arc reactor deal");
+    deal.set("ownedBy", idName(12L, "Tony Stark"));
+    deal.set("estimatedValue", money(estimatedValue));
+    deal.set("actualValue", money(estimatedValue * 0.9));
+    deal.put("estimatedClosureOn", UPDATED_AT);
+    var contacts = deal.putArray("associatedContacts");
+    for (int i = 0; i < count; i++) {
+      contacts.add(idName(500L + i, "contact-" + i));
+    }
+    deal.set("product", idName(301L, "product-1"));
+    var pipeline = deal.putObject("pipeline");
+    pipeline.put("id", 11L).put("name", "Default Pipeline");
+    pipeline.set("stage", idName(21L, "Open"));
+    deal.set("company", idName(61L, "Stark Industries"));
+    return audited(deal);
+  }
+
+  static ObjectNode contact(int count, String lastName) {
+    var contact = OBJECT_MAPPER.createObjectNode();
+    contact.put("id", 301L);
+    contact.put("tenantId", 55L);
+    contact.set("ownerId", idName(12L, "Tony Stark"));
+    contact.put("firstName", "Pepper");
+    contact.put("lastName", lastName);
+    contact.put("name", "Pepper " + lastName);
+    contact.put("city", "Malibu");
+    contact.put("dnd", false);
+    contact.put("timezone", "Asia/Calcutta");
+    contact.set("phoneNumbers", phoneNumbers(count));
+    contact.set("emails", emails(count));
+    contact.set("company", idName(61L, "Stark Industries"));
+    contact.put("designation", "CEO");
+    contact.put("stakeholder", true);
+    contact.put("deleted", false);
+    contact.put("version", 2);
+    var deals = contact.putArray("associatedDeals");
+    for (int i = 0; i < count; i++) {
+      deals.add(700L + i);
+    }
+    return audited(contact);
+  }
+
+  private static ObjectNode audited(ObjectNode entity) {
+    entity.put("createdAt", CREATED_AT);
+    entity.put("updatedAt", UPDATED_AT);
+    entity.set("createdBy", idName(12L, "Tony Stark"));
+    entity.set("updatedBy", idName(13L, "Steve Rogers"));
+    return entity;
+  }
+
+  private static ObjectNode metadata(String entityType, int count) {
+    var metadata = OBJECT_MAPPER.createObjectNode();
+    metadata.put("tenantId", 55L);
+    metadata.put("userId", 12L);
+    metadata.put("entityType", entityType);
+    metadata.put("entityAction", "UPDATED");
+    metadata.put("workflowId", "WF_1");
+    var executedWorkflows = metadata.putArray("executedWorkflows");
+    for (int i = 0; i < count; i++) {
+      executedWorkflows.add("WF_" + (i + 2));
+    }
+    return metadata;
+  }
+
+  private static ArrayNode phoneNumbers(int count) {
+    var phoneNumbers = OBJECT_MAPPER.createArrayNode();
+    for (int i = 0; i < count; i++) {
+      phoneNumbers.addObject()
+          .put("type", "MOBILE")
+          .put("code", "IN")
+          .put("value", String.valueOf(9_876_500_000L + i))
+          .put("dialCode", "+91")
+          .put("isPrimary", i == 0);
+    }
+    return phoneNumbers;
+  }
+
+  private static ArrayNode emails(int count) {
+    var emails = OBJECT_MAPPER.createArrayNode();
+    for (int i = 0; i < count; i++) {
+      emails.addObject()
+          .put("type", "OFFICE")
+          .put("value", "user" + i + "@stark.com")
+          .put("isPrimary", i == 0);
+    }
+    return emails;
+  }
+
+  private static ObjectNode idName(long id, String name) {
+    return OBJECT_MAPPER.createObjectNode().put("id", id).put("name", name);
+  }
+
+  private static ObjectNode money(double value) {
+    return OBJECT_MAPPER.createObjectNode().put("currencyId", 1L).put("value", value);
+  }
+}
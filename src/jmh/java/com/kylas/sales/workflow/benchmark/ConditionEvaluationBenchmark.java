@@ -0,0 +1,104 @@
+package com.kylas.sales.workflow.benchmark;
+
+import static com.kylas.sales.workflow.api.request.Condition.TriggerType.IS_CHANGED;
+import static com.kylas.sales.workflow.api.request.Condition.TriggerType.NEW_VALUE;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kylas.sales.workflow.common.dto.condition.Operator;
+import com.kylas.sales.workflow.common.dto.condition.WorkflowCondition.ConditionExpression;
+import com.kylas.sales.workflow.domain.ConditionFacade;
+import com.kylas.sales.workflow.domain.ConditionPredicate;
+import com.kylas.sales.workflow.domain.processor.lead.LeadDetail;
+import com.kylas.sales.workflow.domain.service.ValueResolver;
+import com.kylas.sales.workflow.domain.workflow.ConditionType;
+import com.kylas.sales.workflow.domain.workflow.WorkflowCondition;
+import com.kylas.sales.workflow.mq.event.EntityEvent;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConditionEvaluationBenchmark {
+
+  @Param({"1", "3", "5"})
+  public int depth;
+
+  @Param({"5", "50"})
+  public int inListSize;
+
+  private ConditionFacade conditionFacade;
+  private ConditionExpression expression;
+  private ConditionPredicate predicate;
+  private EntityEvent event;
+  private List<ConditionExpression> leaves;
+
+  @Setup
+  public void setup() {
+    conditionFacade = new ConditionFacade(new ValueResolver(null, new ObjectMapper(), null));
+    event = BenchmarkFixtures.event("lead", "medium");
+    ((LeadDetail) event.getEntity()).setCity("city-" + (inListSize - 1));
+
+    var cities = IntStream.range(0, inListSize).mapToObj(i -> "city-" + i).collect(Collectors.joining(","));
+    leaves = List.of(
+        new ConditionExpression(Operator.EQUAL, "firstName", "tony", NEW_VALUE),
+        new ConditionExpression(Operator.IN, "city", cities, NEW_VALUE),
+        new ConditionExpression(Operator.GREATER, "requirementBudget", 1000, NEW_VALUE),
+        new ConditionExpression(Operator.EQUAL, "pipeline", Map.of("id", 11L, "name", "Default Pipeline"), NEW_VALUE),
+        new ConditionExpression(Operator.CONTAINS, "products", Map.of("id", 305L, "name", "product-5"), NEW_VALUE),
+        new ConditionExpression(null, "lastName", null, IS_CHANGED));
+    expression = tree(depth, 0);
+    predicate = conditionFacade.compile(new WorkflowCondition(ConditionType.CONDITION_BASED, expression));
+  }
+
+  @Benchmark
+  public boolean interpreted() {
+    return satisfies(expression);
+  }
+
+  @Benchmark
+  public boolean compiled() {
+    return predicate.test(event);
+  }
+
+  private ConditionExpression tree(int level, int index) {
+    if (level == 0) {
+      return leaves.get(index % leaves.size());
+    }
+    var operator = level % 2 == 0 ? Operator.OR : Operator.AND;
+    return new ConditionExpression(tree(level - 1, 2 * index), tree(level - 1, 2 * index + 1), operator);
+  }
+
+  /*
+   * Mirrors the dispatch WorkflowProcessor applies when a condition could not be compiled.
+   */
+  private boolean satisfies(ConditionExpression expression) {
+    if (IS_CHANGED.equals(expression.getTriggerOn())) {
+      return conditionFacade.satisfiesValueIsChanged(event, expression);
+    }
+    if (expression.getOperator().equals(Operator.AND)) {
+      return satisfies(expression.getOperand1()) && satisfies(expression.getOperand2());
+    }
+    if (expression.getOperator().equals(Operator.OR)) {
+      return satisfies(expression.getOperand1()) || satisfies(expression.getOperand2());
+    }
+    return conditionFacade.satisfies(expression, event.getEntity());
+  }
+}
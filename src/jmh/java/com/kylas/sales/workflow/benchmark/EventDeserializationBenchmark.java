@@ -0,0 +1,45 @@
+package com.kylas.sales.workflow.benchmark;
+
+import com.kylas.sales.workflow.mq.event.EntityEvent;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventDeserializationBenchmark {
+
+  @Param({"lead", "deal", "contact"})
+  public String entity;
+
+  @Param({"small", "medium", "large"})
+  public String size;
+
+  private byte[] body;
+  private Class<? extends EntityEvent> eventType;
+
+  @Setup
+  public void setup() {
+    body = BenchmarkFixtures.eventJson(entity, size);
+    eventType = BenchmarkFixtures.eventType(entity);
+  }
+
+  @Benchmark
+  public EntityEvent deserialize() throws IOException {
+    return BenchmarkFixtures.OBJECT_MAPPER.readValue(body, eventType);
+  }
+}
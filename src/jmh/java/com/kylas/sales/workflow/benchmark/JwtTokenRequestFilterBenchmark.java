@@ -0,0 +1,56 @@
+package com.kylas.sales.workflow.benchmark;
+
+import com.kylas.sales.workflow.security.InternalAuthProvider;
+import com.kylas.sales.workflow.security.jwt.AuthenticationCache;
+import com.kylas.sales.workflow.security.jwt.JwtTokenRequestFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtTokenRequestFilterBenchmark {
+
+  private static final String SIGNING_KEY = "benchmark-key";
+
+  @Param({"false", "true"})
+  public boolean cacheEnabled;
+
+  private JwtTokenRequestFilter filter;
+  private String authorizationHeader;
+
+  @Setup
+  public void setup() {
+    var token = new InternalAuthProvider(SIGNING_KEY, new SimpleMeterRegistry(), 3600, 100, 0).create(12L, 14L);
+    authorizationHeader = "Bearer " + token;
+    filter = new JwtTokenRequestFilter(new AuthenticationCache(SIGNING_KEY, new SimpleMeterRegistry(), cacheEnabled, 10000, 3600));
+  }
+
+  @Benchmark
+  public Object filterRequest() throws Exception {
+    var request = new MockHttpServletRequest("GET", "/v1/workflows");
+    request.addHeader("Authorization", authorizationHeader);
+    filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+    var authentication = SecurityContextHolder.getContext().getAuthentication();
+    SecurityContextHolder.clearContext();
+    return authentication;
+  }
+}
@@ -0,0 +1,65 @@
+package com.kylas.sales.workflow.benchmark;
+
+import com.kylas.sales.workflow.domain.workflow.EntityType;
+import com.kylas.sales.workflow.mq.event.EntityAction;
+import com.kylas.sales.workflow.mq.event.Metadata;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MetadataBenchmark {
+
+  @Param({"small", "medium", "large"})
+  public String size;
+
+  private Metadata metadata;
+  private Set<Long> matchedWorkflowIds;
+  private long lastExecutedWorkflowId;
+
+  @Setup
+  public void setup() {
+    var count = BenchmarkFixtures.collectionSize(size);
+    var executedWorkflows = LongStream.rangeClosed(1, count).mapToObj(id -> "WF_" + id).collect(Collectors.toSet());
+    metadata = new Metadata(55L, 12L, EntityType.LEAD, "WF_1", executedWorkflows, EntityAction.UPDATED);
+    matchedWorkflowIds = LongStream.rangeClosed(count + 1, 2L * count).boxed().collect(Collectors.toSet());
+    lastExecutedWorkflowId = count;
+  }
+
+  @Benchmark
+  public Metadata with() {
+    return metadata.with(lastExecutedWorkflowId + 1);
+  }
+
+  @Benchmark
+  public Metadata withEntityId() {
+    return metadata.withEntityId(101L);
+  }
+
+  @Benchmark
+  public boolean isProcessed() {
+    return metadata.isProcessed(lastExecutedWorkflowId);
+  }
+
+  @Benchmark
+  public Metadata withAllWorkflowIds() {
+    return metadata.with(lastExecutedWorkflowId + 1).withAllWorkflowIds(matchedWorkflowIds);
+  }
+}
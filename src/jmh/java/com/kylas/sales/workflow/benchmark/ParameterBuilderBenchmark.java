@@ -0,0 +1,101 @@
+package com.kylas.sales.workflow.benchmark;
+
+import static com.kylas.sales.workflow.domain.workflow.action.webhook.attribute.AttributeFactory.WebhookEntity.CONTACT;
+import static com.kylas.sales.workflow.domain.workflow.action.webhook.attribute.AttributeFactory.WebhookEntity.CUSTOM;
+import static com.kylas.sales.workflow.domain.workflow.action.webhook.attribute.AttributeFactory.WebhookEntity.DEAL;
+import static com.kylas.sales.workflow.domain.workflow.action.webhook.attribute.AttributeFactory.WebhookEntity.LEAD;
+
+import com.kylas.sales.workflow.common.dto.ActionDetail.WebhookAction.AuthorizationType;
+import com.kylas.sales.workflow.domain.processor.EntityDetail;
+import com.kylas.sales.workflow.domain.workflow.action.webhook.Parameter;
+import com.kylas.sales.workflow.domain.workflow.action.webhook.WebhookAction;
+import com.kylas.sales.workflow.domain.workflow.action.webhook.parameter.ContactParameterBuilder;
+import com.kylas.sales.workflow.domain.workflow.action.webhook.parameter.DealParameterBuilder;
+import com.kylas.sales.workflow.domain.workflow.action.webhook.parameter.LeadParameterBuilder;
+import com.kylas.sales.workflow.domain.workflow.action.webhook.parameter.ParameterBuilder;
+import com.kylas.sales.workflow.domain.workflow.action.webhook.parameter.WebhookPlan;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpMethod;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParameterBuilderBenchmark {
+
+  @Param({"lead", "deal", "contact"})
+  public String entity;
+
+  @Param({"small", "medium", "large"})
+  public String size;
+
+  private ParameterBuilder parameterBuilder;
+  private WebhookAction webhookAction;
+  private EntityDetail entityDetail;
+
+  @Setup
+  public void setup() {
+    entityDetail = (EntityDetail) BenchmarkFixtures.event(entity, size).getEntity();
+    switch (entity) {
+      case "lead":
+        parameterBuilder = new LeadParameterBuilder(null, null);
+        webhookAction = webhookAction(List.of(
+            new Parameter("firstName", LEAD, "firstName", true),
+            new Parameter("emails", LEAD, "emails", true),
+            new Parameter("phoneNumbers", LEAD, "phoneNumbers", true),
+            new Parameter("pipeline", LEAD, "pipeline", true),
+            new Parameter("city", LEAD, "city", true),
+            new Parameter("source", CUSTOM, "workflow", false)));
+        break;
+      case "deal":
+        parameterBuilder = new DealParameterBuilder(null, null);
+        webhookAction = webhookAction(List.of(
+            new Parameter("name", DEAL, "name", true),
+            new Parameter("associatedContacts", DEAL, "associatedContacts", true),
+            new Parameter("pipeline", DEAL, "pipeline", true),
+            new Parameter("stage", DEAL, "pipelineStage", true),
+            new Parameter("company", DEAL, "company", true),
+            new Parameter("source", CUSTOM, "workflow", false)));
+        break;
+      default:
+        parameterBuilder = new ContactParameterBuilder(null, null);
+        webhookAction = webhookAction(List.of(
+            new Parameter("firstName", CONTACT, "firstName", true),
+            new Parameter("emails", CONTACT, "emails", true),
+            new Parameter("phoneNumbers", CONTACT, "phoneNumbers", true),
+            new Parameter("city", CONTACT, "city", true),
+            new Parameter("source", CUSTOM, "workflow", false)));
+    }
+  }
+
+  @Benchmark
+  public WebhookPlan compilePlan() {
+    webhookAction.setPlan(null);
+    return parameterBuilder.planFor(webhookAction);
+  }
+
+  @Benchmark
+  public Map<String, List<String>> build() {
+    return parameterBuilder.build(webhookAction, entityDetail, "token").block();
+  }
+
+  private WebhookAction webhookAction(List<Parameter> parameters) {
+    return new WebhookAction("benchmark", null, HttpMethod.POST, AuthorizationType.NONE, "https://hooks.example.com/workflow",
+        parameters, null);
+  }
+}
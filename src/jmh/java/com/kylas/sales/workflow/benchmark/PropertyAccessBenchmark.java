@@ -0,0 +1,68 @@
+package com.kylas.sales.workflow.benchmark;
+
+import static org.apache.commons.beanutils.BeanUtils.getNestedProperty;
+
+import com.kylas.sales.workflow.domain.accessor.PropertyAccessors;
+import com.kylas.sales.workflow.domain.processor.deal.DealDetail;
+import com.kylas.sales.workflow.domain.processor.deal.Money;
+import com.kylas.sales.workflow.domain.processor.deal.Pipeline;
+import com.kylas.sales.workflow.domain.processor.lead.IdName;
+import com.kylas.sales.workflow.domain.processor.lead.LeadDetail;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PropertyAccessBenchmark {
+
+  @Param({"deal:pipeline.id", "deal:estimatedValue.value", "lead:ownerId.id"})
+  public String property;
+
+  private Object bean;
+  private String path;
+
+  @Setup
+  public void setup() {
+    var parts = property.split(":");
+    path = parts[1];
+    if ("deal".equals(parts[0])) {
+      var deal = new DealDetail();
+      deal.setPipeline(new Pipeline(11L, "Default", new IdName(21L, "Open")));
+      deal.setEstimatedValue(new Money(1L, 2500D));
+      bean = deal;
+    } else {
+      var lead = new LeadDetail();
+      lead.setOwnerId(new IdName(12L, "Tony"));
+      bean = lead;
+    }
+  }
+
+  @Benchmark
+  public String beanUtils() throws Exception {
+    return getNestedProperty(bean, path);
+  }
+
+  @Benchmark
+  public String propertyAccessors() {
+    return PropertyAccessors.getAsString(bean, path);
+  }
+
+  @Benchmark
+  public Object propertyAccessorsTyped() {
+    return PropertyAccessors.get(bean, path);
+  }
+}
@@ -0,0 +1,71 @@
+package com.kylas.sales.workflow.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.kylas.sales.workflow.common.dto.ActionDetail.EditPropertyAction.ValueType;
+import com.kylas.sales.workflow.domain.processor.lead.LeadDetail;
+import com.kylas.sales.workflow.domain.workflow.EntityType;
+import com.kylas.sales.workflow.domain.workflow.action.EditPropertyAction;
+import com.kylas.sales.workflow.domain.workflow.action.ValueConverter;
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValueConverterBenchmark {
+
+  @Param({"PLAIN:firstName", "PLAIN:requirementBudget", "PLAIN:expectedClosureOn", "OBJECT:pipeline", "ARRAY:products",
+      "ARRAY:emails"})
+  public String property;
+
+  @Param({"small", "large"})
+  public String size;
+
+  private final ValueConverter valueConverter = new ValueConverter();
+  private EditPropertyAction action;
+  private Field field;
+  private String databaseColumn;
+
+  @Setup
+  public void setup() throws NoSuchFieldException, JsonProcessingException {
+    var parts = property.split(":");
+    var lead = BenchmarkFixtures.lead(BenchmarkFixtures.collectionSize(size), "Stark");
+    var value = lead.get(parts[1]);
+
+    action = new EditPropertyAction();
+    action.setName(parts[1]);
+    action.setValueType(ValueType.valueOf(parts[0]));
+    action.setValue(value.isValueNode() ? value.asText() : BenchmarkFixtures.OBJECT_MAPPER.writeValueAsString(value));
+    field = LeadDetail.class.getDeclaredField(parts[1]);
+    databaseColumn = valueConverter.convertToDatabaseColumn(action.getValue());
+  }
+
+  @Benchmark
+  public Object getValue() {
+    return valueConverter.getValue(action, field, EntityType.LEAD);
+  }
+
+  @Benchmark
+  public String convertToDatabaseColumn() {
+    return valueConverter.convertToDatabaseColumn(action.getValue());
+  }
+
+  @Benchmark
+  public Object convertToEntityAttribute() {
+    return valueConverter.convertToEntityAttribute(databaseColumn);
+  }
+}
@@ -2,8 +2,10 @@ package com.kylas.sales.workflow;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class WorkflowServiceApplication {
 
   public static void main(String[] args) {
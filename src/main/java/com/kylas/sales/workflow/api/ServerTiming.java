@@ -0,0 +1,36 @@
+package com.kylas.sales.workflow.api;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/*
+ * Stage durations of a single request, rendered as a Server-Timing header. Stages are recorded from the request
+ * thread and from reactive callbacks, so the map is synchronized.
+ */
+public class ServerTiming {
+
+  public static final String HEADER = "Server-Timing";
+  public static final String LOAD = "load";
+  public static final String RESOLVE_NAMES = "resolve_names";
+
+  private final Map<String, Long> durations = Collections.synchronizedMap(new LinkedHashMap<>());
+
+  public void record(String stage, long nanos) {
+    durations.merge(stage, nanos, Long::sum);
+  }
+
+  public boolean isEmpty() {
+    return durations.isEmpty();
+  }
+
+  public String toHeaderValue() {
+    synchronized (durations) {
+      return durations.entrySet().stream()
+          .map(stage -> String.format(Locale.ROOT, "%s;dur=%.1f", stage.getKey(), stage.getValue() / 1_000_000.0))
+          .collect(Collectors.joining(", "));
+    }
+  }
+}
@@ -1,11 +1,13 @@
 package com.kylas.sales.workflow.api;
 
+import static java.util.Objects.isNull;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 
 import com.kylas.sales.workflow.api.request.FilterRequest;
 import com.kylas.sales.workflow.api.request.WorkflowRequest;
 import com.kylas.sales.workflow.api.response.WorkflowDetail;
 import com.kylas.sales.workflow.api.response.WorkflowEntry;
+import com.kylas.sales.workflow.domain.WorkflowKeyset;
 import com.kylas.sales.workflow.domain.workflow.Workflow;
 import com.kylas.sales.workflow.integration.IntegrationConfig;
 import com.kylas.sales.workflow.integration.request.IntegrationRequest;
@@ -14,6 +16,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Sort.Order;
 import org.springframework.data.web.PageableDefault;
@@ -25,6 +28,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Mono;
@@ -55,8 +59,9 @@ public class WorkflowController {
   }
 
   @GetMapping(value = "/{id}", produces = APPLICATION_JSON_VALUE)
-  public Mono<WorkflowDetail> getWorkflow(@PathVariable("id") long workflowId) {
-    return workflowService.get(workflowId);
+  public Mono<ResponseEntity<WorkflowDetail>> getWorkflow(@PathVariable("id") long workflowId) {
+    var timing = new ServerTiming();
+    return workflowService.get(workflowId, timing).map(workflowDetail -> withTiming(workflowDetail, timing));
   }
 
   @PutMapping(value = "/{id}", consumes = APPLICATION_JSON_VALUE, produces = APPLICATION_JSON_VALUE)
@@ -69,17 +74,20 @@ public class WorkflowController {
       value = "/list",
       consumes = APPLICATION_JSON_VALUE,
       produces = APPLICATION_JSON_VALUE)
-  public Mono<Page<WorkflowDetail>> getAllWorkflow(
+  public Mono<ResponseEntity<Page<WorkflowDetail>>> getAllWorkflow(
       @PageableDefault(page = 0, size = 10) Pageable pageable) {
-    return workflowService.list(pageable);
+    var timing = new ServerTiming();
+    return workflowService.list(pageable, timing).map(workflowDetails -> withTiming(workflowDetails, timing));
   }
 
   @PostMapping(
       value = "/search",
       consumes = APPLICATION_JSON_VALUE,
       produces = APPLICATION_JSON_VALUE)
-  public Page<WorkflowEntry> search(
-      @PageableDefault(page = 0, size = 10) Pageable pageable, @RequestBody(required = false) FilterRequest filterRequest) {
+  public Slice<WorkflowEntry> search(
+      @PageableDefault(page = 0, size = 10) Pageable pageable, @RequestBody(required = false) FilterRequest filterRequest,
+      @RequestParam(value = "count", defaultValue = "true") boolean count,
+      @RequestParam(value = "after", required = false) String after) {
 
     Pageable lastTriggeredAt = pageable.getSort().stream()
         .filter(order -> order.getProperty().equalsIgnoreCase("lastTriggeredAt"))
@@ -95,7 +103,11 @@ public class WorkflowController {
             })
         .orElse(pageable);
 
-    return workflowService.search(lastTriggeredAt, Optional.ofNullable(filterRequest));
+    if (count && isNull(after)) {
+      return workflowService.search(lastTriggeredAt, Optional.ofNullable(filterRequest));
+    }
+    Optional<WorkflowKeyset> keyset = Optional.ofNullable(after).map(WorkflowKeyset::decode);
+    return workflowService.search(lastTriggeredAt, Optional.ofNullable(filterRequest), keyset);
   }
 
   @PostMapping(value = "/{id}/deactivate", produces = APPLICATION_JSON_VALUE)
@@ -117,4 +129,12 @@ public class WorkflowController {
   public Mono<Boolean> unregisterSystemDefault(@PathVariable("event") String event, @RequestBody IntegrationRequest request) {
     return workflowService.unregisterIntegration(IntegrationConfig.from(event, request));
   }
+
+  private static <T> ResponseEntity<T> withTiming(T body, ServerTiming timing) {
+    var response = ResponseEntity.ok();
+    if (!timing.isEmpty()) {
+      response.header(ServerTiming.HEADER, timing.toHeaderValue());
+    }
+    return response.body(body);
+  }
 }
@@ -1,6 +1,7 @@
 package com.kylas.sales.workflow.api;
 
 import static com.kylas.sales.workflow.domain.workflow.ConditionType.FOR_ALL;
+import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 import static java.util.stream.Collectors.toList;
 
@@ -17,21 +18,32 @@ import com.kylas.sales.workflow.common.dto.ActionResponse;
 import com.kylas.sales.workflow.common.dto.User;
 import com.kylas.sales.workflow.common.dto.WorkflowTrigger;
 import com.kylas.sales.workflow.domain.ConditionFacade;
+import com.kylas.sales.workflow.domain.KeysetSlice;
+import com.kylas.sales.workflow.domain.WorkflowExecutionCounter;
 import com.kylas.sales.workflow.domain.WorkflowFacade;
 import com.kylas.sales.workflow.domain.WorkflowFilter;
+import com.kylas.sales.workflow.domain.WorkflowKeyset;
 import com.kylas.sales.workflow.domain.processor.task.AssignedToType;
+import com.kylas.sales.workflow.domain.service.IdNameResolver.Kind;
+import com.kylas.sales.workflow.domain.service.NameRequests;
+import com.kylas.sales.workflow.domain.service.ResolvedNames;
 import com.kylas.sales.workflow.domain.service.ValueResolver;
 import com.kylas.sales.workflow.domain.workflow.ConditionType;
 import com.kylas.sales.workflow.domain.workflow.EntityType;
 import com.kylas.sales.workflow.domain.workflow.TriggerFrequency;
 import com.kylas.sales.workflow.domain.workflow.Workflow;
+import com.kylas.sales.workflow.domain.workflow.WorkflowEntryRecord;
 import com.kylas.sales.workflow.domain.workflow.WorkflowExecutedEvent;
 import com.kylas.sales.workflow.domain.workflow.action.WorkflowAction.ActionType;
 import com.kylas.sales.workflow.domain.workflow.action.task.AssignedTo;
 import com.kylas.sales.workflow.domain.workflow.action.webhook.attribute.AttributeFactory.LeadAttribute;
 import com.kylas.sales.workflow.integration.IntegrationConfig;
 import com.kylas.sales.workflow.security.AuthService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -46,19 +58,35 @@ import reactor.core.publisher.Mono;
 @Service
 public class WorkflowService {
 
+  private static final int NAME_RESOLUTION_CONCURRENCY = 8;
+
   private final WorkflowFacade workflowFacade;
   private final AuthService authService;
   private final ConditionFacade conditionFacade;
   private final ValueResolver valueResolver;
+  private final WorkflowExecutionCounter workflowExecutionCounter;
+  private final MeterRegistry meterRegistry;
+  private final Timer loadTimer;
+  private final Timer nameResolutionTimer;
 
   @Autowired
   public WorkflowService(
       WorkflowFacade workflowFacade, AuthService authService, ConditionFacade conditionFacade,
-      ValueResolver valueResolver) {
+      ValueResolver valueResolver, WorkflowExecutionCounter workflowExecutionCounter, MeterRegistry meterRegistry) {
     this.workflowFacade = workflowFacade;
     this.authService = authService;
     this.conditionFacade = conditionFacade;
     this.valueResolver = valueResolver;
+    this.workflowExecutionCounter = workflowExecutionCounter;
+    this.meterRegistry = meterRegistry;
+    this.loadTimer = stageTimer(meterRegistry, ServerTiming.LOAD);
+    this.nameResolutionTimer = stageTimer(meterRegistry, ServerTiming.RESOLVE_NAMES);
+  }
+
+  private static Timer stageTimer(MeterRegistry meterRegistry, String stage) {
+    return Timer.builder("workflow.detail.stage")
+        .tag("stage", stage)
+        .register(meterRegistry);
   }
 
   public Mono<WorkflowSummary> create(WorkflowRequest workflowRequest) {
@@ -72,9 +100,12 @@ public class WorkflowService {
     return workflowFacade.findActiveBy(tenantId, entityType, triggerFrequency);
   }
 
-  public Mono<WorkflowDetail> get(long workflowId) {
+  public Mono<WorkflowDetail> get(long workflowId, ServerTiming timing) {
     String authToken = authService.getAuthenticationToken();
-    return toWorkflowDetail(workflowFacade.get(workflowId), authToken);
+    var sample = Timer.start(meterRegistry);
+    var workflow = workflowFacade.get(workflowId);
+    timing.record(ServerTiming.LOAD, sample.stop(loadTimer));
+    return toWorkflowDetails(List.of(workflow), authToken, timing).map(workflowDetails -> workflowDetails.get(0));
   }
 
   public Mono<WorkflowDetail> update(long workflowId, WorkflowRequest workflowRequest) {
@@ -85,18 +116,83 @@ public class WorkflowService {
   }
 
   private Mono<WorkflowDetail> toWorkflowDetail(Workflow workflow, String authenticationToken) {
+    return toWorkflowDetails(List.of(workflow), authenticationToken, new ServerTiming())
+        .map(workflowDetails -> workflowDetails.get(0));
+  }
+
+  private Mono<List<WorkflowDetail>> toWorkflowDetails(List<Workflow> workflows, String authenticationToken,
+      ServerTiming timing) {
+    var nameRequests = new NameRequests();
+    Map<Workflow, List<ActionResponse>> actionResponses = new IdentityHashMap<>();
+    workflows.forEach(workflow -> {
+      var actions = workflow.getWorkflowActions()
+          .stream()
+          .map(action -> action.getType().toActionResponse(action))
+          .collect(toList());
+      actionResponses.put(workflow, actions);
+      collectNames(workflow, actions, nameRequests);
+    });
+    return resolveNames(nameRequests, authenticationToken, timing)
+        .map(names -> workflows.stream()
+            .map(workflow -> toWorkflowDetail(workflow, actionResponses.get(workflow), names))
+            .collect(toList()));
+  }
+
+  private void collectNames(Workflow workflow, List<ActionResponse> actions, NameRequests nameRequests) {
+    if (!workflow.getWorkflowCondition().getType().equals(FOR_ALL)) {
+      conditionFacade.collectNames(workflow.getWorkflowCondition().getExpression(), nameRequests);
+    }
+    actions.forEach(action -> {
+      if (action.getType().equals(ActionType.REASSIGN)) {
+        nameRequests.user(((ReassignAction) action.getPayload()).getId());
+      }
+      if (isPipelineEdit(action, workflow.getEntityType())) {
+        var value = ((EditPropertyAction) action.getPayload()).getValue();
+        if (nonNull(value)) {
+          nameRequests.idName(Kind.PIPELINE, valueResolver.getIdNameFrom(value).getId());
+        }
+      }
+      if (action.getType().equals(ActionType.CREATE_TASK)) {
+        var assignedTo = ((CreateTaskAction) action.getPayload()).getAssignedTo();
+        if (assignedTo.getType().equals(AssignedToType.USER)) {
+          nameRequests.user(assignedTo.getId());
+        }
+      }
+    });
+  }
+
+  private Mono<ResolvedNames> resolveNames(NameRequests nameRequests, String authenticationToken, ServerTiming timing) {
+    if (nameRequests.isEmpty()) {
+      return Mono.just(ResolvedNames.NONE);
+    }
+    var users = Flux.fromIterable(nameRequests.getUserIds())
+        .flatMap(userId -> valueResolver.getUserName(userId, authenticationToken).map(name -> Map.entry(userId, name)),
+            NAME_RESOLUTION_CONCURRENCY)
+        .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    var idNames = Flux.fromIterable(nameRequests.getIdNames().entrySet())
+        .flatMap(requested -> valueResolver.resolveAll(requested.getKey(), requested.getValue(), authenticationToken)
+            .map(resolved -> Map.entry(requested.getKey(), resolved)), NAME_RESOLUTION_CONCURRENCY)
+        .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    return Mono.defer(() -> {
+      var sample = Timer.start(meterRegistry);
+      return Mono.zip(users, idNames)
+          .map(resolved -> new ResolvedNames(resolved.getT1(), resolved.getT2()))
+          .doFinally(signal -> timing.record(ServerTiming.RESOLVE_NAMES, sample.stop(nameResolutionTimer)));
+    });
+  }
+
+  private WorkflowDetail toWorkflowDetail(Workflow workflow, List<ActionResponse> actionResponses, ResolvedNames names) {
     var workflowTrigger =
         new WorkflowTrigger(
             workflow.getWorkflowTrigger().getTriggerType(),
             workflow.getWorkflowTrigger().getTriggerFrequency());
 
     ConditionType conditionType = workflow.getWorkflowCondition().getType();
-    var conditionMono =
+    var condition =
         conditionType.equals(FOR_ALL)
-            ? Mono.just(new Condition(conditionType.name(), null))
-            : conditionFacade
-                .nameResolved(workflow.getWorkflowCondition().getExpression(), authenticationToken)
-                .map(expression -> new Condition(conditionType.name(), conditionFacade.flattenExpression(expression)));
+            ? new Condition(conditionType.name(), null)
+            : new Condition(conditionType.name(), conditionFacade.flattenExpression(
+                conditionFacade.nameResolved(workflow.getWorkflowCondition().getExpression(), names)));
 
     var createdBy = new User(workflow.getCreatedBy().getId(), workflow.getCreatedBy().getName());
     var updatedBy = new User(workflow.getUpdatedBy().getId(), workflow.getUpdatedBy().getName());
@@ -106,82 +202,85 @@ public class WorkflowService {
             ? workflow.getWorkflowExecutedEvent()
             : WorkflowExecutedEvent.createNew(workflow);
 
-    List<ActionResponse> actionResponses = workflow.getWorkflowActions()
-        .stream()
-        .map(action -> action.getType().toActionResponse(action))
+    var actions = actionResponses.stream()
+        .map(actionResponse -> getResolvedAction(actionResponse, names, workflow.getEntityType()))
         .collect(toList());
 
-    return Flux.fromIterable(actionResponses)
-        .flatMap(actionResponse -> getResolvedAction(actionResponse, authenticationToken, workflow.getEntityType()))
-        .collectList()
-        .zipWith(conditionMono)
-        .map(objects -> new WorkflowDetail(
-            workflow.getId(), workflow.getName(), workflow.getDescription(), workflow.getEntityType(),
-            workflowTrigger, objects.getT2(), objects.getT1(), createdBy, updatedBy,
-            workflow.getCreatedAt(), workflow.getUpdatedAt(), executedEvent.getLastTriggeredAt(),
-            executedEvent.getTriggerCount(), workflow.getAllowedActions(), workflow.isActive()));
+    return new WorkflowDetail(
+        workflow.getId(), workflow.getName(), workflow.getDescription(), workflow.getEntityType(),
+        workflowTrigger, condition, actions, createdBy, updatedBy,
+        workflow.getCreatedAt(), workflow.getUpdatedAt(), workflowExecutionCounter.lastTriggeredAtOf(executedEvent),
+        workflowExecutionCounter.triggerCountOf(executedEvent), workflow.getAllowedActions(), workflow.isActive());
   }
 
-  private Mono<ActionResponse> getResolvedAction(ActionResponse action, String authenticationToken, EntityType entityType) {
+  private ActionResponse getResolvedAction(ActionResponse action, ResolvedNames names, EntityType entityType) {
     if (action.getType().equals(ActionType.REASSIGN)) {
       var actionDetail = (ReassignAction) action.getPayload();
-      return valueResolver
-          .getUserName(actionDetail.getId(), authenticationToken)
+      return names.user(actionDetail.getId())
           .map(name ->
               new ActionResponse(
                   action.getId(),
                   action.getType(),
-                  new ReassignAction(actionDetail.getId(), name)));
+                  new ReassignAction(actionDetail.getId(), name)))
+          .orElse(action);
     }
-    if (action.getType().equals(ActionType.EDIT_PROPERTY) && entityType.equals(EntityType.LEAD)) {
+    if (isPipelineEdit(action, entityType)) {
       var actionDetail = (EditPropertyAction) action.getPayload();
-      if (actionDetail.getName().equals(LeadAttribute.PIPELINE.getName())) {
-        return valueResolver
-            .resolveNamesOfIdNameFieldsExceptUserFields(actionDetail.getName(), actionDetail.getValue(), authenticationToken)
-            .map(idName ->
-                new ActionResponse(
-                    action.getId(),
-                    action.getType(),
-                    new EditPropertyAction(actionDetail.getName(), idName, actionDetail.getValueType(), actionDetail.isStandard())));
+      if (isNull(actionDetail.getValue())) {
+        return action;
       }
+      return names.idName(Kind.PIPELINE, valueResolver.getIdNameFrom(actionDetail.getValue()).getId())
+          .map(idName ->
+              new ActionResponse(
+                  action.getId(),
+                  action.getType(),
+                  new EditPropertyAction(actionDetail.getName(), idName, actionDetail.getValueType(), actionDetail.isStandard())))
+          .orElse(action);
     }
     if (action.getType().equals(ActionType.CREATE_TASK)) {
       var actionDetail = (CreateTaskAction) action.getPayload();
       if (actionDetail.getAssignedTo().getType().equals(AssignedToType.USER)) {
-        return valueResolver.getUserName(actionDetail.getAssignedTo().getId(), authenticationToken)
+        return names.user(actionDetail.getAssignedTo().getId())
             .map(name -> new ActionResponse(action.getId(), action.getType(),
                 new CreateTaskAction(actionDetail.getName(), actionDetail.getDescription(), actionDetail.getPriority(), actionDetail.getOutcome(),
                     actionDetail.getType(), actionDetail.getStatus(),
-                    new AssignedTo(actionDetail.getAssignedTo().getType(), actionDetail.getAssignedTo().getId(), name), actionDetail.getDueDate())));
+                    new AssignedTo(actionDetail.getAssignedTo().getType(), actionDetail.getAssignedTo().getId(), name), actionDetail.getDueDate())))
+            .orElse(action);
       }
     }
-    return Mono.just(action);
+    return action;
   }
 
-  private WorkflowEntry toWorkflowEntry(Workflow workflow) {
-    var createdBy = new User(workflow.getCreatedBy().getId(), workflow.getCreatedBy().getName());
-    var updatedBy = new User(workflow.getUpdatedBy().getId(), workflow.getUpdatedBy().getName());
-    var executedEvent =
-        nonNull(workflow.getWorkflowExecutedEvent())
-            ? workflow.getWorkflowExecutedEvent()
-            : WorkflowExecutedEvent.createNew(workflow);
+  private boolean isPipelineEdit(ActionResponse action, EntityType entityType) {
+    return action.getType().equals(ActionType.EDIT_PROPERTY) && entityType.equals(EntityType.LEAD)
+        && ((EditPropertyAction) action.getPayload()).getName().equals(LeadAttribute.PIPELINE.getName());
+  }
+
+  private WorkflowEntry toWorkflowEntry(WorkflowEntryRecord workflow) {
+    var createdBy = new User(workflow.getCreatedById(), workflow.getCreatedByName());
+    var updatedBy = new User(workflow.getUpdatedById(), workflow.getUpdatedByName());
     return new WorkflowEntry(workflow.getId(), workflow.getName(), workflow.getEntityType(),
-        createdBy, updatedBy, workflow.getCreatedAt(), workflow.getUpdatedAt(), executedEvent.getLastTriggeredAt(),
-        executedEvent.getTriggerCount(), workflow.getAllowedActions(), workflow.isActive());
+        createdBy, updatedBy, workflow.getCreatedAt(), workflow.getUpdatedAt(),
+        workflowExecutionCounter.lastTriggeredAtOf(workflow.getExecutedEventId(), workflow.getLastTriggeredAt()),
+        workflowExecutionCounter.triggerCountOf(workflow.getExecutedEventId(), workflow.getTriggerCount()),
+        workflow.getAllowedActions(), workflow.isActive());
   }
 
-  public Mono<Page<WorkflowDetail>> list(Pageable pageable) {
+  public Mono<Page<WorkflowDetail>> list(Pageable pageable, ServerTiming timing) {
+    var sample = Timer.start(meterRegistry);
     Page<Workflow> list = workflowFacade.list(pageable);
+    timing.record(ServerTiming.LOAD, sample.stop(loadTimer));
     String authToken = authService.getAuthenticationToken();
-    return Flux
-        .fromIterable(list.getContent())
-        .flatMap(workflow -> toWorkflowDetail(workflow, authToken))
-        .collectList()
+    return toWorkflowDetails(list.getContent(), authToken, timing)
         .map(workflowDetails -> new PageImpl<>(workflowDetails, list.getPageable(), list.getTotalElements()));
   }
 
   public void updateExecutedEventDetails(Workflow workflow) {
-    workflowFacade.updateExecutedEvent(workflow);
+    workflowExecutionCounter.record(workflow.getWorkflowExecutedEvent().getId(), 1L);
+  }
+
+  public void updateExecutedEventDetails(Map<Long, Long> executionCounts) {
+    workflowExecutionCounter.record(executionCounts);
   }
 
   public Mono<WorkflowDetail> deactivate(long workflowId) {
@@ -196,14 +295,21 @@ public class WorkflowService {
 
   public Page<WorkflowEntry> search(
       Pageable pageable, Optional<FilterRequest> optionalFilterRequest) {
-    Optional<Set<WorkflowFilter>> workflowFilters = optionalFilterRequest
+    Page<WorkflowEntryRecord> list = workflowFacade.search(pageable, toWorkflowFilters(optionalFilterRequest));
+    return list.map(this::toWorkflowEntry);
+  }
+
+  public KeysetSlice<WorkflowEntry> search(
+      Pageable pageable, Optional<FilterRequest> optionalFilterRequest, Optional<WorkflowKeyset> keyset) {
+    KeysetSlice<WorkflowEntryRecord> list = workflowFacade.search(pageable, toWorkflowFilters(optionalFilterRequest), keyset);
+    return list.map(this::toWorkflowEntry);
+  }
+
+  private Optional<Set<WorkflowFilter>> toWorkflowFilters(Optional<FilterRequest> optionalFilterRequest) {
+    return optionalFilterRequest
         .map(filterRequest -> filterRequest.getFilters().stream()
             .map(filter -> new WorkflowFilter(filter.getOperator(), filter.getFieldName(), filter.getFieldType(), filter.getValue()))
             .collect(Collectors.toSet()));
-    Page<Workflow> list = workflowFacade.search(pageable, workflowFilters);
-
-    List<WorkflowEntry> workflowEntries = list.getContent().stream().map(this::toWorkflowEntry).collect(toList());
-    return new PageImpl<>(workflowEntries, list.getPageable(), list.getTotalElements());
   }
 
   public Mono<Workflow> registerIntegration(IntegrationConfig config) {
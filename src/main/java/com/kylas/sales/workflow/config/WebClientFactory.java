@@ -0,0 +1,103 @@
+package com.kylas.sales.workflow.config;
+
+import static java.util.Objects.nonNull;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.ConnectionObserver;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+@Component
+@Slf4j
+public class WebClientFactory {
+
+  private static final String READ_TIMEOUT_HANDLER = "workflowReadTimeout";
+
+  private final ConcurrentMap<String, WebClient> clients = new ConcurrentHashMap<>();
+  private final WebClient.Builder webClientBuilder;
+  private final MeterRegistry meterRegistry;
+  private final int maxConnections;
+  private final long acquireTimeoutMillis;
+  private final int connectTimeoutMillis;
+  private final long readTimeoutMillis;
+
+  @Autowired
+  public WebClientFactory(
+      WebClient.Builder webClientBuilder,
+      MeterRegistry meterRegistry,
+      @Value("${client.http.maxConnections:100}") int maxConnections,
+      @Value("${client.http.acquireTimeoutMillis:5000}") long acquireTimeoutMillis,
+      @Value("${client.http.connectTimeoutMillis:2000}") int connectTimeoutMillis,
+      @Value("${client.http.readTimeoutMillis:10000}") long readTimeoutMillis) {
+    this.webClientBuilder = webClientBuilder;
+    this.meterRegistry = meterRegistry;
+    this.maxConnections = maxConnections;
+    this.acquireTimeoutMillis = acquireTimeoutMillis;
+    this.connectTimeoutMillis = connectTimeoutMillis;
+    this.readTimeoutMillis = readTimeoutMillis;
+  }
+
+  public WebClient get(String name, String basePath) {
+    return clients.computeIfAbsent(name, key -> build(name, basePath));
+  }
+
+  private WebClient build(String name, String basePath) {
+    log.info("Creating pooled web client {} for {} with {} connections", name, basePath, maxConnections);
+    // The read timeout only covers a request in flight; left on a pooled channel it would close idle connections.
+    // Pool metrics come from reactor-netty as reactor.netty.connection.provider.*, tagged with the pool name.
+    var httpClient = HttpClient.create(ConnectionProvider.fixed("client-" + name, maxConnections, acquireTimeoutMillis))
+        .metrics(true)
+        .compress(true)
+        .keepAlive(true)
+        .tcpConfiguration(tcpClient -> tcpClient
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMillis)
+            .option(ChannelOption.SO_KEEPALIVE, true))
+        .doOnRequest((request, connection) -> connection
+            .addHandlerLast(READ_TIMEOUT_HANDLER, new ReadTimeoutHandler(readTimeoutMillis, TimeUnit.MILLISECONDS)))
+        .observe((connection, state) -> {
+          if (state == ConnectionObserver.State.RELEASED) {
+            connection.removeHandler(READ_TIMEOUT_HANDLER);
+          }
+        });
+    var builder = webClientBuilder.clone()
+        .clientConnector(new ReactorClientHttpConnector(httpClient))
+        .filter(metrics(name));
+    if (nonNull(basePath)) {
+      builder.baseUrl(basePath).defaultHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE);
+    }
+    return builder.build();
+  }
+
+  private ExchangeFilterFunction metrics(String name) {
+    return (request, next) -> {
+      var sample = Timer.start(meterRegistry);
+      return next.exchange(request)
+          .doOnSuccess(response -> sample.stop(
+              timer(name, request.method().name(), nonNull(response) ? String.valueOf(response.rawStatusCode()) : "NONE")))
+          .doOnError(e -> sample.stop(timer(name, request.method().name(), "IO_ERROR")));
+    };
+  }
+
+  private Timer timer(String name, String method, String status) {
+    return Timer.builder("workflow.client.requests")
+        .tag("client", name)
+        .tag("method", method)
+        .tag("status", status)
+        .register(meterRegistry);
+  }
+}
@@ -8,7 +8,7 @@ import org.springframework.web.reactive.function.client.WebClient;
 public class WebConfig {
 
   @Bean
-  public WebClient getWebClient() {
-    return WebClient.builder().build();
+  public WebClient getWebClient(WebClientFactory webClientFactory) {
+    return webClientFactory.get("webhook", null);
   }
 }
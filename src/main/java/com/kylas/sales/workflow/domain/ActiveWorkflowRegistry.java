@@ -0,0 +1,167 @@
+package com.kylas.sales.workflow.domain;
+
+import com.kylas.sales.workflow.domain.workflow.EntityType;
+import com.kylas.sales.workflow.domain.workflow.TriggerFrequency;
+import com.kylas.sales.workflow.domain.workflow.Workflow;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+@Slf4j
+public class ActiveWorkflowRegistry {
+
+  private final ConcurrentMap<Long, TenantWorkflows> tenants = new ConcurrentHashMap<>();
+  private final boolean enabled;
+  private final long expireAfterMillis;
+  private final Counter hits;
+  private final Counter misses;
+  private final Counter rebuilds;
+  private final Counter invalidations;
+
+  @Autowired
+  public ActiveWorkflowRegistry(
+      MeterRegistry meterRegistry,
+      @Value("${workflow.registry.enabled:true}") boolean enabled,
+      @Value("${workflow.registry.expireAfterSeconds:600}") long expireAfterSeconds) {
+    this.enabled = enabled;
+    this.expireAfterMillis = TimeUnit.SECONDS.toMillis(expireAfterSeconds);
+    this.hits = Counter.builder("workflow.registry.lookup").tag("result", "hit").register(meterRegistry);
+    this.misses = Counter.builder("workflow.registry.lookup").tag("result", "miss").register(meterRegistry);
+    this.rebuilds = Counter.builder("workflow.registry.rebuild").register(meterRegistry);
+    this.invalidations = Counter.builder("workflow.registry.invalidation").register(meterRegistry);
+    Gauge.builder("workflow.registry.tenants", tenants, Map::size).register(meterRegistry);
+  }
+
+  public List<Workflow> get(long tenantId, EntityType entityType, TriggerFrequency triggerFrequency, Supplier<List<Workflow>> loader) {
+    if (!enabled) {
+      return loader.get();
+    }
+    var tenant = tenants.computeIfAbsent(tenantId, id -> new TenantWorkflows());
+    var key = new Key(entityType, triggerFrequency);
+    var entry = tenant.entries.get(key);
+    long now = System.currentTimeMillis();
+    if (entry != null && now - entry.loadedAt < expireAfterMillis) {
+      hits.increment();
+      return entry.workflows;
+    }
+    misses.increment();
+    long generation = tenant.generation;
+    var workflows = List.copyOf(loader.get());
+    rebuilds.increment();
+    synchronized (tenant) {
+      if (tenant.generation == generation) {
+        tenant.entries.put(key, new Entry(workflows, now));
+      }
+    }
+    return workflows;
+  }
+
+  public void invalidate(Workflow workflow) {
+    var triggerFrequency = workflow.getWorkflowTrigger() == null ? null : workflow.getWorkflowTrigger().getTriggerFrequency();
+    invalidate(workflow.getTenantId(), workflow.getId(), workflow.getEntityType(), triggerFrequency);
+  }
+
+  public void invalidate(Long tenantId, Long workflowId, EntityType entityType, TriggerFrequency triggerFrequency) {
+    if (tenantId == null) {
+      invalidate(workflowId);
+      return;
+    }
+    var tenant = tenants.get(tenantId);
+    if (tenant == null) {
+      return;
+    }
+    synchronized (tenant) {
+      tenant.generation++;
+      if (entityType == null || triggerFrequency == null) {
+        tenant.entries.clear();
+      } else {
+        tenant.entries.remove(new Key(entityType, triggerFrequency));
+        tenant.entries.values().removeIf(entry -> entry.contains(workflowId));
+      }
+    }
+    invalidations.increment();
+    log.debug("Invalidated active workflows of tenant {} for workflow {}", tenantId, workflowId);
+  }
+
+  public void invalidate(Long workflowId) {
+    tenants.values().forEach(tenant -> {
+      synchronized (tenant) {
+        tenant.generation++;
+        tenant.entries.values().removeIf(entry -> entry.contains(workflowId));
+      }
+    });
+    invalidations.increment();
+    log.debug("Invalidated active workflows for workflow {}", workflowId);
+  }
+
+  public void clear() {
+    tenants.values().forEach(tenant -> {
+      synchronized (tenant) {
+        tenant.generation++;
+      }
+    });
+    tenants.clear();
+    invalidations.increment();
+  }
+
+  private static class TenantWorkflows {
+
+    private final ConcurrentMap<Key, Entry> entries = new ConcurrentHashMap<>();
+    private volatile long generation;
+  }
+
+  private static class Entry {
+
+    private final List<Workflow> workflows;
+    private final long loadedAt;
+
+    private Entry(List<Workflow> workflows, long loadedAt) {
+      this.workflows = workflows;
+      this.loadedAt = loadedAt;
+    }
+
+    private boolean contains(Long workflowId) {
+      return workflows.stream().anyMatch(workflow -> Objects.equals(workflow.getId(), workflowId));
+    }
+  }
+
+  private static class Key {
+
+    private final EntityType entityType;
+    private final TriggerFrequency triggerFrequency;
+
+    private Key(EntityType entityType, TriggerFrequency triggerFrequency) {
+      this.entityType = entityType;
+      this.triggerFrequency = triggerFrequency;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key key = (Key) o;
+      return entityType == key.entityType && triggerFrequency == key.triggerFrequency;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(entityType, triggerFrequency);
+    }
+  }
+}
@@ -0,0 +1,311 @@
+package com.kylas.sales.workflow.domain;
+
+import static com.kylas.sales.workflow.api.request.Condition.TriggerType.IS_CHANGED;
+import static com.kylas.sales.workflow.api.request.Condition.TriggerType.NEW_VALUE;
+import static com.kylas.sales.workflow.common.dto.condition.ExpressionField.getFieldByName;
+import static com.kylas.sales.workflow.common.dto.condition.Operator.AND;
+import static com.kylas.sales.workflow.common.dto.condition.Operator.OR;
+import static java.lang.Double.parseDouble;
+import static java.lang.Long.parseLong;
+import static java.lang.String.valueOf;
+import static java.util.Objects.isNull;
+import static org.apache.commons.lang3.StringUtils.isEmpty;
+import static org.apache.commons.lang3.StringUtils.isNotBlank;
+import static org.apache.commons.lang3.StringUtils.startsWith;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kylas.sales.workflow.common.dto.condition.WorkflowCondition.ConditionExpression;
+import com.kylas.sales.workflow.domain.accessor.PropertyAccessException;
+import com.kylas.sales.workflow.domain.accessor.PropertyAccessor;
+import com.kylas.sales.workflow.domain.accessor.PropertyAccessors;
+import com.kylas.sales.workflow.domain.exception.InvalidConditionException;
+import com.kylas.sales.workflow.domain.processor.lead.IdName;
+import com.kylas.sales.workflow.domain.service.ValueResolver;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.beanutils.NestedNullException;
+import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.lang3.Range;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.SimpleEvaluationContext;
+
+@Slf4j
+class ConditionCompiler {
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+  private static final SpelExpressionParser PARSER = new SpelExpressionParser();
+  private static final EvaluationContext READ_ONLY_CONTEXT = SimpleEvaluationContext.forReadOnlyDataBinding().build();
+
+  private final ValueResolver valueResolver;
+  private final List<String> idNameProperties;
+  private final List<String> listOfIdNameProperties;
+  private final List<String> numberProperties;
+
+  ConditionCompiler(ValueResolver valueResolver, List<String> idNameProperties, List<String> listOfIdNameProperties,
+      List<String> numberProperties) {
+    this.valueResolver = valueResolver;
+    this.idNameProperties = idNameProperties;
+    this.listOfIdNameProperties = listOfIdNameProperties;
+    this.numberProperties = numberProperties;
+  }
+
+  ConditionPredicate compile(ConditionExpression expression) {
+    if (IS_CHANGED.equals(expression.getTriggerOn())) {
+      return isChanged(expression);
+    }
+    if (expression.getOperator().equals(AND)) {
+      var operand1 = compile(expression.getOperand1());
+      var operand2 = compile(expression.getOperand2());
+      return event -> operand1.test(event) && operand2.test(event);
+    }
+    if (expression.getOperator().equals(OR)) {
+      var operand1 = compile(expression.getOperand1());
+      var operand2 = compile(expression.getOperand2());
+      return event -> operand1.test(event) || operand2.test(event);
+    }
+    var predicate = compileValue(expression);
+    return expression.getTriggerOn().equals(NEW_VALUE)
+        ? event -> predicate.test(event.getEntity())
+        : event -> predicate.test(event.getOldEntity());
+  }
+
+  private ConditionPredicate isChanged(ConditionExpression expression) {
+    if (isNull(expression.getName())) {
+      return event -> false;
+    }
+    Function<Object, String> reader;
+    if (listOfIdNameProperties.contains(expression.getName())) {
+      var listReader = listReader(expression.getName());
+      reader = entity -> String.join(",", listReader.apply(entity));
+    } else {
+      var name = expression.getName();
+      var field = getFieldByName(name);
+      reader = entity -> {
+        try {
+          return PropertyAccessors.getAsString(entity, field);
+        } catch (PropertyAccessException e) {
+          log.error("Exception occurred while getting actual value for {}", name);
+          throw new InvalidConditionException();
+        }
+      };
+    }
+    return event -> {
+      var newValue = reader.apply(event.getEntity());
+      var oldValue = reader.apply(event.getOldEntity());
+      return !isNull(newValue) && !newValue.equals(oldValue);
+    };
+  }
+
+  private Predicate<Object> compileValue(ConditionExpression expression) {
+    var name = expression.getName();
+    if (isNotBlank(name) && listOfIdNameProperties.contains(name)) {
+      return compileIdNameList(expression, listReader(name));
+    }
+    var actual = valueReader(name);
+    if (isNotBlank(name) && idNameProperties.contains(name)) {
+      return compileIdName(expression, actual);
+    }
+    Function<Object, String> text = entity -> PropertyAccessor.asString(actual.apply(entity));
+    var value = expression.getValue();
+    var expected = valueOf(value);
+    switch (expression.getOperator()) {
+      case EQUAL:
+        if (value instanceof Number) {
+          var number = parseDouble(expected);
+          return entity -> {
+            var actualValue = actual.apply(entity);
+            return !isNull(actualValue) && toDouble(actualValue) == number;
+          };
+        }
+        return entity -> {
+          var actualValue = text.apply(entity);
+          return !isNull(actualValue) && expected.equalsIgnoreCase(actualValue);
+        };
+      case NOT_EQUAL:
+        if (value instanceof Number) {
+          var number = parseDouble(expected);
+          return entity -> {
+            var actualValue = actual.apply(entity);
+            return isNull(actualValue) || toDouble(actualValue) != number;
+          };
+        }
+        return entity -> {
+          var actualValue = text.apply(entity);
+          return isNull(actualValue) || !expected.equalsIgnoreCase(actualValue);
+        };
+      case IS_NOT_NULL:
+        return entity -> !isNull(text.apply(entity));
+      case IS_NULL:
+        return entity -> isNull(text.apply(entity));
+      case CONTAINS:
+        return entity -> {
+          var actualValue = text.apply(entity);
+          return !isNull(actualValue) && actualValue.contains(expected);
+        };
+      case NOT_CONTAINS:
+        return entity -> {
+          var actualValue = text.apply(entity);
+          return isNull(actualValue) || !actualValue.contains(expected);
+        };
+      case BETWEEN:
+        var between = rangeOf(expected);
+        return entity -> {
+          var actualValue = actual.apply(entity);
+          return !isNull(actualValue) && between.contains(toDouble(actualValue));
+        };
+      case NOT_BETWEEN:
+        var notBetween = rangeOf(expected);
+        return entity -> {
+          var actualValue = actual.apply(entity);
+          return isNull(actualValue) || !notBetween.contains(toDouble(actualValue));
+        };
+      case GREATER:
+        var greater = parseDouble(expected);
+        return entity -> {
+          var actualValue = actual.apply(entity);
+          return !isNull(actualValue) && toDouble(actualValue) > greater;
+        };
+      case GREATER_OR_EQUAL:
+        var greaterOrEqual = parseDouble(expected);
+        return entity -> {
+          var actualValue = actual.apply(entity);
+          return !isNull(actualValue) && toDouble(actualValue) >= greaterOrEqual;
+        };
+      case LESS:
+        var less = parseDouble(expected);
+        return entity -> {
+          var actualValue = actual.apply(entity);
+          return !isNull(actualValue) && toDouble(actualValue) < less;
+        };
+      case LESS_OR_EQUAL:
+        var lessOrEqual = parseDouble(expected);
+        return entity -> {
+          var actualValue = actual.apply(entity);
+          return !isNull(actualValue) && toDouble(actualValue) <= lessOrEqual;
+        };
+      case IN:
+        var in = compileIn(name, expected);
+        return entity -> in.test(text.apply(entity));
+      case NOT_IN:
+        var notIn = compileIn(name, expected);
+        return entity -> !notIn.test(text.apply(entity));
+      case IS_EMPTY:
+        return entity -> isEmpty(text.apply(entity));
+      case IS_NOT_EMPTY:
+        return entity -> !isEmpty(text.apply(entity));
+      case BEGINS_WITH:
+        return entity -> startsWith(text.apply(entity), expected);
+    }
+    throw new InvalidConditionException();
+  }
+
+  private Predicate<Object> compileIdName(ConditionExpression expression, Function<Object, Object> actual) {
+    switch (expression.getOperator()) {
+      case EQUAL:
+        long equalId = valueResolver.getIdNameFrom(expression.getValue()).getId();
+        return entity -> {
+          var actualValue = actual.apply(entity);
+          return !isNull(actualValue) && toLong(actualValue) == equalId;
+        };
+      case NOT_EQUAL:
+        long notEqualId = valueResolver.getIdNameFrom(expression.getValue()).getId();
+        return entity -> {
+          var actualValue = actual.apply(entity);
+          return isNull(actualValue) || toLong(actualValue) != notEqualId;
+        };
+      case IS_NOT_NULL:
+        return entity -> !isNull(actual.apply(entity));
+      case IS_NULL:
+        return entity -> isNull(actual.apply(entity));
+    }
+    throw new InvalidConditionException();
+  }
+
+  private Predicate<Object> compileIdNameList(ConditionExpression expression, Function<Object, List<String>> actual) {
+    var idName = OBJECT_MAPPER.convertValue(expression.getValue(), IdName.class);
+    switch (expression.getOperator()) {
+      case CONTAINS:
+        var containsId = idName.getId().toString();
+        return entity -> actual.apply(entity).contains(containsId);
+      case NOT_CONTAINS:
+        var notContainsId = idName.getId().toString();
+        return entity -> !actual.apply(entity).contains(notContainsId);
+      case IS_EMPTY:
+        return entity -> CollectionUtils.isEmpty(actual.apply(entity));
+      case IS_NOT_EMPTY:
+        return entity -> CollectionUtils.isNotEmpty(actual.apply(entity));
+    }
+    throw new InvalidConditionException();
+  }
+
+  private Predicate<String> compileIn(String name, String expected) {
+    var tokens = expected.split("\\s*,\\s*");
+    if (numberProperties.contains(name)) {
+      Set<Double> numbers = Arrays.stream(tokens).map(Double::parseDouble).collect(Collectors.toCollection(HashSet::new));
+      return actualValue -> numbers.contains(parseDouble(actualValue));
+    }
+    Set<String> values = new HashSet<>(Arrays.asList(tokens));
+    return values::contains;
+  }
+
+  private Range<Double> rangeOf(String expected) {
+    var values = valueResolver.getListFrom(expected);
+    return Range.between(parseDouble(valueOf(values.get(0))), parseDouble(valueOf(values.get(1))));
+  }
+
+  private static double toDouble(Object value) {
+    return value instanceof Double || value instanceof Long || value instanceof Integer
+        ? ((Number) value).doubleValue()
+        : parseDouble(PropertyAccessor.asString(value));
+  }
+
+  private static long toLong(Object value) {
+    return value instanceof Long || value instanceof Integer
+        ? ((Number) value).longValue()
+        : parseLong(PropertyAccessor.asString(value));
+  }
+
+  private Function<Object, Object> valueReader(String name) {
+    if (isNull(name)) {
+      return entity -> null;
+    }
+    var field = getFieldByName(name);
+    return entity -> {
+      try {
+        return PropertyAccessors.get(entity, field);
+      } catch (NestedNullException ignored) {
+      } catch (PropertyAccessException e) {
+        log.error("Exception occurred while getting actual value for {}", name);
+      }
+      return null;
+    };
+  }
+
+  private Function<Object, List<String>> listReader(String name) {
+    Expression listExpression = PARSER.parseExpression(name);
+    var field = getFieldByName(name);
+    return entity -> {
+      List<String> values = new ArrayList<>();
+      var list = listExpression.getValue(READ_ONLY_CONTEXT, entity);
+      if (list != null) {
+        ((List<?>) list).forEach(o -> {
+          try {
+            values.add(PropertyAccessors.getAsString(o, field));
+          } catch (Exception e) {
+            log.error("Exception occurred while getting actual value for {}", name);
+          }
+        });
+      }
+      return values;
+    };
+  }
+}
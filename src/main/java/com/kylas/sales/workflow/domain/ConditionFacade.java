@@ -18,7 +18,6 @@ import static java.lang.String.valueOf;
 import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 import static java.util.stream.IntStream.range;
-import static org.apache.commons.beanutils.BeanUtils.getNestedProperty;
 import static org.apache.commons.collections.CollectionUtils.isEmpty;
 import static org.apache.commons.lang3.ObjectUtils.allNotNull;
 import static org.apache.commons.lang3.ObjectUtils.anyNotNull;
@@ -32,13 +31,17 @@ import com.kylas.sales.workflow.api.request.Condition;
 import com.kylas.sales.workflow.api.request.Condition.ExpressionElement;
 import com.kylas.sales.workflow.common.dto.condition.Operator;
 import com.kylas.sales.workflow.common.dto.condition.WorkflowCondition.ConditionExpression;
+import com.kylas.sales.workflow.domain.accessor.PropertyAccessException;
+import com.kylas.sales.workflow.domain.accessor.PropertyAccessors;
 import com.kylas.sales.workflow.domain.exception.InvalidConditionException;
 import com.kylas.sales.workflow.domain.processor.lead.IdName;
+import com.kylas.sales.workflow.domain.service.IdNameResolver.Kind;
+import com.kylas.sales.workflow.domain.service.NameRequests;
+import com.kylas.sales.workflow.domain.service.ResolvedNames;
 import com.kylas.sales.workflow.domain.service.ValueResolver;
 import com.kylas.sales.workflow.domain.workflow.Workflow;
 import com.kylas.sales.workflow.domain.workflow.WorkflowCondition;
 import com.kylas.sales.workflow.mq.event.EntityEvent;
-import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -62,7 +65,12 @@ import reactor.core.publisher.Mono;
 @Slf4j
 public class ConditionFacade {
 
+  private static final ConditionPredicate INTERPRETED = event -> {
+    throw new IllegalStateException("Condition is interpreted, it has no compiled predicate");
+  };
+
   private final ValueResolver valueResolver;
+  private final ConditionCompiler conditionCompiler;
 
   private final List<String> ID_NAME_PROPERTIES = List
       .of("pipeline", "pipelineStage", "createdBy", "updatedBy", "convertedBy", "ownerId", "ownedBy", "product", "company");
@@ -79,6 +87,7 @@ public class ConditionFacade {
   @Autowired
   public ConditionFacade(ValueResolver valueResolver) {
     this.valueResolver = valueResolver;
+    this.conditionCompiler = new ConditionCompiler(valueResolver, ID_NAME_PROPERTIES, LIST_OF_ID_NAME_PROPERTIES, NUMBER_PROPERTIES);
   }
 
   public void validate(Condition condition) {
@@ -158,6 +167,26 @@ public class ConditionFacade {
         : new WorkflowCondition(condition.getConditionType(), buildExpression(condition.getConditions()));
   }
 
+  /*
+   * A condition that fails to compile keeps the INTERPRETED marker, so the attempt is made once per cached
+   * workflow rather than on every evaluation. Callers get null back and fall through to the interpreter.
+   */
+  public ConditionPredicate compile(WorkflowCondition condition) {
+    var cached = condition.getPredicate();
+    if (nonNull(cached)) {
+      return cached == INTERPRETED ? null : cached;
+    }
+    try {
+      var predicate = conditionCompiler.compile(condition.getExpression());
+      condition.setPredicate(predicate);
+      return predicate;
+    } catch (RuntimeException e) {
+      log.debug("Condition {} could not be compiled, it will be interpreted", condition.getId(), e);
+      condition.setPredicate(INTERPRETED);
+      return null;
+    }
+  }
+
   public boolean satisfies(ConditionExpression expression, Object entity) {
 
     if (isNotBlank(expression.getName()) && LIST_OF_ID_NAME_PROPERTIES.contains(expression.getName())) {
@@ -289,8 +318,8 @@ public class ConditionFacade {
       return String.join(",", getActualValueOfList(expression, entity));
     }
     try {
-      return getNestedProperty(entity, getFieldByName(expression.getName()));
-    } catch (IllegalAccessException | NoSuchMethodException | InvocationTargetException e) {
+      return PropertyAccessors.getAsString(entity, getFieldByName(expression.getName()));
+    } catch (PropertyAccessException e) {
       log.error("Exception occurred while getting actual value for {}", expression.getName());
       throw new InvalidConditionException();
     }
@@ -300,9 +329,9 @@ public class ConditionFacade {
     String actualValue = null;
     if (nonNull(expression.getName())) {
       try {
-        actualValue = getNestedProperty(entity, getFieldByName(expression.getName()));
+        actualValue = PropertyAccessors.getAsString(entity, getFieldByName(expression.getName()));
       } catch (NestedNullException ignored) {
-      } catch (IllegalAccessException | NoSuchMethodException | InvocationTargetException e) {
+      } catch (PropertyAccessException e) {
         log.error("Exception occurred while getting actual value for {}", expression.getName());
       }
     }
@@ -319,7 +348,7 @@ public class ConditionFacade {
         Optional<Object> value = Optional.ofNullable(parser.parseExpression(expression.getName()).getValue(context,entity));
         value.ifPresent(list -> ((List)list).stream().forEach(o -> {
           try {
-            values.add(getNestedProperty(o, getFieldByName(expression.getName())));
+            values.add(PropertyAccessors.getAsString(o, getFieldByName(expression.getName())));
           } catch (Exception e) {
             log.error("Exception occurred while getting actual value for {}", expression.getName());
           }
@@ -353,6 +382,56 @@ public class ConditionFacade {
     return Mono.just(expression);
   }
 
+  public void collectNames(ConditionExpression expression, NameRequests requests) {
+    if (isNull(expression)) {
+      return;
+    }
+    if (isBinary(expression)) {
+      collectNames(expression.getOperand1(), requests);
+      collectNames(expression.getOperand2(), requests);
+      return;
+    }
+    if (ID_NAME_PROPERTIES.contains(expression.getName()) && nonNull(expression.getValue())) {
+      var id = valueResolver.getIdNameFrom(expression.getValue()).getId();
+      if (USER_FIELDS.contains(expression.getName())) {
+        requests.user(id);
+        return;
+      }
+      requests.idName(Kind.of(expression.getName()), id);
+    }
+  }
+
+  public ConditionExpression nameResolved(ConditionExpression expression, ResolvedNames names) {
+    if (isBinary(expression)) {
+      return new ConditionExpression(
+          nameResolved(expression.getOperand1(), names),
+          nameResolved(expression.getOperand2(), names),
+          expression.getOperator().getName(),
+          expression.getName(),
+          expression.getValue(),
+          isNull(expression.getTriggerOn()) ? null : expression.getTriggerOn().name());
+    }
+    if (ID_NAME_PROPERTIES.contains(expression.getName())) {
+      return getExpressionWithValue(expression, resolvedIdName(expression, names));
+    }
+    return expression;
+  }
+
+  private boolean isBinary(ConditionExpression expression) {
+    return !IS_CHANGED.equals(expression.getTriggerOn()) && (expression.getOperator().equals(AND) || expression.getOperator().equals(OR));
+  }
+
+  private IdName resolvedIdName(ConditionExpression expression, ResolvedNames names) {
+    if (isNull(expression.getValue())) {
+      return null;
+    }
+    var id = valueResolver.getIdNameFrom(expression.getValue()).getId();
+    if (USER_FIELDS.contains(expression.getName())) {
+      return names.user(id).map(name -> new IdName(id, name)).orElse(null);
+    }
+    return names.idName(Kind.of(expression.getName()), id).orElse(null);
+  }
+
   private ConditionExpression getExpressionWithValue(ConditionExpression expression, IdName value) {
     if (IS_CHANGED.equals(expression.getTriggerOn())) {
       return new ConditionExpression(expression.getOperand1(),
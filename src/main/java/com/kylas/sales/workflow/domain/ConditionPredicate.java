@@ -0,0 +1,9 @@
+package com.kylas.sales.workflow.domain;
+
+import com.kylas.sales.workflow.mq.event.EntityEvent;
+
+@FunctionalInterface
+public interface ConditionPredicate {
+
+  boolean test(EntityEvent event);
+}
@@ -0,0 +1,25 @@
+package com.kylas.sales.workflow.domain;
+
+import java.util.List;
+import java.util.function.Function;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+public class KeysetSlice<T> extends SliceImpl<T> {
+
+  private final String nextCursor;
+
+  public KeysetSlice(List<T> content, Pageable pageable, boolean hasNext, String nextCursor) {
+    super(content, pageable, hasNext);
+    this.nextCursor = nextCursor;
+  }
+
+  public String getNextCursor() {
+    return nextCursor;
+  }
+
+  @Override
+  public <U> KeysetSlice<U> map(Function<? super T, ? extends U> converter) {
+    return new KeysetSlice<>(getConvertedContent(converter), getPageable(), hasNext(), nextCursor);
+  }
+}
@@ -0,0 +1,189 @@
+package com.kylas.sales.workflow.domain;
+
+import static java.util.Objects.isNull;
+
+import com.kylas.sales.workflow.domain.exception.InvalidFilterException;
+import com.kylas.sales.workflow.domain.user.User_;
+import com.kylas.sales.workflow.domain.workflow.Workflow;
+import com.kylas.sales.workflow.domain.workflow.WorkflowEntryRecord;
+import com.kylas.sales.workflow.domain.workflow.WorkflowExecutedEvent;
+import com.kylas.sales.workflow.domain.workflow.WorkflowExecutedEvent_;
+import com.kylas.sales.workflow.domain.workflow.Workflow_;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Order;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.repository.support.PageableExecutionUtils;
+import org.springframework.stereotype.Repository;
+
+@Repository
+class WorkflowEntryRepository {
+
+  private static final String LAST_TRIGGERED_AT = "workflowExecutedEvent.lastTriggeredAt";
+
+  private final EntityManager entityManager;
+
+  @Autowired
+  WorkflowEntryRepository(EntityManager entityManager) {
+    this.entityManager = entityManager;
+  }
+
+  Page<WorkflowEntryRecord> findAll(Specification<Workflow> specification, Pageable pageable) {
+    var content = find(specification, pageable.getSort(), Optional.empty(), pageable.getOffset(), pageable.getPageSize());
+    return PageableExecutionUtils.getPage(content, pageable, () -> count(specification));
+  }
+
+  KeysetSlice<WorkflowEntryRecord> findSlice(Specification<Workflow> specification, Pageable pageable,
+      Optional<WorkflowKeyset> keyset) {
+    var pageSize = pageable.getPageSize();
+    var offset = keyset.isPresent() ? 0 : pageable.getOffset();
+    var content = find(specification, pageable.getSort(), keyset, offset, pageSize + 1);
+    var hasNext = content.size() > pageSize;
+    var slice = hasNext ? new ArrayList<>(content.subList(0, pageSize)) : content;
+    var nextCursor = hasNext ? cursorOf(slice.get(slice.size() - 1), pageable.getSort()) : null;
+    return new KeysetSlice<>(slice, keyset.isPresent() ? PageRequest.of(0, pageSize, pageable.getSort()) : pageable, hasNext,
+        nextCursor);
+  }
+
+  private String cursorOf(WorkflowEntryRecord last, Sort sort) {
+    return keysetSortKeyOf(sort)
+        .map(sortKey -> {
+          switch (sortKey.getProperty()) {
+            case "updatedAt":
+              return new WorkflowKeyset(last.getUpdatedAt(), last.getId());
+            case LAST_TRIGGERED_AT:
+              return new WorkflowKeyset(last.getLastTriggeredAt(), last.getId());
+            default:
+              return new WorkflowKeyset(null, last.getId());
+          }
+        })
+        .map(WorkflowKeyset::encode)
+        .orElse(null);
+  }
+
+  private List<WorkflowEntryRecord> find(Specification<Workflow> specification, Sort sort, Optional<WorkflowKeyset> keyset,
+      long offset, int limit) {
+    var builder = entityManager.getCriteriaBuilder();
+    var query = builder.createQuery(WorkflowEntryRecord.class);
+    var root = query.from(Workflow.class);
+    var createdBy = root.join(Workflow_.createdBy);
+    var updatedBy = root.join(Workflow_.updatedBy);
+    var executedEvent = root.join(Workflow_.workflowExecutedEvent, JoinType.LEFT);
+    query.select(builder.construct(WorkflowEntryRecord.class,
+        root.get(Workflow_.id), root.get(Workflow_.name), root.get(Workflow_.entityType), root.get(Workflow_.tenantId),
+        root.get(Workflow_.active), root.get(Workflow_.systemDefault),
+        createdBy.get(User_.id), createdBy.get(User_.name), updatedBy.get(User_.id), updatedBy.get(User_.name),
+        root.get(Workflow_.createdAt), root.get(Workflow_.updatedAt),
+        executedEvent.get(WorkflowExecutedEvent_.id), executedEvent.get(WorkflowExecutedEvent_.lastTriggeredAt),
+        executedEvent.get(WorkflowExecutedEvent_.triggerCount)));
+
+    List<Predicate> predicates = new ArrayList<>();
+    predicates.add(specification.toPredicate(root, query, builder));
+    if (keyset.isPresent()) {
+      var sortKey = sortKeyOf(sort);
+      predicates.add(after(builder, root, executedEvent, sortKey, keyset.get()));
+      query.orderBy(keysetOrder(builder, root, executedEvent, sortKey));
+    } else {
+      query.orderBy(withIdTiebreaker(builder, root, QueryUtils.toOrders(sort, root, builder), sort));
+    }
+    query.where(predicates.toArray(new Predicate[0]));
+
+    return entityManager.createQuery(query)
+        .setFirstResult((int) offset)
+        .setMaxResults(limit)
+        .getResultList();
+  }
+
+  private long count(Specification<Workflow> specification) {
+    var builder = entityManager.getCriteriaBuilder();
+    var query = builder.createQuery(Long.class);
+    var root = query.from(Workflow.class);
+    query.select(builder.count(root)).where(specification.toPredicate(root, query, builder));
+    return entityManager.createQuery(query).getSingleResult();
+  }
+
+  private List<Order> withIdTiebreaker(CriteriaBuilder builder, Root<Workflow> root, List<Order> orders, Sort sort) {
+    if (sort.getOrderFor("id") != null) {
+      return orders;
+    }
+    var direction = sort.stream().findFirst().map(Sort.Order::getDirection).orElse(Direction.ASC);
+    List<Order> tiebroken = new ArrayList<>(orders);
+    tiebroken.add(direction.isAscending() ? builder.asc(root.get(Workflow_.id)) : builder.desc(root.get(Workflow_.id)));
+    return tiebroken;
+  }
+
+  private Sort.Order sortKeyOf(Sort sort) {
+    return keysetSortKeyOf(sort).orElseThrow(InvalidFilterException::new);
+  }
+
+  private Optional<Sort.Order> keysetSortKeyOf(Sort sort) {
+    var sortKey = sort.stream().findFirst().orElse(Sort.Order.asc("id"));
+    switch (sortKey.getProperty()) {
+      case "id":
+      case "updatedAt":
+      case LAST_TRIGGERED_AT:
+        return Optional.of(sortKey);
+      case "lastTriggeredAt":
+        return Optional.of(sortKey.withProperty(LAST_TRIGGERED_AT));
+      default:
+        return Optional.empty();
+    }
+  }
+
+  private Path<Date> keyPath(Root<Workflow> root, Join<Workflow, WorkflowExecutedEvent> executedEvent, Sort.Order sortKey) {
+    return LAST_TRIGGERED_AT.equals(sortKey.getProperty())
+        ? executedEvent.get(WorkflowExecutedEvent_.lastTriggeredAt)
+        : root.get(Workflow_.updatedAt);
+  }
+
+  private List<Order> keysetOrder(CriteriaBuilder builder, Root<Workflow> root, Join<Workflow, WorkflowExecutedEvent> executedEvent,
+      Sort.Order sortKey) {
+    var id = root.get(Workflow_.id);
+    if ("id".equals(sortKey.getProperty())) {
+      return List.of(sortKey.isAscending() ? builder.asc(id) : builder.desc(id));
+    }
+    var key = keyPath(root, executedEvent, sortKey);
+    return sortKey.isAscending()
+        ? List.of(builder.asc(key), builder.asc(id))
+        : List.of(builder.desc(key), builder.desc(id));
+  }
+
+  /*
+   * Postgres sorts nulls last ascending and first descending, so a null key (a workflow never triggered)
+   * is the greatest value in both directions.
+   */
+  private Predicate after(CriteriaBuilder builder, Root<Workflow> root, Join<Workflow, WorkflowExecutedEvent> executedEvent,
+      Sort.Order sortKey, WorkflowKeyset keyset) {
+    var id = root.get(Workflow_.id);
+    var afterId = sortKey.isAscending() ? builder.greaterThan(id, keyset.getId()) : builder.lessThan(id, keyset.getId());
+    if ("id".equals(sortKey.getProperty())) {
+      return afterId;
+    }
+    var key = keyPath(root, executedEvent, sortKey);
+    var value = keyset.getValue();
+    if (sortKey.isAscending()) {
+      return isNull(value)
+          ? builder.and(builder.isNull(key), afterId)
+          : builder.or(builder.greaterThan(key, value), builder.and(builder.equal(key, value), afterId), builder.isNull(key));
+    }
+    return isNull(value)
+        ? builder.or(builder.isNotNull(key), afterId)
+        : builder.or(builder.lessThan(key, value), builder.and(builder.equal(key, value), afterId));
+  }
+}
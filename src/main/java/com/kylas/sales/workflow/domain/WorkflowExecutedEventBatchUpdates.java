@@ -0,0 +1,9 @@
+package com.kylas.sales.workflow.domain;
+
+import com.kylas.sales.workflow.domain.WorkflowExecutionCounter.Delta;
+import java.util.SortedMap;
+
+interface WorkflowExecutedEventBatchUpdates {
+
+  void incrementAll(SortedMap<Long, Delta> deltas);
+}
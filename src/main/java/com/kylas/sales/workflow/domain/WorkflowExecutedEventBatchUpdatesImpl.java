@@ -0,0 +1,34 @@
+package com.kylas.sales.workflow.domain;
+
+import com.kylas.sales.workflow.domain.WorkflowExecutionCounter.Delta;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedMap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class WorkflowExecutedEventBatchUpdatesImpl implements WorkflowExecutedEventBatchUpdates {
+
+  private static final String INCREMENT =
+      "UPDATE workflow_executed_event SET trigger_count = trigger_count + ?, last_triggered_at = GREATEST(last_triggered_at, ?) "
+          + "WHERE id = ?";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  WorkflowExecutedEventBatchUpdatesImpl(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /*
+   * Rows are locked in id order so pods flushing overlapping rows queue behind each other instead of deadlocking.
+   */
+  @Override
+  public void incrementAll(SortedMap<Long, Delta> deltas) {
+    List<Object[]> rows = new ArrayList<>(deltas.size());
+    deltas.forEach((executedEventId, delta) ->
+        rows.add(new Object[]{delta.getCount(), new Timestamp(delta.getLastTriggeredAt().getTime()), executedEventId}));
+    jdbcTemplate.batchUpdate(INCREMENT, rows);
+  }
+}
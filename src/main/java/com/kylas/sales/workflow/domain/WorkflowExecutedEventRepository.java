@@ -9,10 +9,11 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
-interface WorkflowExecutedEventRepository extends JpaRepository<WorkflowExecutedEvent, Long>, JpaSpecificationExecutor<WorkflowExecutedEvent> {
+interface WorkflowExecutedEventRepository extends JpaRepository<WorkflowExecutedEvent, Long>, JpaSpecificationExecutor<WorkflowExecutedEvent>,
+    WorkflowExecutedEventBatchUpdates {
 
   @Modifying(clearAutomatically = true, flushAutomatically = true)
   @Query(
-      "update WorkflowExecutedEvent w set w.lastTriggeredAt = now(), w.triggerCount = w.triggerCount+1 where w.id = :Id")
-  void updateEventDetails(@Param("Id") long id);
+      "update WorkflowExecutedEvent w set w.lastTriggeredAt = now(), w.triggerCount = w.triggerCount + :count where w.id = :Id")
+  void updateEventDetails(@Param("Id") long id, @Param("count") long count);
 }
@@ -0,0 +1,148 @@
+package com.kylas.sales.workflow.domain;
+
+import static java.util.Objects.isNull;
+
+import com.kylas.sales.workflow.domain.workflow.WorkflowExecutedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@Slf4j
+public class WorkflowExecutionCounter {
+
+  private final WorkflowFacade workflowFacade;
+  private final boolean writeBehind;
+  private final Map<Long, Pending> pending = new ConcurrentHashMap<>();
+  private final Counter flushedRows;
+  private final Counter failedFlushes;
+
+  @Autowired
+  public WorkflowExecutionCounter(
+      WorkflowFacade workflowFacade,
+      MeterRegistry meterRegistry,
+      @Value("${workflow.executedEvent.writeBehind.enabled:true}") boolean writeBehind) {
+    this.workflowFacade = workflowFacade;
+    this.writeBehind = writeBehind;
+    this.flushedRows = meterRegistry.counter("workflow.executed.flush.rows");
+    this.failedFlushes = meterRegistry.counter("workflow.executed.flush.failures");
+    meterRegistry.gauge("workflow.executed.pending", pending, Map::size);
+  }
+
+  public void record(long executedEventId, long count) {
+    if (!writeBehind) {
+      workflowFacade.updateExecutedEvents(Map.of(executedEventId, count));
+      return;
+    }
+    add(executedEventId, count, System.currentTimeMillis());
+  }
+
+  public void record(Map<Long, Long> executionCounts) {
+    if (!writeBehind) {
+      workflowFacade.updateExecutedEvents(executionCounts);
+      return;
+    }
+    var now = System.currentTimeMillis();
+    executionCounts.forEach((executedEventId, count) -> add(executedEventId, count, now));
+  }
+
+  /*
+   * Adding inside compute keeps a record from landing on an entry that flush is removing at the same time.
+   */
+  private void add(long executedEventId, long count, long triggeredAt) {
+    pending.compute(executedEventId, (id, delta) -> {
+      var current = isNull(delta) ? new Pending() : delta;
+      current.add(count, triggeredAt);
+      return current;
+    });
+  }
+
+  public long triggerCountOf(WorkflowExecutedEvent executedEvent) {
+    return triggerCountOf(executedEvent.getId(), executedEvent.getTriggerCount());
+  }
+
+  public long triggerCountOf(Long executedEventId, long persistedCount) {
+    var delta = isNull(executedEventId) ? null : pending.get(executedEventId);
+    return isNull(delta) ? persistedCount : persistedCount + delta.unflushed();
+  }
+
+  public Date lastTriggeredAtOf(WorkflowExecutedEvent executedEvent) {
+    return lastTriggeredAtOf(executedEvent.getId(), executedEvent.getLastTriggeredAt());
+  }
+
+  public Date lastTriggeredAtOf(Long executedEventId, Date persisted) {
+    var delta = isNull(executedEventId) ? null : pending.get(executedEventId);
+    if (isNull(delta) || delta.unflushed() == 0) {
+      return persisted;
+    }
+    var recorded = delta.lastTriggeredAt.get();
+    return isNull(persisted) || persisted.getTime() < recorded ? new Date(recorded) : persisted;
+  }
+
+  @Scheduled(fixedDelayString = "${workflow.executedEvent.flushIntervalMillis:5000}")
+  public synchronized void flush() {
+    Map<Long, Delta> deltas = new HashMap<>();
+    pending.forEach((executedEventId, delta) -> {
+      var count = delta.unflushed();
+      if (count > 0) {
+        deltas.put(executedEventId, new Delta(count, new Date(delta.lastTriggeredAt.get())));
+      }
+    });
+    if (deltas.isEmpty()) {
+      return;
+    }
+    try {
+      workflowFacade.flushExecutedEvents(deltas);
+      deltas.forEach((executedEventId, delta) -> pending.computeIfPresent(executedEventId, (id, flushedDelta) -> {
+        flushedDelta.flushed += delta.getCount();
+        return flushedDelta.unflushed() == 0 ? null : flushedDelta;
+      }));
+      flushedRows.increment(deltas.size());
+    } catch (RuntimeException e) {
+      failedFlushes.increment();
+      log.error("Unable to flush trigger counts of {} workflows, retrying on next flush", deltas.size(), e);
+    }
+  }
+
+  @PreDestroy
+  public void drain() {
+    flush();
+  }
+
+  @Getter
+  @AllArgsConstructor
+  public static class Delta {
+
+    private final long count;
+    private final Date lastTriggeredAt;
+  }
+
+  private static class Pending {
+
+    private final LongAdder recorded = new LongAdder();
+    private final AtomicLong lastTriggeredAt = new AtomicLong();
+    private volatile long flushed;
+
+    private void add(long count, long triggeredAt) {
+      lastTriggeredAt.accumulateAndGet(triggeredAt, Math::max);
+      recorded.add(count);
+    }
+
+    private long unflushed() {
+      return recorded.sum() - flushed;
+    }
+  }
+}
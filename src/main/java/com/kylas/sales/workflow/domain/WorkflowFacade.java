@@ -1,16 +1,15 @@
 package com.kylas.sales.workflow.domain;
 
-import static com.kylas.sales.workflow.domain.WorkflowSpecification.active;
 import static com.kylas.sales.workflow.domain.WorkflowSpecification.belongToTenant;
 import static com.kylas.sales.workflow.domain.WorkflowSpecification.belongToUser;
 import static com.kylas.sales.workflow.domain.WorkflowSpecification.systemDefaultConfiguration;
-import static com.kylas.sales.workflow.domain.WorkflowSpecification.withEntityType;
 import static com.kylas.sales.workflow.domain.WorkflowSpecification.withId;
-import static com.kylas.sales.workflow.domain.WorkflowSpecification.withTriggerFrequency;
 import static com.kylas.sales.workflow.domain.processor.FieldValueTypeFactory.createByEntityType;
+import static com.kylas.sales.workflow.domain.workflow.ConditionType.CONDITION_BASED;
 import static com.kylas.sales.workflow.domain.workflow.action.WorkflowAction.ActionType.EDIT_PROPERTY;
 import static java.lang.String.format;
 import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 import static org.apache.commons.collections.CollectionUtils.isEmpty;
 import static org.apache.commons.lang3.ObjectUtils.allNotNull;
 import static org.apache.commons.lang3.StringUtils.isBlank;
@@ -33,11 +32,14 @@ import com.kylas.sales.workflow.domain.user.UserFacade;
 import com.kylas.sales.workflow.domain.workflow.EntityType;
 import com.kylas.sales.workflow.domain.workflow.TriggerFrequency;
 import com.kylas.sales.workflow.domain.workflow.Workflow;
+import com.kylas.sales.workflow.domain.workflow.WorkflowEntryRecord;
 import com.kylas.sales.workflow.domain.workflow.WorkflowTrigger;
 import com.kylas.sales.workflow.domain.workflow.action.AbstractWorkflowAction;
+import com.kylas.sales.workflow.domain.workflow.action.webhook.WebhookCredentials;
 import com.kylas.sales.workflow.integration.IntegrationConfig;
 import com.kylas.sales.workflow.mq.WorkflowEventPublisher;
 import com.kylas.sales.workflow.mq.event.TenantUsageEvent;
+import com.kylas.sales.workflow.mq.event.WorkflowRegistryInvalidatedEvent;
 import com.kylas.sales.workflow.security.AuthService;
 import java.io.BufferedReader;
 import java.io.IOException;
@@ -47,11 +49,14 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 import javax.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.Resource;
@@ -66,6 +71,7 @@ import reactor.core.publisher.Mono;
 public class WorkflowFacade {
 
   private final WorkflowRepository workflowRepository;
+  private final WorkflowEntryRepository workflowEntryRepository;
   private final WorkflowExecutedEventRepository workflowExecutedEventRepository;
   private final AuthService authService;
   private final UserService userService;
@@ -73,16 +79,21 @@ public class WorkflowFacade {
   private final ConditionFacade conditionFacade;
   private final WorkflowEventPublisher workflowEventPublisher;
   private final ObjectMapper objectMapper;
+  private final ActiveWorkflowRegistry activeWorkflowRegistry;
+  private final WebhookCredentials webhookCredentials;
 
   @Autowired
   public WorkflowFacade(
       WorkflowRepository workflowRepository,
+      WorkflowEntryRepository workflowEntryRepository,
       WorkflowExecutedEventRepository workflowExecutedEventRepository,
       AuthService authService,
       UserService userService,
       UserFacade userFacade,
-      ConditionFacade conditionFacade, WorkflowEventPublisher workflowEventPublisher, ObjectMapper objectMapper) {
+      ConditionFacade conditionFacade, WorkflowEventPublisher workflowEventPublisher, ObjectMapper objectMapper,
+      ActiveWorkflowRegistry activeWorkflowRegistry, WebhookCredentials webhookCredentials) {
     this.workflowRepository = workflowRepository;
+    this.workflowEntryRepository = workflowEntryRepository;
     this.workflowExecutedEventRepository = workflowExecutedEventRepository;
     this.authService = authService;
     this.userService = userService;
@@ -90,6 +101,8 @@ public class WorkflowFacade {
     this.conditionFacade = conditionFacade;
     this.workflowEventPublisher = workflowEventPublisher;
     this.objectMapper = objectMapper;
+    this.activeWorkflowRegistry = activeWorkflowRegistry;
+    this.webhookCredentials = webhookCredentials;
   }
 
   public Mono<Workflow> create(WorkflowRequest workflowRequest) {
@@ -118,15 +131,22 @@ public class WorkflowFacade {
                       actions,
                       condition,
                       workflowRequest.isActive());
-              return workflowRepository.saveAndFlush(aNew);
+              return invalidateActiveWorkflows(workflowRepository.saveAndFlush(aNew));
             });
   }
 
   public List<Workflow> findActiveBy(long tenantId, EntityType entityType, TriggerFrequency triggerFrequency) {
-    var entitySpecification = withEntityType(entityType);
-    var triggerFrequencySpecification = withTriggerFrequency(triggerFrequency);
-    var specification = belongToTenant(tenantId).and(entitySpecification.and(active()).and(triggerFrequencySpecification));
-    return workflowRepository.findAll(specification);
+    return activeWorkflowRegistry.get(tenantId, entityType, triggerFrequency,
+        () -> loadActiveBy(tenantId, entityType, triggerFrequency));
+  }
+
+  private List<Workflow> loadActiveBy(long tenantId, EntityType entityType, TriggerFrequency triggerFrequency) {
+    var workflows = workflowRepository.findActiveForExecution(tenantId, entityType, triggerFrequency);
+    workflows.stream()
+        .map(Workflow::getWorkflowCondition)
+        .filter(condition -> nonNull(condition) && CONDITION_BASED.equals(condition.getType()))
+        .forEach(conditionFacade::compile);
+    return workflows;
   }
 
   public Workflow get(long workflowId) {
@@ -178,7 +198,7 @@ public class WorkflowFacade {
                                   trigger,
                                   actions,
                                   loggedInUser);
-                          var updatedWorkflow = workflowRepository.saveAndFlush(workflowToUpdate);
+                          var updatedWorkflow = invalidateActiveWorkflows(workflowRepository.saveAndFlush(workflowToUpdate));
                           updatedWorkflow.setAllowedActionsForUser(loggedInUser);
                           return updatedWorkflow;
                         })
@@ -225,8 +245,13 @@ public class WorkflowFacade {
   }
 
   @Transactional
-  public void updateExecutedEvent(Workflow workflow) {
-    workflowExecutedEventRepository.updateEventDetails(workflow.getWorkflowExecutedEvent().getId());
+  public void updateExecutedEvents(Map<Long, Long> executionCounts) {
+    executionCounts.forEach(workflowExecutedEventRepository::updateEventDetails);
+  }
+
+  @Transactional
+  public void flushExecutedEvents(Map<Long, WorkflowExecutionCounter.Delta> deltas) {
+    workflowExecutedEventRepository.incrementAll(new TreeMap<>(deltas));
   }
 
   public Workflow deactivate(long workflowId) {
@@ -236,7 +261,7 @@ public class WorkflowFacade {
   public Workflow deactivate(long workflowId, User user) {
     return workflowRepository
         .findOne(getSpecificationByUpdatePrivileges(user).and(withId(workflowId)))
-        .map(workflow -> workflowRepository.saveAndFlush(workflow.deactivate()))
+        .map(workflow -> invalidateActiveWorkflows(workflowRepository.saveAndFlush(workflow.deactivate())))
         .orElseThrow(WorkflowNotFoundException::new);
   }
 
@@ -247,15 +272,35 @@ public class WorkflowFacade {
   public Workflow activate(long workflowId, User user) {
     return workflowRepository
         .findOne(getSpecificationByUpdatePrivileges(user).and(withId(workflowId)))
-        .map(workflow -> workflowRepository.saveAndFlush(workflow.activate()))
+        .map(workflow -> invalidateActiveWorkflows(workflowRepository.saveAndFlush(workflow.activate())))
         .orElseThrow(WorkflowNotFoundException::new);
   }
 
   public Mono<Boolean> delete(long workflowId) {
     workflowRepository.deleteById(workflowId);
+    activeWorkflowRegistry.invalidate(workflowId);
+    webhookCredentials.invalidate(workflowId);
+    publishRegistryInvalidation(new WorkflowRegistryInvalidatedEvent(null, workflowId, null, null));
     return Mono.just(true);
   }
 
+  private Workflow invalidateActiveWorkflows(Workflow workflow) {
+    activeWorkflowRegistry.invalidate(workflow);
+    webhookCredentials.invalidate(workflow.getId());
+    var triggerFrequency = isNull(workflow.getWorkflowTrigger()) ? null : workflow.getWorkflowTrigger().getTriggerFrequency();
+    publishRegistryInvalidation(
+        new WorkflowRegistryInvalidatedEvent(workflow.getTenantId(), workflow.getId(), workflow.getEntityType(), triggerFrequency));
+    return workflow;
+  }
+
+  private void publishRegistryInvalidation(WorkflowRegistryInvalidatedEvent event) {
+    try {
+      workflowEventPublisher.publishWorkflowRegistryInvalidated(event);
+    } catch (AmqpException e) {
+      log.error("Unable to publish active workflow invalidation for workflow-{}", event.getWorkflowId(), e);
+    }
+  }
+
   private Specification<Workflow> getSpecificationByUpdatePrivileges(User user) {
     if (!user.canUpdateHisWorkflow() && !user.canUpdateAllWorkflow()) {
       log.error(
@@ -270,9 +315,24 @@ public class WorkflowFacade {
     return belongToTenant(user.getTenantId()).and(belongToUser(user.getId()));
   }
 
-  public Page<Workflow> search(Pageable pageable, Optional<Set<WorkflowFilter>> filters) {
+  public Page<WorkflowEntryRecord> search(Pageable pageable, Optional<Set<WorkflowFilter>> filters) {
     User loggedInUser = authService.getLoggedInUser();
+    Page<WorkflowEntryRecord> workflowList = workflowEntryRepository.findAll(searchSpecification(loggedInUser, filters), pageable);
+    workflowList.getContent()
+        .forEach(workflow -> workflow.setAllowedActionsForUser(loggedInUser));
+    return workflowList;
+  }
+
+  public KeysetSlice<WorkflowEntryRecord> search(Pageable pageable, Optional<Set<WorkflowFilter>> filters,
+      Optional<WorkflowKeyset> keyset) {
+    User loggedInUser = authService.getLoggedInUser();
+    KeysetSlice<WorkflowEntryRecord> workflowList = workflowEntryRepository.findSlice(searchSpecification(loggedInUser, filters), pageable, keyset);
+    workflowList.getContent()
+        .forEach(workflow -> workflow.setAllowedActionsForUser(loggedInUser));
+    return workflowList;
+  }
 
+  private Specification<Workflow> searchSpecification(User loggedInUser, Optional<Set<WorkflowFilter>> filters) {
     Specification<Workflow> readSpecification = getSpecificationByReadPrivileges(loggedInUser);
 
     if(filters.isPresent()){
@@ -281,10 +341,7 @@ public class WorkflowFacade {
         readSpecification = readSpecification.and(workflowFilter.toSpecification());
       }
     }
-    Page<Workflow> workflowList = workflowRepository.findAll(readSpecification, pageable);
-    workflowList.getContent().stream()
-        .forEach(workflow -> workflow.setAllowedActionsForUser(loggedInUser));
-    return workflowList;
+    return readSpecification;
   }
 
   public void validate(WorkflowRequest request) {
@@ -313,11 +370,14 @@ public class WorkflowFacade {
     if (isBlank(editPropertyAction.getName()) || isNull(editPropertyAction.getValue())) {
       throw new InvalidActionException();
     }
-    boolean isInvalidValueType = createByEntityType(entityType)
-        .isInValidValueType(editPropertyAction.getName(), editPropertyAction.getValueType());
+    var fieldValueType = createByEntityType(entityType);
+    boolean isInvalidValueType = fieldValueType.isInValidValueType(editPropertyAction.getName(), editPropertyAction.getValueType());
     if (isInvalidValueType) {
       throw new InvalidValueTypeException();
     }
+    if (editPropertyAction.isStandard() && fieldValueType.isUnknownField(editPropertyAction.getName())) {
+      throw new InvalidActionException();
+    }
   }
 
   public void publishTenantUsage() {
@@ -334,9 +394,9 @@ public class WorkflowFacade {
         .filter(workflow -> lastSegment.equals(getLastSegment(getWebhookAction(workflow).getRequestUrl())))
         .findFirst()
         .map(workflow -> update(workflow.getId(), getWorkflowRequestFor(config), user, authToken)
-            .map(updatedWorkflow -> workflowRepository.save(updatedWorkflow.withSystemDefault(true))))
+            .map(updatedWorkflow -> invalidateActiveWorkflows(workflowRepository.save(updatedWorkflow.withSystemDefault(true)))))
         .orElseGet(() -> create(getWorkflowRequestFor(config), user, authToken)
-            .map(workflow -> workflowRepository.save(workflow.withSystemDefault(true))));
+            .map(workflow -> invalidateActiveWorkflows(workflowRepository.save(workflow.withSystemDefault(true)))));
   }
 
   private WebhookAction getWebhookAction(Workflow workflow) {
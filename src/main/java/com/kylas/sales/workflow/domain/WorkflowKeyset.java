@@ -0,0 +1,53 @@
+package com.kylas.sales.workflow.domain;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.isNull;
+
+import com.kylas.sales.workflow.domain.exception.InvalidFilterException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Date;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * The cursor keeps the sort key at the precision it is stored with. Timestamps rendered in API responses are
+ * truncated to seconds, so they cannot be sent back as a seek position.
+ */
+@Getter
+@Slf4j
+public class WorkflowKeyset {
+
+  private static final String SEPARATOR = "|";
+
+  private final Date value;
+  private final long id;
+
+  WorkflowKeyset(Date value, long id) {
+    this.value = value;
+    this.id = id;
+  }
+
+  public static WorkflowKeyset decode(String cursor) {
+    try {
+      var decoded = new String(Base64.getUrlDecoder().decode(cursor), UTF_8);
+      var separator = decoded.indexOf(SEPARATOR);
+      if (separator < 0) {
+        throw new IllegalArgumentException("Missing separator");
+      }
+      var value = decoded.substring(0, separator);
+      var id = Long.parseLong(decoded.substring(separator + 1));
+      return new WorkflowKeyset(value.isEmpty() ? null : Timestamp.from(Instant.parse(value)), id);
+    } catch (IllegalArgumentException | DateTimeParseException e) {
+      log.error("Unable to parse keyset cursor {}", cursor, e);
+      throw new InvalidFilterException();
+    }
+  }
+
+  public String encode() {
+    var value = isNull(this.value) ? "" : this.value.toInstant().toString();
+    return Base64.getUrlEncoder().withoutPadding().encodeToString((value + SEPARATOR + id).getBytes(UTF_8));
+  }
+}
@@ -1,11 +1,16 @@
 package com.kylas.sales.workflow.domain;
 
 import com.kylas.sales.workflow.common.dto.UsageRecord;
+import com.kylas.sales.workflow.domain.workflow.EntityType;
+import com.kylas.sales.workflow.domain.workflow.TriggerFrequency;
 import com.kylas.sales.workflow.domain.workflow.Workflow;
 import java.util.List;
+import javax.persistence.QueryHint;
+import org.hibernate.jpa.QueryHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -16,4 +21,19 @@ interface WorkflowRepository extends JpaRepository<Workflow, Long>, JpaSpecifica
       + "WHERE w.active=TRUE "
       + "GROUP BY w.tenantId")
   List<UsageRecord> getActiveCountByTenantId();
+
+  @Query("SELECT DISTINCT w FROM Workflow w "
+      + "JOIN FETCH w.workflowTrigger t "
+      + "LEFT JOIN FETCH w.workflowCondition "
+      + "LEFT JOIN FETCH w.workflowExecutedEvent "
+      + "LEFT JOIN FETCH w.workflowActions "
+      + "LEFT JOIN FETCH w.createdBy "
+      + "LEFT JOIN FETCH w.updatedBy "
+      + "WHERE w.tenantId = :tenantId "
+      + "AND w.entityType = :entityType "
+      + "AND w.active = TRUE "
+      + "AND t.triggerFrequency = :triggerFrequency")
+  @QueryHints(@QueryHint(name = QueryHints.HINT_PASS_DISTINCT_THROUGH, value = "false"))
+  List<Workflow> findActiveForExecution(@Param("tenantId") long tenantId, @Param("entityType") EntityType entityType,
+      @Param("triggerFrequency") TriggerFrequency triggerFrequency);
 }
@@ -38,10 +38,6 @@ public class WorkflowSpecification {
     return (root, criteria, builder) -> builder.equal(root.get(Workflow_.workflowTrigger).get(WorkflowTrigger_.triggerFrequency), triggerFrequency);
   }
 
-  static Specification<Workflow> active() {
-    return (root, criteria, builder) -> builder.equal(root.get(Workflow_.active), true);
-  }
-
   static Specification<Workflow> systemDefault() {
     return (root, criteria, builder) -> builder.equal(root.get(Workflow_.systemDefault), true);
   }
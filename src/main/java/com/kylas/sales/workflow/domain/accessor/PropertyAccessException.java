@@ -0,0 +1,12 @@
+package com.kylas.sales.workflow.domain.accessor;
+
+public class PropertyAccessException extends RuntimeException {
+
+  public PropertyAccessException(String message) {
+    super(message);
+  }
+
+  public PropertyAccessException(String message, Throwable cause) {
+    super(message, cause);
+  }
+}
@@ -0,0 +1,63 @@
+package com.kylas.sales.workflow.domain.accessor;
+
+import java.lang.reflect.Array;
+import java.util.Map;
+import java.util.function.Function;
+import org.apache.commons.beanutils.NestedNullException;
+
+public class PropertyAccessor {
+
+  private final String path;
+  private final Function<Object, Object>[] segments;
+
+  PropertyAccessor(String path, Function<Object, Object>[] segments) {
+    this.path = path;
+    this.segments = segments;
+  }
+
+  public String getPath() {
+    return path;
+  }
+
+  public Object get(Object bean) {
+    if (bean == null) {
+      throw new IllegalArgumentException("No bean specified");
+    }
+    Object current = bean;
+    for (Function<Object, Object> segment : segments) {
+      if (current == null) {
+        throw new NestedNullException("Null property value for '" + path + "' on bean class '" + bean.getClass() + "'");
+      }
+      current = segment.apply(current);
+    }
+    return current;
+  }
+
+  public String getAsString(Object bean) {
+    return asString(get(bean));
+  }
+
+  public static String asString(Object value) {
+    if (value == null) {
+      return null;
+    }
+    if (value.getClass().isArray()) {
+      if (Array.getLength(value) < 1) {
+        return null;
+      }
+      var first = Array.get(value, 0);
+      return first == null ? null : first.toString();
+    }
+    return value.toString();
+  }
+
+  static Function<Object, Object> mapSegment(String name) {
+    return bean -> ((Map<?, ?>) bean).get(name);
+  }
+
+  static Function<Object, Object> dynamicSegment(String name) {
+    return bean -> bean instanceof Map
+        ? ((Map<?, ?>) bean).get(name)
+        : PropertyAccessors.getter(bean.getClass(), name).apply(bean);
+  }
+}
@@ -0,0 +1,178 @@
+package com.kylas.sales.workflow.domain.accessor;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public final class PropertyAccessors {
+
+  private static final ConcurrentMap<Class<?>, ConcurrentMap<String, PropertyAccessor>> ACCESSORS = new ConcurrentHashMap<>();
+  private static final ConcurrentMap<Class<?>, ConcurrentMap<String, Function<Object, Object>>> GETTERS = new ConcurrentHashMap<>();
+  private static final ConcurrentMap<Class<?>, ConcurrentMap<String, BiConsumer<Object, Object>>> SETTERS = new ConcurrentHashMap<>();
+
+  private PropertyAccessors() {
+  }
+
+  public static Object get(Object bean, String path) {
+    if (bean == null) {
+      throw new IllegalArgumentException("No bean specified");
+    }
+    return of(bean.getClass(), path).get(bean);
+  }
+
+  public static String getAsString(Object bean, String path) {
+    return PropertyAccessor.asString(get(bean, path));
+  }
+
+  public static PropertyAccessor of(Class<?> type, String path) {
+    return ACCESSORS
+        .computeIfAbsent(type, key -> new ConcurrentHashMap<>())
+        .computeIfAbsent(path, key -> build(type, path));
+  }
+
+  static Function<Object, Object> getter(Class<?> type, String name) {
+    return GETTERS
+        .computeIfAbsent(type, key -> new ConcurrentHashMap<>())
+        .computeIfAbsent(name, key -> readMethod(type, name)
+            .map(PropertyAccessors::compile)
+            .orElseThrow(() -> new PropertyAccessException("Unknown property '" + name + "' on class '" + type + "'")));
+  }
+
+  public static BiConsumer<Object, Object> setter(Class<?> type, String name) {
+    return SETTERS
+        .computeIfAbsent(type, key -> new ConcurrentHashMap<>())
+        .computeIfAbsent(name, key -> writeMethod(type, name)
+            .map(PropertyAccessors::compileSetter)
+            .orElseThrow(() -> new PropertyAccessException("Unknown writable property '" + name + "' on class '" + type + "'")));
+  }
+
+  public static Optional<Method> writeMethod(Class<?> type, String name) {
+    return propertyDescriptor(type, name).map(PropertyDescriptor::getWriteMethod);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static PropertyAccessor build(Class<?> type, String path) {
+    var names = path.split("\\.");
+    Function<Object, Object>[] segments = new Function[names.length];
+    Class<?> current = type;
+    for (int i = 0; i < names.length; i++) {
+      var name = names[i];
+      if (Map.class.isAssignableFrom(current)) {
+        segments[i] = PropertyAccessor.mapSegment(name);
+        current = Object.class;
+        continue;
+      }
+      var readMethod = current == Object.class ? Optional.<Method>empty() : readMethod(current, name);
+      if (readMethod.isPresent()) {
+        segments[i] = getter(current, name);
+        current = readMethod.get().getReturnType();
+      } else {
+        segments[i] = PropertyAccessor.dynamicSegment(name);
+        current = Object.class;
+      }
+    }
+    return new PropertyAccessor(path, segments);
+  }
+
+  private static Optional<Method> readMethod(Class<?> type, String name) {
+    return propertyDescriptor(type, name).map(PropertyDescriptor::getReadMethod);
+  }
+
+  private static Optional<PropertyDescriptor> propertyDescriptor(Class<?> type, String name) {
+    try {
+      return Arrays.stream(Introspector.getBeanInfo(type).getPropertyDescriptors())
+          .filter(descriptor -> descriptor.getName().equals(name))
+          .findFirst();
+    } catch (IntrospectionException e) {
+      log.error("Unable to introspect {}", type, e);
+      return Optional.empty();
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Function<Object, Object> compile(Method method) {
+    MethodHandle handle;
+    try {
+      if (!Modifier.isPublic(method.getDeclaringClass().getModifiers())) {
+        method.trySetAccessible();
+      }
+      handle = MethodHandles.lookup().unreflect(method);
+    } catch (IllegalAccessException e) {
+      throw new PropertyAccessException("Property getter " + method + " is not accessible", e);
+    }
+    try {
+      var lookup = MethodHandles.lookup();
+      var callSite = LambdaMetafactory.metafactory(
+          lookup,
+          "apply",
+          MethodType.methodType(Function.class),
+          MethodType.methodType(Object.class, Object.class),
+          handle,
+          MethodType.methodType(method.getReturnType(), method.getDeclaringClass()).wrap());
+      return (Function<Object, Object>) callSite.getTarget().invokeExact();
+    } catch (Throwable e) {
+      log.debug("Falling back to method handle for {}", method, e);
+      var genericHandle = handle.asType(MethodType.methodType(Object.class, Object.class));
+      return bean -> {
+        try {
+          return genericHandle.invokeExact(bean);
+        } catch (RuntimeException | Error ex) {
+          throw ex;
+        } catch (Throwable ex) {
+          throw new PropertyAccessException("Unable to read property using " + method, ex);
+        }
+      };
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static BiConsumer<Object, Object> compileSetter(Method method) {
+    MethodHandle handle;
+    try {
+      if (!Modifier.isPublic(method.getDeclaringClass().getModifiers())) {
+        method.trySetAccessible();
+      }
+      handle = MethodHandles.lookup().unreflect(method);
+    } catch (IllegalAccessException e) {
+      throw new PropertyAccessException("Property setter " + method + " is not accessible", e);
+    }
+    try {
+      var lookup = MethodHandles.lookup();
+      var callSite = LambdaMetafactory.metafactory(
+          lookup,
+          "accept",
+          MethodType.methodType(BiConsumer.class),
+          MethodType.methodType(void.class, Object.class, Object.class),
+          handle,
+          MethodType.methodType(void.class, method.getDeclaringClass(), method.getParameterTypes()[0]).wrap().changeReturnType(void.class));
+      return (BiConsumer<Object, Object>) callSite.getTarget().invokeExact();
+    } catch (Throwable e) {
+      log.debug("Falling back to method handle for {}", method, e);
+      var genericHandle = handle.asType(MethodType.methodType(void.class, Object.class, Object.class));
+      return (bean, value) -> {
+        try {
+          genericHandle.invokeExact(bean, value);
+        } catch (RuntimeException | Error ex) {
+          throw ex;
+        } catch (Throwable ex) {
+          throw new PropertyAccessException("Unable to write property using " + method, ex);
+        }
+      };
+    }
+  }
+}
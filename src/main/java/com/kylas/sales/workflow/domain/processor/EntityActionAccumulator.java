@@ -0,0 +1,40 @@
+package com.kylas.sales.workflow.domain.processor;
+
+import static java.util.Comparator.comparing;
+import static java.util.Comparator.naturalOrder;
+import static java.util.Comparator.nullsFirst;
+
+import com.kylas.sales.workflow.domain.workflow.action.EditPropertyAction;
+import com.kylas.sales.workflow.domain.workflow.action.reassign.ReassignAction;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.Getter;
+
+@Getter
+class EntityActionAccumulator {
+
+  private final Map<String, EditPropertyAction> editPropertyActions = new LinkedHashMap<>();
+  private Long editPropertyWorkflowId;
+  private ReassignAction reassignAction;
+  private Long reassignWorkflowId;
+
+  void addEditPropertyActions(Long workflowId, Collection<EditPropertyAction> actions) {
+    if (actions.isEmpty()) {
+      return;
+    }
+    actions.stream()
+        .sorted(comparing(EditPropertyAction::getId, nullsFirst(naturalOrder())))
+        .forEach(action -> editPropertyActions.put(action.getName(), action));
+    editPropertyWorkflowId = workflowId;
+  }
+
+  void addReassignAction(Long workflowId, ReassignAction action) {
+    reassignAction = action;
+    reassignWorkflowId = workflowId;
+  }
+
+  boolean hasEditPropertyActions() {
+    return !editPropertyActions.isEmpty();
+  }
+}
@@ -0,0 +1,122 @@
+package com.kylas.sales.workflow.domain.processor;
+
+import com.kylas.sales.workflow.domain.workflow.EntityType;
+import com.kylas.sales.workflow.mq.event.EntityEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+@Slf4j
+public class EntityEventExecutor implements EventDispatcher {
+
+  private final Lane[] lanes;
+  private final long shutdownTimeoutSeconds;
+
+  @Autowired
+  public EntityEventExecutor(
+      MeterRegistry meterRegistry,
+      @Value("${workflow.lanes.count:0}") int count,
+      @Value("${workflow.lanes.capacity:1000}") int capacity,
+      @Value("${workflow.lanes.shutdownTimeoutSeconds:30}") long shutdownTimeoutSeconds) {
+    int laneCount = count > 0 ? count : Runtime.getRuntime().availableProcessors();
+    this.lanes = new Lane[laneCount];
+    for (int i = 0; i < laneCount; i++) {
+      lanes[i] = new Lane(i, capacity, meterRegistry);
+    }
+    this.shutdownTimeoutSeconds = shutdownTimeoutSeconds;
+  }
+
+  @Override
+  public CompletableFuture<Void> dispatch(EntityEvent event, Runnable task) {
+    var metadata = event.getMetadata();
+    return lanes[laneOf(metadata.getTenantId(), metadata.getEntityType(), event.getEntityId())].submit(task);
+  }
+
+  public boolean isShutdown() {
+    return Arrays.stream(lanes).anyMatch(lane -> lane.executor.isShutdown());
+  }
+
+  int laneOf(long tenantId, EntityType entityType, long entityId) {
+    return Math.floorMod(Objects.hash(tenantId, entityType, entityId), lanes.length);
+  }
+
+  int laneCount() {
+    return lanes.length;
+  }
+
+  @PreDestroy
+  public void shutdown() throws InterruptedException {
+    for (Lane lane : lanes) {
+      lane.executor.shutdown();
+    }
+    for (Lane lane : lanes) {
+      if (!lane.executor.awaitTermination(shutdownTimeoutSeconds, TimeUnit.SECONDS)) {
+        log.warn("Lane {} did not drain within {} seconds, {} events pending", lane.index, shutdownTimeoutSeconds,
+            lane.executor.getQueue().size());
+      }
+    }
+  }
+
+  private static class Lane {
+
+    private final int index;
+    private final ThreadPoolExecutor executor;
+    private final Timer waitTime;
+    private final Counter executed;
+
+    private Lane(int index, int capacity, MeterRegistry meterRegistry) {
+      this.index = index;
+      var threadNumber = new AtomicInteger();
+      this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(capacity),
+          runnable -> {
+            var thread = new Thread(runnable, "workflow-lane-" + index + "-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+          },
+          (runnable, pool) -> {
+            if (pool.isShutdown()) {
+              throw new RejectedExecutionException("Lane " + index + " is shut down");
+            }
+            try {
+              pool.getQueue().put(runnable);
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+              throw new RejectedExecutionException("Interrupted while waiting for lane " + index, e);
+            }
+          });
+      var lane = String.valueOf(index);
+      BlockingQueue<Runnable> queue = executor.getQueue();
+      Gauge.builder("workflow.lane.depth", queue, BlockingQueue::size).tag("lane", lane).register(meterRegistry);
+      this.waitTime = Timer.builder("workflow.lane.wait").tag("lane", lane).register(meterRegistry);
+      this.executed = Counter.builder("workflow.lane.events").tag("lane", lane).register(meterRegistry);
+    }
+
+    private CompletableFuture<Void> submit(Runnable task) {
+      long submittedAt = System.nanoTime();
+      return CompletableFuture.runAsync(() -> {
+        waitTime.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+        try {
+          task.run();
+        } finally {
+          executed.increment();
+        }
+      }, executor);
+    }
+  }
+}
@@ -0,0 +1,10 @@
+package com.kylas.sales.workflow.domain.processor;
+
+import com.kylas.sales.workflow.mq.event.EntityEvent;
+import java.util.concurrent.CompletableFuture;
+
+@FunctionalInterface
+public interface EventDispatcher {
+
+  CompletableFuture<Void> dispatch(EntityEvent event, Runnable task);
+}
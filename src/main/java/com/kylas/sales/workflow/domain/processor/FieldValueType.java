@@ -6,6 +6,10 @@ import static com.kylas.sales.workflow.common.dto.ActionDetail.EditPropertyActio
 import static java.util.Objects.isNull;
 
 import com.kylas.sales.workflow.common.dto.ActionDetail.EditPropertyAction.ValueType;
+import com.kylas.sales.workflow.domain.accessor.PropertyAccessors;
+import com.kylas.sales.workflow.domain.processor.contact.Contact;
+import com.kylas.sales.workflow.domain.processor.deal.DealDetail;
+import com.kylas.sales.workflow.domain.processor.lead.Lead;
 import java.util.Arrays;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -42,6 +46,11 @@ public interface FieldValueType {
       }
       return !fieldValueTypes.getValueType().equals(valueType);
     }
+
+    @Override
+    public Class<? extends Actionable> getActionableType() {
+      return Lead.class;
+    }
   }
 
   class DealFieldValueType implements FieldValueType {
@@ -75,6 +84,11 @@ public interface FieldValueType {
       }
       return !fieldValueTypes.getValueType().equals(valueType);
     }
+
+    @Override
+    public Class<? extends Actionable> getActionableType() {
+      return DealDetail.class;
+    }
   }
 
   class ContactFieldValueType implements FieldValueType {
@@ -105,7 +119,18 @@ public interface FieldValueType {
       }
       return !fieldValueTypes.getValueType().equals(valueType);
     }
+
+    @Override
+    public Class<? extends Actionable> getActionableType() {
+      return Contact.class;
+    }
   }
 
   boolean isInValidValueType(String name, ValueType valueType);
+
+  Class<? extends Actionable> getActionableType();
+
+  default boolean isUnknownField(String name) {
+    return PropertyAccessors.writeMethod(getActionableType(), name).isEmpty();
+  }
 }
@@ -0,0 +1,113 @@
+package com.kylas.sales.workflow.domain.processor;
+
+import static java.util.Objects.isNull;
+
+import com.kylas.sales.workflow.domain.workflow.action.WorkflowAction.ActionType;
+import com.kylas.sales.workflow.mq.event.Metadata;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class PipelineMetrics {
+
+  public static final String DECODE = "decode";
+  public static final String LOGIN = "login";
+  public static final String LOOKUP = "lookup";
+  public static final String PUBLISH = "publish";
+
+  static final String OTHER_TENANT = "other";
+  private static final String UNKNOWN = "unknown";
+
+  private final MeterRegistry meterRegistry;
+  private final boolean tenantTags;
+  private final int maxTenants;
+  private final Set<String> taggedTenants = ConcurrentHashMap.newKeySet();
+
+  @Autowired
+  public PipelineMetrics(
+      MeterRegistry meterRegistry,
+      @Value("${workflow.metrics.tenantTags.enabled:false}") boolean tenantTags,
+      @Value("${workflow.metrics.tenantTags.max:50}") int maxTenants) {
+    this.meterRegistry = meterRegistry;
+    this.tenantTags = tenantTags;
+    this.maxTenants = maxTenants;
+  }
+
+  public Timer.Sample start() {
+    return Timer.start(meterRegistry);
+  }
+
+  public void stage(Timer.Sample sample, String stage, Metadata metadata) {
+    sample.stop(meterRegistry.timer("workflow.pipeline.stage", tagsOf(metadata).and("stage", stage)));
+  }
+
+  public void condition(Timer.Sample sample, Metadata metadata, boolean compiled, boolean satisfied) {
+    sample.stop(meterRegistry.timer("workflow.pipeline.condition",
+        tagsOf(metadata).and("mode", compiled ? "compiled" : "interpreted", "satisfied", String.valueOf(satisfied))));
+  }
+
+  public void action(Timer.Sample sample, ActionType actionType, Metadata metadata) {
+    sample.stop(meterRegistry.timer("workflow.pipeline.action", tagsOf(metadata).and("action", actionType.name())));
+  }
+
+  public void executedEventUpdate(Timer.Sample sample, int rows) {
+    sample.stop(meterRegistry.timer("workflow.pipeline.executed.update"));
+    meterRegistry.counter("workflow.pipeline.executed.rows").increment(rows);
+  }
+
+  public void decodeFailed(String queue) {
+    meterRegistry.counter("workflow.pipeline.decode.failures", "queue", queue).increment();
+  }
+
+  public void invalidEvent(String queue) {
+    meterRegistry.counter("workflow.pipeline.invalid.events", "queue", queue).increment();
+  }
+
+  /*
+   * Lag spans broker residence, batching and processing. It relies on the publisher's clock, so skew between
+   * hosts shows up here and negative values are clamped to zero.
+   */
+  public void lag(Date publishedAt, Metadata metadata) {
+    if (isNull(publishedAt)) {
+      return;
+    }
+    var lagMillis = Math.max(0, System.currentTimeMillis() - publishedAt.getTime());
+    meterRegistry.timer("workflow.pipeline.lag", tagsOf(metadata)).record(lagMillis, TimeUnit.MILLISECONDS);
+  }
+
+  private Tags tagsOf(Metadata metadata) {
+    if (isNull(metadata)) {
+      var tags = Tags.of("entity", UNKNOWN, "trigger", UNKNOWN);
+      return tenantTags ? tags.and("tenant", UNKNOWN) : tags;
+    }
+    var tags = Tags.of("entity", nameOf(metadata.getEntityType()), "trigger", nameOf(metadata.getEntityAction()));
+    return tenantTags ? tags.and("tenant", tenantOf(metadata.getTenantId())) : tags;
+  }
+
+  private static String nameOf(Enum<?> value) {
+    return isNull(value) ? UNKNOWN : value.name();
+  }
+
+  /*
+   * Tenants are tagged first come, first served up to the cap; the rest share a single series so an opted-in
+   * deployment cannot grow the registry without bound.
+   */
+  String tenantOf(long tenantId) {
+    var tenant = String.valueOf(tenantId);
+    if (taggedTenants.contains(tenant)) {
+      return tenant;
+    }
+    if (taggedTenants.size() < maxTenants && taggedTenants.add(tenant)) {
+      return tenant;
+    }
+    return OTHER_TENANT;
+  }
+}
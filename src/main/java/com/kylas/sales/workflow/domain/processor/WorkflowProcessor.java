@@ -1,19 +1,20 @@
 package com.kylas.sales.workflow.domain.processor;
 
 import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 
 import com.kylas.sales.workflow.api.WorkflowService;
 import com.kylas.sales.workflow.api.request.Condition.TriggerType;
 import com.kylas.sales.workflow.common.dto.condition.Operator;
 import com.kylas.sales.workflow.common.dto.condition.WorkflowCondition.ConditionExpression;
 import com.kylas.sales.workflow.domain.ConditionFacade;
-import com.kylas.sales.workflow.domain.processor.exception.WorkflowExecutionException;
 import com.kylas.sales.workflow.domain.workflow.ConditionType;
 import com.kylas.sales.workflow.domain.workflow.EntityType;
 import com.kylas.sales.workflow.domain.workflow.TriggerFrequency;
 import com.kylas.sales.workflow.domain.workflow.Workflow;
 import com.kylas.sales.workflow.domain.workflow.action.AbstractWorkflowAction;
 import com.kylas.sales.workflow.domain.workflow.action.EditPropertyAction;
+import com.kylas.sales.workflow.domain.workflow.action.EditPropertySetter;
 import com.kylas.sales.workflow.domain.workflow.action.ValueConverter;
 import com.kylas.sales.workflow.domain.workflow.action.WorkflowAction.ActionType;
 import com.kylas.sales.workflow.domain.workflow.action.reassign.ReassignAction;
@@ -22,20 +23,23 @@ import com.kylas.sales.workflow.domain.workflow.action.task.CreateTaskAction;
 import com.kylas.sales.workflow.domain.workflow.action.task.CreateTaskService;
 import com.kylas.sales.workflow.domain.workflow.action.webhook.WebhookAction;
 import com.kylas.sales.workflow.domain.workflow.action.webhook.WebhookService;
-import com.kylas.sales.workflow.error.ErrorCode;
 import com.kylas.sales.workflow.mq.command.EntityUpdatedCommandPublisher;
 import com.kylas.sales.workflow.mq.event.EntityEvent;
 import com.kylas.sales.workflow.mq.event.Metadata;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import lombok.EqualsAndHashCode;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.expression.EvaluationContext;
-import org.springframework.expression.ExpressionParser;
-import org.springframework.expression.spel.SpelEvaluationException;
-import org.springframework.expression.spel.standard.SpelExpressionParser;
-import org.springframework.expression.spel.support.SimpleEvaluationContext;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -48,6 +52,7 @@ public class WorkflowProcessor {
   private final ValueConverter valueConverter;
   private final ConditionFacade conditionFacade;
   private final CreateTaskService createTaskService;
+  private final PipelineMetrics pipelineMetrics;
 
   @Autowired
   public WorkflowProcessor(
@@ -56,43 +61,116 @@ public class WorkflowProcessor {
       WebhookService webhookService,
       ValueConverter valueConverter,
       ConditionFacade conditionFacade,
-      CreateTaskService createTaskService) {
+      CreateTaskService createTaskService,
+      PipelineMetrics pipelineMetrics) {
     this.workflowService = workflowService;
     this.entityUpdatedCommandPublisher = entityUpdatedCommandPublisher;
     this.webhookService = webhookService;
     this.valueConverter = valueConverter;
     this.conditionFacade = conditionFacade;
     this.createTaskService = createTaskService;
+    this.pipelineMetrics = pipelineMetrics;
   }
 
   public void process(EntityEvent event) {
+    Metadata metadata = event.getMetadata();
+    var lookup = pipelineMetrics.start();
+    var activeWorkflows = workflowService.findActiveBy(metadata.getTenantId(), metadata.getEntityType(),
+        TriggerFrequency.valueOf(metadata.getEntityAction().name()));
+    pipelineMetrics.stage(lookup, PipelineMetrics.LOOKUP, metadata);
+    execute(event, activeWorkflows, workflowService::updateExecutedEventDetails);
+  }
+
+  /*
+   * Events of a tenant whose lookup fails are logged and skipped so the rest of the batch still runs, and
+   * whatever was dispatched is always awaited and recorded before returning, even if dispatching throws.
+   */
+  public void process(List<? extends EntityEvent> events, EventDispatcher dispatcher) {
+    Map<Long, Long> executions = new ConcurrentHashMap<>();
+    List<CompletableFuture<Void>> dispatched = new ArrayList<>(events.size());
+    try {
+      events.stream()
+          .collect(Collectors.groupingBy(event -> new ActiveWorkflowKey(event.getMetadata()), LinkedHashMap::new, Collectors.toList()))
+          .forEach((key, tenantEvents) -> {
+            List<Workflow> activeWorkflows;
+            try {
+              var lookup = pipelineMetrics.start();
+              activeWorkflows = workflowService.findActiveBy(key.tenantId, key.entityType, key.triggerFrequency);
+              pipelineMetrics.stage(lookup, PipelineMetrics.LOOKUP, tenantEvents.get(0).getMetadata());
+            } catch (Exception e) {
+              log.error("Unable to load active {} {} workflows for tenant {}, skipping {} events: {}", key.entityType,
+                  key.triggerFrequency, key.tenantId, tenantEvents.size(), e.getMessage(), e);
+              return;
+            }
+            tenantEvents.forEach(event -> dispatched.add(dispatcher.dispatch(event, () -> {
+              try {
+                execute(event, activeWorkflows,
+                    workflow -> executions.merge(workflow.getWorkflowExecutedEvent().getId(), 1L, Long::sum));
+              } catch (Exception e) {
+                log.error(e.getMessage(), e);
+              }
+            })));
+          });
+    } finally {
+      CompletableFuture.allOf(dispatched.toArray(CompletableFuture[]::new)).exceptionally(e -> null).join();
+      if (!executions.isEmpty()) {
+        var update = pipelineMetrics.start();
+        workflowService.updateExecutedEventDetails(executions);
+        pipelineMetrics.executedEventUpdate(update, executions.size());
+      }
+    }
+  }
 
+  private void execute(EntityEvent event, List<Workflow> activeWorkflows, Consumer<Workflow> onExecuted) {
     Metadata metadata = event.getMetadata();
     log.info("{} {} event received with metadata {}", metadata.getEntityType(), metadata.getEntityAction(), metadata);
-    List<Workflow> workflows = workflowService.findActiveBy(metadata.getTenantId(), metadata.getEntityType(),
-        TriggerFrequency.valueOf(metadata.getEntityAction().name()))
+    List<Workflow> workflows = activeWorkflows
         .stream()
         .filter(workflow ->
             !metadata.isProcessed(workflow.getId()) && satisfiesCondition(event, workflow))
         .collect(Collectors.toList());
 
     var workflowIds = workflows.stream().map(Workflow::getId).collect(Collectors.toSet());
+    var accumulator = new EntityActionAccumulator();
 
-    workflows
+    workflows.stream()
+        .sorted(Comparator.comparing(Workflow::getId, Comparator.nullsFirst(Comparator.naturalOrder())))
         .forEach(workflow -> {
           Metadata updatedMetadata = metadata.with(workflow.getId()).withAllWorkflowIds(workflowIds)
               .withEntityId(event.getEntityId());
           Set<AbstractWorkflowAction> workflowActions = workflow.getWorkflowActions();
           log.info("Workflow execution start for workflowId {} and prev metadata {}", workflow.getId(), metadata);
-          processActions(updatedMetadata, workflowActions, event);
-          workflowService.updateExecutedEventDetails(workflow);
+          processActions(updatedMetadata, workflow.getId(), workflowActions, event, accumulator);
+          onExecuted.accept(workflow);
         });
+
+    if (accumulator.hasEditPropertyActions()) {
+      var updatedMetadata = metadata.with(accumulator.getEditPropertyWorkflowId()).withAllWorkflowIds(workflowIds)
+          .withEntityId(event.getEntityId());
+      processEditPropertyActions(accumulator.getEditPropertyActions().values(), updatedMetadata, event.getActualEntity());
+    }
+    if (nonNull(accumulator.getReassignAction())) {
+      var updatedMetadata = metadata.with(accumulator.getReassignWorkflowId()).withAllWorkflowIds(workflowIds)
+          .withEntityId(event.getEntityId());
+      var publish = pipelineMetrics.start();
+      entityUpdatedCommandPublisher.execute(updatedMetadata,
+          new ReassignDetail(event.getEntityId(), accumulator.getReassignAction().getOwnerId(), metadata.getEntityType()));
+      pipelineMetrics.stage(publish, PipelineMetrics.PUBLISH, metadata);
+    }
   }
 
   private boolean satisfiesCondition(EntityEvent event, Workflow workflow) {
-    return isNull(workflow.getWorkflowCondition()) ||
-        workflow.getWorkflowCondition().getType().equals(ConditionType.FOR_ALL) ||
-        satisfies(workflow.getWorkflowCondition().getExpression(), event, event.getMetadata().getEntityType());
+    var condition = workflow.getWorkflowCondition();
+    if (isNull(condition) || condition.getType().equals(ConditionType.FOR_ALL)) {
+      return true;
+    }
+    var evaluation = pipelineMetrics.start();
+    var predicate = conditionFacade.compile(condition);
+    var satisfied = nonNull(predicate)
+        ? predicate.test(event)
+        : satisfies(condition.getExpression(), event, event.getMetadata().getEntityType());
+    pipelineMetrics.condition(evaluation, event.getMetadata(), nonNull(predicate), satisfied);
+    return satisfied;
   }
 
   private boolean satisfies(ConditionExpression expression, EntityEvent event, EntityType entityType) {
@@ -111,58 +189,73 @@ public class WorkflowProcessor {
         : conditionFacade.satisfies(expression, event.getOldEntity());
   }
 
-  private void processActions(Metadata metadata, final Set<AbstractWorkflowAction> workflowActions, EntityEvent event) {
+  private void processActions(Metadata metadata, Long workflowId, final Set<AbstractWorkflowAction> workflowActions, EntityEvent event,
+      EntityActionAccumulator accumulator) {
     Set<EditPropertyAction> editPropertyActions = workflowActions.stream()
         .filter(workflowAction -> workflowAction.getType().equals(ActionType.EDIT_PROPERTY))
         .map(workflowAction -> (EditPropertyAction) workflowAction).collect(
             Collectors.toSet());
 
-    if (!editPropertyActions.isEmpty()) {
-      processEditPropertyActions(editPropertyActions, metadata, event.getActualEntity());
-    }
+    accumulator.addEditPropertyActions(workflowId, editPropertyActions);
 
     workflowActions.stream().filter(workflowAction -> workflowAction.getType().equals(ActionType.WEBHOOK))
-        .map(workflowAction -> (WebhookAction) workflowAction).forEach(webhookAction ->
-        webhookService.execute(webhookAction, event.getEntity(), event.getMetadata().getEntityType()));
+        .map(workflowAction -> (WebhookAction) workflowAction).forEach(webhookAction -> {
+          var submission = pipelineMetrics.start();
+          webhookService.execute(webhookAction, event.getEntity(), event.getMetadata().getEntityType());
+          pipelineMetrics.action(submission, ActionType.WEBHOOK, metadata);
+        });
 
     workflowActions.stream().filter(workflowAction -> workflowAction.getType().equals(ActionType.REASSIGN))
         .map(workflowAction -> (ReassignAction) workflowAction).findFirst().ifPresent(
-        reassignAction -> entityUpdatedCommandPublisher
-            .execute(metadata, new ReassignDetail(event.getEntityId(), reassignAction.getOwnerId(), metadata.getEntityType())));
+        reassignAction -> accumulator.addReassignAction(workflowId, reassignAction));
 
     workflowActions.stream().filter(workflowAction -> workflowAction.getType().equals(ActionType.CREATE_TASK))
         .map(workflowAction -> (CreateTaskAction) workflowAction)
         .forEach(createTaskAction -> {
           com.kylas.sales.workflow.domain.processor.task.Metadata createTaskMetadata = new com.kylas.sales.workflow.domain.processor.task.Metadata(
               metadata.getUserId(), metadata.getTenantId());
+          var creation = pipelineMetrics.start();
           createTaskService.processCreateTaskAction(createTaskAction, metadata.getEntityType(), event.getEntity(), createTaskMetadata);
+          pipelineMetrics.action(creation, ActionType.CREATE_TASK, metadata);
         });
   }
 
-  private void processEditPropertyActions(Set<EditPropertyAction> editPropertyActions, Metadata metadata, Actionable entity) {
+  private void processEditPropertyActions(Collection<EditPropertyAction> editPropertyActions, Metadata metadata, Actionable entity) {
     editPropertyActions.forEach(editPropertyAction -> {
-      try {
-        log.info("Executing EditPropertyAction with Id {}, name {} and value {} ", editPropertyAction.getId(), editPropertyAction.getName(),
-            editPropertyAction.getValue());
-        EvaluationContext context = SimpleEvaluationContext.forReadWriteDataBinding().build();
-        ExpressionParser parser = new SpelExpressionParser();
-        parser.parseExpression(editPropertyAction.getName())
-            .setValue(context, entity,
-                valueConverter.getValue(editPropertyAction, entity.getClass().getDeclaredField(editPropertyAction.getName()),
-                    metadata.getEntityType()));
-      } catch (SpelEvaluationException e) {
-        log.error("Exception for EditPropertyAction with Id {}, name {} and value {} with errorMessage {} ", editPropertyAction.getId(),
-            editPropertyAction.getName(),
-            editPropertyAction.getValue(), e.getMessageCode());
-        throw new WorkflowExecutionException(ErrorCode.UPDATE_PROPERTY);
-      } catch (NoSuchFieldException e) {
-        log.error("Exception for EditPropertyAction with Id {}, name {} and value {} with errorMessage {} ", editPropertyAction.getId(),
-            editPropertyAction.getName(),
-            editPropertyAction.getValue(), e.getMessage());
-      }
+      log.info("Executing EditPropertyAction with Id {}, name {} and value {} ", editPropertyAction.getId(), editPropertyAction.getName(),
+          editPropertyAction.getValue());
+      var edit = pipelineMetrics.start();
+      setterFor(editPropertyAction, entity.getClass(), metadata.getEntityType()).apply(entity);
+      pipelineMetrics.action(edit, ActionType.EDIT_PROPERTY, metadata);
     });
     log.info("Publishing command to execute edit property actions on entity {} with Id {}, with new metadata {} ", metadata.getEntityType(),
         metadata.getEntityId(), metadata);
+    var publish = pipelineMetrics.start();
     entityUpdatedCommandPublisher.execute(metadata, entity);
+    pipelineMetrics.stage(publish, PipelineMetrics.PUBLISH, metadata);
+  }
+
+  private EditPropertySetter setterFor(EditPropertyAction editPropertyAction, Class<?> targetType, EntityType entityType) {
+    var setter = editPropertyAction.getSetter();
+    if (isNull(setter) || !setter.appliesTo(targetType)) {
+      setter = EditPropertySetter.compile(editPropertyAction, targetType,
+          field -> valueConverter.getValue(editPropertyAction, field, entityType));
+      editPropertyAction.setSetter(setter);
+    }
+    return setter;
+  }
+
+  @EqualsAndHashCode
+  private static class ActiveWorkflowKey {
+
+    private final long tenantId;
+    private final EntityType entityType;
+    private final TriggerFrequency triggerFrequency;
+
+    private ActiveWorkflowKey(Metadata metadata) {
+      this.tenantId = metadata.getTenantId();
+      this.entityType = metadata.getEntityType();
+      this.triggerFrequency = TriggerFrequency.valueOf(metadata.getEntityAction().name());
+    }
   }
 }
@@ -1,5 +1,6 @@
 package com.kylas.sales.workflow.domain.service;
 
+import com.kylas.sales.workflow.config.WebClientFactory;
 import com.kylas.sales.workflow.domain.processor.lead.IdName;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -12,21 +13,18 @@ import reactor.core.publisher.Mono;
 @Service
 public class CompanyService {
 
-  private final String clientBasePath;
+  private final WebClient webClient;
 
   @Autowired
-  public CompanyService(@Value("${client.company.basePath}") String clientBasePath) {
-    this.clientBasePath = clientBasePath;
+  public CompanyService(@Value("${client.company.basePath}") String clientBasePath, WebClientFactory webClientFactory) {
+    this.webClient = webClientFactory.get("company", clientBasePath);
   }
 
   public Mono<IdName> getCompanyById(Long companyId, String authenticationToken) {
-    return WebClient.builder()
-        .baseUrl(clientBasePath)
-        .defaultHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
-        .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + authenticationToken)
-        .build()
+    return webClient
         .get()
         .uri(uriBuilder -> uriBuilder.path("/v1/companies").path("/" + companyId).build())
+        .header(HttpHeaders.AUTHORIZATION, "Bearer " + authenticationToken)
         .accept(MediaType.APPLICATION_JSON)
         .retrieve()
         .bodyToMono(IdName.class);
@@ -1,5 +1,6 @@
 package com.kylas.sales.workflow.domain.service;
 
+import com.kylas.sales.workflow.config.WebClientFactory;
 import com.kylas.sales.workflow.domain.entity.EntityDefinition;
 import com.kylas.sales.workflow.domain.processor.lead.IdName;
 import java.util.List;
@@ -14,34 +15,28 @@ import reactor.core.publisher.Flux;
 @Service
 public class ConfigService {
 
-  private final String clientBasePath;
+  private final WebClient webClient;
 
   @Autowired
-  public ConfigService(@Value("${client.config.basePath}") String clientBasePath) {
-    this.clientBasePath = clientBasePath;
+  public ConfigService(@Value("${client.config.basePath}") String clientBasePath, WebClientFactory webClientFactory) {
+    this.webClient = webClientFactory.get("config", clientBasePath);
   }
 
   public Flux<EntityDefinition> getFields(String entity, String authenticationToken) {
-    return WebClient.builder()
-        .baseUrl(clientBasePath)
-        .defaultHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
-        .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + authenticationToken)
-        .build()
+    return webClient
         .get()
         .uri("/v1/entities/{entity}/fields", entity.toLowerCase())
+        .header(HttpHeaders.AUTHORIZATION, "Bearer " + authenticationToken)
         .accept(MediaType.APPLICATION_JSON)
         .retrieve()
         .bodyToFlux(EntityDefinition.class);
   }
 
   public Flux<IdName> getCurrency(List<Long> currencyIds, String authenticationToken) {
-    return WebClient.builder()
-        .baseUrl(clientBasePath)
-        .defaultHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
-        .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + authenticationToken)
-        .build()
+    return webClient
         .get()
         .uri(uriBuilder -> uriBuilder.path("/v1/currencies").queryParam("id", currencyIds).build())
+        .header(HttpHeaders.AUTHORIZATION, "Bearer " + authenticationToken)
         .accept(MediaType.APPLICATION_JSON)
         .retrieve()
         .bodyToFlux(IdName.class);
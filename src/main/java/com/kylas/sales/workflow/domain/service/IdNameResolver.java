@@ -0,0 +1,225 @@
+package com.kylas.sales.workflow.domain.service;
+
+import static java.util.Objects.isNull;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.kylas.sales.workflow.common.dto.condition.IdNameField;
+import com.kylas.sales.workflow.domain.processor.lead.IdName;
+import com.kylas.sales.workflow.security.jwt.Authentication;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import lombok.EqualsAndHashCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+@Slf4j
+public class IdNameResolver {
+
+  public enum Kind {
+    PIPELINE, PIPELINE_STAGE, PRODUCT, COMPANY, CURRENCY;
+
+    public static Kind of(String fieldName) {
+      return valueOf(IdNameField.getFieldByName(fieldName).name());
+    }
+  }
+
+  private final PipelineService pipelineService;
+  private final ProductService productService;
+  private final CompanyService companyService;
+  private final ConfigService configService;
+  private final boolean cacheEnabled;
+  private final AsyncCache<IdNameKey, Optional<IdName>> idNames;
+  private final Map<Kind, Counter> hits = new EnumMap<>(Kind.class);
+  private final Map<Kind, Counter> misses = new EnumMap<>(Kind.class);
+
+  @Autowired
+  public IdNameResolver(
+      PipelineService pipelineService,
+      ProductService productService,
+      CompanyService companyService,
+      ConfigService configService,
+      MeterRegistry meterRegistry,
+      @Value("${client.idname.cache.enabled:true}") boolean cacheEnabled,
+      @Value("${client.idname.cache.maximumSize:50000}") long maximumSize,
+      @Value("${client.idname.cache.expireAfterWriteSeconds:600}") long expireAfterWriteSeconds,
+      @Value("${client.idname.cache.notFoundExpireAfterWriteSeconds:60}") long notFoundExpireAfterWriteSeconds) {
+    this.pipelineService = pipelineService;
+    this.productService = productService;
+    this.companyService = companyService;
+    this.configService = configService;
+    this.cacheEnabled = cacheEnabled;
+    long foundTtl = Duration.ofSeconds(expireAfterWriteSeconds).toNanos();
+    long notFoundTtl = Duration.ofSeconds(notFoundExpireAfterWriteSeconds).toNanos();
+    this.idNames = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfter(new Expiry<IdNameKey, Optional<IdName>>() {
+          @Override
+          public long expireAfterCreate(IdNameKey key, Optional<IdName> value, long currentTime) {
+            return value.isPresent() ? foundTtl : notFoundTtl;
+          }
+
+          @Override
+          public long expireAfterUpdate(IdNameKey key, Optional<IdName> value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+          }
+
+          @Override
+          public long expireAfterRead(IdNameKey key, Optional<IdName> value, long currentTime, long currentDuration) {
+            return currentDuration;
+          }
+        })
+        .recordStats()
+        .buildAsync();
+    CaffeineCacheMetrics.monitor(meterRegistry, idNames.synchronous(), "idnames");
+    for (Kind kind : Kind.values()) {
+      hits.put(kind, lookupCounter(meterRegistry, kind, "hit"));
+      misses.put(kind, lookupCounter(meterRegistry, kind, "miss"));
+    }
+  }
+
+  public Mono<IdName> resolve(Kind kind, Long id, String authenticationToken) {
+    if (isNull(id)) {
+      return Mono.empty();
+    }
+    if (!cacheEnabled) {
+      return fetch(kind, id, authenticationToken);
+    }
+    return Mono.defer(() -> {
+      var tenantId = Authentication.tenantIdOf(authenticationToken);
+      if (isNull(tenantId)) {
+        return fetch(kind, id, authenticationToken);
+      }
+      var key = new IdNameKey(tenantId, kind, id);
+      record(kind, idNames.getIfPresent(key) != null ? 1 : 0, 1);
+      return Mono.fromFuture(idNames.get(key, (k, executor) -> fetchOptional(kind, id, authenticationToken).toFuture()))
+          .filter(Optional::isPresent)
+          .map(Optional::get);
+    });
+  }
+
+  public Mono<Map<Long, IdName>> resolveAll(Kind kind, Collection<Long> ids, String authenticationToken) {
+    var distinctIds = ids.stream().filter(Objects::nonNull).distinct().collect(toList());
+    if (distinctIds.isEmpty()) {
+      return Mono.just(Map.of());
+    }
+    if (!cacheEnabled) {
+      return fetchAll(kind, distinctIds, authenticationToken).map(IdNameResolver::present);
+    }
+    return Mono.defer(() -> {
+      var tenantId = Authentication.tenantIdOf(authenticationToken);
+      if (isNull(tenantId)) {
+        return fetchAll(kind, distinctIds, authenticationToken).map(IdNameResolver::present);
+      }
+      var keys = distinctIds.stream().map(id -> new IdNameKey(tenantId, kind, id)).collect(toList());
+      record(kind, (int) keys.stream().filter(key -> idNames.getIfPresent(key) != null).count(), keys.size());
+      return Mono
+          .fromFuture(idNames.getAll(keys, (missing, executor) -> {
+            List<Long> missingIds = new ArrayList<>();
+            for (IdNameKey key : missing) {
+              missingIds.add(key.id);
+            }
+            return fetchAll(kind, missingIds, authenticationToken)
+                .map(resolved -> resolved.entrySet().stream()
+                    .collect(toMap(entry -> new IdNameKey(tenantId, kind, entry.getKey()), Map.Entry::getValue)))
+                .toFuture();
+          }))
+          .map(resolved -> resolved.entrySet().stream()
+              .collect(toMap(entry -> entry.getKey().id, Map.Entry::getValue)))
+          .map(IdNameResolver::present);
+    });
+  }
+
+  private Mono<Map<Long, Optional<IdName>>> fetchAll(Kind kind, Collection<Long> ids, String authenticationToken) {
+    if (kind == Kind.CURRENCY) {
+      return configService.getCurrency(new ArrayList<>(ids), authenticationToken)
+          .collectMap(IdName::getId, idName -> Optional.of(idName))
+          .map(found -> {
+            Map<Long, Optional<IdName>> resolved = new HashMap<>(found);
+            ids.forEach(id -> resolved.putIfAbsent(id, Optional.empty()));
+            return resolved;
+          });
+    }
+    return Flux.fromIterable(ids)
+        .flatMap(id -> fetchOptional(kind, id, authenticationToken).map(idName -> Map.entry(id, idName)))
+        .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+  }
+
+  private Mono<Optional<IdName>> fetchOptional(Kind kind, Long id, String authenticationToken) {
+    return fetch(kind, id, authenticationToken)
+        .map(Optional::of)
+        .onErrorResume(WebClientResponseException.NotFound.class, e -> {
+          log.info("{} with id {} not found, caching absence", kind, id);
+          return Mono.just(Optional.empty());
+        })
+        .defaultIfEmpty(Optional.empty());
+  }
+
+  private Mono<IdName> fetch(Kind kind, Long id, String authenticationToken) {
+    switch (kind) {
+      case PIPELINE:
+        return pipelineService.getPipeline(id, authenticationToken);
+      case PIPELINE_STAGE:
+        return pipelineService.getPipelineStage(id, authenticationToken);
+      case PRODUCT:
+        return productService.getProduct(id, authenticationToken);
+      case COMPANY:
+        return companyService.getCompanyById(id, authenticationToken);
+      case CURRENCY:
+        return configService.getCurrency(List.of(id), authenticationToken).next();
+      default:
+        return Mono.error(new IllegalArgumentException("Unsupported id name kind " + kind));
+    }
+  }
+
+  private void record(Kind kind, int cached, int requested) {
+    hits.get(kind).increment(cached);
+    misses.get(kind).increment(requested - cached);
+  }
+
+  private static Counter lookupCounter(MeterRegistry meterRegistry, Kind kind, String result) {
+    return Counter.builder("workflow.idname.lookup")
+        .tag("kind", kind.name())
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+
+  private static Map<Long, IdName> present(Map<Long, Optional<IdName>> resolved) {
+    Map<Long, IdName> byId = new HashMap<>();
+    resolved.forEach((id, value) -> value.ifPresent(idName -> byId.put(id, idName)));
+    return byId;
+  }
+
+  @EqualsAndHashCode
+  private static class IdNameKey {
+
+    private final String tenantId;
+    private final Kind kind;
+    private final long id;
+
+    private IdNameKey(String tenantId, Kind kind, long id) {
+      this.tenantId = tenantId;
+      this.kind = kind;
+      this.id = id;
+    }
+  }
+}
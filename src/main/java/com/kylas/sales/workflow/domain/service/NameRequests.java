@@ -0,0 +1,35 @@
+package com.kylas.sales.workflow.domain.service;
+
+import static java.util.Objects.isNull;
+
+import com.kylas.sales.workflow.domain.service.IdNameResolver.Kind;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import lombok.Getter;
+
+@Getter
+public class NameRequests {
+
+  private final Set<Long> userIds = new HashSet<>();
+  private final Map<Kind, Set<Long>> idNames = new EnumMap<>(Kind.class);
+
+  public void user(Long userId) {
+    if (isNull(userId)) {
+      return;
+    }
+    userIds.add(userId);
+  }
+
+  public void idName(Kind kind, Long id) {
+    if (isNull(id)) {
+      return;
+    }
+    idNames.computeIfAbsent(kind, k -> new HashSet<>()).add(id);
+  }
+
+  public boolean isEmpty() {
+    return userIds.isEmpty() && idNames.isEmpty();
+  }
+}
@@ -1,5 +1,6 @@
 package com.kylas.sales.workflow.domain.service;
 
+import com.kylas.sales.workflow.config.WebClientFactory;
 import com.kylas.sales.workflow.domain.processor.lead.IdName;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -12,34 +13,28 @@ import reactor.core.publisher.Mono;
 @Service
 public class PipelineService {
 
-  private final String clientBasePath;
+  private final WebClient webClient;
 
   @Autowired
-  public PipelineService(@Value("${client.search.basePath}") String clientBasePath) {
-    this.clientBasePath = clientBasePath;
+  public PipelineService(@Value("${client.search.basePath}") String clientBasePath, WebClientFactory webClientFactory) {
+    this.webClient = webClientFactory.get("search", clientBasePath);
   }
 
   public Mono<IdName> getPipeline(Long pipelineId, String authenticationToken) {
-    return WebClient.builder()
-        .baseUrl(clientBasePath)
-        .defaultHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
-        .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + authenticationToken)
-        .build()
+    return webClient
         .get()
         .uri(uriBuilder -> uriBuilder.path("/v1/summaries/pipeline").queryParam("id",pipelineId).build())
+        .header(HttpHeaders.AUTHORIZATION, "Bearer " + authenticationToken)
         .accept(MediaType.APPLICATION_JSON)
         .retrieve()
         .bodyToMono(IdName.class);
   }
 
   public Mono<IdName> getPipelineStage(Long pipelineStageId, String authenticationToken) {
-    return WebClient.builder()
-            .baseUrl(clientBasePath)
-            .defaultHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
-            .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + authenticationToken)
-            .build()
+    return webClient
             .get()
             .uri(uriBuilder -> uriBuilder.path("/v1/summaries/pipeline-stage").queryParam("id",pipelineStageId).build())
+            .header(HttpHeaders.AUTHORIZATION, "Bearer " + authenticationToken)
             .accept(MediaType.APPLICATION_JSON)
             .retrieve()
             .bodyToMono(IdName.class);
@@ -1,5 +1,6 @@
 package com.kylas.sales.workflow.domain.service;
 
+import com.kylas.sales.workflow.config.WebClientFactory;
 import com.kylas.sales.workflow.domain.processor.lead.IdName;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -11,21 +12,18 @@ import reactor.core.publisher.Mono;
 
 @Service
 public class ProductService {
-    private final String clientBasePath;
+    private final WebClient webClient;
 
     @Autowired
-    public ProductService(@Value("${client.product.basePath}") String clientBasePath) {
-        this.clientBasePath = clientBasePath;
+    public ProductService(@Value("${client.product.basePath}") String clientBasePath, WebClientFactory webClientFactory) {
+        this.webClient = webClientFactory.get("product", clientBasePath);
     }
 
     public Mono<IdName> getProduct(Long productId, String authenticationToken) {
-        return WebClient.builder()
-                .baseUrl(clientBasePath)
-                .defaultHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
-                .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + authenticationToken)
-                .build()
+        return webClient
                 .get()
                 .uri(uriBuilder -> uriBuilder.path("/v1/products/" + productId).build())
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + authenticationToken)
                 .accept(MediaType.APPLICATION_JSON)
                 .retrieve()
                 .bodyToMono(IdName.class);
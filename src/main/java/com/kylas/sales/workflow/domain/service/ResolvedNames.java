@@ -0,0 +1,29 @@
+package com.kylas.sales.workflow.domain.service;
+
+import static java.util.Objects.isNull;
+
+import com.kylas.sales.workflow.domain.processor.lead.IdName;
+import com.kylas.sales.workflow.domain.service.IdNameResolver.Kind;
+import java.util.Map;
+import java.util.Optional;
+
+public class ResolvedNames {
+
+  public static final ResolvedNames NONE = new ResolvedNames(Map.of(), Map.of());
+
+  private final Map<Long, String> users;
+  private final Map<Kind, Map<Long, IdName>> idNames;
+
+  public ResolvedNames(Map<Long, String> users, Map<Kind, Map<Long, IdName>> idNames) {
+    this.users = users;
+    this.idNames = idNames;
+  }
+
+  public Optional<String> user(Long userId) {
+    return isNull(userId) ? Optional.empty() : Optional.ofNullable(users.get(userId));
+  }
+
+  public Optional<IdName> idName(Kind kind, Long id) {
+    return isNull(id) ? Optional.empty() : Optional.ofNullable(idNames.getOrDefault(kind, Map.of()).get(id));
+  }
+}
@@ -1,7 +1,17 @@
 package com.kylas.sales.workflow.domain.service;
 
+import static java.util.Objects.isNull;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.kylas.sales.workflow.common.dto.Tenant;
+import com.kylas.sales.workflow.config.WebClientFactory;
 import com.kylas.sales.workflow.domain.user.User;
+import com.kylas.sales.workflow.security.jwt.Authentication;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import lombok.EqualsAndHashCode;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
@@ -13,49 +23,105 @@ import reactor.core.publisher.Mono;
 @Service
 public class UserService {
 
-  private final String clientBasePath;
+  private final WebClient webClient;
+  private final boolean cacheEnabled;
+  private final AsyncCache<UserKey, User> users;
+  private final AsyncCache<String, Tenant> tenants;
 
   @Autowired
-  public UserService(@Value("${client.iam.basePath}") String clientBasePath) {
-    this.clientBasePath = clientBasePath;
+  public UserService(
+      @Value("${client.iam.basePath}") String clientBasePath,
+      WebClientFactory webClientFactory,
+      MeterRegistry meterRegistry,
+      @Value("${client.iam.cache.enabled:true}") boolean cacheEnabled,
+      @Value("${client.iam.cache.maximumSize:10000}") long maximumSize,
+      @Value("${client.iam.cache.expireAfterWriteSeconds:300}") long expireAfterWriteSeconds) {
+    this.webClient = webClientFactory.get("iam", clientBasePath);
+    this.cacheEnabled = cacheEnabled;
+    this.users = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterWrite(Duration.ofSeconds(expireAfterWriteSeconds))
+        .recordStats()
+        .buildAsync();
+    this.tenants = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterWrite(Duration.ofSeconds(expireAfterWriteSeconds))
+        .recordStats()
+        .buildAsync();
+    CaffeineCacheMetrics.monitor(meterRegistry, users.synchronous(), "iam.users");
+    CaffeineCacheMetrics.monitor(meterRegistry, tenants.synchronous(), "iam.tenants");
   }
 
   public Mono<User> getUserDetails(long userId, String authenticationToken) {
-    return WebClient.builder()
-        .baseUrl(clientBasePath)
-        .defaultHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
-        .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + authenticationToken)
-        .build()
+    if (!cacheEnabled) {
+      return fetchUserDetails(userId, authenticationToken);
+    }
+    return Mono.defer(() -> {
+      var tenantId = Authentication.tenantIdOf(authenticationToken);
+      if (isNull(tenantId)) {
+        return fetchUserDetails(userId, authenticationToken);
+      }
+      return Mono.fromFuture(
+          users.get(new UserKey(tenantId, userId), (key, executor) -> fetchUserDetails(userId, authenticationToken).toFuture()));
+    });
+  }
+
+  public Mono<Tenant> getTenantDetails(String authenticationToken) {
+    if (!cacheEnabled) {
+      return fetchTenantDetails(authenticationToken);
+    }
+    return Mono.defer(() -> {
+      var tenantId = Authentication.tenantIdOf(authenticationToken);
+      if (isNull(tenantId)) {
+        return fetchTenantDetails(authenticationToken);
+      }
+      return Mono.fromFuture(tenants.get(tenantId, (key, executor) -> fetchTenantDetails(authenticationToken).toFuture()));
+    });
+  }
+
+  public Mono<User> getTenantCreator(long tenantId, String authenticationToken) {
+    return webClient
         .get()
-        .uri(uriBuilder -> uriBuilder.path("/v1/users").path("/" + userId).build())
+        .uri(uriBuilder -> uriBuilder.path("/v1/tenants").path("/" + tenantId).path("/creator").build())
+        .header(HttpHeaders.AUTHORIZATION, "Bearer " + authenticationToken)
         .accept(MediaType.APPLICATION_JSON)
         .retrieve()
         .bodyToMono(User.class);
   }
 
-  public Mono<Tenant> getTenantDetails(String authenticationToken) {
-    return WebClient.builder()
-        .baseUrl(clientBasePath)
-        .defaultHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
-        .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + authenticationToken)
-        .build()
+  public void evictUser(long tenantId, long userId) {
+    users.synchronous().invalidate(new UserKey(String.valueOf(tenantId), userId));
+  }
+
+  private Mono<User> fetchUserDetails(long userId, String authenticationToken) {
+    return webClient
         .get()
-        .uri(uriBuilder -> uriBuilder.path("/v1/tenants").build())
+        .uri(uriBuilder -> uriBuilder.path("/v1/users").path("/" + userId).build())
+        .header(HttpHeaders.AUTHORIZATION, "Bearer " + authenticationToken)
         .accept(MediaType.APPLICATION_JSON)
         .retrieve()
-        .bodyToMono(Tenant.class);
+        .bodyToMono(User.class);
   }
 
-  public Mono<User> getTenantCreator(long tenantId, String authenticationToken) {
-    return WebClient.builder()
-        .baseUrl(clientBasePath)
-        .defaultHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
-        .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + authenticationToken)
-        .build()
+  private Mono<Tenant> fetchTenantDetails(String authenticationToken) {
+    return webClient
         .get()
-        .uri(uriBuilder -> uriBuilder.path("/v1/tenants").path("/" + tenantId).path("/creator").build())
+        .uri(uriBuilder -> uriBuilder.path("/v1/tenants").build())
+        .header(HttpHeaders.AUTHORIZATION, "Bearer " + authenticationToken)
         .accept(MediaType.APPLICATION_JSON)
         .retrieve()
-        .bodyToMono(User.class);
+        .bodyToMono(Tenant.class);
+  }
+
+  @EqualsAndHashCode
+  private static class UserKey {
+
+    private final String tenantId;
+    private final long userId;
+
+    private UserKey(String tenantId, long userId) {
+      this.tenantId = tenantId;
+      this.userId = userId;
+    }
   }
 }
@@ -7,8 +7,11 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.kylas.sales.workflow.common.dto.condition.IdNameField;
 import com.kylas.sales.workflow.domain.exception.InvalidActionException;
 import com.kylas.sales.workflow.domain.processor.lead.IdName;
+import com.kylas.sales.workflow.domain.service.IdNameResolver.Kind;
 import com.kylas.sales.workflow.domain.user.User;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -18,20 +21,15 @@ import reactor.core.publisher.Mono;
 @Slf4j
 public class ValueResolver {
 
-  private final PipelineService pipelineService;
-  private final ProductService productService;
+  private final IdNameResolver idNameResolver;
   private final ObjectMapper objectMapper;
   private final UserService userService;
-  private final CompanyService companyService;
 
   @Autowired
-  public ValueResolver(PipelineService pipelineService, ProductService productService, ObjectMapper objectMapper,
-      UserService userService, CompanyService companyService) {
-    this.pipelineService = pipelineService;
-    this.productService = productService;
+  public ValueResolver(IdNameResolver idNameResolver, ObjectMapper objectMapper, UserService userService) {
+    this.idNameResolver = idNameResolver;
     this.objectMapper = objectMapper;
     this.userService = userService;
-    this.companyService = companyService;
   }
 
   public Mono<IdName> resolveNamesOfIdNameFieldsExceptUserFields(String fieldName, Object value, String authentication) {
@@ -45,13 +43,13 @@ public class ValueResolver {
       var idName = objectMapper.readValue(serialize(value), IdName.class);
       switch (field) {
         case PIPELINE:
-          return pipelineService.getPipeline(idName.getId(), authentication);
+          return idNameResolver.resolve(Kind.PIPELINE, idName.getId(), authentication);
         case PIPELINE_STAGE:
-          return pipelineService.getPipelineStage(idName.getId(), authentication);
+          return idNameResolver.resolve(Kind.PIPELINE_STAGE, idName.getId(), authentication);
         case PRODUCT:
-          return productService.getProduct(idName.getId(), authentication);
+          return idNameResolver.resolve(Kind.PRODUCT, idName.getId(), authentication);
         case COMPANY:
-          return companyService.getCompanyById(idName.getId(), authentication);
+          return idNameResolver.resolve(Kind.COMPANY, idName.getId(), authentication);
       }
     } catch (JsonProcessingException e) {
       log.error("error in parsing json", e);
@@ -59,6 +57,10 @@ public class ValueResolver {
     throw new InvalidActionException();
   }
 
+  public Mono<Map<Long, IdName>> resolveAll(Kind kind, Collection<Long> ids, String authentication) {
+    return idNameResolver.resolveAll(kind, ids, authentication);
+  }
+
   public Mono<IdName> getUser(Object user, String authenticationToken) {
     if (isNull(user)) {
       return Mono.empty();
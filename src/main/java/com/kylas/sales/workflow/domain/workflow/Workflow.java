@@ -164,22 +164,23 @@ public class Workflow {
   }
 
   public Workflow setAllowedActionsForUser(User loggedInUser) {
-    this.allowedActions = whatActionsCanUserTake(loggedInUser);
+    this.allowedActions = allowedActionsFor(loggedInUser, this.tenantId, this.createdBy.getId(), this.systemDefault);
     return this;
   }
 
-  private Action whatActionsCanUserTake(User user) {
+  static Action allowedActionsFor(User user, long tenantId, long creatorId, boolean systemDefault) {
     var action = new Action();
-    if (!belongsToSameTenant(user)) {
+    if (user.getTenantId() != tenantId) {
       return action;
     }
-    if (user.canQueryAllWorkflow() || user.canQueryHisWorkflow() && isCreator(user)) {
+    var creator = creatorId == user.getId();
+    if (user.canQueryAllWorkflow() || user.canQueryHisWorkflow() && creator) {
       action.setRead(true);
     }
-    if (isSystemDefault()) {
+    if (systemDefault) {
       return action;
     }
-    if (user.canUpdateAllWorkflow() || user.canUpdateHisWorkflow() && isCreator(user)) {
+    if (user.canUpdateAllWorkflow() || user.canUpdateHisWorkflow() && creator) {
       action.setUpdate(true);
     }
     if (user.canCreateWorkflow()) {
@@ -188,14 +189,6 @@ public class Workflow {
     return action;
   }
 
-  private boolean belongsToSameTenant(User user) {
-    return user.getTenantId() == this.tenantId;
-  }
-
-  private boolean isCreator(User user) {
-    return this.createdBy.getId() == user.getId();
-  }
-
   public Workflow activate() {
     return new Workflow(
         this.id,
@@ -1,6 +1,7 @@
 package com.kylas.sales.workflow.domain.workflow;
 
 import com.kylas.sales.workflow.common.dto.condition.WorkflowCondition.ConditionExpression;
+import com.kylas.sales.workflow.domain.ConditionPredicate;
 import com.vladmihalcea.hibernate.type.json.JsonBinaryType;
 import javax.persistence.Column;
 import javax.persistence.Entity;
@@ -11,6 +12,7 @@ import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.OneToOne;
+import javax.persistence.Transient;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -41,6 +43,9 @@ public class WorkflowCondition {
   @JoinColumn(name = "workflow_id")
   private Workflow workflow;
 
+  @Transient
+  private volatile ConditionPredicate predicate;
+
   public WorkflowCondition(ConditionType type, ConditionExpression expression) {
     this.type = type;
     this.expression = expression;
@@ -0,0 +1,52 @@
+package com.kylas.sales.workflow.domain.workflow;
+
+import com.kylas.sales.workflow.domain.user.Action;
+import com.kylas.sales.workflow.domain.user.User;
+import java.util.Date;
+import lombok.Getter;
+
+@Getter
+public class WorkflowEntryRecord {
+
+  private final Long id;
+  private final String name;
+  private final EntityType entityType;
+  private final Long tenantId;
+  private final boolean active;
+  private final boolean systemDefault;
+  private final Long createdById;
+  private final String createdByName;
+  private final Long updatedById;
+  private final String updatedByName;
+  private final Date createdAt;
+  private final Date updatedAt;
+  private final Long executedEventId;
+  private final Date lastTriggeredAt;
+  private final long triggerCount;
+  private Action allowedActions;
+
+  public WorkflowEntryRecord(Long id, String name, EntityType entityType, Long tenantId, Boolean active, Boolean systemDefault,
+      Long createdById, String createdByName, Long updatedById, String updatedByName, Date createdAt, Date updatedAt,
+      Long executedEventId, Date lastTriggeredAt, Long triggerCount) {
+    this.id = id;
+    this.name = name;
+    this.entityType = entityType;
+    this.tenantId = tenantId;
+    this.active = Boolean.TRUE.equals(active);
+    this.systemDefault = Boolean.TRUE.equals(systemDefault);
+    this.createdById = createdById;
+    this.createdByName = createdByName;
+    this.updatedById = updatedById;
+    this.updatedByName = updatedByName;
+    this.createdAt = createdAt;
+    this.updatedAt = updatedAt;
+    this.executedEventId = executedEventId;
+    this.lastTriggeredAt = lastTriggeredAt;
+    this.triggerCount = triggerCount == null ? 0 : triggerCount;
+  }
+
+  public WorkflowEntryRecord setAllowedActionsForUser(User loggedInUser) {
+    this.allowedActions = Workflow.allowedActionsFor(loggedInUser, this.tenantId, this.createdById, this.systemDefault);
+    return this;
+  }
+}
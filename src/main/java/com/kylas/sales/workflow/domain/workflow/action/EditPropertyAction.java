@@ -12,6 +12,7 @@ import javax.persistence.Convert;
 import javax.persistence.Entity;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
+import javax.persistence.Transient;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -33,6 +34,9 @@ public class EditPropertyAction extends AbstractWorkflowAction implements com.ky
   @Column(name = "is_standard")
   private boolean standard;
 
+  @Transient
+  private volatile EditPropertySetter setter;
+
   private EditPropertyAction(String name, Object value, ValueType valueType, boolean standard) {
     this.name = name;
     this.value = value;
@@ -63,6 +67,7 @@ public class EditPropertyAction extends AbstractWorkflowAction implements com.ky
     this.setValue(payload.getValue());
     this.setValueType(payload.getValueType());
     this.setStandard(payload.isStandard());
+    this.setter = null;
     return this;
   }
 
@@ -0,0 +1,93 @@
+package com.kylas.sales.workflow.domain.workflow.action;
+
+import static java.util.Objects.isNull;
+
+import com.kylas.sales.workflow.domain.accessor.PropertyAccessException;
+import com.kylas.sales.workflow.domain.accessor.PropertyAccessors;
+import com.kylas.sales.workflow.domain.processor.exception.WorkflowExecutionException;
+import com.kylas.sales.workflow.error.ErrorCode;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.convert.ConversionException;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.core.convert.support.DefaultConversionService;
+
+@Slf4j
+public class EditPropertySetter {
+
+  private static final ConversionService conversionService = DefaultConversionService.getSharedInstance();
+
+  private final UUID actionId;
+  private final String name;
+  private final Class<?> targetType;
+  private final BiConsumer<Object, Object> setter;
+  private final Object value;
+
+  private EditPropertySetter(UUID actionId, String name, Class<?> targetType, BiConsumer<Object, Object> setter, Object value) {
+    this.actionId = actionId;
+    this.name = name;
+    this.targetType = targetType;
+    this.setter = setter;
+    this.value = value;
+  }
+
+  public static EditPropertySetter compile(EditPropertyAction action, Class<?> targetType, Function<Field, Object> valueConverter) {
+    Field field;
+    try {
+      field = targetType.getDeclaredField(action.getName());
+    } catch (NoSuchFieldException e) {
+      log.error("Exception for EditPropertyAction with Id {}, name {} and value {} with errorMessage {} ", action.getId(), action.getName(),
+          action.getValue(), e.getMessage());
+      return new EditPropertySetter(action.getId(), action.getName(), targetType, null, null);
+    }
+    try {
+      var writeMethod = PropertyAccessors.writeMethod(targetType, action.getName())
+          .orElseThrow(() -> new PropertyAccessException("No setter for '" + action.getName() + "' on class '" + targetType + "'"));
+      var converted = valueConverter.apply(field);
+      var value = conversionService.convert(converted, TypeDescriptor.forObject(converted),
+          new TypeDescriptor(MethodParameter.forExecutable(writeMethod, 0)));
+      return new EditPropertySetter(action.getId(), action.getName(), targetType, PropertyAccessors.setter(targetType, action.getName()), value);
+    } catch (PropertyAccessException | ConversionException e) {
+      log.error("Exception for EditPropertyAction with Id {}, name {} and value {} with errorMessage {} ", action.getId(), action.getName(),
+          action.getValue(), e.getMessage());
+      throw new WorkflowExecutionException(ErrorCode.UPDATE_PROPERTY);
+    }
+  }
+
+  public boolean appliesTo(Class<?> type) {
+    return targetType.equals(type);
+  }
+
+  public void apply(Object entity) {
+    if (isNull(setter)) {
+      return;
+    }
+    try {
+      setter.accept(entity, copyOf(value));
+    } catch (RuntimeException e) {
+      log.error("Exception for EditPropertyAction with Id {}, name {} and value {} with errorMessage {} ", actionId, name, value, e.getMessage());
+      throw new WorkflowExecutionException(ErrorCode.UPDATE_PROPERTY);
+    }
+  }
+
+  private static Object copyOf(Object value) {
+    if (value instanceof Object[]) {
+      return ((Object[]) value).clone();
+    }
+    if (value instanceof List) {
+      return new ArrayList<>((List<?>) value);
+    }
+    if (value instanceof Date) {
+      return new Date(((Date) value).getTime());
+    }
+    return value;
+  }
+}
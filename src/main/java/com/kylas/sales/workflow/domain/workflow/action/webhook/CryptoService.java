@@ -4,6 +4,7 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 
 import com.kylas.sales.workflow.domain.processor.exception.WorkflowExecutionException;
 import com.kylas.sales.workflow.error.ErrorCode;
+import java.security.GeneralSecurityException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
@@ -11,6 +12,7 @@ import java.util.Base64;
 import javax.crypto.Cipher;
 import javax.crypto.spec.SecretKeySpec;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
@@ -21,29 +23,23 @@ public class CryptoService {
   private static final String CIPHER = "AES/ECB/PKCS5Padding";
   private static final String AES = "AES";
   private static final String SHA_1 = "SHA-1";
-  private static SecretKeySpec secretKey;
-  private static String secret;
 
-  @Value("${security.crypto.key}")
-  public void setSecret(String secret) {
-    CryptoService.secret = secret;
-  }
+  private final SecretKeySpec secretKey;
+  private final ThreadLocal<Cipher> encryptors;
+  private final ThreadLocal<Cipher> decryptors;
 
-  public static void setKey(String myKey) throws NoSuchAlgorithmException {
-    byte[] key = myKey.getBytes(UTF_8);
-    var sha = MessageDigest.getInstance(SHA_1);
-    key = sha.digest(key);
-    key = Arrays.copyOf(key, 16);
-    secretKey = new SecretKeySpec(key, AES);
+  @Autowired
+  public CryptoService(@Value("${security.crypto.key}") String secret) {
+    this.secretKey = deriveKey(secret);
+    this.encryptors = ThreadLocal.withInitial(() -> newCipher(Cipher.ENCRYPT_MODE));
+    this.decryptors = ThreadLocal.withInitial(() -> newCipher(Cipher.DECRYPT_MODE));
   }
 
   public String encrypt(String text) {
     try {
-      setKey(secret);
-      var cipher = Cipher.getInstance(CIPHER);
-      cipher.init(Cipher.ENCRYPT_MODE, secretKey);
-      return Base64.getEncoder().encodeToString(cipher.doFinal(text.getBytes(UTF_8)));
+      return Base64.getEncoder().encodeToString(encryptors.get().doFinal(text.getBytes(UTF_8)));
     } catch (Exception e) {
+      encryptors.remove();
       log.error("Exception while encrypting.", e);
       throw new WorkflowExecutionException(ErrorCode.CRYPTO_FAILURE);
     }
@@ -51,13 +47,31 @@ public class CryptoService {
 
   public String decrypt(String strToDecrypt) {
     try {
-      setKey(secret);
-      var cipher = Cipher.getInstance(CIPHER);
-      cipher.init(Cipher.DECRYPT_MODE, secretKey);
-      return new String(cipher.doFinal(Base64.getDecoder().decode(strToDecrypt)));
+      return new String(decryptors.get().doFinal(Base64.getDecoder().decode(strToDecrypt)), UTF_8);
     } catch (Exception e) {
+      decryptors.remove();
       log.error("Exception while decrypting.", e);
       throw new WorkflowExecutionException(ErrorCode.CRYPTO_FAILURE);
     }
   }
+
+  private Cipher newCipher(int mode) {
+    try {
+      var cipher = Cipher.getInstance(CIPHER);
+      cipher.init(mode, secretKey);
+      return cipher;
+    } catch (GeneralSecurityException e) {
+      log.error("Exception while initialising cipher.", e);
+      throw new WorkflowExecutionException(ErrorCode.CRYPTO_FAILURE);
+    }
+  }
+
+  private static SecretKeySpec deriveKey(String secret) {
+    try {
+      var key = MessageDigest.getInstance(SHA_1).digest(secret.getBytes(UTF_8));
+      return new SecretKeySpec(Arrays.copyOf(key, 16), AES);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("Unable to derive crypto key", e);
+    }
+  }
 }
@@ -68,6 +68,10 @@ public class EntityTypeConfiguration {
     return null;
   }
 
+  public void refresh(String tenantId) {
+    attributeFactory.refresh(tenantId);
+  }
+
   private List<Attribute> getAttributesForContact(Tuple2<List<Attribute>, List<Attribute>> tuples, ContactWebhookEntity webhookEntity) {
     return webhookEntity.getType().equals(USER) ? tuples.getT1() :
         webhookEntity.getType().equals(CONTACT) ? tuples.getT2() :
@@ -13,6 +13,7 @@ import com.kylas.sales.workflow.domain.exception.InvalidActionException;
 import com.kylas.sales.workflow.domain.workflow.Workflow;
 import com.kylas.sales.workflow.domain.workflow.action.AbstractWorkflowAction;
 import com.kylas.sales.workflow.domain.workflow.action.WorkflowAction;
+import com.kylas.sales.workflow.domain.workflow.action.webhook.parameter.WebhookPlan;
 import java.util.Collections;
 import java.util.List;
 import javax.persistence.CascadeType;
@@ -22,6 +23,7 @@ import javax.persistence.Enumerated;
 import javax.persistence.FetchType;
 import javax.persistence.JoinColumn;
 import javax.persistence.OneToMany;
+import javax.persistence.Transient;
 import javax.validation.constraints.NotBlank;
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -29,6 +31,7 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.validator.UrlValidator;
+import org.hibernate.annotations.BatchSize;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Component;
@@ -58,9 +61,13 @@ public class WebhookAction extends AbstractWorkflowAction implements WorkflowAct
 
   @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER, orphanRemoval = true)
   @JoinColumn(name = "webhook_action_id")
+  @BatchSize(size = 100)
   @Setter(AccessLevel.NONE)
   private List<Parameter> parameters;
 
+  @Transient
+  private volatile WebhookPlan plan;
+
   public WebhookAction(@NotBlank String name, String description, HttpMethod method,
       AuthorizationType authorizationType, @NotBlank String requestUrl,
       List<Parameter> parameters, String authorizationParameter) {
@@ -105,6 +112,7 @@ public class WebhookAction extends AbstractWorkflowAction implements WorkflowAct
     this.setAuthorizationParameter(WebhookActionMapper.encrypt(payload.getAuthorizationParameter()));
     this.setRequestUrl(payload.getRequestUrl());
     this.setParameters(payload.getParameters());
+    this.plan = null;
     return this;
   }
 
@@ -2,9 +2,12 @@ package com.kylas.sales.workflow.domain.workflow.action.webhook;
 
 import com.kylas.sales.workflow.domain.workflow.EntityType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import reactor.core.publisher.Flux;
 
@@ -23,4 +26,10 @@ public class WebhookController {
   public Flux<EntityConfig> getConfigurations(@PathVariable("entityType") final EntityType entityType) {
     return webhookService.getConfigurations(entityType);
   }
+
+  @PostMapping("/config/refresh")
+  @ResponseStatus(HttpStatus.NO_CONTENT)
+  public void refreshConfigurations() {
+    webhookService.refreshConfigurations();
+  }
 }
@@ -0,0 +1,87 @@
+package com.kylas.sales.workflow.domain.workflow.action.webhook;
+
+import static java.util.Objects.isNull;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.kylas.sales.workflow.domain.processor.exception.WorkflowExecutionException;
+import com.kylas.sales.workflow.error.ErrorCode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+@Slf4j
+public class WebhookCredentials {
+
+  private final CryptoService cryptoService;
+  private final ObjectMapper objectMapper;
+  private final Cache<CredentialKey, AuthorizationParameter> credentials;
+
+  @Autowired
+  public WebhookCredentials(
+      CryptoService cryptoService,
+      ObjectMapper objectMapper,
+      MeterRegistry meterRegistry,
+      @Value("${workflow.webhook.credentials.cache.maximumSize:10000}") long maximumSize,
+      @Value("${workflow.webhook.credentials.cache.expireAfterWriteSeconds:3600}") long expireAfterWriteSeconds) {
+    this.cryptoService = cryptoService;
+    this.objectMapper = objectMapper;
+    this.credentials = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterWrite(Duration.ofSeconds(expireAfterWriteSeconds))
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, credentials, "webhook.credentials");
+  }
+
+  public AuthorizationParameter of(WebhookAction action) {
+    if (isNull(action.getId())) {
+      return decode(action);
+    }
+    return credentials.get(CredentialKey.of(action), key -> decode(action));
+  }
+
+  public void invalidate(Long workflowId) {
+    credentials.asMap().keySet().removeIf(key -> Objects.equals(key.workflowId, workflowId));
+  }
+
+  private AuthorizationParameter decode(WebhookAction action) {
+    try {
+      return objectMapper.readValue(
+          Base64.getDecoder().decode(cryptoService.decrypt(action.getAuthorizationParameter())),
+          AuthorizationParameter.class);
+    } catch (IOException e) {
+      log.error("Exception while decoding authorization parameter for webhook action {}", action.getId(), e);
+      throw new WorkflowExecutionException(ErrorCode.INVALID_PARAMETER);
+    }
+  }
+
+  @AllArgsConstructor
+  @EqualsAndHashCode
+  private static class CredentialKey {
+
+    private final Long workflowId;
+    private final UUID actionId;
+    private final long updatedAt;
+
+    private static CredentialKey of(WebhookAction action) {
+      var workflow = action.getWorkflow();
+      if (isNull(workflow)) {
+        return new CredentialKey(null, action.getId(), 0L);
+      }
+      return new CredentialKey(workflow.getId(), action.getId(), isNull(workflow.getUpdatedAt()) ? 0L : workflow.getUpdatedAt().getTime());
+    }
+  }
+}
@@ -0,0 +1,434 @@
+package com.kylas.sales.workflow.domain.workflow.action.webhook;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+@Component
+@Slf4j
+public class WebhookDispatcher {
+
+  public enum OverflowPolicy {
+    DROP_NEWEST, DROP_OLDEST
+  }
+
+  private final WebClient webClient;
+  private final MeterRegistry meterRegistry;
+  private final int maxConcurrentPerTenant;
+  private final int maxConcurrentPerHost;
+  private final int queueCapacity;
+  private final OverflowPolicy overflowPolicy;
+  private final Duration responseTimeout;
+  private final int maxRetries;
+  private final long initialBackoffMillis;
+  private final long maxBackoffMillis;
+  private final int failureThreshold;
+  private final long openNanos;
+  private static final Set<HttpMethod> NON_IDEMPOTENT_METHODS = EnumSet.of(HttpMethod.POST, HttpMethod.PUT, HttpMethod.PATCH);
+
+  private final Deque<PendingWebhook> pending = new ArrayDeque<>();
+  private final Queue<PendingWebhook> ready = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger draining = new AtomicInteger();
+  private final Map<String, Integer> inFlightByTenant = new HashMap<>();
+  private final Map<String, Integer> inFlightByHost = new HashMap<>();
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final int maxPreparing;
+  private final Semaphore preparing;
+  private final Cache<String, CircuitBreaker> circuitBreakers;
+  private final Timer queueWait;
+  private final Counter retries;
+  private final Counter circuitOpened;
+
+  @Autowired
+  public WebhookDispatcher(
+      WebClient webClient,
+      MeterRegistry meterRegistry,
+      @Value("${workflow.webhook.maxConcurrentPerTenant:20}") int maxConcurrentPerTenant,
+      @Value("${workflow.webhook.maxConcurrentPerHost:10}") int maxConcurrentPerHost,
+      @Value("${workflow.webhook.queueCapacity:1000}") int queueCapacity,
+      @Value("${workflow.webhook.maxPreparing:500}") int maxPreparing,
+      @Value("${workflow.webhook.overflowPolicy:DROP_OLDEST}") OverflowPolicy overflowPolicy,
+      @Value("${workflow.webhook.responseTimeoutMillis:10000}") long responseTimeoutMillis,
+      @Value("${workflow.webhook.maxRetries:3}") int maxRetries,
+      @Value("${workflow.webhook.initialBackoffMillis:200}") long initialBackoffMillis,
+      @Value("${workflow.webhook.maxBackoffMillis:5000}") long maxBackoffMillis,
+      @Value("${workflow.webhook.circuit.failureThreshold:5}") int failureThreshold,
+      @Value("${workflow.webhook.circuit.openSeconds:30}") long openSeconds) {
+    this.webClient = webClient;
+    this.meterRegistry = meterRegistry;
+    this.maxConcurrentPerTenant = maxConcurrentPerTenant;
+    this.maxConcurrentPerHost = maxConcurrentPerHost;
+    this.queueCapacity = queueCapacity;
+    this.maxPreparing = maxPreparing;
+    this.preparing = new Semaphore(maxPreparing);
+    this.overflowPolicy = overflowPolicy;
+    this.responseTimeout = Duration.ofMillis(responseTimeoutMillis);
+    this.maxRetries = maxRetries;
+    this.initialBackoffMillis = initialBackoffMillis;
+    this.maxBackoffMillis = maxBackoffMillis;
+    this.failureThreshold = failureThreshold;
+    this.openNanos = TimeUnit.SECONDS.toNanos(openSeconds);
+    this.circuitBreakers = Caffeine.newBuilder()
+        .maximumSize(10000)
+        .expireAfterAccess(Duration.ofHours(1))
+        .build();
+    Gauge.builder("workflow.webhook.queue.depth", this, WebhookDispatcher::pendingCount).register(meterRegistry);
+    Gauge.builder("workflow.webhook.inflight", inFlight, AtomicInteger::get).register(meterRegistry);
+    Gauge.builder("workflow.webhook.preparing", preparing, permits -> maxPreparing - permits.availablePermits())
+        .register(meterRegistry);
+    this.queueWait = Timer.builder("workflow.webhook.queue.wait").register(meterRegistry);
+    this.retries = Counter.builder("workflow.webhook.retries").register(meterRegistry);
+    this.circuitOpened = Counter.builder("workflow.webhook.circuit.opened").register(meterRegistry);
+  }
+
+  public void submit(Mono<WebhookRequest> preparedRequest, UUID actionId) {
+    try {
+      if (!preparing.tryAcquire()) {
+        log.warn("{} webhook requests are being prepared, waiting to prepare webhook action {}", maxPreparing, actionId);
+        preparing.acquire();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      log.warn("Interrupted while waiting to prepare webhook action {}", actionId);
+      Counter.builder("workflow.webhook.drops").tag("reason", "interrupted").register(meterRegistry).increment();
+      return;
+    }
+    preparedRequest
+        .doFinally(signal -> preparing.release())
+        .subscribe(this::dispatch,
+            error -> log.error("Failed to prepare webhook action {}: {}", actionId, error.getMessage(), error));
+  }
+
+  public void dispatch(WebhookRequest request) {
+    var host = hostOf(request.getUri());
+    if (circuitBreaker(host).rejects()) {
+      drop(request, "circuit_open");
+      return;
+    }
+    synchronized (pending) {
+      if (pending.size() >= queueCapacity) {
+        if (overflowPolicy == OverflowPolicy.DROP_NEWEST) {
+          drop(request, "queue_full");
+          return;
+        }
+        drop(pending.pollFirst().request, "queue_full");
+      }
+      pending.addLast(new PendingWebhook(request, host));
+      takeReady();
+    }
+    drain();
+  }
+
+  int pendingCount() {
+    synchronized (pending) {
+      return pending.size();
+    }
+  }
+
+  private void takeReady() {
+    var iterator = pending.iterator();
+    while (iterator.hasNext()) {
+      var webhook = iterator.next();
+      var tenantId = webhook.request.getTenantId();
+      if (inFlightByTenant.getOrDefault(tenantId, 0) < maxConcurrentPerTenant
+          && inFlightByHost.getOrDefault(webhook.host, 0) < maxConcurrentPerHost) {
+        iterator.remove();
+        inFlightByTenant.merge(tenantId, 1, Integer::sum);
+        inFlightByHost.merge(webhook.host, 1, Integer::sum);
+        ready.offer(webhook);
+      }
+    }
+  }
+
+  private void release(PendingWebhook webhook) {
+    synchronized (pending) {
+      inFlightByTenant.computeIfPresent(webhook.request.getTenantId(), (key, count) -> count > 1 ? count - 1 : null);
+      inFlightByHost.computeIfPresent(webhook.host, (key, count) -> count > 1 ? count - 1 : null);
+      takeReady();
+    }
+    drain();
+  }
+
+  /*
+   * A request that completes synchronously releases its slot, and that release sends the next request on the same
+   * thread. Only one thread drains at a time and the others leave their work in the queue, so a long run of
+   * completions does not grow the stack.
+   */
+  private void drain() {
+    if (draining.getAndIncrement() != 0) {
+      return;
+    }
+    int missed = 1;
+    do {
+      PendingWebhook webhook;
+      while ((webhook = ready.poll()) != null) {
+        send(webhook);
+      }
+      missed = draining.addAndGet(-missed);
+    } while (missed != 0);
+  }
+
+  private void send(PendingWebhook webhook) {
+    queueWait.record(System.nanoTime() - webhook.queuedAt, TimeUnit.NANOSECONDS);
+    var request = webhook.request;
+    var circuitBreaker = circuitBreaker(webhook.host);
+    if (!circuitBreaker.allowsRequest()) {
+      drop(request, "circuit_open");
+      release(webhook);
+      return;
+    }
+    var sample = Timer.start(meterRegistry);
+    inFlight.incrementAndGet();
+    attempt(request, 0)
+        .doFinally(signal -> {
+          inFlight.decrementAndGet();
+          release(webhook);
+        })
+        .subscribe(
+            status -> {
+              circuitBreaker.recordSuccess();
+              sample.stop(requestTimer(String.valueOf(status), "success"));
+              log.info("Delivered webhook action {} with status {}", request.getActionId(), status);
+            },
+            error -> {
+              if (isEndpointFailure(error)) {
+                circuitBreaker.recordFailure();
+              } else {
+                circuitBreaker.recordSuccess();
+              }
+              sample.stop(requestTimer(statusOf(error), "failure"));
+              log.error("Failed to deliver webhook action {} to {}: {}", request.getActionId(), webhook.host, error.getMessage());
+            });
+  }
+
+  private Mono<Integer> attempt(WebhookRequest request, int attempt) {
+    return webClient
+        .method(request.getMethod())
+        .uri(request.getUri())
+        .body(request.getBody())
+        .headers(request.getHeaders())
+        .exchange()
+        .flatMap(response -> response
+            .bodyToMono(String.class)
+            .defaultIfEmpty("")
+            .flatMap(body -> {
+              int status = response.rawStatusCode();
+              if (status >= 400) {
+                var retryAfter = retryAfterOf(response.headers().asHttpHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+                return Mono.error(new WebhookDeliveryException(status, retryAfter));
+              }
+              log.debug("Received webhook response {}", body);
+              return Mono.just(status);
+            }))
+        .timeout(responseTimeout)
+        .onErrorResume(error -> {
+          if (!isRetryable(request.getMethod(), error) || attempt >= maxRetries) {
+            return Mono.error(error);
+          }
+          retries.increment();
+          var backoff = backoff(attempt, error);
+          log.warn("Retrying webhook action {} in {} ms after attempt {} failed: {}", request.getActionId(), backoff.toMillis(),
+              attempt + 1, error.getMessage());
+          return Mono.delay(backoff).then(Mono.defer(() -> attempt(request, attempt + 1)));
+        });
+  }
+
+  private Duration backoff(int attempt, Throwable error) {
+    long exponential = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(attempt, 20));
+    long half = exponential / 2;
+    var backoff = Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(half + 1));
+    if (error instanceof WebhookDeliveryException && nonNull(((WebhookDeliveryException) error).retryAfter)) {
+      var retryAfter = ((WebhookDeliveryException) error).retryAfter;
+      return retryAfter.compareTo(backoff) > 0 ? retryAfter : backoff;
+    }
+    return backoff;
+  }
+
+  /*
+   * A POST, PUT or PATCH may already have been applied when the response is lost or fails, so it is only sent again
+   * when it never reached the endpoint, or when the endpoint asked for a retry with Retry-After. A Retry-After longer
+   * than the backoff cap is not waited for, as the request would hold its slot for the whole delay.
+   */
+  private boolean isRetryable(HttpMethod method, Throwable error) {
+    if (error instanceof WebhookDeliveryException) {
+      var deliveryException = (WebhookDeliveryException) error;
+      var retryAfter = deliveryException.retryAfter;
+      if (nonNull(retryAfter) && retryAfter.toMillis() > maxBackoffMillis) {
+        return false;
+      }
+      if (NON_IDEMPOTENT_METHODS.contains(method)) {
+        return (deliveryException.status == 429 || deliveryException.status == 503) && nonNull(retryAfter);
+      }
+      return deliveryException.isEndpointFailure();
+    }
+    return !NON_IDEMPOTENT_METHODS.contains(method) || isConnectFailure(error);
+  }
+
+  private boolean isEndpointFailure(Throwable error) {
+    return !(error instanceof WebhookDeliveryException) || ((WebhookDeliveryException) error).isEndpointFailure();
+  }
+
+  private static boolean isConnectFailure(Throwable error) {
+    for (var cause = error; nonNull(cause); cause = cause.getCause()) {
+      if (cause instanceof ConnectException || cause instanceof UnknownHostException) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static Duration retryAfterOf(String value) {
+    if (isNull(value) || value.isBlank()) {
+      return null;
+    }
+    try {
+      return Duration.ofSeconds(Math.max(0, Long.parseLong(value.trim())));
+    } catch (NumberFormatException e) {
+      try {
+        var retryAt = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+        var delay = Duration.between(ZonedDateTime.now(retryAt.getZone()), retryAt);
+        return delay.isNegative() ? Duration.ZERO : delay;
+      } catch (DateTimeParseException ignored) {
+        return null;
+      }
+    }
+  }
+
+  private String statusOf(Throwable error) {
+    if (error instanceof WebhookDeliveryException) {
+      return String.valueOf(((WebhookDeliveryException) error).status);
+    }
+    return error instanceof TimeoutException ? "TIMEOUT" : "IO_ERROR";
+  }
+
+  private void drop(WebhookRequest request, String reason) {
+    log.warn("Dropping webhook action {} for tenant {}, reason {}", request.getActionId(), request.getTenantId(), reason);
+    Counter.builder("workflow.webhook.drops").tag("reason", reason).register(meterRegistry).increment();
+  }
+
+  private Timer requestTimer(String status, String outcome) {
+    return Timer.builder("workflow.webhook.requests")
+        .tag("status", status)
+        .tag("outcome", outcome)
+        .register(meterRegistry);
+  }
+
+  private CircuitBreaker circuitBreaker(String host) {
+    return circuitBreakers.get(host, key -> new CircuitBreaker(key));
+  }
+
+  private static String hostOf(URI uri) {
+    return isNull(uri.getHost()) ? "unknown" : uri.getHost();
+  }
+
+  private static class PendingWebhook {
+
+    private final WebhookRequest request;
+    private final String host;
+    private final long queuedAt = System.nanoTime();
+
+    private PendingWebhook(WebhookRequest request, String host) {
+      this.request = request;
+      this.host = host;
+    }
+  }
+
+  private class CircuitBreaker {
+
+    private final String host;
+    private int consecutiveFailures;
+    private boolean open;
+    private boolean trialInFlight;
+    private long openedAt;
+
+    private CircuitBreaker(String host) {
+      this.host = host;
+    }
+
+    private synchronized boolean rejects() {
+      return open && (trialInFlight || System.nanoTime() - openedAt < openNanos);
+    }
+
+    private synchronized boolean allowsRequest() {
+      if (!open) {
+        return true;
+      }
+      if (!trialInFlight && System.nanoTime() - openedAt >= openNanos) {
+        trialInFlight = true;
+        return true;
+      }
+      return false;
+    }
+
+    private synchronized void recordSuccess() {
+      if (open) {
+        log.info("Closing webhook circuit for host {}", host);
+      }
+      consecutiveFailures = 0;
+      open = false;
+      trialInFlight = false;
+    }
+
+    private synchronized void recordFailure() {
+      consecutiveFailures++;
+      if (trialInFlight || (!open && consecutiveFailures >= failureThreshold)) {
+        log.warn("Opening webhook circuit for host {} after {} consecutive failures", host, consecutiveFailures);
+        circuitOpened.increment();
+        open = true;
+        trialInFlight = false;
+        openedAt = System.nanoTime();
+      }
+    }
+  }
+
+  private static class WebhookDeliveryException extends RuntimeException {
+
+    private final int status;
+    private final Duration retryAfter;
+
+    private WebhookDeliveryException(int status, Duration retryAfter) {
+      super("Webhook endpoint responded with status " + status);
+      this.status = status;
+      this.retryAfter = retryAfter;
+    }
+
+    private boolean isEndpointFailure() {
+      return status >= 500 || status == 429;
+    }
+  }
+}
@@ -0,0 +1,23 @@
+package com.kylas.sales.workflow.domain.workflow.action.webhook;
+
+import java.net.URI;
+import java.util.UUID;
+import java.util.function.Consumer;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.reactive.ClientHttpRequest;
+import org.springframework.web.reactive.function.BodyInserter;
+
+@Getter
+@AllArgsConstructor
+public class WebhookRequest {
+
+  private final String tenantId;
+  private final UUID actionId;
+  private final HttpMethod method;
+  private final URI uri;
+  private final BodyInserter<?, ? super ClientHttpRequest> body;
+  private final Consumer<HttpHeaders> headers;
+}
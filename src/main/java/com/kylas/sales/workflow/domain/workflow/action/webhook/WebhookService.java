@@ -2,24 +2,27 @@ package com.kylas.sales.workflow.domain.workflow.action.webhook;
 
 import static com.kylas.sales.workflow.common.dto.ActionDetail.WebhookAction.AuthorizationType.NONE;
 import static java.util.Collections.emptyMap;
+import static java.util.Objects.isNull;
 import static java.util.stream.Collectors.toMap;
 import static org.apache.commons.collections.CollectionUtils.isNotEmpty;
 import static org.springframework.http.HttpMethod.GET;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kylas.sales.workflow.domain.exception.InsufficientPrivilegeException;
 import com.kylas.sales.workflow.domain.processor.EntityDetail;
-import com.kylas.sales.workflow.domain.processor.exception.WorkflowExecutionException;
 import com.kylas.sales.workflow.domain.workflow.EntityType;
 import com.kylas.sales.workflow.domain.workflow.action.webhook.parameter.ParameterBuilder;
-import com.kylas.sales.workflow.error.ErrorCode;
+import com.kylas.sales.workflow.domain.workflow.action.webhook.parameter.WebhookPlan;
+import com.kylas.sales.workflow.mq.WorkflowEventPublisher;
+import com.kylas.sales.workflow.mq.event.WebhookConfigRefreshedEvent;
 import com.kylas.sales.workflow.security.AuthService;
-import java.io.IOException;
-import java.util.Base64;
+import com.kylas.sales.workflow.security.jwt.Authentication;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.function.Consumer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -28,67 +31,96 @@ import org.springframework.stereotype.Service;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.web.reactive.function.BodyInserter;
 import org.springframework.web.reactive.function.BodyInserters;
-import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 @Service
 @Slf4j
 public class WebhookService {
 
+  private static final String UNKNOWN_TENANT = "unknown";
   private static final Consumer<HttpHeaders> NO_HEADER_CONSUMER = headers -> {
   };
 
   private final EntityTypeConfiguration entityTypeConfiguration;
   private final AuthService authService;
-  private final WebClient webClient;
-  private final CryptoService cryptoService;
-  private final ObjectMapper objectMapper;
+  private final WebhookDispatcher webhookDispatcher;
+  private final WebhookCredentials webhookCredentials;
   private final List<ParameterBuilder> parameterBuilders;
+  private final WorkflowEventPublisher workflowEventPublisher;
 
   @Autowired
   public WebhookService(EntityTypeConfiguration entityTypeConfiguration, AuthService authService,
-      WebClient webClient, CryptoService cryptoService, ObjectMapper objectMapper,
-      List<ParameterBuilder> parameterBuilders) {
+      WebhookDispatcher webhookDispatcher, WebhookCredentials webhookCredentials, List<ParameterBuilder> parameterBuilders,
+      WorkflowEventPublisher workflowEventPublisher) {
     this.entityTypeConfiguration = entityTypeConfiguration;
     this.authService = authService;
-    this.webClient = webClient;
-    this.cryptoService = cryptoService;
-    this.objectMapper = objectMapper;
+    this.webhookDispatcher = webhookDispatcher;
+    this.webhookCredentials = webhookCredentials;
     this.parameterBuilders = parameterBuilders;
+    this.workflowEventPublisher = workflowEventPublisher;
   }
 
   public void execute(WebhookAction webhookAction, EntityDetail entity, EntityType entityType) {
     log.info("Executing webhook action with name {} & Id {}", webhookAction.getName(), webhookAction.getId());
-    var requestParameters = parameterBuilders.stream()
-        .filter(parameterBuilder -> parameterBuilder.canBuild(entityType))
-        .findFirst()
-        .map(parameterBuilder -> parameterBuilder.build(webhookAction, entity, authService.getAuthenticationToken()))
-        .orElse(null);
-
-    var uri = UriComponentsBuilder
-        .fromUriString(webhookAction.getRequestUrl())
-        .queryParams(buildQueryParams(webhookAction, requestParameters))
-        .build()
-        .toUri();
-    log.info("Prepared uri is {}", uri.toString());
-    webClient
-        .method(webhookAction.getMethod())
-        .uri(uri)
-        .body(buildRequestBody(webhookAction.getMethod(), requestParameters))
-        .headers(buildAuthorizationHeader(webhookAction))
-        .retrieve()
-        .bodyToMono(String.class)
-        .subscribe(s -> log.debug("Received webhook response {}", s));
-    log.info("Executed webhook action with name {} & Id {}", webhookAction.getName(), webhookAction.getId());
+    var authenticationToken = authService.getAuthenticationToken();
+    var tenantId = tenantIdOf(authenticationToken);
+    var parameterBuilder = parameterBuilders.stream()
+        .filter(builder -> builder.canBuild(entityType))
+        .findFirst();
+    var plan = parameterBuilder
+        .map(builder -> builder.planFor(webhookAction))
+        .orElseGet(() -> WebhookPlan.withoutParameters(webhookAction));
+    var authorizationHeader = buildAuthorizationHeader(webhookAction, plan);
+    var preparedRequest = parameterBuilder
+        .map(builder -> builder.build(webhookAction, entity, authenticationToken))
+        .orElse(Mono.just(emptyMap()))
+        .map(requestParameters -> {
+          var uri = UriComponentsBuilder.newInstance()
+              .uriComponents(plan.getUriTemplate())
+              .queryParams(buildQueryParams(webhookAction, requestParameters))
+              .build()
+              .toUri();
+          log.info("Prepared uri is {}", uri.toString());
+          return new WebhookRequest(tenantId, webhookAction.getId(), webhookAction.getMethod(), uri,
+              buildRequestBody(webhookAction.getMethod(), requestParameters), authorizationHeader);
+        });
+    webhookDispatcher.submit(preparedRequest, webhookAction.getId());
+    log.info("Submitted webhook action with name {} & Id {}", webhookAction.getName(), webhookAction.getId());
   }
 
   public Flux<EntityConfig> getConfigurations(EntityType entityType) {
     return entityTypeConfiguration.getConfigurations(entityType);
 
   }
+
+  public void refreshConfigurations() {
+    var user = authService.getLoggedInUser();
+    if (!user.canUpdateHisWorkflow() && !user.canUpdateAllWorkflow()) {
+      log.error("User with id: {} does not have update permission on Workflow", user.getId());
+      throw new InsufficientPrivilegeException();
+    }
+    entityTypeConfiguration.refresh(String.valueOf(user.getTenantId()));
+    try {
+      workflowEventPublisher.publishWebhookConfigRefreshed(new WebhookConfigRefreshedEvent(user.getTenantId()));
+    } catch (AmqpException e) {
+      log.error("Unable to publish webhook configuration refresh for tenant {}", user.getTenantId(), e);
+    }
+  }
   
 
+  private String tenantIdOf(String authenticationToken) {
+    if (isNull(authenticationToken)) {
+      return UNKNOWN_TENANT;
+    }
+    try {
+      return Objects.requireNonNullElse(Authentication.tenantIdOf(authenticationToken), UNKNOWN_TENANT);
+    } catch (IllegalArgumentException e) {
+      return UNKNOWN_TENANT;
+    }
+  }
+
   private BodyInserter<?, ? super ClientHttpRequest> buildRequestBody(HttpMethod method, Map<String, List<String>> parameters) {
     if (method.equals(GET)) {
       return BodyInserters.empty();
@@ -104,31 +136,11 @@ public class WebhookService {
         webhookAction.getMethod().equals(GET) ? requestParameters : emptyMap());
   }
 
-  private Consumer<HttpHeaders> buildAuthorizationHeader(WebhookAction action) {
-    if (action.getAuthorizationType().equals(NONE)) {
+  private Consumer<HttpHeaders> buildAuthorizationHeader(WebhookAction action, WebhookPlan plan) {
+    if (isNull(action.getAuthorizationType()) || action.getAuthorizationType().equals(NONE)) {
       return NO_HEADER_CONSUMER;
     }
-    AuthorizationParameter auth;
-    try {
-      auth = objectMapper.readValue(
-          Base64.getDecoder().decode(cryptoService.decrypt(action.getAuthorizationParameter())),
-          AuthorizationParameter.class);
-    } catch (IOException e) {
-      log.error("Exception while setting authorization header for webhook action {}", action.getId(), e);
-      throw new WorkflowExecutionException(ErrorCode.INVALID_PARAMETER);
-    }
-
-    return httpHeaders -> {
-      switch (action.getAuthorizationType()) {
-        case API_KEY:
-          httpHeaders.add(auth.getKeyName(), auth.getValue());
-          break;
-        case BASIC_AUTH:
-          httpHeaders.setBasicAuth(auth.getUsername(), auth.getPassword());
-          break;
-        case BEARER_TOKEN:
-          httpHeaders.setBearerAuth(auth.getToken());
-      }
-    };
+    var auth = webhookCredentials.of(action);
+    return httpHeaders -> plan.getAuthorizationStrategy().accept(httpHeaders, auth);
   }
 }
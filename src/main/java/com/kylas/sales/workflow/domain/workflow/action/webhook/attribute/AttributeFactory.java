@@ -1,82 +1,131 @@
 package com.kylas.sales.workflow.domain.workflow.action.webhook.attribute;
 
 import static java.util.Arrays.stream;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 
-import com.kylas.sales.workflow.domain.entity.EntityDefinition;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.kylas.sales.workflow.domain.service.ConfigService;
 import com.kylas.sales.workflow.domain.workflow.EntityType;
 import com.kylas.sales.workflow.security.AuthService;
+import com.kylas.sales.workflow.security.jwt.Authentication;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 
 @Service
+@Slf4j
 public class AttributeFactory {
 
+  private static final List<String> ENTITIES = List.of("user", "lead", "contact", "deal");
+
   private final ConfigService configService;
   private final AuthService authService;
+  private final boolean cacheEnabled;
+  private final AsyncCache<FieldsKey, Map<String, String>> displayNames;
 
   @Autowired
-  public AttributeFactory(ConfigService configService, AuthService authService) {
+  public AttributeFactory(
+      ConfigService configService,
+      AuthService authService,
+      MeterRegistry meterRegistry,
+      @Value("${client.config.fields.cache.enabled:true}") boolean cacheEnabled,
+      @Value("${client.config.fields.cache.maximumSize:5000}") long maximumSize,
+      @Value("${client.config.fields.cache.expireAfterWriteSeconds:900}") long expireAfterWriteSeconds) {
     this.configService = configService;
     this.authService = authService;
+    this.cacheEnabled = cacheEnabled;
+    this.displayNames = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterWrite(Duration.ofSeconds(expireAfterWriteSeconds))
+        .recordStats()
+        .buildAsync();
+    CaffeineCacheMetrics.monitor(meterRegistry, displayNames.synchronous(), "config.fields");
   }
 
   public Mono<List<Attribute>> getUserAttributes() {
-    var authenticationToken = authService.getAuthenticationToken();
-    return configService
-        .getFields("user", authenticationToken)
-        .collectList()
-        .map(entityDefinitions ->
+    return getDisplayNames("user")
+        .map(displayNames ->
             stream(UserAttribute.values())
-                .map(attribute -> new Attribute(attribute.name, getDisplayName(entityDefinitions, attribute.name)))
+                .map(attribute -> new Attribute(attribute.name, getDisplayName(displayNames, attribute.name)))
                 .collect(Collectors.toList()));
   }
 
   public Mono<List<Attribute>> getLeadAttributes() {
-    var authenticationToken = authService.getAuthenticationToken();
-    return configService
-        .getFields("lead", authenticationToken)
-        .collectList()
-        .map(entityDefinitions ->
+    return getDisplayNames("lead")
+        .map(displayNames ->
             stream(LeadAttribute.values())
-                .map(attribute -> new Attribute(attribute.name, getDisplayName(entityDefinitions, attribute.name)))
+                .map(attribute -> new Attribute(attribute.name, getDisplayName(displayNames, attribute.name)))
                 .collect(Collectors.toList()));
   }
 
   public Mono<List<Attribute>> getContactAttributes() {
-    var authenticationToken = authService.getAuthenticationToken();
-    return configService
-        .getFields("contact", authenticationToken)
-        .collectList()
-        .map(entityDefinitions ->
+    return getDisplayNames("contact")
+        .map(displayNames ->
             stream(ContactAttribute.values())
-                .map(attribute -> new Attribute(attribute.name, getDisplayName(entityDefinitions, attribute.name)))
+                .map(attribute -> new Attribute(attribute.name, getDisplayName(displayNames, attribute.name)))
                 .collect(Collectors.toList()));
   }
 
   public Mono<List<Attribute>> getDealAttributes() {
-    var authenticationToken = authService.getAuthenticationToken();
-    return configService
-        .getFields("deal", authenticationToken)
-        .collectList()
-        .map(entityDefinitions ->
+    return getDisplayNames("deal")
+        .map(displayNames ->
             stream(DealAttribute.values())
-                .map(attribute -> new Attribute(attribute.name, getDisplayName(entityDefinitions, attribute.displayName)))
+                .map(attribute -> new Attribute(attribute.name, getDisplayName(displayNames, attribute.displayName)))
                 .collect(Collectors.toList()));
   }
 
-  private String getDisplayName(List<com.kylas.sales.workflow.domain.entity.EntityDefinition> entityDefinitions, String attributeName) {
-    return entityDefinitions.stream()
-        .filter(entityDefinition -> entityDefinition.getName().equals(attributeName))
-        .findFirst()
-        .map(EntityDefinition::getDisplayName)
-        .orElse(StringUtils.capitalize(attributeName));
+  public void refresh() {
+    var tenantId = Authentication.tenantIdOf(authService.getAuthenticationToken());
+    if (isNull(tenantId)) {
+      return;
+    }
+    refresh(tenantId);
+  }
+
+  public void refresh(String tenantId) {
+    log.info("Refreshing field definitions of tenant {}", tenantId);
+    displayNames.synchronous().invalidateAll(
+        ENTITIES.stream().map(entity -> new FieldsKey(tenantId, entity)).collect(Collectors.toList()));
+  }
+
+  private Mono<Map<String, String>> getDisplayNames(String entity) {
+    var authenticationToken = authService.getAuthenticationToken();
+    if (!cacheEnabled) {
+      return fetchDisplayNames(entity, authenticationToken);
+    }
+    var tenantId = Authentication.tenantIdOf(authenticationToken);
+    if (isNull(tenantId)) {
+      return fetchDisplayNames(entity, authenticationToken);
+    }
+    return Mono.fromFuture(displayNames.get(new FieldsKey(tenantId, entity),
+        (key, executor) -> fetchDisplayNames(entity, authenticationToken).toFuture()));
+  }
+
+  private Mono<Map<String, String>> fetchDisplayNames(String entity, String authenticationToken) {
+    return configService
+        .getFields(entity, authenticationToken)
+        .filter(entityDefinition -> nonNull(entityDefinition.getName()) && nonNull(entityDefinition.getDisplayName()))
+        .<Map<String, String>>collect(HashMap::new, (displayNames, entityDefinition) ->
+            displayNames.putIfAbsent(entityDefinition.getName(), entityDefinition.getDisplayName()));
+  }
+
+  private String getDisplayName(Map<String, String> displayNames, String attributeName) {
+    return displayNames.getOrDefault(attributeName, StringUtils.capitalize(attributeName));
   }
 
   public LeadWebhookEntity[] getEntitiesLead() {
@@ -284,4 +333,15 @@ public class AttributeFactory {
     private final String displayName;
   }
 
+  @EqualsAndHashCode
+  private static class FieldsKey {
+
+    private final String tenantId;
+    private final String entity;
+
+    private FieldsKey(String tenantId, String entity) {
+      this.tenantId = tenantId;
+      this.entity = entity;
+    }
+  }
 }
@@ -1,42 +1,35 @@
 package com.kylas.sales.workflow.domain.workflow.action.webhook.parameter;
 
-import static com.kylas.sales.workflow.common.dto.condition.ExpressionField.getFieldByName;
 import static com.kylas.sales.workflow.domain.workflow.action.webhook.attribute.AttributeFactory.DealAttribute.ACTUAL_VALUE;
 import static com.kylas.sales.workflow.domain.workflow.action.webhook.attribute.AttributeFactory.DealAttribute.ESTIMATED_VALUE;
-import static com.kylas.sales.workflow.domain.workflow.action.webhook.attribute.AttributeFactory.WebhookEntity.CREATED_BY;
 import static com.kylas.sales.workflow.domain.workflow.action.webhook.attribute.AttributeFactory.WebhookEntity.DEAL;
 import static com.kylas.sales.workflow.domain.workflow.action.webhook.attribute.AttributeFactory.WebhookEntity.DEAL_OWNER;
-import static com.kylas.sales.workflow.domain.workflow.action.webhook.attribute.AttributeFactory.WebhookEntity.TENANT;
-import static com.kylas.sales.workflow.domain.workflow.action.webhook.attribute.AttributeFactory.WebhookEntity.UPDATED_BY;
-import static org.apache.commons.beanutils.BeanUtils.getNestedProperty;
-import static org.apache.commons.collections.CollectionUtils.isNotEmpty;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 
 import com.kylas.sales.workflow.domain.processor.EntityDetail;
 import com.kylas.sales.workflow.domain.processor.deal.DealDetail;
+import com.kylas.sales.workflow.domain.processor.deal.Money;
 import com.kylas.sales.workflow.domain.processor.lead.IdName;
-import com.kylas.sales.workflow.domain.service.ConfigService;
+import com.kylas.sales.workflow.domain.service.IdNameResolver;
 import com.kylas.sales.workflow.domain.service.UserService;
-import com.kylas.sales.workflow.domain.user.UserDetails;
 import com.kylas.sales.workflow.domain.workflow.EntityType;
-import com.kylas.sales.workflow.domain.workflow.action.webhook.WebhookAction;
-import java.lang.reflect.InvocationTargetException;
-import java.util.AbstractMap.SimpleEntry;
+import com.kylas.sales.workflow.domain.workflow.action.webhook.Parameter;
+import com.kylas.sales.workflow.domain.workflow.action.webhook.attribute.AttributeFactory.WebhookEntity;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.beanutils.NestedNullException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import reactor.core.publisher.Mono;
 
 @Service
 @Slf4j
 public class DealParameterBuilder extends ParameterBuilder {
 
   @Autowired
-  public DealParameterBuilder(UserService userService, ConfigService configService) {
-    super(userService,configService);
+  public DealParameterBuilder(UserService userService, IdNameResolver idNameResolver) {
+    super(userService, idNameResolver);
   }
 
   @Override
@@ -45,50 +38,63 @@ public class DealParameterBuilder extends ParameterBuilder {
   }
 
   @Override
-  public Map<String, List<String>> build(WebhookAction webhookAction, EntityDetail entityDetail, String jwtToken) {
-    DealDetail deal = (DealDetail) entityDetail;
-    return Mono
-        .zip(
-            getUserIfRequired(webhookAction, jwtToken, DEAL_OWNER, deal.getOwnedBy()),
-            getUserIfRequired(webhookAction, jwtToken, CREATED_BY, deal.getCreatedBy()),
-            getUserIfRequired(webhookAction, jwtToken, UPDATED_BY, deal.getUpdatedBy()),
-            getTenantIfRequired(webhookAction, jwtToken),
-            getCurrencyIfRequired(webhookAction, jwtToken,deal.getActualValue()),
-            getCurrencyIfRequired(webhookAction,jwtToken,deal.getEstimatedValue())
-        ).map(tuple ->
-            webhookAction.getParameters().stream()
-                .map(parameter -> {
-                  Object entity = deal;
-                  if (parameter.getEntity().equals(DEAL_OWNER)) {
-                    entity = UserDetails.from(tuple.getT1());
-                  } else if (parameter.getEntity().equals(CREATED_BY)) {
-                    entity = UserDetails.from(tuple.getT2());
-                  } else if (parameter.getEntity().equals(UPDATED_BY)) {
-                    entity = UserDetails.from(tuple.getT3());
-                  } else if (parameter.getEntity().equals(TENANT)) {
-                    entity = tuple.getT4();
-                  } else if (parameter.getEntity().equals(DEAL) && parameter.getAttribute().equals(ACTUAL_VALUE.getName())) {
-                    return new SimpleEntry<>(parameter.getName(), getFormattedActualMoneyText(deal, tuple.getT5()));
-                  } else if (parameter.getEntity().equals(DEAL) && parameter.getAttribute().equals(ESTIMATED_VALUE.getName())) {
-                    return new SimpleEntry<>(parameter.getName(), getFormattedEstimatedMoneyText(deal, tuple.getT6()));
-                  }
-                  return new SimpleEntry<>(parameter.getName(), getParameterValue(parameter, entity));
-                })
-                .filter(entry -> isNotEmpty(entry.getValue()))
-                .collect(Collectors.toMap(SimpleEntry::getKey, SimpleEntry::getValue))
-        ).block();
+  protected WebhookEntity ownerEntity() {
+    return DEAL_OWNER;
   }
 
-  private List<String> getFormattedActualMoneyText(DealDetail deal, IdName t5) {
-    try {
-      return List.of(t5.getName()+ " " +deal.getActualValue().getValue());
-    } catch (NullPointerException ignored) {
+  @Override
+  protected IdName ownerOf(EntityDetail entityDetail) {
+    return ((DealDetail) entityDetail).getOwnedBy();
+  }
+
+  @Override
+  protected IdName createdByOf(EntityDetail entityDetail) {
+    return ((DealDetail) entityDetail).getCreatedBy();
+  }
+
+  @Override
+  protected IdName updatedByOf(EntityDetail entityDetail) {
+    return ((DealDetail) entityDetail).getUpdatedBy();
+  }
+
+  @Override
+  protected boolean requiresCurrency(Parameter parameter) {
+    return isMoney(parameter);
+  }
+
+  @Override
+  protected List<Long> currencyIdsOf(EntityDetail entityDetail) {
+    var deal = (DealDetail) entityDetail;
+    var currencyIds = new ArrayList<Long>(2);
+    if (nonNull(deal.getActualValue())) {
+      currencyIds.add(deal.getActualValue().getCurrencyId());
+    }
+    if (nonNull(deal.getEstimatedValue())) {
+      currencyIds.add(deal.getEstimatedValue().getCurrencyId());
+    }
+    return currencyIds;
+  }
+
+  @Override
+  protected Function<ResolvedSources, List<String>> extractorFor(Parameter parameter) {
+    if (!isMoney(parameter)) {
+      return super.extractorFor(parameter);
     }
-    return  List.of("");
+    Function<DealDetail, Money> money = parameter.getAttribute().equals(ACTUAL_VALUE.getName())
+        ? DealDetail::getActualValue
+        : DealDetail::getEstimatedValue;
+    return sources -> getFormattedMoneyText(money.apply((DealDetail) sources.getEntity()), sources);
   }
 
+  private boolean isMoney(Parameter parameter) {
+    return parameter.getEntity().equals(DEAL)
+        && (parameter.getAttribute().equals(ACTUAL_VALUE.getName()) || parameter.getAttribute().equals(ESTIMATED_VALUE.getName()));
+  }
 
-  private List<String> getFormattedEstimatedMoneyText(DealDetail deal, IdName t6) {
-    return List.of(t6.getName()+ " " +deal.getEstimatedValue().getValue());
+  private List<String> getFormattedMoneyText(Money money, ResolvedSources sources) {
+    if (isNull(money)) {
+      return List.of("");
+    }
+    return List.of(sources.currency(money.getCurrencyId()).getName() + " " + money.getValue());
   }
 }
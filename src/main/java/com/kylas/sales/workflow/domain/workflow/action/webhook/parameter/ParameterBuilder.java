@@ -1,35 +1,34 @@
 package com.kylas.sales.workflow.domain.workflow.action.webhook.parameter;
 
-import static com.kylas.sales.workflow.common.dto.condition.ExpressionField.getFieldByName;
-import static com.kylas.sales.workflow.domain.workflow.action.webhook.attribute.AttributeFactory.DealAttribute.ACTUAL_VALUE;
-import static com.kylas.sales.workflow.domain.workflow.action.webhook.attribute.AttributeFactory.DealAttribute.ESTIMATED_VALUE;
 import static com.kylas.sales.workflow.domain.workflow.action.webhook.attribute.AttributeFactory.LeadAttribute.COMPANY_PHONES;
 import static com.kylas.sales.workflow.domain.workflow.action.webhook.attribute.AttributeFactory.LeadAttribute.EMAILS;
 import static com.kylas.sales.workflow.domain.workflow.action.webhook.attribute.AttributeFactory.LeadAttribute.PHONE_NUMBERS;
 import static com.kylas.sales.workflow.domain.workflow.action.webhook.attribute.AttributeFactory.LeadAttribute.REQUIREMENT_PRODUCTS;
-import static com.kylas.sales.workflow.domain.workflow.action.webhook.attribute.AttributeFactory.WebhookEntity.DEAL;
+import static com.kylas.sales.workflow.domain.workflow.action.webhook.attribute.AttributeFactory.WebhookEntity.CREATED_BY;
 import static com.kylas.sales.workflow.domain.workflow.action.webhook.attribute.AttributeFactory.WebhookEntity.TENANT;
+import static com.kylas.sales.workflow.domain.workflow.action.webhook.attribute.AttributeFactory.WebhookEntity.UPDATED_BY;
+import static com.kylas.sales.workflow.domain.workflow.action.webhook.parameter.WebhookPlan.authorizationStrategyOf;
+import static com.kylas.sales.workflow.domain.workflow.action.webhook.parameter.WebhookPlan.uriTemplateOf;
 import static java.util.Arrays.stream;
 import static java.util.Collections.emptyList;
 import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 import static java.util.stream.Collectors.toList;
-import static org.apache.commons.beanutils.BeanUtils.getNestedProperty;
+import static org.apache.commons.collections.CollectionUtils.isNotEmpty;
 
-import com.kylas.sales.workflow.common.dto.Tenant;
+import com.kylas.sales.workflow.domain.accessor.PropertyAccessException;
+import com.kylas.sales.workflow.domain.accessor.PropertyAccessors;
 import com.kylas.sales.workflow.domain.processor.EntityDetail;
 import com.kylas.sales.workflow.domain.processor.contact.ContactDetail;
 import com.kylas.sales.workflow.domain.processor.deal.DealDetail;
-import com.kylas.sales.workflow.domain.processor.deal.Money;
-import com.kylas.sales.workflow.domain.processor.exception.WorkflowExecutionException;
 import com.kylas.sales.workflow.domain.processor.lead.Email;
 import com.kylas.sales.workflow.domain.processor.lead.IdName;
 import com.kylas.sales.workflow.domain.processor.lead.LeadDetail;
 import com.kylas.sales.workflow.domain.processor.lead.PhoneNumber;
 import com.kylas.sales.workflow.domain.processor.lead.Product;
-import com.kylas.sales.workflow.domain.service.ConfigService;
+import com.kylas.sales.workflow.domain.service.IdNameResolver;
+import com.kylas.sales.workflow.domain.service.IdNameResolver.Kind;
 import com.kylas.sales.workflow.domain.service.UserService;
-import com.kylas.sales.workflow.domain.user.User;
 import com.kylas.sales.workflow.domain.user.UserDetails;
 import com.kylas.sales.workflow.domain.workflow.EntityType;
 import com.kylas.sales.workflow.domain.workflow.action.webhook.Parameter;
@@ -38,78 +37,147 @@ import com.kylas.sales.workflow.domain.workflow.action.webhook.attribute.Attribu
 import com.kylas.sales.workflow.domain.workflow.action.webhook.attribute.AttributeFactory.DealAttribute;
 import com.kylas.sales.workflow.domain.workflow.action.webhook.attribute.AttributeFactory.UserAttribute;
 import com.kylas.sales.workflow.domain.workflow.action.webhook.attribute.AttributeFactory.WebhookEntity;
-import com.kylas.sales.workflow.error.ErrorCode;
-import java.lang.reflect.InvocationTargetException;
+import com.kylas.sales.workflow.domain.workflow.action.webhook.parameter.WebhookPlan.ParameterPlan;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.beanutils.NestedNullException;
-import org.apache.commons.beanutils.PropertyUtils;
-import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @Slf4j
 public abstract class ParameterBuilder {
 
   private final UserService userService;
-  private final ConfigService configService;
+  private final IdNameResolver idNameResolver;
 
-  protected ParameterBuilder(UserService userService,ConfigService configService) {
+  protected ParameterBuilder(UserService userService, IdNameResolver idNameResolver) {
     this.userService = userService;
-    this.configService=configService;
+    this.idNameResolver = idNameResolver;
   }
-  final Mono<User> getUserIfRequired(WebhookAction action, String authToken, WebhookEntity entity, IdName user) {
-    return
-        action.getParameters().stream().anyMatch(parameter -> parameter.getEntity().equals(entity))
-            ? userService.getUserDetails(user.getId(), authToken)
-            : Mono.just(new User());
+
+  public final WebhookPlan planFor(WebhookAction action) {
+    var plan = action.getPlan();
+    if (isNull(plan)) {
+      plan = compile(action);
+      action.setPlan(plan);
+    }
+    return plan;
+  }
+
+  public final Mono<Map<String, List<String>>> build(WebhookAction webhookAction, EntityDetail entityDetail, String jwtToken) {
+    var plan = planFor(webhookAction);
+    var sources = new ResolvedSources(entityDetail);
+    List<Mono<?>> lookups = new ArrayList<>();
+    for (WebhookEntity user : plan.getUsers()) {
+      var idName = userOf(user, entityDetail);
+      if (nonNull(idName) && nonNull(idName.getId())) {
+        lookups.add(userService.getUserDetails(idName.getId(), jwtToken)
+            .doOnNext(details -> sources.getUsers().put(user, UserDetails.from(details))));
+      }
+    }
+    if (plan.isTenantRequired()) {
+      lookups.add(userService.getTenantDetails(jwtToken).doOnNext(sources::setTenant));
+    }
+    if (plan.isCurrencyRequired()) {
+      lookups.add(idNameResolver.resolveAll(Kind.CURRENCY, currencyIdsOf(entityDetail), jwtToken).doOnNext(sources::setCurrencies));
+    }
+    return Mono.when(lookups)
+        .then(Mono.fromCallable(() -> {
+          Map<String, List<String>> parameters = new HashMap<>();
+          for (ParameterPlan parameter : plan.getParameters()) {
+            var value = parameter.getExtractor().apply(sources);
+            if (isNotEmpty(value)) {
+              parameters.put(parameter.getName(), value);
+            }
+          }
+          return parameters;
+        }));
+  }
+
+  private WebhookPlan compile(WebhookAction action) {
+    var parameters = isNull(action.getParameters()) ? List.<Parameter>of() : action.getParameters();
+    Set<WebhookEntity> users = EnumSet.noneOf(WebhookEntity.class);
+    boolean tenantRequired = false;
+    boolean currencyRequired = false;
+    var parameterPlans = new ParameterPlan[parameters.size()];
+    for (int i = 0; i < parameters.size(); i++) {
+      var parameter = parameters.get(i);
+      var entity = parameter.getEntity();
+      if (entity.getType() == EntityType.USER && supportsUser(entity)) {
+        users.add(entity);
+      } else if (entity == TENANT) {
+        tenantRequired = true;
+      }
+      currencyRequired |= requiresCurrency(parameter);
+      parameterPlans[i] = new ParameterPlan(parameter.getName(), extractorFor(parameter));
+    }
+    return new WebhookPlan(users, tenantRequired, currencyRequired, parameterPlans,
+        uriTemplateOf(action.getRequestUrl()), authorizationStrategyOf(action.getAuthorizationType()));
+  }
+
+  protected Function<ResolvedSources, List<String>> extractorFor(Parameter parameter) {
+    var entity = parameter.getEntity();
+    var valueExtractor = valueExtractorFor(parameter);
+    return sources -> {
+      var source = sources.sourceOf(entity);
+      return isNull(source) ? emptyList() : valueExtractor.apply(source);
+    };
+  }
+
+  protected boolean requiresCurrency(Parameter parameter) {
+    return false;
+  }
+
+  protected List<Long> currencyIdsOf(EntityDetail entityDetail) {
+    return List.of();
   }
 
-  final Mono<Tenant> getTenantIfRequired(WebhookAction action, String token) {
-    return
-        action.getParameters().stream().anyMatch(parameter -> parameter.getEntity().equals(TENANT))
-            ? userService.getTenantDetails(token)
-            : Mono.just(new Tenant());
+  private boolean supportsUser(WebhookEntity entity) {
+    return entity == CREATED_BY || entity == UPDATED_BY || entity == ownerEntity();
   }
 
-  final Mono<IdName> getCurrencyIfRequired(WebhookAction action, String token, Money money) {
-    if (isNull(money) || isNull(money.getCurrencyId())) {
-      return Mono.just(new IdName(null,null));
+  private IdName userOf(WebhookEntity entity, EntityDetail entityDetail) {
+    if (entity == CREATED_BY) {
+      return createdByOf(entityDetail);
     }
-    Flux<IdName> currencyFlux = action.getParameters().stream().anyMatch(
-        parameter -> parameter.getEntity().equals(DEAL)
-            && (parameter.getAttribute().equals(ACTUAL_VALUE.getName()) || parameter.getAttribute().equals(ESTIMATED_VALUE.getName())))
-        ? configService.getCurrency(List.of(money.getCurrencyId()), token)
-        : Flux.just(new IdName(null,null));
-    return currencyFlux.next();
+    if (entity == UPDATED_BY) {
+      return updatedByOf(entityDetail);
+    }
+    return ownerOf(entityDetail);
   }
 
-  final List<String> getParameterValue(Parameter parameter, Object entity) {
+  private Function<Object, List<String>> valueExtractorFor(Parameter parameter) {
     EntityType type = parameter.getEntity().getType();
     String attribute = parameter.getAttribute();
 
     switch (type) {
       case CUSTOM:
-        return List.of(parameter.getAttribute());
+        var value = List.of(parameter.getAttribute());
+        return entity -> value;
 
       case LEAD:
         if (attribute.equalsIgnoreCase(EMAILS.getName())) {
-          return isNull(((LeadDetail) entity).getEmails()) ? emptyList()
+          return entity -> isNull(((LeadDetail) entity).getEmails()) ? emptyList()
               : stream(((LeadDetail) entity).getEmails())
                   .map(Email::getValue)
                   .collect(toList());
         } else if (attribute.equalsIgnoreCase(PHONE_NUMBERS.getName())) {
-          return isNull(((LeadDetail) entity).getPhoneNumbers()) ? emptyList()
+          return entity -> isNull(((LeadDetail) entity).getPhoneNumbers()) ? emptyList()
               : stream(((LeadDetail) entity).getPhoneNumbers())
                   .map(this::buildPhoneNumber)
                   .collect(toList());
         } else if (attribute.equalsIgnoreCase(COMPANY_PHONES.getName())) {
-          return isNull(((LeadDetail) entity).getCompanyPhones()) ? emptyList()
+          return entity -> isNull(((LeadDetail) entity).getCompanyPhones()) ? emptyList()
               : stream(((LeadDetail) entity).getCompanyPhones())
                   .map(this::buildPhoneNumber)
                   .collect(toList());
         } else if (attribute.equalsIgnoreCase(REQUIREMENT_PRODUCTS.getName())) {
-          return isNull(((LeadDetail) entity).getProducts()) ? emptyList()
+          return entity -> isNull(((LeadDetail) entity).getProducts()) ? emptyList()
               : ((LeadDetail) entity).getProducts().stream()
                   .map(Product::getName)
                   .collect(toList());
@@ -117,7 +185,7 @@ public abstract class ParameterBuilder {
 
       case USER:
         if (attribute.equalsIgnoreCase(UserAttribute.PHONE_NUMBERS.getName())) {
-          return isNull(((UserDetails) entity).getPhoneNumbers()) ? emptyList()
+          return entity -> isNull(((UserDetails) entity).getPhoneNumbers()) ? emptyList()
               : stream(((UserDetails) entity).getPhoneNumbers())
                   .map(this::buildPhoneNumber)
                   .collect(toList());
@@ -125,12 +193,12 @@ public abstract class ParameterBuilder {
 
       case CONTACT:
         if (attribute.equalsIgnoreCase(ContactAttribute.EMAILS.getName())) {
-          return isNull(((ContactDetail) entity).getEmails()) ? emptyList()
+          return entity -> isNull(((ContactDetail) entity).getEmails()) ? emptyList()
               : stream(((ContactDetail) entity).getEmails())
                   .map(Email::getValue)
                   .collect(toList());
         } else if (attribute.equalsIgnoreCase(ContactAttribute.PHONE_NUMBERS.getName())) {
-          return isNull(((ContactDetail) entity).getPhoneNumbers()) ? emptyList()
+          return entity -> isNull(((ContactDetail) entity).getPhoneNumbers()) ? emptyList()
               : stream(((ContactDetail) entity).getPhoneNumbers())
                   .map(this::buildPhoneNumber)
                   .collect(toList());
@@ -138,22 +206,26 @@ public abstract class ParameterBuilder {
 
       case DEAL:
         if (attribute.equalsIgnoreCase(DealAttribute.ASSOCIATED_CONTACTS.getName())) {
-          return isNull(((DealDetail) entity).getAssociatedContacts()) ? emptyList()
+          return entity -> isNull(((DealDetail) entity).getAssociatedContacts()) ? emptyList()
               : ((DealDetail) entity).getAssociatedContacts().stream()
                   .map(IdName::getName)
                   .collect(toList());
         }
     }
-    var property = getPropertyValue(entity,parameter);
-    return List.of(nonNull(property) ? property.toString() : "");
+    var pathToField = parameter.fetchPathToField();
+    return entity -> {
+      var property = getPropertyValue(entity, pathToField, parameter.getName());
+      return List.of(nonNull(property) ? property : "");
+    };
   }
-  private String getPropertyValue(Object entity, Parameter parameter){
+
+  private String getPropertyValue(Object entity, String pathToField, String parameterName){
     String actualValue = null;
       try {
-        actualValue = getNestedProperty(entity, parameter.fetchPathToField());
+        actualValue = PropertyAccessors.getAsString(entity, pathToField);
       } catch (NestedNullException ignored) {
-      } catch (IllegalAccessException | NoSuchMethodException | InvocationTargetException e) {
-        log.error("Exception occurred while getting actual value for {}", parameter.getName());
+      } catch (PropertyAccessException e) {
+        log.error("Exception occurred while getting actual value for {}", parameterName);
       }
       return actualValue;
   }
@@ -162,5 +234,8 @@ public abstract class ParameterBuilder {
     return String.format("%s %s", phoneNumber.getDialCode(), phoneNumber.getValue());
   }
   public abstract boolean canBuild(EntityType entityType);
-  public abstract Map<String, List<String>> build(WebhookAction webhookAction, EntityDetail entityDetail,String jwtToken);
+  protected abstract WebhookEntity ownerEntity();
+  protected abstract IdName ownerOf(EntityDetail entityDetail);
+  protected abstract IdName createdByOf(EntityDetail entityDetail);
+  protected abstract IdName updatedByOf(EntityDetail entityDetail);
 }
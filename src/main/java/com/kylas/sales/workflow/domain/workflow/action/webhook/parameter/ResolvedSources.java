@@ -0,0 +1,49 @@
+package com.kylas.sales.workflow.domain.workflow.action.webhook.parameter;
+
+import static com.kylas.sales.workflow.domain.workflow.action.webhook.attribute.AttributeFactory.WebhookEntity.TENANT;
+
+import com.kylas.sales.workflow.common.dto.Tenant;
+import com.kylas.sales.workflow.domain.processor.EntityDetail;
+import com.kylas.sales.workflow.domain.processor.lead.IdName;
+import com.kylas.sales.workflow.domain.user.UserDetails;
+import com.kylas.sales.workflow.domain.workflow.EntityType;
+import com.kylas.sales.workflow.domain.workflow.action.webhook.attribute.AttributeFactory.WebhookEntity;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.Getter;
+
+@Getter
+class ResolvedSources {
+
+  private final EntityDetail entity;
+  private final Map<WebhookEntity, UserDetails> users = new ConcurrentHashMap<>();
+  private volatile Tenant tenant = new Tenant();
+  private volatile Map<Long, IdName> currencies = Map.of();
+
+  ResolvedSources(EntityDetail entity) {
+    this.entity = entity;
+  }
+
+  void setTenant(Tenant tenant) {
+    this.tenant = tenant;
+  }
+
+  void setCurrencies(Map<Long, IdName> currencies) {
+    this.currencies = currencies;
+  }
+
+  Object sourceOf(WebhookEntity webhookEntity) {
+    if (webhookEntity == TENANT) {
+      return tenant;
+    }
+    if (webhookEntity.getType() == EntityType.USER) {
+      return users.get(webhookEntity);
+    }
+    return entity;
+  }
+
+  IdName currency(Long currencyId) {
+    var currency = currencyId == null ? null : currencies.get(currencyId);
+    return currency != null ? currency : new IdName(null, null);
+  }
+}
@@ -0,0 +1,66 @@
+package com.kylas.sales.workflow.domain.workflow.action.webhook.parameter;
+
+import static java.util.Objects.isNull;
+
+import com.kylas.sales.workflow.common.dto.ActionDetail.WebhookAction.AuthorizationType;
+import com.kylas.sales.workflow.domain.workflow.action.webhook.AuthorizationParameter;
+import com.kylas.sales.workflow.domain.workflow.action.webhook.WebhookAction;
+import com.kylas.sales.workflow.domain.workflow.action.webhook.attribute.AttributeFactory.WebhookEntity;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+
+@Getter
+@AllArgsConstructor
+public class WebhookPlan {
+
+  private static final BiConsumer<HttpHeaders, AuthorizationParameter> NO_AUTHORIZATION = (headers, auth) -> {
+  };
+
+  private final Set<WebhookEntity> users;
+  private final boolean tenantRequired;
+  private final boolean currencyRequired;
+  private final ParameterPlan[] parameters;
+  private final UriComponents uriTemplate;
+  private final BiConsumer<HttpHeaders, AuthorizationParameter> authorizationStrategy;
+
+  public static WebhookPlan withoutParameters(WebhookAction action) {
+    return new WebhookPlan(EnumSet.noneOf(WebhookEntity.class), false, false, new ParameterPlan[0],
+        uriTemplateOf(action.getRequestUrl()), authorizationStrategyOf(action.getAuthorizationType()));
+  }
+
+  static UriComponents uriTemplateOf(String requestUrl) {
+    return UriComponentsBuilder.fromUriString(requestUrl).build();
+  }
+
+  static BiConsumer<HttpHeaders, AuthorizationParameter> authorizationStrategyOf(AuthorizationType authorizationType) {
+    if (isNull(authorizationType)) {
+      return NO_AUTHORIZATION;
+    }
+    switch (authorizationType) {
+      case API_KEY:
+        return (headers, auth) -> headers.add(auth.getKeyName(), auth.getValue());
+      case BASIC_AUTH:
+        return (headers, auth) -> headers.setBasicAuth(auth.getUsername(), auth.getPassword());
+      case BEARER_TOKEN:
+        return (headers, auth) -> headers.setBearerAuth(auth.getToken());
+      default:
+        return NO_AUTHORIZATION;
+    }
+  }
+
+  @Getter
+  @AllArgsConstructor
+  static class ParameterPlan {
+
+    private final String name;
+    private final Function<ResolvedSources, List<String>> extractor;
+  }
+}
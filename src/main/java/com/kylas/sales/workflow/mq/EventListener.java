@@ -1,5 +1,6 @@
 package com.kylas.sales.workflow.mq;
 
+import static com.kylas.sales.workflow.mq.RabbitMqConfig.BATCH_LISTENER_CONTAINER_FACTORY;
 import static com.kylas.sales.workflow.mq.RabbitMqConfig.DEAL_CREATED_QUEUE;
 import static com.kylas.sales.workflow.mq.RabbitMqConfig.DEAL_UPDATED_QUEUE;
 import static com.kylas.sales.workflow.mq.RabbitMqConfig.SALES_CONTACT_CREATED_QUEUE;
@@ -9,22 +10,40 @@ import static com.kylas.sales.workflow.mq.RabbitMqConfig.SALES_LEAD_UPDATED_QUEU
 import static com.kylas.sales.workflow.mq.RabbitMqConfig.USAGE_QUEUE;
 import static com.kylas.sales.workflow.mq.RabbitMqConfig.USER_NAME_UPDATED_QUEUE;
 import static java.lang.String.valueOf;
+import static java.util.Objects.nonNull;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kylas.sales.workflow.domain.ActiveWorkflowRegistry;
 import com.kylas.sales.workflow.domain.WorkflowFacade;
+import com.kylas.sales.workflow.domain.processor.EntityEventExecutor;
+import com.kylas.sales.workflow.domain.processor.PipelineMetrics;
 import com.kylas.sales.workflow.domain.processor.WorkflowProcessor;
+import com.kylas.sales.workflow.domain.service.UserService;
 import com.kylas.sales.workflow.domain.user.UserFacade;
+import com.kylas.sales.workflow.domain.workflow.action.webhook.EntityTypeConfiguration;
 import com.kylas.sales.workflow.mq.event.ContactEvent;
 import com.kylas.sales.workflow.mq.event.DealEvent;
+import com.kylas.sales.workflow.mq.event.EntityEvent;
 import com.kylas.sales.workflow.mq.event.LeadEvent;
 import com.kylas.sales.workflow.mq.event.UserNameUpdatedEvent;
+import com.kylas.sales.workflow.mq.event.WebhookConfigRefreshedEvent;
+import com.kylas.sales.workflow.mq.event.WorkflowRegistryInvalidatedEvent;
 import com.kylas.sales.workflow.security.InternalAuthProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.MDC;
 import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -36,63 +55,77 @@ public class EventListener {
   private final InternalAuthProvider internalAuthProvider;
   private final WorkflowFacade workflowFacade;
   private final UserFacade userFacade;
+  private final ActiveWorkflowRegistry activeWorkflowRegistry;
+  private final MeterRegistry meterRegistry;
+  private final EntityEventExecutor entityEventExecutor;
+  private final UserService userService;
+  private final PipelineMetrics pipelineMetrics;
+  private final EntityTypeConfiguration entityTypeConfiguration;
 
   @Autowired
   public EventListener(ObjectMapper objectMapper, WorkflowProcessor workflowProcessor,
-      InternalAuthProvider internalAuthProvider, WorkflowFacade workflowFacade, UserFacade userFacade) {
+      InternalAuthProvider internalAuthProvider, WorkflowFacade workflowFacade, UserFacade userFacade,
+      ActiveWorkflowRegistry activeWorkflowRegistry, MeterRegistry meterRegistry, EntityEventExecutor entityEventExecutor,
+      UserService userService, PipelineMetrics pipelineMetrics, EntityTypeConfiguration entityTypeConfiguration) {
     this.objectMapper = objectMapper;
     this.workflowProcessor = workflowProcessor;
     this.internalAuthProvider = internalAuthProvider;
     this.workflowFacade = workflowFacade;
     this.userFacade = userFacade;
+    this.activeWorkflowRegistry = activeWorkflowRegistry;
+    this.meterRegistry = meterRegistry;
+    this.entityEventExecutor = entityEventExecutor;
+    this.userService = userService;
+    this.pipelineMetrics = pipelineMetrics;
+    this.entityTypeConfiguration = entityTypeConfiguration;
   }
 
-  @RabbitListener(queues = SALES_LEAD_CREATED_QUEUE)
-  public void listenLeadCreatedEvent(Message message) {
-    log.info("Received MessageId for lead created event: {} , consumerTag: {} , Event {} ", message.getMessageProperties().getMessageId(),
-        message.getMessageProperties().getConsumerTag(),
-        message.getMessageProperties().getReceivedRoutingKey());
-    processLeadEvent(message);
+  @RabbitListener(queues = SALES_LEAD_CREATED_QUEUE, containerFactory = BATCH_LISTENER_CONTAINER_FACTORY,
+      concurrency = "${workflow.listener.concurrency.lead:1}")
+  public void listenLeadCreatedEvent(List<Message> messages) {
+    log.info("Received {} messages for lead created event, consumerTag: {}", messages.size(),
+        messages.get(0).getMessageProperties().getConsumerTag());
+    processBatch(SALES_LEAD_CREATED_QUEUE, messages, LeadEvent.class);
   }
 
-  @RabbitListener(queues = SALES_LEAD_UPDATED_QUEUE)
-  public void listenLeadUpdatedEvent(Message message) {
-    log.info("Received MessageId for lead updated event: {} , consumerTag: {} , Event {} ", message.getMessageProperties().getMessageId(),
-        message.getMessageProperties().getConsumerTag(),
-        message.getMessageProperties().getReceivedRoutingKey());
-    processLeadEvent(message);
+  @RabbitListener(queues = SALES_LEAD_UPDATED_QUEUE, containerFactory = BATCH_LISTENER_CONTAINER_FACTORY,
+      concurrency = "${workflow.listener.concurrency.lead:1}")
+  public void listenLeadUpdatedEvent(List<Message> messages) {
+    log.info("Received {} messages for lead updated event, consumerTag: {}", messages.size(),
+        messages.get(0).getMessageProperties().getConsumerTag());
+    processBatch(SALES_LEAD_UPDATED_QUEUE, messages, LeadEvent.class);
   }
 
-  @RabbitListener(queues = DEAL_CREATED_QUEUE)
-  public void listenDealCreatedEvent(Message message) {
-    log.info("Received MessageId for deal created event: {} , consumerTag: {} , Event {} ", message.getMessageProperties().getMessageId(),
-        message.getMessageProperties().getConsumerTag(),
-        message.getMessageProperties().getReceivedRoutingKey());
-    processDealEvent(message);
+  @RabbitListener(queues = DEAL_CREATED_QUEUE, containerFactory = BATCH_LISTENER_CONTAINER_FACTORY,
+      concurrency = "${workflow.listener.concurrency.deal:1}")
+  public void listenDealCreatedEvent(List<Message> messages) {
+    log.info("Received {} messages for deal created event, consumerTag: {}", messages.size(),
+        messages.get(0).getMessageProperties().getConsumerTag());
+    processBatch(DEAL_CREATED_QUEUE, messages, DealEvent.class);
   }
 
-  @RabbitListener(queues = DEAL_UPDATED_QUEUE)
-  public void listenDealUpdatedEvent(Message message) {
-    log.info("Received MessageId for deal updated event: {} , consumerTag: {} , Event {} ", message.getMessageProperties().getMessageId(),
-        message.getMessageProperties().getConsumerTag(),
-        message.getMessageProperties().getReceivedRoutingKey());
-    processDealEvent(message);
+  @RabbitListener(queues = DEAL_UPDATED_QUEUE, containerFactory = BATCH_LISTENER_CONTAINER_FACTORY,
+      concurrency = "${workflow.listener.concurrency.deal:1}")
+  public void listenDealUpdatedEvent(List<Message> messages) {
+    log.info("Received {} messages for deal updated event, consumerTag: {}", messages.size(),
+        messages.get(0).getMessageProperties().getConsumerTag());
+    processBatch(DEAL_UPDATED_QUEUE, messages, DealEvent.class);
   }
 
-  @RabbitListener(queues = SALES_CONTACT_CREATED_QUEUE)
-  public void listenContactCreatedEvent(Message message) {
-    log.info("Received MessageId for contact created event: {} , consumerTag: {} , Event {} ", message.getMessageProperties().getMessageId(),
-        message.getMessageProperties().getConsumerTag(),
-        message.getMessageProperties().getReceivedRoutingKey());
-    processContactEvent(message);
+  @RabbitListener(queues = SALES_CONTACT_CREATED_QUEUE, containerFactory = BATCH_LISTENER_CONTAINER_FACTORY,
+      concurrency = "${workflow.listener.concurrency.contact:1}")
+  public void listenContactCreatedEvent(List<Message> messages) {
+    log.info("Received {} messages for contact created event, consumerTag: {}", messages.size(),
+        messages.get(0).getMessageProperties().getConsumerTag());
+    processBatch(SALES_CONTACT_CREATED_QUEUE, messages, ContactEvent.class);
   }
 
-  @RabbitListener(queues = SALES_CONTACT_UPDATED_QUEUE)
-  public void listenContactUpdatedEvent(Message message) {
-    log.info("Received MessageId for contact updated event: {} , consumerTag: {} , Event {} ", message.getMessageProperties().getMessageId(),
-        message.getMessageProperties().getConsumerTag(),
-        message.getMessageProperties().getReceivedRoutingKey());
-    processContactEvent(message);
+  @RabbitListener(queues = SALES_CONTACT_UPDATED_QUEUE, containerFactory = BATCH_LISTENER_CONTAINER_FACTORY,
+      concurrency = "${workflow.listener.concurrency.contact:1}")
+  public void listenContactUpdatedEvent(List<Message> messages) {
+    log.info("Received {} messages for contact updated event, consumerTag: {}", messages.size(),
+        messages.get(0).getMessageProperties().getConsumerTag());
+    processBatch(SALES_CONTACT_UPDATED_QUEUE, messages, ContactEvent.class);
   }
 
   @RabbitListener(queues = USAGE_QUEUE)
@@ -117,46 +150,117 @@ public class EventListener {
     }
   }
 
-  private void processLeadEvent(Message message) {
+  @RabbitListener(queues = "#{userCacheQueue.name}")
+  public void listenToUserNameChangedEventForCache(Message message) {
     try {
-      var leadEvent = objectMapper.readValue(new String(message.getBody()), LeadEvent.class);
-      var metadata = leadEvent.getMetadata();
-      setMdcValues(metadata);
-      internalAuthProvider.loginWith(metadata.getUserId(), metadata.getTenantId());
-      workflowProcessor.process(leadEvent);
-    } catch (Exception e) {
+      var userNameUpdatedEvent = objectMapper.readValue(new String(message.getBody()), UserNameUpdatedEvent.class);
+      userService.evictUser(userNameUpdatedEvent.getTenantId(), userNameUpdatedEvent.getUserId());
+    } catch (JsonProcessingException e) {
       log.error(e.getMessage(), e);
     }
   }
 
-  private void setMdcValues(com.kylas.sales.workflow.mq.event.Metadata metadata) {
-    MDC.put("user.tenant.id", valueOf(metadata.getTenantId()));
-    MDC.put("user.id", valueOf(metadata.getUserId()));
-    MDC.put("entity.type", metadata.getEntityType().name());
-    MDC.put("entity.id", valueOf(metadata.getEntityId()));
+  @RabbitListener(queues = "#{workflowRegistryQueue.name}")
+  public void listenWorkflowRegistryInvalidatedEvent(Message message) {
+    try {
+      var event = objectMapper.readValue(new String(message.getBody()), WorkflowRegistryInvalidatedEvent.class);
+      activeWorkflowRegistry.invalidate(event.getTenantId(), event.getWorkflowId(), event.getEntityType(), event.getTriggerFrequency());
+    } catch (JsonProcessingException e) {
+      log.error(e.getMessage(), e);
+    }
   }
 
-  private void processDealEvent(Message message) {
+  @RabbitListener(queues = "#{webhookConfigQueue.name}")
+  public void listenWebhookConfigRefreshedEvent(Message message) {
     try {
-      var dealEvent = objectMapper.readValue(new String(message.getBody()), DealEvent.class);
-      var metadata = dealEvent.getMetadata();
-      internalAuthProvider.loginWith(metadata.getUserId(), metadata.getTenantId());
-      setMdcValues(metadata);
-      workflowProcessor.process(dealEvent);
+      var event = objectMapper.readValue(new String(message.getBody()), WebhookConfigRefreshedEvent.class);
+      entityTypeConfiguration.refresh(String.valueOf(event.getTenantId()));
+    } catch (JsonProcessingException e) {
+      log.error(e.getMessage(), e);
+    }
+  }
+
+  private void processBatch(String queue, List<Message> messages, Class<? extends EntityEvent> eventType) {
+    var sample = Timer.start(meterRegistry);
+    List<EntityEvent> events = new ArrayList<>(messages.size());
+    List<Date> publishedAt = new ArrayList<>(messages.size());
+    messages.forEach(message -> {
+      var decode = pipelineMetrics.start();
+      try {
+        var event = objectMapper.readValue(message.getBody(), eventType);
+        pipelineMetrics.stage(decode, PipelineMetrics.DECODE, event.getMetadata());
+        if (!isRoutable(event.getMetadata())) {
+          pipelineMetrics.invalidEvent(queue);
+          log.error("Dropping MessageId {} from {} with incomplete metadata {}", message.getMessageProperties().getMessageId(), queue,
+              event.getMetadata());
+          return;
+        }
+        events.add(event);
+        publishedAt.add(message.getMessageProperties().getTimestamp());
+      } catch (IOException e) {
+        pipelineMetrics.decodeFailed(queue);
+        log.error("Unable to read MessageId {} from {}: {}", message.getMessageProperties().getMessageId(), queue, e.getMessage(), e);
+      }
+    });
+    try {
+      if (entityEventExecutor.isShutdown()) {
+        throw new RejectedExecutionException("Lanes are shut down");
+      }
+      workflowProcessor.process(events, (event, task) -> {
+        Runnable laneTask = () -> runInContext(queue, event, task);
+        // Requeueing after part of the batch has run would repeat those events, so stragglers run here instead.
+        try {
+          return entityEventExecutor.dispatch(event, laneTask);
+        } catch (RejectedExecutionException e) {
+          log.warn("Running {} event {} from {} on the listener thread: {}", event.getMetadata().getEntityType(),
+              event.getEntityId(), queue, e.getMessage());
+          laneTask.run();
+          return CompletableFuture.completedFuture(null);
+        }
+      });
+      for (int i = 0; i < events.size(); i++) {
+        pipelineMetrics.lag(publishedAt.get(i), events.get(i).getMetadata());
+      }
+    } catch (RejectedExecutionException e) {
+      log.warn("Requeueing {} messages from {}: {}", messages.size(), queue, e.getMessage());
+      throw e;
     } catch (Exception e) {
-      log.error(e.getMessage(),e);
+      log.error(e.getMessage(), e);
+    } finally {
+      meterRegistry.summary("workflow.listener.batch.size", "queue", queue).record(messages.size());
+      meterRegistry.counter("workflow.listener.events", "queue", queue).increment(messages.size());
+      sample.stop(meterRegistry.timer("workflow.listener.batch", "queue", queue));
     }
   }
 
-  private void processContactEvent(Message message) {
+  /*
+   * Everything an event needs before its task runs is set up inside the guard, so a failed login only costs
+   * that event and never fails the lane future the batch waits on.
+   */
+  private void runInContext(String queue, EntityEvent event, Runnable task) {
+    var metadata = event.getMetadata();
     try {
-      var contactCreatedEvent = objectMapper.readValue(new String(message.getBody()), ContactEvent.class);
-      var metadata = contactCreatedEvent.getMetadata();
-      internalAuthProvider.loginWith(metadata.getUserId(), metadata.getTenantId());
       setMdcValues(metadata);
-      workflowProcessor.process(contactCreatedEvent);
+      var login = pipelineMetrics.start();
+      internalAuthProvider.loginWith(metadata.getUserId(), metadata.getTenantId());
+      pipelineMetrics.stage(login, PipelineMetrics.LOGIN, metadata);
+      task.run();
     } catch (Exception e) {
-      log.error(e.getMessage(), e);
+      log.error("Unable to process {} event {} from {}: {}", metadata.getEntityType(), event.getEntityId(), queue, e.getMessage(), e);
+    } finally {
+      SecurityContextHolder.clearContext();
+      MDC.clear();
     }
   }
+
+  private boolean isRoutable(com.kylas.sales.workflow.mq.event.Metadata metadata) {
+    return nonNull(metadata) && nonNull(metadata.getEntityType()) && nonNull(metadata.getEntityAction());
+  }
+
+  private void setMdcValues(com.kylas.sales.workflow.mq.event.Metadata metadata) {
+    MDC.put("user.tenant.id", valueOf(metadata.getTenantId()));
+    MDC.put("user.id", valueOf(metadata.getUserId()));
+    MDC.put("entity.type", metadata.getEntityType().name());
+    MDC.put("entity.id", valueOf(metadata.getEntityId()));
+  }
 }
@@ -8,13 +8,19 @@ import static com.kylas.sales.workflow.mq.event.LeadEvent.getLeadCreatedEventNam
 import static com.kylas.sales.workflow.mq.event.LeadEvent.getLeadUpdatedEventName;
 import static com.kylas.sales.workflow.mq.event.UserNameUpdatedEvent.getEventName;
 
+import com.kylas.sales.workflow.mq.event.WebhookConfigRefreshedEvent;
+import com.kylas.sales.workflow.mq.event.WorkflowRegistryInvalidatedEvent;
+import org.springframework.amqp.core.AnonymousQueue;
 import org.springframework.amqp.core.BindingBuilder;
 import org.springframework.amqp.core.Declarables;
 import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -34,7 +40,8 @@ public class RabbitMqConfig {
   static final String USAGE_REQUEST_EVENT = "scheduler.collect.usage";
   static final String IAM_EXCHANGE = "ex.iam";
   static final String USER_NAME_UPDATED_QUEUE = "q.user.name.updated.workflow";
-
+  static final String WORKFLOW_EXCHANGE = "ex.workflow";
+  static final String BATCH_LISTENER_CONTAINER_FACTORY = "batchListenerContainerFactory";
 
   @Bean
   public RabbitTemplate rabbitTemplate(final ConnectionFactory connectionFactory) {
@@ -48,12 +55,44 @@ public class RabbitMqConfig {
     return new Jackson2JsonMessageConverter();
   }
 
+  @Bean(BATCH_LISTENER_CONTAINER_FACTORY)
+  public SimpleRabbitListenerContainerFactory batchListenerContainerFactory(
+      SimpleRabbitListenerContainerFactoryConfigurer configurer, ConnectionFactory connectionFactory,
+      @Value("${workflow.listener.prefetch:250}") int prefetch,
+      @Value("${workflow.listener.batchSize:50}") int batchSize,
+      @Value("${workflow.listener.receiveTimeout:500}") long receiveTimeout) {
+    var factory = new SimpleRabbitListenerContainerFactory();
+    configurer.configure(factory, connectionFactory);
+    factory.setPrefetchCount(Math.max(prefetch, batchSize));
+    factory.setBatchListener(true);
+    factory.setConsumerBatchEnabled(true);
+    factory.setBatchSize(batchSize);
+    factory.setReceiveTimeout(receiveTimeout);
+    return factory;
+  }
+
+  @Bean
+  public Queue workflowRegistryQueue() {
+    return new AnonymousQueue();
+  }
+
+  @Bean
+  public Queue userCacheQueue() {
+    return new AnonymousQueue();
+  }
+
+  @Bean
+  public Queue webhookConfigQueue() {
+    return new AnonymousQueue();
+  }
+
   @Bean
   public Declarables topicBindings() {
     var salesExchange = new TopicExchange(SALES_EXCHANGE, true, false);
     var dealExchange = new TopicExchange(DEAL_EXCHANGE, true, false);
     var schedulerExchange = new TopicExchange(SCHEDULER_EXCHANGE, true, false);
     var iamExchange = new TopicExchange(IAM_EXCHANGE, true, false);
+    var workflowExchange = new TopicExchange(WORKFLOW_EXCHANGE, true, false);
     var salesLeadCreatedQueue = new Queue(SALES_LEAD_CREATED_QUEUE, true);
     var salesLeadUpdatedQueue = new Queue(SALES_LEAD_UPDATED_QUEUE, true);
     var dealCreatedQueue = new Queue(DEAL_CREATED_QUEUE, true);
@@ -62,6 +101,9 @@ public class RabbitMqConfig {
     var salesContactUpdatedQueue = new Queue(SALES_CONTACT_UPDATED_QUEUE, true);
     var usageQueue = new Queue(USAGE_QUEUE, true);
     var userNameUpdatedQueue = new Queue(USER_NAME_UPDATED_QUEUE, true);
+    var workflowRegistryQueue = workflowRegistryQueue();
+    var userCacheQueue = userCacheQueue();
+    var webhookConfigQueue = webhookConfigQueue();
 
     return new Declarables(
         salesLeadCreatedQueue,
@@ -76,6 +118,7 @@ public class RabbitMqConfig {
         iamExchange,
         usageQueue,
         userNameUpdatedQueue,
+        workflowExchange,
 
         BindingBuilder.bind(usageQueue).to(schedulerExchange)
             .with(USAGE_REQUEST_EVENT),
@@ -99,7 +142,16 @@ public class RabbitMqConfig {
             .with(getContactUpdatedEventName()),
 
         BindingBuilder.bind(userNameUpdatedQueue).to(iamExchange)
-            .with(getEventName())
+            .with(getEventName()),
+
+        BindingBuilder.bind(userCacheQueue).to(iamExchange)
+            .with(getEventName()),
+
+        BindingBuilder.bind(workflowRegistryQueue).to(workflowExchange)
+            .with(WorkflowRegistryInvalidatedEvent.getEventName()),
+
+        BindingBuilder.bind(webhookConfigQueue).to(workflowExchange)
+            .with(WebhookConfigRefreshedEvent.getEventName())
     );
   }
 }
@@ -1,6 +1,8 @@
 package com.kylas.sales.workflow.mq;
 
 import com.kylas.sales.workflow.mq.event.TenantUsageEvent;
+import com.kylas.sales.workflow.mq.event.WebhookConfigRefreshedEvent;
+import com.kylas.sales.workflow.mq.event.WorkflowRegistryInvalidatedEvent;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -21,4 +23,18 @@ public class WorkflowEventPublisher {
       return message;
     });
   }
+
+  public void publishWorkflowRegistryInvalidated(WorkflowRegistryInvalidatedEvent event) {
+    rabbitTemplate.convertAndSend("ex.workflow", WorkflowRegistryInvalidatedEvent.getEventName(), event, message -> {
+      message.getMessageProperties().getHeaders().remove("__TypeId__");
+      return message;
+    });
+  }
+
+  public void publishWebhookConfigRefreshed(WebhookConfigRefreshedEvent event) {
+    rabbitTemplate.convertAndSend("ex.workflow", WebhookConfigRefreshedEvent.getEventName(), event, message -> {
+      message.getMessageProperties().getHeaders().remove("__TypeId__");
+      return message;
+    });
+  }
 }
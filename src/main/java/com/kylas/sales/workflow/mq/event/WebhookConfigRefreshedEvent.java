@@ -0,0 +1,24 @@
+package com.kylas.sales.workflow.mq.event;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+
+@Getter
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class WebhookConfigRefreshedEvent {
+
+  private final Long tenantId;
+
+  @JsonCreator
+  public WebhookConfigRefreshedEvent(@JsonProperty("tenantId") Long tenantId) {
+    this.tenantId = tenantId;
+  }
+
+  @JsonIgnore
+  public static String getEventName() {
+    return "workflow.webhook.config.refreshed";
+  }
+}
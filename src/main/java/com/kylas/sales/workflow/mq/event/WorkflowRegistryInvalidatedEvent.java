@@ -0,0 +1,33 @@
+package com.kylas.sales.workflow.mq.event;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.kylas.sales.workflow.domain.workflow.EntityType;
+import com.kylas.sales.workflow.domain.workflow.TriggerFrequency;
+import lombok.Getter;
+
+@Getter
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class WorkflowRegistryInvalidatedEvent {
+
+  private final Long tenantId;
+  private final Long workflowId;
+  private final EntityType entityType;
+  private final TriggerFrequency triggerFrequency;
+
+  @JsonCreator
+  public WorkflowRegistryInvalidatedEvent(@JsonProperty("tenantId") Long tenantId, @JsonProperty("workflowId") Long workflowId,
+      @JsonProperty("entityType") EntityType entityType, @JsonProperty("triggerFrequency") TriggerFrequency triggerFrequency) {
+    this.tenantId = tenantId;
+    this.workflowId = workflowId;
+    this.entityType = entityType;
+    this.triggerFrequency = triggerFrequency;
+  }
+
+  @JsonIgnore
+  public static String getEventName() {
+    return "workflow.registry.invalidated";
+  }
+}
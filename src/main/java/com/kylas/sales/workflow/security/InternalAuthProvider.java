@@ -1,13 +1,22 @@
 package com.kylas.sales.workflow.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
 import com.kylas.sales.workflow.domain.user.Action;
 import com.kylas.sales.workflow.domain.user.Permission;
+import com.kylas.sales.workflow.security.jwt.Authentication;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.Set;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import org.apache.commons.lang3.time.DateUtils;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,30 +28,63 @@ import org.springframework.stereotype.Service;
 public class InternalAuthProvider {
 
   private final String jwtSigningKey;
+  private final byte[] signingKey;
+  private final int tokenLifetimeSeconds;
+  private final Cache<TokenKey, Authentication> authentications;
 
+  /*
+   * A cached token is handed out with at least refreshBeforeExpirySeconds of validity left. Webhook parameters
+   * and downstream lookups run on that token after the dispatcher has queued and retried the request, so the
+   * margin has to outlast the dispatcher's worst-case delay, not just the listener's own processing.
+   */
   @Autowired
-  public InternalAuthProvider(@Value("${security.jwt.key}") String jwtSigningKey) {
+  public InternalAuthProvider(
+      @Value("${security.jwt.key}") String jwtSigningKey,
+      MeterRegistry meterRegistry,
+      @Value("${security.internal.token.lifetimeSeconds:300}") int tokenLifetimeSeconds,
+      @Value("${security.internal.token.cache.maximumSize:10000}") long maximumSize,
+      @Value("${security.internal.token.cache.refreshBeforeExpirySeconds:120}") int refreshBeforeExpirySeconds) {
+    this(jwtSigningKey, meterRegistry, tokenLifetimeSeconds, maximumSize, refreshBeforeExpirySeconds, Ticker.systemTicker());
+  }
+
+  InternalAuthProvider(String jwtSigningKey, MeterRegistry meterRegistry, int tokenLifetimeSeconds, long maximumSize,
+      int refreshBeforeExpirySeconds, Ticker ticker) {
     this.jwtSigningKey = jwtSigningKey;
+    this.signingKey = jwtSigningKey.getBytes(StandardCharsets.UTF_8);
+    this.tokenLifetimeSeconds = tokenLifetimeSeconds;
+    this.authentications = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterWrite(Duration.ofSeconds(Math.max(0, tokenLifetimeSeconds - refreshBeforeExpirySeconds)))
+        .ticker(ticker)
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, authentications, "internal.auth.tokens");
   }
 
   public void loginWith(Long userId, Long tenantId) {
-    String authToken = create(userId, tenantId);
-    var authentication = com.kylas.sales.workflow.security.jwt.Authentication.from(authToken, jwtSigningKey);
+    var authentication = authentications.get(new TokenKey(userId, tenantId),
+        key -> Authentication.from(create(userId, tenantId), jwtSigningKey));
     SecurityContextHolder.getContext().setAuthentication(authentication);
   }
 
   public String create(Long userId, Long tenantId) {
-    CoreAccessToken coreAccessToken = new CoreAccessToken(userId, tenantId);
+    CoreAccessToken coreAccessToken = new CoreAccessToken(userId, tenantId, tokenLifetimeSeconds);
 
     return Jwts.builder()
         .setIssuer("sell")
         .claim("data", coreAccessToken)
-        .signWith(
-            SignatureAlgorithm.HS256,
-            jwtSigningKey.getBytes(StandardCharsets.UTF_8))
+        .signWith(SignatureAlgorithm.HS256, signingKey)
         .compact();
   }
 
+  @EqualsAndHashCode
+  @AllArgsConstructor
+  private static class TokenKey {
+
+    private final Long userId;
+    private final Long tenantId;
+  }
+
   @Getter
   static class CoreAccessToken {
 
@@ -53,10 +95,10 @@ public class InternalAuthProvider {
     final String userId;
     final String tenantId;
 
-    CoreAccessToken(Long userId, Long tenantId) {
+    CoreAccessToken(Long userId, Long tenantId, int lifetimeSeconds) {
       Date now = new Date();
-      this.expiry = DateUtils.addSeconds(now, 10);
-      this.expiresIn = 10000;
+      this.expiry = DateUtils.addSeconds(now, lifetimeSeconds);
+      this.expiresIn = lifetimeSeconds * 1000L;
       this.tokenType = "Bearer";
       this.userId = userId.toString();
       this.tenantId = tenantId.toString();
@@ -10,7 +10,9 @@ import com.kylas.sales.workflow.domain.user.Permission;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jws;
 import io.jsonwebtoken.Jwts;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.Set;
@@ -19,18 +21,22 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 
 @Getter
 public class Authentication extends UsernamePasswordAuthenticationToken {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
   private final Set<Permission> permissions;
   private final String tenantId;
   private String userId;
   private final String jwtToken;
+  private final Date expiry;
 
   private Authentication(
-      String userId, String tenantId, Set<Permission> permissions, String jwtToken) {
+      String userId, String tenantId, Set<Permission> permissions, String jwtToken, Date expiry) {
     super(userId, jwtToken, emptyList());
     this.tenantId = tenantId;
     this.permissions = permissions;
     this.userId = userId;
     this.jwtToken = jwtToken;
+    this.expiry = expiry;
   }
 
   public static Authentication from(String jwtTokenString, String jwtSigningKey) {
@@ -39,10 +45,21 @@ public class Authentication extends UsernamePasswordAuthenticationToken {
             .setSigningKey(jwtSigningKey.getBytes(StandardCharsets.UTF_8))
             .parseClaimsJws(jwtTokenString);
     var body = claims.getBody().get("data");
-    var mapper = new ObjectMapper();
-    var jwt = mapper.convertValue(body, Jwt.class);
+    var jwt = MAPPER.convertValue(body, Jwt.class);
+
+    return new Authentication(jwt.userId, jwt.tenantId, jwt.permissions, jwtTokenString, jwt.expiry);
+  }
 
-    return new Authentication(jwt.userId, jwt.tenantId, jwt.permissions, jwtTokenString);
+  public static String tenantIdOf(String jwtTokenString) {
+    var parts = jwtTokenString.split("\\.");
+    if (parts.length < 2) {
+      throw new IllegalArgumentException("Malformed jwt token");
+    }
+    try {
+      return MAPPER.readTree(Base64.getUrlDecoder().decode(parts[1])).path("data").path("tenantId").asText(null);
+    } catch (IOException | IllegalArgumentException e) {
+      throw new IllegalArgumentException("Malformed jwt token", e);
+    }
   }
 
   @JsonIgnoreProperties(ignoreUnknown = true)
@@ -0,0 +1,103 @@
+package com.kylas.sales.workflow.security.jwt;
+
+import static java.util.Objects.isNull;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class AuthenticationCache {
+
+  // expiry values below this are epoch seconds rather than epoch millis (i.e. before 1973 when read as millis)
+  private static final long EPOCH_SECONDS_THRESHOLD = 100_000_000_000L;
+
+  private final String jwtSigningKey;
+  private final boolean cacheEnabled;
+  private final long maxExpireAfterWriteNanos;
+  private final Cache<String, Authentication> authentications;
+  private final ThreadLocal<MessageDigest> digests = ThreadLocal.withInitial(AuthenticationCache::newDigest);
+
+  @Autowired
+  public AuthenticationCache(
+      @Value("${security.jwt.key}") String jwtSigningKey,
+      MeterRegistry meterRegistry,
+      @Value("${security.jwt.cache.enabled:true}") boolean cacheEnabled,
+      @Value("${security.jwt.cache.maximumSize:10000}") long maximumSize,
+      @Value("${security.jwt.cache.maxExpireAfterWriteSeconds:300}") long maxExpireAfterWriteSeconds) {
+    this.jwtSigningKey = jwtSigningKey;
+    this.cacheEnabled = cacheEnabled;
+    this.maxExpireAfterWriteNanos = TimeUnit.SECONDS.toNanos(maxExpireAfterWriteSeconds);
+    this.authentications = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfter(new TokenExpiry())
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, authentications, "jwt.authentications");
+  }
+
+  public Authentication from(String jwtToken) {
+    if (!cacheEnabled) {
+      return Authentication.from(jwtToken, jwtSigningKey);
+    }
+    var authentication = authentications.get(keyOf(jwtToken), key -> Authentication.from(jwtToken, jwtSigningKey));
+    if (!jwtToken.equals(authentication.getJwtToken())) {
+      return Authentication.from(jwtToken, jwtSigningKey);
+    }
+    return authentication;
+  }
+
+  private String keyOf(String jwtToken) {
+    var digest = digests.get();
+    digest.reset();
+    return Base64.getEncoder().encodeToString(digest.digest(jwtToken.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  private long timeToLiveNanos(Authentication authentication) {
+    if (isNull(authentication.getExpiry())) {
+      return maxExpireAfterWriteNanos;
+    }
+    var expiresAt = authentication.getExpiry().getTime();
+    if (expiresAt < EPOCH_SECONDS_THRESHOLD) {
+      expiresAt = TimeUnit.SECONDS.toMillis(expiresAt);
+    }
+    var remainingNanos = TimeUnit.MILLISECONDS.toNanos(expiresAt - System.currentTimeMillis());
+    return Math.max(0, Math.min(maxExpireAfterWriteNanos, remainingNanos));
+  }
+
+  private static MessageDigest newDigest() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  private class TokenExpiry implements Expiry<String, Authentication> {
+
+    @Override
+    public long expireAfterCreate(String key, Authentication authentication, long currentTime) {
+      return timeToLiveNanos(authentication);
+    }
+
+    @Override
+    public long expireAfterUpdate(String key, Authentication authentication, long currentTime, long currentDuration) {
+      return timeToLiveNanos(authentication);
+    }
+
+    @Override
+    public long expireAfterRead(String key, Authentication authentication, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+  }
+}
@@ -9,7 +9,6 @@ import javax.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -18,11 +17,11 @@ import org.springframework.web.filter.OncePerRequestFilter;
 @Component
 public class JwtTokenRequestFilter extends OncePerRequestFilter {
 
-  private final String jwtSigningKey;
+  private final AuthenticationCache authenticationCache;
 
   @Autowired
-  public JwtTokenRequestFilter(@Value("${security.jwt.key}") String jwtSigningKey) {
-    this.jwtSigningKey = jwtSigningKey;
+  public JwtTokenRequestFilter(AuthenticationCache authenticationCache) {
+    this.authenticationCache = authenticationCache;
   }
 
   @Override
@@ -46,7 +45,7 @@ public class JwtTokenRequestFilter extends OncePerRequestFilter {
     if (jwtToken != null) {
       try {
 
-        var authentication = Authentication.from(jwtToken, jwtSigningKey);
+        var authentication = authenticationCache.from(jwtToken);
         SecurityContextHolder.getContext().setAuthentication(authentication);
         addToLogContext(authentication);
       } catch (MalformedJwtException exception) {
@@ -0,0 +1,36 @@
+CREATE INDEX IF NOT EXISTS idx_workflow_active_tenant_entity
+  ON workflow (tenant_id, entity_type, id)
+  WHERE active = true;
+
+CREATE INDEX IF NOT EXISTS idx_workflow_trigger_workflow_frequency
+  ON workflow_trigger (workflow_id, trigger_frequency);
+
+CREATE INDEX IF NOT EXISTS idx_workflow_tenant_updated_at
+  ON workflow (tenant_id, updated_at DESC);
+
+CREATE INDEX IF NOT EXISTS idx_workflow_tenant_created_by
+  ON workflow (tenant_id, created_by);
+
+CREATE INDEX IF NOT EXISTS idx_workflow_condition_workflow_id
+  ON workflow_condition (workflow_id);
+
+CREATE INDEX IF NOT EXISTS idx_workflow_executed_event_workflow_id
+  ON workflow_executed_event (workflow_id);
+
+CREATE INDEX IF NOT EXISTS idx_edit_property_action_workflow_id
+  ON edit_property_action (workflow_id);
+
+CREATE INDEX IF NOT EXISTS idx_webhook_action_workflow_id
+  ON webhook_action (workflow_id);
+
+CREATE INDEX IF NOT EXISTS idx_reassign_action_workflow_id
+  ON reassign_action (workflow_id);
+
+CREATE INDEX IF NOT EXISTS idx_create_task_action_workflow_id
+  ON create_task_action (workflow_id);
+
+CREATE INDEX IF NOT EXISTS idx_email_action_workflow_id
+  ON email_action (workflow_id);
+
+CREATE INDEX IF NOT EXISTS idx_parameter_webhook_action_id
+  ON parameter (webhook_action_id);
@@ -505,7 +505,7 @@ class WorkflowControllerTest {
             createdBy,
             updatedBy,
             new Date());
-    given(workflowService.get(workflowId)).willReturn(Mono.just(workflowDetail));
+    given(workflowService.get(eq(workflowId), any(ServerTiming.class))).willReturn(Mono.just(workflowDetail));
     // when
     var workflowResponse =
         buildWebClient()
@@ -564,7 +564,7 @@ class WorkflowControllerTest {
             createdBy,
             updatedBy,
             new Date());
-    given(workflowService.get(workflowId)).willReturn(Mono.just(workflowDetail));
+    given(workflowService.get(eq(workflowId), any(ServerTiming.class))).willReturn(Mono.just(workflowDetail));
     // when
     var workflowResponse =
         buildWebClient()
@@ -695,11 +695,52 @@ class WorkflowControllerTest {
         .verifyComplete();
   }
 
+  @Test
+  public void givenWorkflowId_shouldReportStageTimingsInResponseHeader() {
+    // given
+    long workflowId = 101L;
+    WorkflowDetail workflowDetail =
+        WorkflowStub.workflowDetail(
+            workflowId,
+            "Edit Lead Property",
+            "Edit Lead Property",
+            EntityType.LEAD,
+            true,
+            TriggerType.EVENT,
+            TriggerFrequency.CREATED,
+            ConditionType.FOR_ALL,
+            ActionType.EDIT_PROPERTY,
+            "lastName",
+            "Stark",
+            PLAIN,
+            true,
+            true,
+            true,
+            new User(101L, "Tony Start"),
+            new User(102L, "Steve Roger"),
+            new Date());
+    given(workflowService.get(eq(workflowId), any(ServerTiming.class))).willAnswer(invocation -> {
+      ServerTiming timing = invocation.getArgument(1);
+      timing.record(ServerTiming.LOAD, 12_000_000L);
+      timing.record(ServerTiming.RESOLVE_NAMES, 3_500_000L);
+      return Mono.just(workflowDetail);
+    });
+    // when
+    var response =
+        buildWebClient()
+            .get()
+            .uri("/v1/workflows/" + workflowId)
+            .exchange()
+            .block();
+    // then
+    assertThat(response.headers().header(ServerTiming.HEADER)).containsExactly("load;dur=12.0, resolve_names;dur=3.5");
+  }
+
   @Test
   public void givenNonExitWorkflowId_shouldThrow() {
     // given
     long workflowId = 101L;
-    given(workflowService.get(workflowId)).willThrow(new WorkflowNotFoundException());
+    given(workflowService.get(eq(workflowId), any(ServerTiming.class))).willThrow(new WorkflowNotFoundException());
     // when
     var workflowResponse =
         buildWebClient()
@@ -769,7 +810,7 @@ class WorkflowControllerTest {
             createdBy,
             updatedBy,
             new Date());
-    given(workflowService.list(argThat(new PageableMatcher(0, 10, Sort.unsorted()))))
+    given(workflowService.list(argThat(new PageableMatcher(0, 10, Sort.unsorted())), any(ServerTiming.class)))
         .willReturn(
             Mono.just(
                 new PageImpl<>(
@@ -0,0 +1,106 @@
+package com.kylas.sales.workflow.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kylas.sales.workflow.config.TestDatabaseInitializer;
+import com.kylas.sales.workflow.domain.service.UserService;
+import com.kylas.sales.workflow.security.AuthService;
+import com.kylas.sales.workflow.stubs.UserStub;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.web.reactive.function.client.WebClient;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(
+    webEnvironment = WebEnvironment.RANDOM_PORT,
+    properties = "spring.jackson.date-format=com.fasterxml.jackson.databind.util.ISO8601DateFormat")
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@ContextConfiguration(initializers = TestDatabaseInitializer.class)
+class WorkflowSearchControllerTest {
+
+  @Autowired
+  Environment environment;
+  @Autowired
+  ObjectMapper objectMapper;
+  @MockBean
+  AuthService authService;
+  @MockBean
+  UserService userService;
+
+  @BeforeEach
+  void init() {
+    given(authService.getLoggedInUser())
+        .willReturn(UserStub.aUser(12L, 99L, false, true, true, false, false).withName("user 1"));
+  }
+
+  @Test
+  @Sql("/test-scripts/insert-lead-workflow-for-multiple-users.sql")
+  public void givenWorkflowsUpdatedInTheSameSecond_shouldPageThroughThemWithTheReturnedCursor() throws Exception {
+    // when
+    var ids = pageThrough("updatedAt,asc");
+    // then
+    assertThat(ids).containsExactly(301L, 302L, 303L);
+  }
+
+  @Test
+  @Sql("/test-scripts/insert-lead-workflow-for-multiple-users.sql")
+  public void givenDescendingLastTriggeredAt_shouldPageThroughThemWithTheReturnedCursor() throws Exception {
+    // when
+    var ids = pageThrough("lastTriggeredAt,desc");
+    // then
+    assertThat(ids).containsExactly(303L, 302L, 301L);
+  }
+
+  private List<Long> pageThrough(String sort) throws Exception {
+    List<Long> ids = new ArrayList<>();
+    String cursor = null;
+    for (int page = 0; page < 10; page++) {
+      var uri = "/v1/workflows/search?size=1&count=false&sort=" + sort + (cursor == null ? "" : "&after=" + cursor);
+      JsonNode response = objectMapper.readTree(buildWebClient()
+          .post()
+          .uri(uri)
+          .contentType(MediaType.APPLICATION_JSON)
+          .retrieve()
+          .bodyToMono(String.class)
+          .block());
+      response.get("content").forEach(entry -> ids.add(entry.get("id").asLong()));
+      if (response.get("last").asBoolean()) {
+        assertThat(response.hasNonNull("nextCursor")).isFalse();
+        return ids;
+      }
+      cursor = response.get("nextCursor").asText();
+    }
+    throw new AssertionError("Cursor did not reach the last page, saw " + ids);
+  }
+
+  private WebClient buildWebClient() {
+    var port = environment.getProperty("local.server.port");
+
+    return WebClient.builder()
+        .baseUrl("http://localhost:" + port)
+        .defaultHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+        .defaultHeader(
+            HttpHeaders.AUTHORIZATION,
+            "Bearer "
+                + "eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9.eyJpc3MiOiJzZWxsIiwiZGF0YSI6eyJleHBpcmVzSW4iOjQzMTk5LCJleHBpcnkiOjE1NzY0OTM3MTAsInRva2VuVHlwZSI6ImJlYXJlciIsInBlcm1pc3Npb25zIjpbeyJpZCI6NCwibmFtZSI6ImxlYWQiLCJkZXNjcmlwdGlvbiI6ImhhcyBhY2Nlc3MgdG8gbGVhZCByZXNvdXJjZSIsImxpbWl0cyI6LTEsInVuaXRzIjoiY291bnQiLCJhY3Rpb24iOnsicmVhZCI6dHJ1ZSwid3JpdGUiOnRydWUsInVwZGF0ZSI6dHJ1ZSwiZGVsZXRlIjp0cnVlLCJlbWFpbCI6ZmFsc2UsImNhbGwiOmZhbHNlLCJzbXMiOmZhbHNlLCJ0YXNrIjp0cnVlLCJub3RlIjp0cnVlLCJyZWFkQWxsIjp0cnVlLCJ1cGRhdGVBbGwiOnRydWV9fSx7ImlkIjo3LCJuYW1lIjoicHJvZHVjdHMtc2VydmljZXMiLCJkZXNjcmlwdGlvbiI6ImhhcyBhY2Nlc3MgdG8gdGVhbSByZXNvdXJjZSIsImxpbWl0cyI6LTEsInVuaXRzIjoiY291bnQiLCJhY3Rpb24iOnsicmVhZCI6dHJ1ZSwid3JpdGUiOnRydWUsInVwZGF0ZSI6dHJ1ZSwiZGVsZXRlIjp0cnVlLCJlbWFpbCI6ZmFsc2UsImNhbGwiOmZhbHNlLCJzbXMiOmZhbHNlLCJ0YXNrIjpmYWxzZSwibm90ZSI6ZmFsc2UsInJlYWRBbGwiOmZhbHNlLCJ1cGRhdGVBbGwiOmZhbHNlfX1dLCJ1c2VySWQiOiIxMiIsInVzZXJuYW1lIjoidG9ueUBzdGFyay5jb20iLCJ0ZW5hbnRJZCI6IjU1In19.fcqC0tgtZBzxpU5Si1IT8eOi4CNMckmPnVTze2xfmIk")
+        .build();
+  }
+}
@@ -28,12 +28,14 @@ import com.kylas.sales.workflow.common.dto.ActionDetail;
 import com.kylas.sales.workflow.common.dto.ActionDetail.CreateTaskAction;
 import com.kylas.sales.workflow.common.dto.ActionDetail.EmailAction;
 import com.kylas.sales.workflow.common.dto.ActionResponse;
+import com.kylas.sales.workflow.domain.WorkflowExecutionCounter;
 import com.kylas.sales.workflow.domain.WorkflowFacade;
 import com.kylas.sales.workflow.domain.processor.task.AssignedToType;
 import com.kylas.sales.workflow.domain.service.ValueResolver;
 import com.kylas.sales.workflow.domain.user.User;
 import com.kylas.sales.workflow.domain.workflow.Workflow;
 import com.kylas.sales.workflow.domain.workflow.WorkflowCondition;
+import com.kylas.sales.workflow.domain.workflow.WorkflowEntryRecord;
 import com.kylas.sales.workflow.domain.workflow.WorkflowExecutedEvent;
 import com.kylas.sales.workflow.domain.workflow.WorkflowTrigger;
 import com.kylas.sales.workflow.domain.workflow.action.AbstractWorkflowAction;
@@ -48,6 +50,8 @@ import com.kylas.sales.workflow.matchers.PageableMatcher;
 import com.kylas.sales.workflow.security.AuthService;
 import com.kylas.sales.workflow.stubs.UserStub;
 import com.kylas.sales.workflow.stubs.WorkflowStub;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -64,6 +68,7 @@ import org.mockito.BDDMockito;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -88,6 +93,13 @@ class WorkflowServiceTest {
   @Mock
   private ValueResolver valueResolver;
 
+  @Spy
+  private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  @Spy
+  private WorkflowExecutionCounter workflowExecutionCounter =
+      new WorkflowExecutionCounter(mock(WorkflowFacade.class), new SimpleMeterRegistry(), true);
+
   @Test
   public void givenWorkflowRequest_shouldCreateIt() {
     // given
@@ -873,7 +885,7 @@ class WorkflowServiceTest {
     given(workflowFacade.get(workflowId)).willReturn(workflowSpy);
     given(authService.getAuthenticationToken()).willReturn("some-token");
     // when
-    var workflowDetail = workflowService.get(workflowId).block();
+    var workflowDetail = workflowService.get(workflowId, new ServerTiming()).block();
     // then
     assertThat(workflowDetail.getId()).isEqualTo(workflowId);
     assertThat(workflowDetail.getName()).isEqualTo("Workflow 1");
@@ -974,7 +986,7 @@ class WorkflowServiceTest {
         .willReturn(workflowPageable);
     PageRequest pageable = PageRequest.of(0, 10);
     // when
-    Mono<Page<WorkflowDetail>> workflowPages = workflowService.list(pageable);
+    Mono<Page<WorkflowDetail>> workflowPages = workflowService.list(pageable, new ServerTiming());
     // then
     StepVerifier.create(workflowPages)
         .assertNext(
@@ -1011,33 +1023,55 @@ class WorkflowServiceTest {
   }
 
   @Test
-  public void givenSearchRequest_tryToSortOnLastTriggeredAt_shouldGet() {
+  public void givenWorkflowPage_withSameUserAcrossWorkflows_shouldResolveUserNameOnce() {
     // given
     User aUser = UserStub.aUser(11L, 99L, true, true, true, false, false).withName("user 1");
-    WorkflowTrigger trigger =
-        WorkflowTrigger.createNew(
-            new com.kylas.sales.workflow.common.dto.WorkflowTrigger(
-                EVENT, CREATED));
-    WorkflowCondition condition = new WorkflowCondition(FOR_ALL, null);
+    var workflows = List.of(aWorkflowWithTaskAssignedTo(aUser, 101L, 4L), aWorkflowWithTaskAssignedTo(aUser, 102L, 4L));
+    given(workflowFacade.list(argThat(new PageableMatcher(0, 10, Sort.unsorted()))))
+        .willReturn(new PageImpl<>(workflows, PageRequest.of(0, 10), 2));
+    given(valueResolver.getUserName(any(), any())).willReturn(Mono.just("James Bond"));
+    var timing = new ServerTiming();
+    // when
+    Mono<Page<WorkflowDetail>> workflowPages = workflowService.list(PageRequest.of(0, 10), timing);
+    // then
+    StepVerifier.create(workflowPages)
+        .assertNext(workflowDetails -> {
+          assertThat(workflowDetails.getContent()).extracting(WorkflowDetail::getId).containsExactly(101L, 102L);
+          assertThat(workflowDetails.getContent())
+              .flatExtracting(WorkflowDetail::getActions)
+              .extracting(action -> ((CreateTaskAction) action.getPayload()).getAssignedTo().getName())
+              .containsOnly("James Bond");
+        })
+        .verifyComplete();
+    verify(valueResolver, times(1)).getUserName(any(), any());
+    assertThat(meterRegistry.get("workflow.detail.stage").tag("stage", "resolve_names").timer().count()).isEqualTo(1);
+    assertThat(timing.toHeaderValue()).matches("load;dur=[0-9.]+, resolve_names;dur=[0-9.]+");
+  }
+
+  private Workflow aWorkflowWithTaskAssignedTo(User user, long workflowId, long assigneeId) {
+    var trigger = WorkflowTrigger.createNew(new com.kylas.sales.workflow.common.dto.WorkflowTrigger(EVENT, CREATED));
+    var createTaskAction = new com.kylas.sales.workflow.domain.workflow.action.task.CreateTaskAction("new Task", "new task description", 1L,
+        "contacted", 2L, 3L, new AssignedTo(AssignedToType.USER, assigneeId, "Tony Stark"), new DueDate(12, 2));
+    createTaskAction.setId(UUID.randomUUID());
     Set<AbstractWorkflowAction> actions = new HashSet<>();
-    EditPropertyAction editPropertyAction = new EditPropertyAction();
-    UUID id = UUID.randomUUID();
-    editPropertyAction.setId(id);
-    editPropertyAction.setName("firstName");
-    editPropertyAction.setValue("tony");
-    actions.add(editPropertyAction);
+    actions.add(createTaskAction);
+    var workflow = Workflow.createNew("Workflow " + workflowId, "Workflow " + workflowId, LEAD, trigger, user, actions,
+        new WorkflowCondition(FOR_ALL, null), true);
+    workflow.setId(workflowId);
+    return workflow;
+  }
 
-    Workflow workflow =
-        Workflow.createNew(
-            "Workflow 1", "Workflow 1", LEAD, trigger, aUser, actions, condition, true);
-    workflow.setAllowedActionsForUser(aUser);
-    Workflow workflowSpy = Mockito.spy(workflow);
-    given(workflowSpy.getId()).willReturn(100L);
-    List<Workflow> workflows = new ArrayList<>();
-    workflows.add(workflowSpy);
+  @Test
+  public void givenSearchRequest_tryToSortOnLastTriggeredAt_shouldGet() {
+    // given
+    User aUser = UserStub.aUser(11L, 99L, true, true, true, false, false).withName("user 1");
+    var workflowEntry = new WorkflowEntryRecord(100L, "Workflow 1", LEAD, 99L, true, false, 11L, "user 1", 11L, "user 1",
+        new Date(), new Date(), null, null, 0L).setAllowedActionsForUser(aUser);
+    List<WorkflowEntryRecord> workflows = new ArrayList<>();
+    workflows.add(workflowEntry);
 
     Sort sortByLastTriggeredAt = Sort.by(Order.desc("lastTriggeredAt"));
-    PageImpl<Workflow> workflowPageable =
+    PageImpl<WorkflowEntryRecord> workflowPageable =
         new PageImpl<>(workflows, PageRequest.of(0, 10, sortByLastTriggeredAt), 12);
     given(workflowFacade.search(argThat(new PageableMatcher(0, 10, sortByLastTriggeredAt)), argThat(workflowFilters -> workflowFilters.isEmpty())))
         .willReturn(workflowPageable);
@@ -1080,41 +1114,27 @@ class WorkflowServiceTest {
     Workflow workflow =
         Workflow.createNew(
             "Workflow 1", "Workflow 1", LEAD, trigger, aUser, actions, condition, true);
-    BDDMockito.doNothing().when(workflowFacade).updateExecutedEvent(workflow);
+    workflow.getWorkflowExecutedEvent().setId(7L);
     // when
     workflowService.updateExecutedEventDetails(workflow);
+    workflowService.updateExecutedEventDetails(workflow);
     // then
-    Mockito.verify(workflowFacade, times(1)).updateExecutedEvent(any(Workflow.class));
+    Mockito.verify(workflowExecutionCounter, times(2)).record(7L, 1L);
+    assertThat(workflowExecutionCounter.triggerCountOf(workflow.getWorkflowExecutedEvent())).isEqualTo(2);
+    assertThat(workflowExecutionCounter.lastTriggeredAtOf(workflow.getWorkflowExecutedEvent())).isNotNull();
   }
 
   @Test
   public void givenSearchRequest_tryToFilterOnStatus_shouldGet() {
     // given
     User aUser = UserStub.aUser(11L, 99L, true, true, true, false, false).withName("user 1");
-    WorkflowTrigger trigger =
-        WorkflowTrigger.createNew(
-            new com.kylas.sales.workflow.common.dto.WorkflowTrigger(
-                EVENT, CREATED));
-    var condition = new WorkflowCondition(FOR_ALL, null);
-    Set<AbstractWorkflowAction> actions = new HashSet<>();
-    EditPropertyAction editPropertyAction = new EditPropertyAction();
-    UUID id = UUID.randomUUID();
-    editPropertyAction.setId(id);
-    editPropertyAction.setName("firstName");
-    editPropertyAction.setValue("tony");
-    actions.add(editPropertyAction);
-
-    Workflow workflow =
-        Workflow.createNew(
-            "Workflow 1", "Workflow 1", LEAD, trigger, aUser, actions, condition, true);
-    workflow.setAllowedActionsForUser(aUser);
-    Workflow workflowSpy = Mockito.spy(workflow);
-    given(workflowSpy.getId()).willReturn(100L);
-    List<Workflow> workflows = new ArrayList<>();
-    workflows.add(workflowSpy);
+    var workflowEntry = new WorkflowEntryRecord(100L, "Workflow 1", LEAD, 99L, true, false, 11L, "user 1", 11L, "user 1",
+        new Date(), new Date(), null, null, 0L).setAllowedActionsForUser(aUser);
+    List<WorkflowEntryRecord> workflows = new ArrayList<>();
+    workflows.add(workflowEntry);
 
     Sort sortByLastTriggeredAt = Sort.by(Order.desc("lastTriggeredAt"));
-    PageImpl<Workflow> workflowPageable =
+    PageImpl<WorkflowEntryRecord> workflowPageable =
         new PageImpl<>(workflows, PageRequest.of(0, 10, sortByLastTriggeredAt), 12);
 
     List<Filter> filters = new ArrayList<>();
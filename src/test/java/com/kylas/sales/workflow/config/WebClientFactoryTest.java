@@ -0,0 +1,77 @@
+package com.kylas.sales.workflow.config;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.handler.timeout.ReadTimeoutException;
+import java.time.Duration;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+class WebClientFactoryTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private WebClientFactory webClientFactory;
+
+  @BeforeEach
+  void init() {
+    meterRegistry = new SimpleMeterRegistry();
+    webClientFactory = new WebClientFactory(WebClient.builder(), meterRegistry, 10, 1000, 500, 1000);
+  }
+
+  @Test
+  public void givenSameClientName_shouldReuseWebClient() {
+    var webClient = webClientFactory.get("iam", "http://localhost:9081");
+
+    assertThat(webClientFactory.get("iam", "http://localhost:9081")).isSameAs(webClient);
+    assertThat(webClientFactory.get("config", "http://localhost:9086")).isNotSameAs(webClient);
+  }
+
+  @Test
+  public void givenClientRequest_shouldPublishPoolMetricsUnderClientName() {
+    var wireMockServer = new WireMockServer(options().dynamicPort());
+    wireMockServer.start();
+    Metrics.addRegistry(meterRegistry);
+    try {
+      wireMockServer.stubFor(get("/fast").willReturn(aResponse().withBody("fast")));
+      var webClient = webClientFactory.get("iam", wireMockServer.baseUrl());
+
+      webClient.get().uri("/fast").retrieve().bodyToMono(String.class).block(Duration.ofSeconds(5));
+
+      assertThat(meterRegistry.get("reactor.netty.connection.provider.total.connections").tag("name", "client-iam").gauge())
+          .isNotNull();
+      assertThat(meterRegistry.get("workflow.client.requests").tags("client", "iam", "status", "200").timer().count())
+          .isEqualTo(1);
+    } finally {
+      Metrics.removeRegistry(meterRegistry);
+      wireMockServer.stop();
+    }
+  }
+
+  @Test
+  public void givenSlowResponse_shouldTimeOutTheRequestAndKeepServingLaterOnes() throws InterruptedException {
+    var wireMockServer = new WireMockServer(options().dynamicPort());
+    wireMockServer.start();
+    try {
+      wireMockServer.stubFor(get("/slow").willReturn(aResponse().withFixedDelay(3000).withBody("slow")));
+      wireMockServer.stubFor(get("/fast").willReturn(aResponse().withBody("fast")));
+      var webClient = webClientFactory.get("search", wireMockServer.baseUrl());
+
+      assertThat(webClient.get().uri("/fast").retrieve().bodyToMono(String.class).block(Duration.ofSeconds(5))).isEqualTo("fast");
+      Thread.sleep(1500);
+      assertThat(webClient.get().uri("/fast").retrieve().bodyToMono(String.class).block(Duration.ofSeconds(5))).isEqualTo("fast");
+      var error = catchThrowable(() -> webClient.get().uri("/slow").retrieve().bodyToMono(String.class).block(Duration.ofSeconds(5)));
+      assertThat(ExceptionUtils.indexOfThrowable(error, ReadTimeoutException.class)).isNotNegative();
+    } finally {
+      wireMockServer.stop();
+    }
+  }
+}
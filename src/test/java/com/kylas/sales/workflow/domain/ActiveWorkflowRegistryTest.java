@@ -0,0 +1,167 @@
+package com.kylas.sales.workflow.domain;
+
+import static com.kylas.sales.workflow.domain.workflow.EntityType.DEAL;
+import static com.kylas.sales.workflow.domain.workflow.EntityType.LEAD;
+import static com.kylas.sales.workflow.domain.workflow.TriggerFrequency.CREATED;
+import static com.kylas.sales.workflow.domain.workflow.TriggerFrequency.UPDATED;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.kylas.sales.workflow.domain.workflow.EntityType;
+import com.kylas.sales.workflow.domain.workflow.TriggerFrequency;
+import com.kylas.sales.workflow.domain.workflow.TriggerType;
+import com.kylas.sales.workflow.domain.workflow.Workflow;
+import com.kylas.sales.workflow.domain.workflow.WorkflowTrigger;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ActiveWorkflowRegistryTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private ActiveWorkflowRegistry activeWorkflowRegistry;
+
+  @BeforeEach
+  void init() {
+    meterRegistry = new SimpleMeterRegistry();
+    activeWorkflowRegistry = new ActiveWorkflowRegistry(meterRegistry, true, 600);
+  }
+
+  @Test
+  public void givenRepeatedLookup_shouldLoadOnceAndRecordHit() {
+    //given
+    var loads = new AtomicInteger();
+    var workflow = aWorkflow(1L, 99L, LEAD, CREATED);
+    Supplier<List<Workflow>> loader = () -> {
+      loads.incrementAndGet();
+      return List.of(workflow);
+    };
+
+    //when
+    activeWorkflowRegistry.get(99L, LEAD, CREATED, loader);
+    var workflows = activeWorkflowRegistry.get(99L, LEAD, CREATED, loader);
+
+    //then
+    assertThat(workflows).containsExactly(workflow);
+    assertThat(loads.get()).isEqualTo(1);
+    assertThat(meterRegistry.get("workflow.registry.lookup").tag("result", "hit").counter().count()).isEqualTo(1);
+    assertThat(meterRegistry.get("workflow.registry.lookup").tag("result", "miss").counter().count()).isEqualTo(1);
+    assertThat(meterRegistry.get("workflow.registry.rebuild").counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  public void givenDifferentTenants_shouldKeepThemSeparate() {
+    //when
+    activeWorkflowRegistry.get(99L, LEAD, CREATED, () -> List.of(aWorkflow(1L, 99L, LEAD, CREATED)));
+    var workflows = activeWorkflowRegistry.get(100L, LEAD, CREATED, () -> List.of(aWorkflow(2L, 100L, LEAD, CREATED)));
+
+    //then
+    assertThat(workflows).extracting(Workflow::getId).containsExactly(2L);
+  }
+
+  @Test
+  public void givenWorkflowChangedTrigger_shouldEvictOldAndNewEntries() {
+    //given
+    var loads = new AtomicInteger();
+    var workflow = aWorkflow(1L, 99L, LEAD, CREATED);
+    activeWorkflowRegistry.get(99L, LEAD, CREATED, () -> {
+      loads.incrementAndGet();
+      return List.of(workflow);
+    });
+    activeWorkflowRegistry.get(99L, LEAD, UPDATED, () -> {
+      loads.incrementAndGet();
+      return List.of();
+    });
+    activeWorkflowRegistry.get(99L, DEAL, CREATED, () -> {
+      loads.incrementAndGet();
+      return List.of();
+    });
+
+    //when
+    activeWorkflowRegistry.invalidate(aWorkflow(1L, 99L, LEAD, UPDATED));
+    activeWorkflowRegistry.get(99L, LEAD, CREATED, () -> {
+      loads.incrementAndGet();
+      return List.of();
+    });
+    activeWorkflowRegistry.get(99L, LEAD, UPDATED, () -> {
+      loads.incrementAndGet();
+      return List.of(workflow);
+    });
+    activeWorkflowRegistry.get(99L, DEAL, CREATED, () -> {
+      loads.incrementAndGet();
+      return List.of();
+    });
+
+    //then
+    assertThat(loads.get()).isEqualTo(5);
+  }
+
+  @Test
+  public void givenDeletedWorkflow_shouldEvictEntriesContainingIt() {
+    //given
+    var loads = new AtomicInteger();
+    Supplier<List<Workflow>> loader = () -> {
+      loads.incrementAndGet();
+      return List.of(aWorkflow(7L, 99L, LEAD, CREATED));
+    };
+    activeWorkflowRegistry.get(99L, LEAD, CREATED, loader);
+
+    //when
+    activeWorkflowRegistry.invalidate(7L);
+    activeWorkflowRegistry.get(99L, LEAD, CREATED, loader);
+
+    //then
+    assertThat(loads.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void givenInvalidationDuringLoad_shouldNotCacheStaleWorkflows() {
+    //given
+    var loads = new AtomicInteger();
+    activeWorkflowRegistry.get(99L, DEAL, CREATED, List::of);
+
+    //when
+    activeWorkflowRegistry.get(99L, LEAD, CREATED, () -> {
+      loads.incrementAndGet();
+      activeWorkflowRegistry.invalidate(aWorkflow(1L, 99L, LEAD, CREATED));
+      return List.of();
+    });
+    activeWorkflowRegistry.get(99L, LEAD, CREATED, () -> {
+      loads.incrementAndGet();
+      return List.of();
+    });
+
+    //then
+    assertThat(loads.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void givenDisabledRegistry_shouldAlwaysLoad() {
+    //given
+    var registry = new ActiveWorkflowRegistry(meterRegistry, false, 600);
+    var loads = new AtomicInteger();
+    Supplier<List<Workflow>> loader = () -> {
+      loads.incrementAndGet();
+      return List.of();
+    };
+
+    //when
+    registry.get(99L, LEAD, CREATED, loader);
+    registry.get(99L, LEAD, CREATED, loader);
+
+    //then
+    assertThat(loads.get()).isEqualTo(2);
+  }
+
+  private Workflow aWorkflow(long id, long tenantId, EntityType entityType, TriggerFrequency triggerFrequency) {
+    var workflow = new Workflow();
+    workflow.setId(id);
+    workflow.setTenantId(tenantId);
+    workflow.setEntityType(entityType);
+    workflow.setWorkflowTrigger(
+        WorkflowTrigger.createNew(new com.kylas.sales.workflow.common.dto.WorkflowTrigger(TriggerType.EVENT, triggerFrequency)));
+    return workflow;
+  }
+}
@@ -0,0 +1,147 @@
+package com.kylas.sales.workflow.domain;
+
+import static com.kylas.sales.workflow.api.request.Condition.TriggerType.NEW_VALUE;
+import static com.kylas.sales.workflow.api.request.Condition.TriggerType.OLD_VALUE;
+import static com.kylas.sales.workflow.common.dto.condition.Operator.AND;
+import static com.kylas.sales.workflow.common.dto.condition.Operator.BEGINS_WITH;
+import static com.kylas.sales.workflow.common.dto.condition.Operator.BETWEEN;
+import static com.kylas.sales.workflow.common.dto.condition.Operator.CONTAINS;
+import static com.kylas.sales.workflow.common.dto.condition.Operator.EQUAL;
+import static com.kylas.sales.workflow.common.dto.condition.Operator.GREATER;
+import static com.kylas.sales.workflow.common.dto.condition.Operator.IN;
+import static com.kylas.sales.workflow.common.dto.condition.Operator.IS_NULL;
+import static com.kylas.sales.workflow.common.dto.condition.Operator.NOT_EQUAL;
+import static com.kylas.sales.workflow.common.dto.condition.Operator.NOT_IN;
+import static com.kylas.sales.workflow.common.dto.condition.Operator.OR;
+import static com.kylas.sales.workflow.domain.workflow.ConditionType.CONDITION_BASED;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kylas.sales.workflow.common.dto.condition.WorkflowCondition.ConditionExpression;
+import com.kylas.sales.workflow.domain.processor.lead.IdName;
+import com.kylas.sales.workflow.domain.processor.lead.LeadDetail;
+import com.kylas.sales.workflow.domain.processor.lead.Product;
+import com.kylas.sales.workflow.domain.service.ValueResolver;
+import com.kylas.sales.workflow.domain.workflow.WorkflowCondition;
+import com.kylas.sales.workflow.mq.event.LeadEvent;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ConditionCompilerTest {
+
+  private ConditionFacade conditionFacade;
+
+  @BeforeEach
+  void init() {
+    conditionFacade = new ConditionFacade(new ValueResolver(null, new ObjectMapper(), null));
+  }
+
+  @Test
+  public void givenCompiledCondition_shouldBeCachedOnWorkflowCondition() {
+    var condition = new WorkflowCondition(CONDITION_BASED, new ConditionExpression(EQUAL, "firstName", "Steve", NEW_VALUE));
+
+    var predicate = conditionFacade.compile(condition);
+
+    assertThat(predicate).isNotNull();
+    assertThat(conditionFacade.compile(condition)).isSameAs(predicate);
+  }
+
+  @Test
+  public void givenUncompilableCondition_shouldRememberToInterpretIt() {
+    var condition = new WorkflowCondition(CONDITION_BASED, new ConditionExpression(GREATER, "firstName", "Steve", NEW_VALUE));
+
+    assertThat(conditionFacade.compile(condition)).isNull();
+    var marker = condition.getPredicate();
+
+    assertThat(marker).isNotNull();
+    assertThat(conditionFacade.compile(condition)).isNull();
+    assertThat(condition.getPredicate()).isSameAs(marker);
+  }
+
+  @Test
+  public void givenUpdatedCondition_shouldDropCompiledPredicate() {
+    var condition = new WorkflowCondition(CONDITION_BASED, new ConditionExpression(EQUAL, "firstName", "Steve", NEW_VALUE));
+    conditionFacade.compile(condition);
+
+    var updated = condition.update(CONDITION_BASED, new ConditionExpression(EQUAL, "firstName", "Tony", NEW_VALUE));
+
+    assertThat(updated.getPredicate()).isNull();
+  }
+
+  @Test
+  public void givenStringOperators_shouldMatchInterpretedEvaluation() {
+    assertEquivalent(new ConditionExpression(EQUAL, "firstName", "steve", NEW_VALUE));
+    assertEquivalent(new ConditionExpression(NOT_EQUAL, "firstName", "Tony", NEW_VALUE));
+    assertEquivalent(new ConditionExpression(CONTAINS, "city", "un", NEW_VALUE));
+    assertEquivalent(new ConditionExpression(BEGINS_WITH, "lastName", "Rog", NEW_VALUE));
+    assertEquivalent(new ConditionExpression(IN, "city", "Mumbai, Pune ,Delhi", NEW_VALUE));
+    assertEquivalent(new ConditionExpression(NOT_IN, "city", "Mumbai,Delhi", NEW_VALUE));
+    assertEquivalent(new ConditionExpression(IS_NULL, "department", null, NEW_VALUE));
+    assertEquivalent(new ConditionExpression(EQUAL, "firstName", "Steve", OLD_VALUE));
+  }
+
+  @Test
+  public void givenNumberOperators_shouldMatchInterpretedEvaluation() {
+    assertEquivalent(new ConditionExpression(EQUAL, "requirementBudget", 1000, NEW_VALUE));
+    assertEquivalent(new ConditionExpression(GREATER, "requirementBudget", "999.5", NEW_VALUE));
+    assertEquivalent(new ConditionExpression(BETWEEN, "requirementBudget", "[500, 1500]", NEW_VALUE));
+    assertEquivalent(new ConditionExpression(IN, "requirementBudget", "10,1000.0", NEW_VALUE));
+  }
+
+  @Test
+  public void givenIdNameOperators_shouldMatchInterpretedEvaluation() {
+    assertEquivalent(new ConditionExpression(EQUAL, "pipeline", Map.of("id", 11, "name", "Default"), NEW_VALUE));
+    assertEquivalent(new ConditionExpression(NOT_EQUAL, "ownerId", Map.of("id", 12, "name", "Tony"), NEW_VALUE));
+    assertEquivalent(new ConditionExpression(CONTAINS, "products", Map.of("id", 13, "name", "Shield"), NEW_VALUE));
+  }
+
+  @Test
+  public void givenCompositeExpression_shouldMatchInterpretedEvaluation() {
+    var firstName = new ConditionExpression(EQUAL, "firstName", "Steve", NEW_VALUE);
+    var city = new ConditionExpression(EQUAL, "city", "Mumbai", NEW_VALUE);
+    var budget = new ConditionExpression(GREATER, "requirementBudget", 10, NEW_VALUE);
+    var expression = new ConditionExpression(new ConditionExpression(firstName, city, AND), budget, OR);
+    var event = new LeadEvent(stubLeadDetail(), stubLeadDetail(), null);
+
+    var predicate = conditionFacade.compile(new WorkflowCondition(CONDITION_BASED, expression));
+
+    assertThat(predicate.test(event)).isTrue();
+  }
+
+  @Test
+  public void givenIsChanged_shouldCompareNewAndOldValues() {
+    var expression = new ConditionExpression(null, null, null, "pipeline", null, "IS_CHANGED");
+    var oldEntity = stubLeadDetail();
+    oldEntity.setPipeline(new IdName(10L, "Old"));
+
+    var predicate = conditionFacade.compile(new WorkflowCondition(CONDITION_BASED, expression));
+
+    assertThat(predicate.test(new LeadEvent(stubLeadDetail(), oldEntity, null))).isTrue();
+    assertThat(predicate.test(new LeadEvent(stubLeadDetail(), stubLeadDetail(), null))).isFalse();
+  }
+
+  private void assertEquivalent(ConditionExpression expression) {
+    var entity = stubLeadDetail();
+    var event = new LeadEvent(entity, entity, null);
+
+    var predicate = conditionFacade.compile(new WorkflowCondition(CONDITION_BASED, expression));
+
+    assertThat(predicate).isNotNull();
+    assertThat(predicate.test(event)).isEqualTo(conditionFacade.satisfies(expression, entity));
+  }
+
+  private LeadDetail stubLeadDetail() {
+    var leadDetail = new LeadDetail();
+    leadDetail.setId(2000L);
+    leadDetail.setFirstName("Steve");
+    leadDetail.setLastName("Rogers");
+    leadDetail.setCity("Pune");
+    leadDetail.setRequirementBudget(1000D);
+    leadDetail.setPipeline(new IdName(11L, "Default"));
+    leadDetail.setOwnerId(new IdName(12L, "Tony"));
+    leadDetail.setProducts(List.of(new Product(13L, "Shield")));
+    return leadDetail;
+  }
+}
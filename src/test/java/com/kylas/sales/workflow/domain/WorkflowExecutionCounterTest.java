@@ -0,0 +1,107 @@
+package com.kylas.sales.workflow.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.kylas.sales.workflow.domain.WorkflowExecutionCounter.Delta;
+import com.kylas.sales.workflow.domain.workflow.WorkflowExecutedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class WorkflowExecutionCounterTest {
+
+  private WorkflowFacade workflowFacade;
+  private SimpleMeterRegistry meterRegistry;
+  private WorkflowExecutionCounter counter;
+
+  @BeforeEach
+  void init() {
+    workflowFacade = mock(WorkflowFacade.class);
+    meterRegistry = new SimpleMeterRegistry();
+    counter = new WorkflowExecutionCounter(workflowFacade, meterRegistry, true);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void givenRecordedExecutions_shouldFlushAggregatedDeltasInOneBatch() {
+    counter.record(7L, 1L);
+    counter.record(7L, 1L);
+    counter.record(Map.of(7L, 3L, 8L, 1L));
+
+    counter.flush();
+
+    ArgumentCaptor<Map<Long, Delta>> deltas = ArgumentCaptor.forClass(Map.class);
+    verify(workflowFacade, times(1)).flushExecutedEvents(deltas.capture());
+    assertThat(deltas.getValue().get(7L).getCount()).isEqualTo(5);
+    assertThat(deltas.getValue().get(8L).getCount()).isEqualTo(1);
+    assertThat(deltas.getValue().get(7L).getLastTriggeredAt()).isNotNull();
+
+    counter.flush();
+    verify(workflowFacade, times(1)).flushExecutedEvents(anyMap());
+  }
+
+  @Test
+  public void givenPendingExecutions_shouldMergeThemIntoReads() {
+    var executedEvent = new WorkflowExecutedEvent();
+    executedEvent.setId(7L);
+    executedEvent.setTriggerCount(30L);
+
+    counter.record(7L, 2L);
+
+    assertThat(counter.triggerCountOf(executedEvent)).isEqualTo(32);
+    assertThat(counter.lastTriggeredAtOf(executedEvent)).isNotNull();
+
+    counter.flush();
+    executedEvent.setTriggerCount(32L);
+    assertThat(counter.triggerCountOf(executedEvent)).isEqualTo(32);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void givenFlushedExecutions_shouldDropSettledEntriesAndKeepCountingNewOnes() {
+    counter.record(7L, 1L);
+    counter.record(8L, 1L);
+
+    counter.flush();
+
+    assertThat(meterRegistry.get("workflow.executed.pending").gauge().value()).isZero();
+
+    counter.record(7L, 4L);
+    assertThat(meterRegistry.get("workflow.executed.pending").gauge().value()).isEqualTo(1);
+    counter.flush();
+
+    ArgumentCaptor<Map<Long, Delta>> deltas = ArgumentCaptor.forClass(Map.class);
+    verify(workflowFacade, times(2)).flushExecutedEvents(deltas.capture());
+    assertThat(deltas.getAllValues().get(1)).containsOnlyKeys(7L);
+    assertThat(deltas.getAllValues().get(1).get(7L).getCount()).isEqualTo(4);
+    assertThat(meterRegistry.get("workflow.executed.pending").gauge().value()).isZero();
+  }
+
+  @Test
+  public void givenFailedFlush_shouldRetainDeltasForNextFlush() {
+    willThrow(new IllegalStateException("database unavailable")).given(workflowFacade).flushExecutedEvents(anyMap());
+    counter.record(7L, 2L);
+
+    counter.flush();
+
+    var executedEvent = new WorkflowExecutedEvent();
+    executedEvent.setId(7L);
+    assertThat(counter.triggerCountOf(executedEvent)).isEqualTo(2);
+  }
+
+  @Test
+  public void givenWriteBehindDisabled_shouldWriteThrough() {
+    var writeThrough = new WorkflowExecutionCounter(workflowFacade, new SimpleMeterRegistry(), false);
+
+    writeThrough.record(7L, 1L);
+
+    verify(workflowFacade, times(1)).updateExecutedEvents(Map.of(7L, 1L));
+  }
+}
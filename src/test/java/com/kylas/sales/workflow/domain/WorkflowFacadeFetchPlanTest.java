@@ -0,0 +1,84 @@
+package com.kylas.sales.workflow.domain;
+
+import static com.kylas.sales.workflow.domain.workflow.TriggerFrequency.CREATED;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.kylas.sales.workflow.config.TestDatabaseInitializer;
+import com.kylas.sales.workflow.domain.workflow.EntityType;
+import com.kylas.sales.workflow.domain.workflow.Workflow;
+import com.kylas.sales.workflow.domain.workflow.action.webhook.WebhookAction;
+import java.util.List;
+import javax.persistence.EntityManager;
+import javax.transaction.Transactional;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@ContextConfiguration(initializers = {TestDatabaseInitializer.class})
+class WorkflowFacadeFetchPlanTest {
+
+  @Autowired
+  WorkflowFacade workflowFacade;
+  @Autowired
+  EntityManager entityManager;
+
+  @Transactional
+  @Test
+  @Sql("/test-scripts/create-multiple-actions-workflow.sql")
+  public void givenWorkflowWithWebhookAndEditPropertyActions_shouldLoadExecutionPlanInTwoStatements() {
+    //given
+    var statistics = freshStatistics();
+    //when
+    List<Workflow> workflows = workflowFacade.findActiveBy(99L, EntityType.LEAD, CREATED);
+    //then
+    assertThat(workflows).hasSize(1);
+    var workflow = workflows.get(0);
+    assertThat(workflow.getWorkflowTrigger().getTriggerFrequency()).isEqualTo(CREATED);
+    assertThat(workflow.getWorkflowCondition()).isNotNull();
+    assertThat(workflow.getWorkflowExecutedEvent().getTriggerCount()).isEqualTo(151);
+    assertThat(workflow.getCreatedBy().getName()).isEqualTo("Steve");
+    assertThat(workflow.getWorkflowActions()).hasSize(2);
+    assertThat(workflow.getWorkflowActions().stream()
+        .filter(action -> action instanceof WebhookAction)
+        .map(action -> ((WebhookAction) action).getParameters())
+        .findFirst())
+        .hasValueSatisfying(parameters -> assertThat(parameters).hasSize(1));
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+  }
+
+  @Transactional
+  @Test
+  @Sql("/test-scripts/insert-workflow.sql")
+  public void givenMultipleActiveWorkflows_shouldLoadThemInSingleStatement() {
+    //given
+    var statistics = freshStatistics();
+    //when
+    List<Workflow> workflows = workflowFacade.findActiveBy(99L, EntityType.LEAD, CREATED);
+    //then
+    assertThat(workflows).extracting(Workflow::getId).containsExactlyInAnyOrder(301L, 302L);
+    assertThat(workflows).allSatisfy(workflow -> {
+      assertThat(workflow.getWorkflowActions()).isNotEmpty();
+      assertThat(workflow.getUpdatedBy().getName()).isEqualTo("Steve");
+    });
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+  }
+
+  private Statistics freshStatistics() {
+    entityManager.clear();
+    var statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    statistics.setStatisticsEnabled(true);
+    statistics.clear();
+    return statistics;
+  }
+}
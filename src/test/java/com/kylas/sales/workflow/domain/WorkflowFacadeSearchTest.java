@@ -11,7 +11,7 @@ import com.kylas.sales.workflow.domain.exception.InvalidFilterException;
 import com.kylas.sales.workflow.domain.service.UserService;
 import com.kylas.sales.workflow.domain.user.User;
 import com.kylas.sales.workflow.domain.user.UserFacade;
-import com.kylas.sales.workflow.domain.workflow.Workflow;
+import com.kylas.sales.workflow.domain.workflow.WorkflowEntryRecord;
 import com.kylas.sales.workflow.security.AuthService;
 import com.kylas.sales.workflow.stubs.UserStub;
 import java.util.Arrays;
@@ -65,7 +65,7 @@ class WorkflowFacadeSearchTest {
 
     PageRequest pageable = PageRequest.of(0, 10);
     // when
-    Page<Workflow> pageResponse = workflowFacade.search(pageable, Optional.empty());
+    Page<WorkflowEntryRecord> pageResponse = workflowFacade.search(pageable, Optional.empty());
     // then
     assertThat(pageResponse.getTotalElements()).isEqualTo(3);
     assertThat(pageResponse.getTotalPages()).isEqualTo(1);
@@ -85,7 +85,7 @@ class WorkflowFacadeSearchTest {
 
     PageRequest pageable = PageRequest.of(0, 10);
     // when
-    Page<Workflow> pageResponse = workflowFacade.search(pageable, Optional.empty());
+    Page<WorkflowEntryRecord> pageResponse = workflowFacade.search(pageable, Optional.empty());
     // then
     assertThat(pageResponse.getTotalElements()).isEqualTo(1);
     assertThat(pageResponse.getTotalPages()).isEqualTo(1);
@@ -127,7 +127,7 @@ class WorkflowFacadeSearchTest {
     Sort sortByLastTriggeredAt = Sort.by(Order.desc("workflowExecutedEvent.lastTriggeredAt"));
     PageRequest pageable = PageRequest.of(0, 10, sortByLastTriggeredAt);
     // when
-    Page<Workflow> pageResponse = workflowFacade.search(pageable, Optional.empty());
+    Page<WorkflowEntryRecord> pageResponse = workflowFacade.search(pageable, Optional.empty());
     // then
     assertThat(pageResponse.getTotalElements()).isEqualTo(3);
     assertThat(
@@ -149,7 +149,7 @@ class WorkflowFacadeSearchTest {
     Sort sortByLastTriggeredAt = Sort.by(Order.asc("workflowExecutedEvent.lastTriggeredAt"));
     PageRequest pageable = PageRequest.of(0, 10, sortByLastTriggeredAt);
     // when
-    Page<Workflow> pageResponse = workflowFacade.search(pageable, Optional.empty());
+    Page<WorkflowEntryRecord> pageResponse = workflowFacade.search(pageable, Optional.empty());
     // then
     assertThat(pageResponse.getTotalElements()).isEqualTo(3);
     assertThat(
@@ -172,7 +172,7 @@ class WorkflowFacadeSearchTest {
     Set<WorkflowFilter> workflowFilters = new HashSet<>();
     workflowFilters.add(new WorkflowFilter("equal", "active", "boolean", true));
     // when
-    Page<Workflow> searchResponse = workflowFacade.search(pageable, Optional.of(workflowFilters));
+    Page<WorkflowEntryRecord> searchResponse = workflowFacade.search(pageable, Optional.of(workflowFilters));
     // then
     assertThat(searchResponse.getTotalElements()).isEqualTo(2);
     assertThat(
@@ -198,7 +198,7 @@ class WorkflowFacadeSearchTest {
     Set<WorkflowFilter> workflowFilters = new HashSet<>();
     workflowFilters.add(new WorkflowFilter("equal", "entityType", "string", "lead"));
     // when
-    Page<Workflow> searchResponse = workflowFacade.search(pageable, Optional.of(workflowFilters));
+    Page<WorkflowEntryRecord> searchResponse = workflowFacade.search(pageable, Optional.of(workflowFilters));
     // then
     assertThat(searchResponse.getTotalElements()).isEqualTo(3);
     assertThat(
@@ -226,7 +226,7 @@ class WorkflowFacadeSearchTest {
     Set<WorkflowFilter> workflowFilters = new HashSet<>();
     workflowFilters.add(new WorkflowFilter(operator, "createdAt", "date", fieldValue));
     // when
-    Page<Workflow> searchResponse = workflowFacade.search(pageable, Optional.of(workflowFilters));
+    Page<WorkflowEntryRecord> searchResponse = workflowFacade.search(pageable, Optional.of(workflowFilters));
     // then
     assertThat(
             searchResponse.getContent().stream()
@@ -253,7 +253,7 @@ class WorkflowFacadeSearchTest {
     Set<WorkflowFilter> workflowFilters = new HashSet<>();
     workflowFilters.add(new WorkflowFilter(operator, "createdBy", "long", fieldValue));
     // when
-    Page<Workflow> searchResponse = workflowFacade.search(pageable, Optional.of(workflowFilters));
+    Page<WorkflowEntryRecord> searchResponse = workflowFacade.search(pageable, Optional.of(workflowFilters));
     // then
     assertThat(
             searchResponse.getContent().stream()
@@ -262,6 +262,44 @@ class WorkflowFacadeSearchTest {
         .containsExactly(expectedIds.toArray(new Long[expectedIds.size()]));
   }
 
+  @Transactional
+  @Test
+  @Sql("/test-scripts/insert-lead-workflow-for-multiple-users.sql")
+  public void givenSliceRequest_shouldSkipCountAndSeekPastLastEntry() {
+    // given
+    User aUser =
+        UserStub.aUser(12L, 99L, false, true, true, false, false).withName("user 1");
+    given(authService.getLoggedInUser()).willReturn(aUser);
+    PageRequest pageable = PageRequest.of(0, 2, Sort.by(Order.desc("workflowExecutedEvent.lastTriggeredAt")));
+    // when
+    KeysetSlice<WorkflowEntryRecord> firstSlice = workflowFacade.search(pageable, Optional.empty(), Optional.empty());
+    var keyset = WorkflowKeyset.decode(firstSlice.getNextCursor());
+    KeysetSlice<WorkflowEntryRecord> nextSlice = workflowFacade.search(pageable, Optional.empty(), Optional.of(keyset));
+    // then
+    assertThat(firstSlice).isNotInstanceOf(Page.class);
+    assertThat(firstSlice.getContent().stream().map(WorkflowEntryRecord::getId).collect(toList())).containsExactly(303L, 302L);
+    assertThat(firstSlice.hasNext()).isTrue();
+    assertThat(nextSlice.getContent().stream().map(WorkflowEntryRecord::getId).collect(toList())).containsExactly(301L);
+    assertThat(nextSlice.hasNext()).isFalse();
+    assertThat(nextSlice.getNextCursor()).isNull();
+    assertThat(nextSlice.getContent().get(0).getCreatedByName()).isEqualTo("Steve");
+    assertThat(nextSlice.getContent().get(0).getTriggerCount()).isEqualTo(50L);
+  }
+
+  @Transactional
+  @Test
+  @Sql("/test-scripts/insert-lead-workflow-for-multiple-users.sql")
+  public void givenKeysetOnUnsupportedSort_shouldThrow() {
+    // given
+    User aUser =
+        UserStub.aUser(12L, 99L, false, true, true, false, false).withName("user 1");
+    given(authService.getLoggedInUser()).willReturn(aUser);
+    PageRequest pageable = PageRequest.of(0, 2, Sort.by(Order.asc("name")));
+    // then
+    assertThatThrownBy(() -> workflowFacade.search(pageable, Optional.empty(), Optional.of(new WorkflowKeyset(null, 301L))))
+        .isInstanceOf(InvalidFilterException.class);
+  }
+
   private static Stream<Arguments> createdAtOperatorAndExpectedValues() {
     return Stream.of(
         Arguments.of("greater", "2020-10-23T10:53:58.250z", Arrays.asList(303L)),
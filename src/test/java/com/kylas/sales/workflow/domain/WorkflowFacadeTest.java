@@ -32,6 +32,7 @@ import com.kylas.sales.workflow.common.dto.ActionResponse;
 import com.kylas.sales.workflow.common.dto.UsageRecord;
 import com.kylas.sales.workflow.common.dto.condition.Operator;
 import com.kylas.sales.workflow.config.TestDatabaseInitializer;
+import com.kylas.sales.workflow.domain.WorkflowExecutionCounter.Delta;
 import com.kylas.sales.workflow.domain.exception.InsufficientPrivilegeException;
 import com.kylas.sales.workflow.domain.exception.IntegrationPermissionException;
 import com.kylas.sales.workflow.domain.exception.InvalidActionException;
@@ -62,9 +63,11 @@ import com.kylas.sales.workflow.security.AuthService;
 import com.kylas.sales.workflow.stubs.UserStub;
 import com.kylas.sales.workflow.stubs.WorkflowStub;
 import java.io.IOException;
+import java.sql.Timestamp;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import javax.transaction.Transactional;
@@ -80,6 +83,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpMethod;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
@@ -102,6 +106,8 @@ class WorkflowFacadeTest {
   WorkflowRepository workflowRepository;
   @MockBean
   private WorkflowEventPublisher workflowEventPublisher;
+  @Autowired
+  JdbcTemplate jdbcTemplate;
 
   @Transactional
   @Test
@@ -2162,7 +2168,7 @@ class WorkflowFacadeTest {
     given(authService.getLoggedInUser()).willReturn(aUser);
     Workflow persistedWorkflow = workflowFacade.get(301);
     //when
-    workflowFacade.updateExecutedEvent(persistedWorkflow);
+    workflowFacade.updateExecutedEvents(Map.of(persistedWorkflow.getWorkflowExecutedEvent().getId(), 1L));
     //then
     Workflow updatedWorkflowExecutedEvent = workflowFacade.get(301);
     assertThat(updatedWorkflowExecutedEvent.getWorkflowExecutedEvent().getLastTriggeredAt()).isNotNull();
@@ -2238,4 +2244,26 @@ class WorkflowFacadeTest {
             && record.getCount() == 2);
   }
 
+  @Transactional
+  @Test
+  @Sql("/test-scripts/insert-lead-workflow-for-multiple-users.sql")
+  public void givenExecutionDeltas_shouldIncrementCountsAndKeepLatestTriggerTime() {
+    //given
+    var earlier = Timestamp.valueOf("2020-01-01 00:00:00");
+    var later = Timestamp.valueOf("2021-01-01 00:00:00");
+
+    //when
+    workflowFacade.flushExecutedEvents(Map.of(
+        56L, new Delta(3L, later),
+        55L, new Delta(2L, earlier)));
+
+    //then
+    var rows = jdbcTemplate.queryForList(
+        "SELECT id, trigger_count, last_triggered_at FROM workflow_executed_event WHERE id IN (55, 56) ORDER BY id");
+    assertThat(rows.get(0).get("trigger_count")).isEqualTo(52L);
+    assertThat(rows.get(0).get("last_triggered_at")).isEqualTo(Timestamp.valueOf("2020-02-27 08:58:23.623"));
+    assertThat(rows.get(1).get("trigger_count")).isEqualTo(43L);
+    assertThat(rows.get(1).get("last_triggered_at")).isEqualTo(later);
+  }
+
 }
\ No newline at end of file
@@ -0,0 +1,87 @@
+package com.kylas.sales.workflow.domain.accessor;
+
+import static org.apache.commons.beanutils.BeanUtils.getNestedProperty;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.kylas.sales.workflow.domain.processor.deal.DealDetail;
+import com.kylas.sales.workflow.domain.processor.deal.Money;
+import com.kylas.sales.workflow.domain.processor.deal.Pipeline;
+import com.kylas.sales.workflow.domain.processor.lead.IdName;
+import com.kylas.sales.workflow.domain.processor.lead.Lead;
+import com.kylas.sales.workflow.domain.processor.lead.LeadDetail;
+import java.util.Map;
+import org.apache.commons.beanutils.NestedNullException;
+import org.junit.jupiter.api.Test;
+
+class PropertyAccessorsTest {
+
+  @Test
+  public void givenNestedPath_shouldReturnTypedValue() {
+    var deal = stubDeal();
+
+    assertThat(PropertyAccessors.get(deal, "pipeline.id")).isEqualTo(11L);
+    assertThat(PropertyAccessors.get(deal, "estimatedValue.value")).isEqualTo(2500D);
+    assertThat(PropertyAccessors.get(deal, "pipeline.stage.name")).isEqualTo("Open");
+  }
+
+  @Test
+  public void givenNestedPath_shouldMatchBeanUtilsStringValue() throws Exception {
+    var deal = stubDeal();
+    var lead = new LeadDetail();
+    lead.setOwnerId(new IdName(12L, "Tony"));
+    lead.setRequirementBudget(1000D);
+
+    assertThat(PropertyAccessors.getAsString(deal, "pipeline.id")).isEqualTo(getNestedProperty(deal, "pipeline.id"));
+    assertThat(PropertyAccessors.getAsString(deal, "estimatedValue.value")).isEqualTo(getNestedProperty(deal, "estimatedValue.value"));
+    assertThat(PropertyAccessors.getAsString(lead, "ownerId.name")).isEqualTo(getNestedProperty(lead, "ownerId.name"));
+    assertThat(PropertyAccessors.getAsString(lead, "requirementBudget")).isEqualTo(getNestedProperty(lead, "requirementBudget"));
+  }
+
+  @Test
+  public void givenNullIntermediateProperty_shouldThrowNestedNullException() {
+    var lead = new LeadDetail();
+
+    assertThatThrownBy(() -> PropertyAccessors.get(lead, "ownerId.id")).isInstanceOf(NestedNullException.class);
+  }
+
+  @Test
+  public void givenUnknownProperty_shouldThrowPropertyAccessException() {
+    assertThatThrownBy(() -> PropertyAccessors.get(new LeadDetail(), "unknown")).isInstanceOf(PropertyAccessException.class);
+  }
+
+  @Test
+  public void givenMap_shouldReadEntries() {
+    assertThat(PropertyAccessors.get(Map.of("owner", Map.of("id", 7L)), "owner.id")).isEqualTo(7L);
+  }
+
+  @Test
+  public void givenSameClassAndPath_shouldReuseAccessor() {
+    assertThat(PropertyAccessors.of(DealDetail.class, "pipeline.id")).isSameAs(PropertyAccessors.of(DealDetail.class, "pipeline.id"));
+  }
+
+  @Test
+  public void givenWritableProperty_shouldSetValueThroughCompiledSetter() {
+    var lead = new Lead();
+
+    PropertyAccessors.setter(Lead.class, "firstName").accept(lead, "Tony");
+    PropertyAccessors.setter(Lead.class, "pipeline").accept(lead, 11L);
+
+    assertThat(lead.getFirstName()).isEqualTo("Tony");
+    assertThat(lead.getPipeline()).isEqualTo(11L);
+    assertThat(PropertyAccessors.setter(Lead.class, "firstName")).isSameAs(PropertyAccessors.setter(Lead.class, "firstName"));
+  }
+
+  @Test
+  public void givenUnknownWritableProperty_shouldThrowPropertyAccessException() {
+    assertThat(PropertyAccessors.writeMethod(Lead.class, "unknown")).isEmpty();
+    assertThatThrownBy(() -> PropertyAccessors.setter(Lead.class, "unknown")).isInstanceOf(PropertyAccessException.class);
+  }
+
+  private DealDetail stubDeal() {
+    var deal = new DealDetail();
+    deal.setPipeline(new Pipeline(11L, "Default", new IdName(21L, "Open")));
+    deal.setEstimatedValue(new Money(1L, 2500D));
+    return deal;
+  }
+}
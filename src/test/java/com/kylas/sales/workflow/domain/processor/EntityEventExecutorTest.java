@@ -0,0 +1,95 @@
+package com.kylas.sales.workflow.domain.processor;
+
+import static com.kylas.sales.workflow.domain.workflow.EntityType.LEAD;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.kylas.sales.workflow.domain.processor.lead.LeadDetail;
+import com.kylas.sales.workflow.mq.event.EntityAction;
+import com.kylas.sales.workflow.mq.event.LeadEvent;
+import com.kylas.sales.workflow.mq.event.Metadata;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class EntityEventExecutorTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private EntityEventExecutor executor;
+
+  @BeforeEach
+  void init() {
+    meterRegistry = new SimpleMeterRegistry();
+    executor = new EntityEventExecutor(meterRegistry, 4, 10, 5);
+  }
+
+  @AfterEach
+  void tearDown() throws InterruptedException {
+    executor.shutdown();
+  }
+
+  @Test
+  public void givenEventsForSameEntity_shouldExecuteInSubmissionOrder() {
+    List<Integer> executed = Collections.synchronizedList(new ArrayList<>());
+    List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+    for (int i = 0; i < 100; i++) {
+      var sequence = i;
+      futures.add(executor.dispatch(leadEvent(101L, 55L), () -> executed.add(sequence)));
+    }
+    CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+    assertThat(executed).hasSize(100).isSorted();
+  }
+
+  @Test
+  public void givenEventsForDifferentEntities_shouldSpreadAcrossLanes() {
+    Set<String> threads = ConcurrentHashMap.newKeySet();
+    List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+    for (long entityId = 1; entityId <= 64; entityId++) {
+      futures.add(executor.dispatch(leadEvent(101L, entityId), () -> threads.add(Thread.currentThread().getName())));
+    }
+    CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+    assertThat(threads).hasSizeGreaterThan(1).allMatch(name -> name.startsWith("workflow-lane-"));
+    assertThat(executor.laneOf(101L, LEAD, 7L)).isEqualTo(executor.laneOf(101L, LEAD, 7L));
+  }
+
+  @Test
+  public void givenExecutedEvents_shouldReportLaneMetrics() {
+    executor.dispatch(leadEvent(101L, 55L), () -> {
+    }).join();
+
+    var lane = String.valueOf(executor.laneOf(101L, LEAD, 55L));
+    assertThat(meterRegistry.get("workflow.lane.events").tag("lane", lane).counter().count()).isEqualTo(1);
+    assertThat(meterRegistry.get("workflow.lane.wait").tag("lane", lane).timer().count()).isEqualTo(1);
+    assertThat(meterRegistry.get("workflow.lane.depth").gauges()).hasSize(executor.laneCount());
+  }
+
+  @Test
+  public void givenShutdown_shouldReportShutdownAndRejectDispatch() throws InterruptedException {
+    assertThat(executor.isShutdown()).isFalse();
+
+    executor.shutdown();
+
+    assertThat(executor.isShutdown()).isTrue();
+    assertThatExceptionOfType(RejectedExecutionException.class)
+        .isThrownBy(() -> executor.dispatch(leadEvent(101L, 55L), () -> {
+        }));
+  }
+
+  private LeadEvent leadEvent(long tenantId, long entityId) {
+    var lead = new LeadDetail();
+    lead.setId(entityId);
+    return new LeadEvent(lead, null, new Metadata(tenantId, 10L, LEAD, null, null, EntityAction.UPDATED));
+  }
+}
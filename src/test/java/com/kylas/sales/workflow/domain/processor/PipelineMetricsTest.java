@@ -0,0 +1,72 @@
+package com.kylas.sales.workflow.domain.processor;
+
+import static com.kylas.sales.workflow.domain.workflow.EntityType.DEAL;
+import static com.kylas.sales.workflow.domain.workflow.EntityType.LEAD;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.kylas.sales.workflow.domain.workflow.EntityType;
+import com.kylas.sales.workflow.domain.workflow.action.WorkflowAction.ActionType;
+import com.kylas.sales.workflow.mq.event.EntityAction;
+import com.kylas.sales.workflow.mq.event.Metadata;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PipelineMetricsTest {
+
+  private SimpleMeterRegistry meterRegistry;
+
+  @BeforeEach
+  void init() {
+    meterRegistry = new SimpleMeterRegistry();
+  }
+
+  @Test
+  public void givenTenantTagsDisabled_shouldTagStagesByEntityAndTriggerOnly() {
+    var metrics = new PipelineMetrics(meterRegistry, false, 10);
+
+    metrics.stage(metrics.start(), PipelineMetrics.LOOKUP, metadata(101L, LEAD, EntityAction.CREATED));
+    metrics.action(metrics.start(), ActionType.WEBHOOK, metadata(101L, DEAL, EntityAction.UPDATED));
+
+    var lookup = meterRegistry.get("workflow.pipeline.stage").tags("stage", "lookup", "entity", "LEAD", "trigger", "CREATED").timer();
+    assertThat(lookup.count()).isEqualTo(1);
+    assertThat(lookup.getId().getTag("tenant")).isNull();
+    var webhook = meterRegistry.get("workflow.pipeline.action").tags("action", "WEBHOOK", "entity", "DEAL", "trigger", "UPDATED").timer();
+    assertThat(webhook.count()).isEqualTo(1);
+  }
+
+  @Test
+  public void givenTenantTagsEnabled_shouldCapDistinctTenantsAndFoldTheRestIntoOther() {
+    var metrics = new PipelineMetrics(meterRegistry, true, 2);
+
+    for (long tenantId = 1; tenantId <= 5; tenantId++) {
+      metrics.stage(metrics.start(), PipelineMetrics.LOGIN, metadata(tenantId, LEAD, EntityAction.CREATED));
+    }
+    metrics.stage(metrics.start(), PipelineMetrics.LOGIN, metadata(1L, LEAD, EntityAction.CREATED));
+
+    assertThat(meterRegistry.get("workflow.pipeline.stage").tag("tenant", "1").timer().count()).isEqualTo(2);
+    assertThat(meterRegistry.get("workflow.pipeline.stage").tag("tenant", "2").timer().count()).isEqualTo(1);
+    assertThat(meterRegistry.get("workflow.pipeline.stage").tag("tenant", PipelineMetrics.OTHER_TENANT).timer().count()).isEqualTo(3);
+    assertThat(meterRegistry.get("workflow.pipeline.stage").timers()).hasSize(3);
+  }
+
+  @Test
+  public void givenPublishTimestamp_shouldRecordLagAndIgnoreMissingTimestamps() {
+    var metrics = new PipelineMetrics(meterRegistry, false, 10);
+    var metadata = metadata(101L, LEAD, EntityAction.UPDATED);
+
+    metrics.lag(new Date(System.currentTimeMillis() - 1_500), metadata);
+    metrics.lag(new Date(System.currentTimeMillis() + 60_000), metadata);
+    metrics.lag(null, metadata);
+
+    var lag = meterRegistry.get("workflow.pipeline.lag").tags("entity", "LEAD", "trigger", "UPDATED").timer();
+    assertThat(lag.count()).isEqualTo(2);
+    assertThat(lag.max(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(1_500);
+  }
+
+  private Metadata metadata(long tenantId, EntityType entityType, EntityAction entityAction) {
+    return new Metadata(tenantId, 10L, entityType, null, null, entityAction);
+  }
+}
@@ -46,6 +46,7 @@ import com.kylas.sales.workflow.domain.workflow.TriggerFrequency;
 import com.kylas.sales.workflow.domain.workflow.TriggerType;
 import com.kylas.sales.workflow.domain.workflow.Workflow;
 import com.kylas.sales.workflow.domain.workflow.WorkflowCondition;
+import com.kylas.sales.workflow.domain.workflow.WorkflowExecutedEvent;
 import com.kylas.sales.workflow.domain.workflow.WorkflowTrigger;
 import com.kylas.sales.workflow.domain.workflow.action.AbstractWorkflowAction;
 import com.kylas.sales.workflow.domain.workflow.action.EditPropertyAction;
@@ -63,12 +64,16 @@ import com.kylas.sales.workflow.mq.event.DealEvent;
 import com.kylas.sales.workflow.mq.event.EntityAction;
 import com.kylas.sales.workflow.mq.event.LeadEvent;
 import com.kylas.sales.workflow.mq.event.Metadata;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import lombok.extern.slf4j.Slf4j;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -76,6 +81,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 @ExtendWith(SpringExtension.class)
@@ -94,6 +100,8 @@ class WorkflowProcessorTest {
   private ConditionFacade conditionFacade;
   @Mock
   private CreateTaskService createTaskService;
+  @Spy
+  private PipelineMetrics pipelineMetrics = new PipelineMetrics(new SimpleMeterRegistry(), false, 0);
 
   @Test
   public void givenLeadEvent_shouldPublishPatchCommand() {
@@ -128,6 +136,142 @@ class WorkflowProcessorTest {
     verify(workflowService, times(1)).updateExecutedEventDetails(any(Workflow.class));
   }
 
+  @Test
+  public void givenEditPropertyAction_acrossEvents_shouldCompileSetterOnceAndConvertToPropertyType() {
+    // given
+    long tenantId = 101;
+    Metadata metadata = new Metadata(tenantId, 10L, LEAD, null, null, EntityAction.CREATED);
+    var lead = new LeadDetail();
+    lead.setId(55L);
+
+    var editPropertyAction = new EditPropertyAction();
+    editPropertyAction.setName("photoUrls");
+    editPropertyAction.setValue("[\"https://photos/1.png\"]");
+    editPropertyAction.setValueType(ValueType.ARRAY);
+    Workflow workflowMock = mock(Workflow.class);
+    given(workflowMock.getId()).willReturn(99L);
+    given(workflowMock.getWorkflowActions()).willReturn(Set.of(editPropertyAction));
+    WorkflowTrigger workflowTriggerMock = mock(WorkflowTrigger.class);
+    given(workflowTriggerMock.getTriggerType()).willReturn(TriggerType.EVENT);
+    given(workflowTriggerMock.getTriggerFrequency()).willReturn(CREATED);
+    given(workflowMock.getWorkflowTrigger()).willReturn(workflowTriggerMock);
+
+    given(workflowService.findActiveBy(tenantId, LEAD, CREATED)).willReturn(List.of(workflowMock));
+    when(valueConverter.getValue(any(EditPropertyAction.class), any(Field.class), any(EntityType.class)))
+        .thenReturn(List.of("https://photos/1.png"));
+    // when
+    workflowProcessor.process(new LeadEvent(lead, null, metadata));
+    workflowProcessor.process(new LeadEvent(lead, null, metadata));
+    // then
+    verify(valueConverter, times(1)).getValue(any(EditPropertyAction.class), any(Field.class), any(EntityType.class));
+    ArgumentCaptor<Actionable> entityCaptor = ArgumentCaptor.forClass(Actionable.class);
+    verify(entityUpdatedCommandPublisher, times(2)).execute(any(Metadata.class), entityCaptor.capture());
+    var published = entityCaptor.getAllValues();
+    assertThat(((Lead) published.get(0)).getPhotoUrls()).containsExactly("https://photos/1.png");
+    assertThat(((Lead) published.get(1)).getPhotoUrls()).containsExactly("https://photos/1.png")
+        .isNotSameAs(((Lead) published.get(0)).getPhotoUrls());
+  }
+
+  @Test
+  public void givenLeadEventBatch_shouldLookupWorkflowsOncePerTenantAndAggregateExecutions() {
+    // given
+    long tenantId = 101;
+    long userId = 10L;
+    var firstLead = new LeadDetail();
+    firstLead.setId(55L);
+    var secondLead = new LeadDetail();
+    secondLead.setId(56L);
+    var events = List.of(
+        new LeadEvent(firstLead, null, new Metadata(tenantId, userId, LEAD, null, null, EntityAction.CREATED)),
+        new LeadEvent(secondLead, null, new Metadata(tenantId, userId, LEAD, null, null, EntityAction.CREATED)));
+
+    Workflow workflowMock = getMockEditPropertyWorkflow(99L, CREATED, "firstName", "steve");
+    WorkflowExecutedEvent executedEvent = mock(WorkflowExecutedEvent.class);
+    given(executedEvent.getId()).willReturn(7L);
+    given(workflowMock.getWorkflowExecutedEvent()).willReturn(executedEvent);
+
+    given(workflowService.findActiveBy(tenantId, LEAD, CREATED)).willReturn(List.of(workflowMock));
+    when(valueConverter.getValue(any(EditPropertyAction.class), any(Field.class), any(EntityType.class))).thenReturn("steve");
+    List<Long> processedEntityIds = new ArrayList<>();
+    // when
+    workflowProcessor.process(events, (event, task) -> {
+      processedEntityIds.add(event.getEntityId());
+      task.run();
+      return CompletableFuture.completedFuture(null);
+    });
+    // then
+    assertThat(processedEntityIds).containsExactly(55L, 56L);
+    verify(workflowService, times(1)).findActiveBy(tenantId, LEAD, CREATED);
+    verify(entityUpdatedCommandPublisher, times(2)).execute(any(Metadata.class), any(Actionable.class));
+    verify(workflowService, times(1)).updateExecutedEventDetails(Map.of(7L, 2L));
+    verify(workflowService, times(0)).updateExecutedEventDetails(any(Workflow.class));
+  }
+
+  @Test
+  public void givenLeadEventBatch_whereOneTenantLookupFails_shouldProcessOtherTenants() {
+    // given
+    var firstLead = new LeadDetail();
+    firstLead.setId(55L);
+    var secondLead = new LeadDetail();
+    secondLead.setId(56L);
+    var events = List.of(
+        new LeadEvent(firstLead, null, new Metadata(101L, 10L, LEAD, null, null, EntityAction.CREATED)),
+        new LeadEvent(secondLead, null, new Metadata(102L, 10L, LEAD, null, null, EntityAction.CREATED)));
+
+    Workflow workflowMock = getMockEditPropertyWorkflow(99L, CREATED, "firstName", "steve");
+    WorkflowExecutedEvent executedEvent = mock(WorkflowExecutedEvent.class);
+    given(executedEvent.getId()).willReturn(7L);
+    given(workflowMock.getWorkflowExecutedEvent()).willReturn(executedEvent);
+
+    given(workflowService.findActiveBy(101L, LEAD, CREATED)).willThrow(new IllegalStateException("connection refused"));
+    given(workflowService.findActiveBy(102L, LEAD, CREATED)).willReturn(List.of(workflowMock));
+    when(valueConverter.getValue(any(EditPropertyAction.class), any(Field.class), any(EntityType.class))).thenReturn("steve");
+    List<Long> processedEntityIds = new ArrayList<>();
+    // when
+    workflowProcessor.process(events, (event, task) -> {
+      processedEntityIds.add(event.getEntityId());
+      task.run();
+      return CompletableFuture.completedFuture(null);
+    });
+    // then
+    assertThat(processedEntityIds).containsExactly(56L);
+    verify(entityUpdatedCommandPublisher, times(1)).execute(any(Metadata.class), any(Actionable.class));
+    verify(workflowService, times(1)).updateExecutedEventDetails(Map.of(7L, 1L));
+  }
+
+  @Test
+  public void givenLeadEventBatch_whereDispatchFails_shouldRecordAlreadyDispatchedExecutions() {
+    // given
+    long tenantId = 101;
+    var firstLead = new LeadDetail();
+    firstLead.setId(55L);
+    var secondLead = new LeadDetail();
+    secondLead.setId(56L);
+    var events = List.of(
+        new LeadEvent(firstLead, null, new Metadata(tenantId, 10L, LEAD, null, null, EntityAction.CREATED)),
+        new LeadEvent(secondLead, null, new Metadata(tenantId, 10L, LEAD, null, null, EntityAction.CREATED)));
+
+    Workflow workflowMock = getMockEditPropertyWorkflow(99L, CREATED, "firstName", "steve");
+    WorkflowExecutedEvent executedEvent = mock(WorkflowExecutedEvent.class);
+    given(executedEvent.getId()).willReturn(7L);
+    given(workflowMock.getWorkflowExecutedEvent()).willReturn(executedEvent);
+
+    given(workflowService.findActiveBy(tenantId, LEAD, CREATED)).willReturn(List.of(workflowMock));
+    when(valueConverter.getValue(any(EditPropertyAction.class), any(Field.class), any(EntityType.class))).thenReturn("steve");
+    // when
+    assertThatExceptionOfType(IllegalStateException.class)
+        .isThrownBy(() -> workflowProcessor.process(events, (event, task) -> {
+          if (event.getEntityId() == 56L) {
+            throw new IllegalStateException("Lane 0 is shut down");
+          }
+          task.run();
+          return CompletableFuture.completedFuture(null);
+        }));
+    // then
+    verify(entityUpdatedCommandPublisher, times(1)).execute(any(Metadata.class), any(Actionable.class));
+    verify(workflowService, times(1)).updateExecutedEventDetails(Map.of(7L, 1L));
+  }
+
   @Test
   public void givenMultipleWorkflow_whereOneIsFailing_otherShouldBeExecute() {
     // given
@@ -307,11 +451,32 @@ class WorkflowProcessorTest {
     workflowProcessor.process(leadUpdatedEvent);
     // then
     ArgumentCaptor<Metadata> metadataArgumentCaptor = ArgumentCaptor.forClass(Metadata.class);
-    verify(entityUpdatedCommandPublisher, times(2)).execute(metadataArgumentCaptor.capture(), any(Lead.class));
-    List<Metadata> allValues = metadataArgumentCaptor.getAllValues();
-    assertThat(allValues.size()).isEqualTo(2);
-    assertThat(allValues.get(0).getExecutedWorkflows()).containsExactlyInAnyOrder("WF_99", "WF_100");
-    assertThat(allValues.get(1).getExecutedWorkflows()).containsExactlyInAnyOrder("WF_99", "WF_100");
+    verify(entityUpdatedCommandPublisher, times(1)).execute(metadataArgumentCaptor.capture(), any(Lead.class));
+    Metadata commandMetadata = metadataArgumentCaptor.getValue();
+    assertThat(commandMetadata.getWorkflowId()).isEqualTo("WF_100");
+    assertThat(commandMetadata.getExecutedWorkflows()).containsExactlyInAnyOrder("WF_99", "WF_100");
+  }
+
+  @Test
+  public void givenConflictingEditPropertyActions_shouldPublishOneCommandWithLatestWorkflowValue() {
+    // given
+    long tenantId = 101;
+    long userId = 102;
+    var lead = new LeadDetail();
+    lead.setId(55L);
+    var leadUpdatedEvent = new LeadEvent(lead, lead, new Metadata(tenantId, userId, LEAD, null, null, EntityAction.UPDATED));
+
+    Workflow workflowMock100 = getMockEditPropertyWorkflow(100L, UPDATED, "firstName", "stark");
+    Workflow workflowMock99 = getMockEditPropertyWorkflow(99L, UPDATED, "firstName", "tony");
+    given(workflowService.findActiveBy(tenantId, LEAD, UPDATED)).willReturn(Arrays.asList(workflowMock100, workflowMock99));
+    when(valueConverter.getValue(any(EditPropertyAction.class), any(Field.class), any(EntityType.class)))
+        .thenAnswer(invocation -> ((EditPropertyAction) invocation.getArgument(0)).getValue());
+    // when
+    workflowProcessor.process(leadUpdatedEvent);
+    // then
+    ArgumentCaptor<Actionable> actionableArgumentCaptor = ArgumentCaptor.forClass(Actionable.class);
+    verify(entityUpdatedCommandPublisher, times(1)).execute(any(Metadata.class), actionableArgumentCaptor.capture());
+    assertThat(((Lead) actionableArgumentCaptor.getValue()).getFirstName()).isEqualTo("stark");
   }
 
   @Test
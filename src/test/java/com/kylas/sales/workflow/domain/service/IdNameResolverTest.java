@@ -0,0 +1,84 @@
+package com.kylas.sales.workflow.domain.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.kylas.sales.workflow.domain.processor.lead.IdName;
+import com.kylas.sales.workflow.domain.service.IdNameResolver.Kind;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class IdNameResolverTest {
+
+  private static final String TOKEN =
+      "eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9.eyJpc3MiOiJzZWxsIiwiZGF0YSI6eyJleHBpcmVzSW4iOjQzMTk5LCJleHBpcnkiOjE1NzY0OTM3MTAsInRva2VuVHlwZSI6ImJlYXJlciIsInBlcm1pc3Npb25zIjpbeyJpZCI6NCwibmFtZSI6ImxlYWQiLCJkZXNjcmlwdGlvbiI6ImhhcyBhY2Nlc3MgdG8gbGVhZCByZXNvdXJjZSIsImxpbWl0cyI6LTEsInVuaXRzIjoiY291bnQiLCJhY3Rpb24iOnsicmVhZCI6dHJ1ZSwid3JpdGUiOnRydWUsInVwZGF0ZSI6dHJ1ZSwiZGVsZXRlIjp0cnVlLCJlbWFpbCI6ZmFsc2UsImNhbGwiOmZhbHNlLCJzbXMiOmZhbHNlLCJ0YXNrIjp0cnVlLCJub3RlIjp0cnVlLCJyZWFkQWxsIjp0cnVlLCJ1cGRhdGVBbGwiOnRydWV9fSx7ImlkIjo3LCJuYW1lIjoicHJvZHVjdHMtc2VydmljZXMiLCJkZXNjcmlwdGlvbiI6ImhhcyBhY2Nlc3MgdG8gdGVhbSByZXNvdXJjZSIsImxpbWl0cyI6LTEsInVuaXRzIjoiY291bnQiLCJhY3Rpb24iOnsicmVhZCI6dHJ1ZSwid3JpdGUiOnRydWUsInVwZGF0ZSI6dHJ1ZSwiZGVsZXRlIjp0cnVlLCJlbWFpbCI6ZmFsc2UsImNhbGwiOmZhbHNlLCJzbXMiOmZhbHNlLCJ0YXNrIjpmYWxzZSwibm90ZSI6ZmFsc2UsInJlYWRBbGwiOnRydWUsInVwZGF0ZUFsbCI6dHJ1ZX19XSwidXNlcklkIjoiMTIiLCJ1c2VybmFtZSI6InRvbnlAc3RhcmsuY29tIiwidGVuYW50SWQiOiIxNCJ9fQ.Ac464gjHy_U0_B9r6NNr02zlrMXWSWQO1Fmp9jhm8ok";
+
+  private PipelineService pipelineService;
+  private ProductService productService;
+  private ConfigService configService;
+  private SimpleMeterRegistry meterRegistry;
+  private IdNameResolver idNameResolver;
+
+  @BeforeEach
+  void init() {
+    pipelineService = mock(PipelineService.class);
+    productService = mock(ProductService.class);
+    configService = mock(ConfigService.class);
+    meterRegistry = new SimpleMeterRegistry();
+    idNameResolver = new IdNameResolver(pipelineService, productService, mock(CompanyService.class), configService, meterRegistry,
+        true, 100, 60, 10);
+  }
+
+  @Test
+  public void givenRepeatedLookups_shouldCallRemoteServiceOnce() {
+    given(pipelineService.getPipeline(eq(11L), eq(TOKEN))).willReturn(Mono.just(new IdName(11L, "Routine")));
+
+    var first = idNameResolver.resolve(Kind.PIPELINE, 11L, TOKEN).block(Duration.ofSeconds(5));
+    var second = idNameResolver.resolve(Kind.PIPELINE, 11L, TOKEN).block(Duration.ofSeconds(5));
+
+    assertThat(first.getName()).isEqualTo("Routine");
+    assertThat(second).isSameAs(first);
+    verify(pipelineService, times(1)).getPipeline(11L, TOKEN);
+    assertThat(meterRegistry.get("workflow.idname.lookup").tag("kind", "PIPELINE").tag("result", "hit").counter().count())
+        .isEqualTo(1);
+    assertThat(meterRegistry.get("workflow.idname.lookup").tag("kind", "PIPELINE").tag("result", "miss").counter().count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  public void givenMissingEntity_shouldCacheAbsence() {
+    given(productService.getProduct(eq(7L), eq(TOKEN)))
+        .willReturn(Mono.error(WebClientResponseException.create(404, "Not Found", null, null, null)));
+
+    var first = idNameResolver.resolve(Kind.PRODUCT, 7L, TOKEN).blockOptional(Duration.ofSeconds(5));
+    var second = idNameResolver.resolve(Kind.PRODUCT, 7L, TOKEN).blockOptional(Duration.ofSeconds(5));
+
+    assertThat(first).isEmpty();
+    assertThat(second).isEmpty();
+    verify(productService, times(1)).getProduct(7L, TOKEN);
+  }
+
+  @Test
+  public void givenCurrencyIds_shouldResolveMissingOnesInSingleCall() {
+    given(configService.getCurrency(eq(List.of(1L)), eq(TOKEN))).willReturn(Flux.just(new IdName(1L, "INR")));
+    given(configService.getCurrency(eq(List.of(2L, 3L)), eq(TOKEN))).willReturn(Flux.just(new IdName(2L, "USD")));
+    idNameResolver.resolve(Kind.CURRENCY, 1L, TOKEN).block(Duration.ofSeconds(5));
+
+    var currencies = idNameResolver.resolveAll(Kind.CURRENCY, List.of(1L, 2L, 3L, 2L), TOKEN).block(Duration.ofSeconds(5));
+
+    assertThat(currencies).containsOnlyKeys(1L, 2L);
+    assertThat(currencies.get(2L).getName()).isEqualTo("USD");
+    verify(configService, times(2)).getCurrency(any(), eq(TOKEN));
+  }
+}
@@ -104,4 +104,16 @@ class WorkflowRequestTest {
     //then
     assertThatExceptionOfType(InvalidValueTypeException.class).isThrownBy(() -> workflowFacade.validate(workflowRequest));
   }
+
+  @Test
+  public void givenWorkflowRequest_withUnknownStandardField_shouldThrow() {
+    //given
+    var actions = new HashSet<ActionResponse>();
+    actions.add(new ActionResponse(EDIT_PROPERTY, new EditPropertyAction("firstNames", "test name", PLAIN, true)));
+    var workflowRequest = WorkflowStub
+        .aWorkflowRequestWithActions("Workflow 1", "Workflow Description", LEAD, EVENT, CREATED, FOR_ALL, true, actions);
+    //when
+    //then
+    assertThatExceptionOfType(InvalidActionException.class).isThrownBy(() -> workflowFacade.validate(workflowRequest));
+  }
 }
@@ -1,5 +1,6 @@
 package com.kylas.sales.workflow.domain.workflow.action.webhook;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -16,6 +17,7 @@ import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.core.env.Environment;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
@@ -61,4 +63,18 @@ class WebhookControllerTest {
     verify(webhookService, times(1)).getConfigurations(EntityType.LEAD);
   }
 
-}
\ No newline at end of file
+  @Test
+  public void refreshWebhookConfigurations_shouldRefreshIt() {
+    //when
+    var response = buildWebClient()
+        .post()
+        .uri("/v1/workflows/webhook/config/refresh")
+        .retrieve()
+        .toBodilessEntity();
+    //then
+    StepVerifier.create(response)
+        .assertNext(entity -> assertThat(entity.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT))
+        .verifyComplete();
+    verify(webhookService, times(1)).refreshConfigurations();
+  }
+}
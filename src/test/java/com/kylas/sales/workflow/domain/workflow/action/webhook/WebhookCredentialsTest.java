@@ -0,0 +1,83 @@
+package com.kylas.sales.workflow.domain.workflow.action.webhook;
+
+import static com.kylas.sales.workflow.common.dto.ActionDetail.WebhookAction.AuthorizationType.BEARER_TOKEN;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.http.HttpMethod.GET;
+
+import com.kylas.sales.workflow.domain.workflow.Workflow;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Base64;
+import java.util.Date;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+class WebhookCredentialsTest {
+
+  private CryptoService cryptoService;
+  private WebhookCredentials webhookCredentials;
+
+  @BeforeEach
+  void init() {
+    cryptoService = spy(new CryptoService("test-secret"));
+    webhookCredentials = new WebhookCredentials(cryptoService, Jackson2ObjectMapperBuilder.json().build(), new SimpleMeterRegistry(), 100, 60);
+  }
+
+  @Test
+  public void givenSameActionAndUpdatedAt_shouldDecryptOnce() {
+    var action = action(workflow(1L, new Date(1000L)), "some-token");
+
+    var first = webhookCredentials.of(action);
+    var second = webhookCredentials.of(action);
+
+    assertThat(second).isSameAs(first);
+    assertThat(second.getToken()).isEqualTo("some-token");
+    verify(cryptoService, times(1)).decrypt(anyString());
+  }
+
+  @Test
+  public void givenUpdatedWorkflow_shouldDecryptAgain() {
+    var workflow = workflow(1L, new Date(1000L));
+    var action = action(workflow, "some-token");
+    webhookCredentials.of(action);
+
+    workflow.setUpdatedAt(new Date(2000L));
+    webhookCredentials.of(action);
+
+    verify(cryptoService, times(2)).decrypt(anyString());
+  }
+
+  @Test
+  public void givenInvalidatedWorkflow_shouldDecryptAgain() {
+    var action = action(workflow(1L, new Date(1000L)), "some-token");
+    webhookCredentials.of(action);
+
+    webhookCredentials.invalidate(1L);
+    webhookCredentials.of(action);
+
+    verify(cryptoService, times(2)).decrypt(anyString());
+  }
+
+  private Workflow workflow(Long id, Date updatedAt) {
+    var workflow = new Workflow();
+    workflow.setId(id);
+    workflow.setUpdatedAt(updatedAt);
+    return workflow;
+  }
+
+  private WebhookAction action(Workflow workflow, String token) {
+    var authorization = "{\"token\":\"" + token + "\"}";
+    var encrypted = cryptoService.encrypt(Base64.getEncoder().encodeToString(authorization.getBytes(UTF_8)));
+    var action = new WebhookAction("webhook", "desc", GET, BEARER_TOKEN, "https://some-host/hook", emptyList(), encrypted);
+    action.setId(UUID.randomUUID());
+    action.setWorkflow(workflow);
+    return action;
+  }
+}
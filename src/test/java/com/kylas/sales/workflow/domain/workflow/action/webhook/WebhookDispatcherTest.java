@@ -0,0 +1,177 @@
+package com.kylas.sales.workflow.domain.workflow.action.webhook;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.kylas.sales.workflow.domain.workflow.action.webhook.WebhookDispatcher.OverflowPolicy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+
+class WebhookDispatcherTest {
+
+  private ExchangeFunction exchangeFunction;
+  private WebClient webClient;
+  private SimpleMeterRegistry meterRegistry;
+
+  @BeforeEach
+  void init() {
+    exchangeFunction = mock(ExchangeFunction.class);
+    webClient = WebClient.builder().exchangeFunction(exchangeFunction).build();
+    meterRegistry = new SimpleMeterRegistry();
+  }
+
+  @Test
+  public void givenHostAtConcurrencyLimit_shouldQueueAndDropOverflow() {
+    given(exchangeFunction.exchange(any())).willReturn(Mono.never());
+    var dispatcher = new WebhookDispatcher(webClient, meterRegistry, 10, 1, 1, 10, OverflowPolicy.DROP_NEWEST, 1000, 0, 1, 1, 5, 30);
+
+    dispatcher.dispatch(request("101", "http://slow-host/hook"));
+    dispatcher.dispatch(request("101", "http://slow-host/hook"));
+    dispatcher.dispatch(request("101", "http://slow-host/hook"));
+
+    verify(exchangeFunction, times(1)).exchange(any());
+    assertThat(dispatcher.pendingCount()).isEqualTo(1);
+    assertThat(meterRegistry.get("workflow.webhook.drops").tag("reason", "queue_full").counter().count()).isEqualTo(1);
+    assertThat(meterRegistry.get("workflow.webhook.inflight").gauge().value()).isEqualTo(1);
+  }
+
+  @Test
+  public void givenServerError_shouldRetryWithBackoff() {
+    given(exchangeFunction.exchange(any()))
+        .willReturn(Mono.just(ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build()))
+        .willReturn(Mono.just(ClientResponse.create(HttpStatus.OK).build()));
+    var dispatcher = new WebhookDispatcher(webClient, meterRegistry, 10, 10, 10, 10, OverflowPolicy.DROP_OLDEST, 1000, 3, 1, 5, 5, 30);
+
+    dispatcher.dispatch(request("101", "http://flaky-host/hook"));
+
+    verify(exchangeFunction, timeout(2000).times(2)).exchange(any());
+    assertThat(meterRegistry.get("workflow.webhook.retries").counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  public void givenClientError_shouldNotRetry() {
+    given(exchangeFunction.exchange(any())).willReturn(Mono.just(ClientResponse.create(HttpStatus.BAD_REQUEST).build()));
+    var dispatcher = new WebhookDispatcher(webClient, meterRegistry, 10, 10, 10, 10, OverflowPolicy.DROP_OLDEST, 1000, 3, 1, 5, 5, 30);
+
+    dispatcher.dispatch(request("101", "http://strict-host/hook"));
+
+    verify(exchangeFunction, times(1)).exchange(any());
+    assertThat(meterRegistry.get("workflow.webhook.requests").tag("status", "400").tag("outcome", "failure").timer().count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  public void givenRepeatedFailures_shouldOpenCircuitForHost() {
+    given(exchangeFunction.exchange(any())).willReturn(Mono.just(ClientResponse.create(HttpStatus.INTERNAL_SERVER_ERROR).build()));
+    var dispatcher = new WebhookDispatcher(webClient, meterRegistry, 10, 10, 10, 10, OverflowPolicy.DROP_OLDEST, 1000, 0, 1, 5, 2, 30);
+
+    dispatcher.dispatch(request("101", "http://broken-host/hook"));
+    dispatcher.dispatch(request("102", "http://broken-host/hook"));
+    dispatcher.dispatch(request("103", "http://broken-host/hook"));
+    dispatcher.dispatch(request("101", "http://healthy-host/hook"));
+
+    verify(exchangeFunction, times(3)).exchange(any());
+    assertThat(meterRegistry.get("workflow.webhook.circuit.opened").counter().count()).isEqualTo(1);
+    assertThat(meterRegistry.get("workflow.webhook.drops").tag("reason", "circuit_open").counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  public void givenSubmittedRequest_shouldDispatchOnceParametersAreResolved() {
+    given(exchangeFunction.exchange(any())).willReturn(Mono.just(ClientResponse.create(HttpStatus.OK).build()));
+    var dispatcher = new WebhookDispatcher(webClient, meterRegistry, 10, 10, 10, 1, OverflowPolicy.DROP_OLDEST, 1000, 0, 1, 5, 5, 30);
+    var pendingParameters = MonoProcessor.<WebhookRequest>create();
+
+    dispatcher.submit(pendingParameters, UUID.randomUUID());
+
+    verify(exchangeFunction, times(0)).exchange(any());
+    assertThat(meterRegistry.get("workflow.webhook.preparing").gauge().value()).isEqualTo(1);
+
+    pendingParameters.onNext(request("101", "http://some-host/hook"));
+
+    verify(exchangeFunction, times(1)).exchange(any());
+    assertThat(meterRegistry.get("workflow.webhook.preparing").gauge().value()).isZero();
+  }
+
+  @Test
+  public void givenServerErrorOnPost_shouldNotRetryWithoutRetryAfter() {
+    given(exchangeFunction.exchange(any())).willReturn(Mono.just(ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build()));
+    var dispatcher = new WebhookDispatcher(webClient, meterRegistry, 10, 10, 10, 10, OverflowPolicy.DROP_OLDEST, 1000, 3, 1, 5, 5, 30);
+
+    dispatcher.dispatch(request("101", HttpMethod.POST, "http://flaky-host/hook"));
+
+    verify(exchangeFunction, times(1)).exchange(any());
+    assertThat(meterRegistry.get("workflow.webhook.retries").counter().count()).isZero();
+  }
+
+  @Test
+  public void givenServiceUnavailableWithRetryAfterOnPost_shouldRetry() {
+    given(exchangeFunction.exchange(any()))
+        .willReturn(Mono.just(ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "0").build()))
+        .willReturn(Mono.just(ClientResponse.create(HttpStatus.OK).build()));
+    var dispatcher = new WebhookDispatcher(webClient, meterRegistry, 10, 10, 10, 10, OverflowPolicy.DROP_OLDEST, 1000, 3, 1, 5, 5, 30);
+
+    dispatcher.dispatch(request("101", HttpMethod.POST, "http://busy-host/hook"));
+
+    verify(exchangeFunction, timeout(2000).times(2)).exchange(any());
+    assertThat(meterRegistry.get("workflow.webhook.retries").counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  public void givenIoErrorOnPost_shouldRetryOnlyConnectFailures() {
+    given(exchangeFunction.exchange(any()))
+        .willReturn(Mono.error(new ConnectException("Connection refused")))
+        .willReturn(Mono.error(new IOException("Connection reset by peer")));
+    var dispatcher = new WebhookDispatcher(webClient, meterRegistry, 10, 10, 10, 10, OverflowPolicy.DROP_OLDEST, 1000, 3, 1, 5, 5, 30);
+
+    dispatcher.dispatch(request("101", HttpMethod.POST, "http://unstable-host/hook"));
+
+    verify(exchangeFunction, timeout(2000).times(2)).exchange(any());
+    assertThat(meterRegistry.get("workflow.webhook.requests").tag("status", "IO_ERROR").tag("outcome", "failure").timer().count())
+        .isEqualTo(1);
+    assertThat(meterRegistry.get("workflow.webhook.retries").counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  public void givenLongQueueOfFastResponses_shouldDrainWithoutGrowingTheStack() {
+    var first = MonoProcessor.<ClientResponse>create();
+    given(exchangeFunction.exchange(any()))
+        .willReturn(first)
+        .willAnswer(invocation -> Mono.just(ClientResponse.create(HttpStatus.OK).build()));
+    var dispatcher = new WebhookDispatcher(webClient, meterRegistry, 10, 1, 20000, 10, OverflowPolicy.DROP_NEWEST, 1000, 0, 1, 5, 5, 30);
+    for (int i = 0; i < 10000; i++) {
+      dispatcher.dispatch(request("101", "http://fast-host/hook"));
+    }
+
+    first.onNext(ClientResponse.create(HttpStatus.OK).build());
+
+    verify(exchangeFunction, times(10000)).exchange(any());
+    assertThat(dispatcher.pendingCount()).isZero();
+  }
+
+  private WebhookRequest request(String tenantId, String url) {
+    return request(tenantId, HttpMethod.GET, url);
+  }
+
+  private WebhookRequest request(String tenantId, HttpMethod method, String url) {
+    return new WebhookRequest(tenantId, UUID.randomUUID(), method, URI.create(url), BodyInserters.empty(), headers -> {
+    });
+  }
+}
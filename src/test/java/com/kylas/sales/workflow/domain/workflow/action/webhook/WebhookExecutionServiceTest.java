@@ -31,12 +31,15 @@ import com.kylas.sales.workflow.domain.service.UserService;
 import com.kylas.sales.workflow.domain.user.User;
 import com.kylas.sales.workflow.domain.user.User.Metadata;
 import com.kylas.sales.workflow.domain.workflow.EntityType;
+import com.kylas.sales.workflow.domain.workflow.action.webhook.WebhookDispatcher.OverflowPolicy;
 import com.kylas.sales.workflow.domain.workflow.action.webhook.attribute.AttributeFactory.LeadAttribute;
 import com.kylas.sales.workflow.domain.workflow.action.webhook.attribute.AttributeFactory.UserAttribute;
 import com.kylas.sales.workflow.domain.workflow.action.webhook.attribute.AttributeFactory.WebhookEntity;
 import com.kylas.sales.workflow.domain.workflow.action.webhook.attribute.TenantAttribute;
 import com.kylas.sales.workflow.domain.workflow.action.webhook.parameter.ParameterBuilder;
+import com.kylas.sales.workflow.mq.WorkflowEventPublisher;
 import com.kylas.sales.workflow.security.AuthService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.io.IOException;
 import java.util.Base64;
 import java.util.Collections;
@@ -77,6 +80,8 @@ class WebhookExecutionServiceTest {
   private UserService userService;
   @Mock
   private ExchangeFunction exchangeFunction;
+  @Mock
+  private WorkflowEventPublisher workflowEventPublisher;
   @MockBean
   private EntityTypeConfiguration entityTypeConfiguration;
   @Autowired
@@ -92,7 +97,10 @@ class WebhookExecutionServiceTest {
   void init() {
     WebClient webClient =
         WebClient.builder().exchangeFunction(exchangeFunction).build();
-    webhookService = new WebhookService(entityTypeConfiguration, authService, webClient, cryptoService, objectMapper, parameterBuilders);
+    var webhookDispatcher = new WebhookDispatcher(webClient, new SimpleMeterRegistry(), 10, 10, 100, 100, OverflowPolicy.DROP_NEWEST, 1000, 0, 100, 1000, 5, 30);
+    webhookService = new WebhookService(entityTypeConfiguration, authService, webhookDispatcher,
+        new WebhookCredentials(cryptoService, objectMapper, new SimpleMeterRegistry(), 100, 60), parameterBuilders,
+        workflowEventPublisher);
   }
 
   @Test
@@ -2,22 +2,31 @@ package com.kylas.sales.workflow.domain.workflow.action.webhook;
 
 import static com.kylas.sales.workflow.common.dto.ActionDetail.WebhookAction.AuthorizationType.NONE;
 import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.springframework.http.HttpMethod.GET;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kylas.sales.workflow.domain.exception.InsufficientPrivilegeException;
 import com.kylas.sales.workflow.domain.processor.lead.IdName;
 import com.kylas.sales.workflow.domain.processor.lead.LeadDetail;
-import com.kylas.sales.workflow.domain.service.ConfigService;
+import com.kylas.sales.workflow.domain.service.IdNameResolver;
 import com.kylas.sales.workflow.domain.service.UserService;
 import com.kylas.sales.workflow.domain.workflow.EntityType;
+import com.kylas.sales.workflow.domain.workflow.action.webhook.WebhookDispatcher.OverflowPolicy;
 import com.kylas.sales.workflow.domain.workflow.action.webhook.parameter.ContactParameterBuilder;
 import com.kylas.sales.workflow.domain.workflow.action.webhook.parameter.DealParameterBuilder;
 import com.kylas.sales.workflow.domain.workflow.action.webhook.parameter.LeadParameterBuilder;
 import com.kylas.sales.workflow.domain.workflow.action.webhook.parameter.ParameterBuilder;
+import com.kylas.sales.workflow.mq.WorkflowEventPublisher;
 import com.kylas.sales.workflow.security.AuthService;
+import com.kylas.sales.workflow.stubs.UserStub;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
@@ -45,10 +54,12 @@ class WebhookServiceTest {
   @Mock
   private UserService userService;
   @Mock
-  private ConfigService configService;
+  private IdNameResolver idNameResolver;
   @Mock
   private ExchangeFunction exchangeFunction;
   @Mock
+  private WorkflowEventPublisher workflowEventPublisher;
+  @Mock
   private CryptoService cryptoService;
   @Mock
   private ObjectMapper objectMapper;
@@ -56,10 +67,13 @@ class WebhookServiceTest {
   @BeforeEach
   void init() {
     List<ParameterBuilder> parameterBuilders = new ArrayList<>();
-    parameterBuilders.add(new LeadParameterBuilder(userService,configService));
+    parameterBuilders.add(new LeadParameterBuilder(userService, idNameResolver));
        WebClient webClient =
         WebClient.builder().exchangeFunction(exchangeFunction).build();
-    webhookService = new WebhookService(entityTypeConfiguration, authService, webClient, cryptoService, objectMapper, parameterBuilders);
+    var webhookDispatcher = new WebhookDispatcher(webClient, new SimpleMeterRegistry(), 10, 10, 100, 100, OverflowPolicy.DROP_NEWEST, 1000, 0, 100, 1000, 5, 30);
+    webhookService = new WebhookService(entityTypeConfiguration, authService, webhookDispatcher,
+        new WebhookCredentials(cryptoService, objectMapper, new SimpleMeterRegistry(), 100, 60), parameterBuilders,
+        workflowEventPublisher);
   }
 
 
@@ -84,5 +98,24 @@ class WebhookServiceTest {
     assertDoesNotThrow(() -> webhookService.execute(action, lead, EntityType.LEAD));
   }
 
+  @Test
+  public void givenUserWithUpdatePermission_shouldRefreshConfigurationsOnAllInstances() {
+    //given
+    given(authService.getLoggedInUser()).willReturn(UserStub.aUser(12L, 99L, true, true, true, true, false));
+    //when
+    webhookService.refreshConfigurations();
+    //then
+    verify(entityTypeConfiguration).refresh("99");
+    verify(workflowEventPublisher).publishWebhookConfigRefreshed(argThat(event -> event.getTenantId() == 99L));
+  }
 
-}
\ No newline at end of file
+  @Test
+  public void givenUserWithoutUpdatePermission_shouldNotRefreshConfigurations() {
+    //given
+    given(authService.getLoggedInUser()).willReturn(UserStub.aUser(12L, 99L, true, true, true, false, false));
+    //when
+    //then
+    assertThatThrownBy(() -> webhookService.refreshConfigurations()).isInstanceOf(InsufficientPrivilegeException.class);
+    verifyNoInteractions(entityTypeConfiguration, workflowEventPublisher);
+  }
+}
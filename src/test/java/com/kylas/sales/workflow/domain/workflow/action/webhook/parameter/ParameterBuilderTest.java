@@ -0,0 +1,121 @@
+package com.kylas.sales.workflow.domain.workflow.action.webhook.parameter;
+
+import static com.kylas.sales.workflow.common.dto.ActionDetail.WebhookAction.AuthorizationType.NONE;
+import static com.kylas.sales.workflow.domain.workflow.action.webhook.attribute.AttributeFactory.WebhookEntity.CREATED_BY;
+import static com.kylas.sales.workflow.domain.workflow.action.webhook.attribute.AttributeFactory.WebhookEntity.CUSTOM;
+import static com.kylas.sales.workflow.domain.workflow.action.webhook.attribute.AttributeFactory.WebhookEntity.DEAL;
+import static com.kylas.sales.workflow.domain.workflow.action.webhook.attribute.AttributeFactory.WebhookEntity.LEAD;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.http.HttpMethod.GET;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kylas.sales.workflow.domain.processor.deal.DealDetail;
+import com.kylas.sales.workflow.domain.processor.deal.Money;
+import com.kylas.sales.workflow.domain.processor.lead.IdName;
+import com.kylas.sales.workflow.domain.processor.lead.LeadDetail;
+import com.kylas.sales.workflow.domain.service.IdNameResolver;
+import com.kylas.sales.workflow.domain.service.IdNameResolver.Kind;
+import com.kylas.sales.workflow.domain.service.UserService;
+import com.kylas.sales.workflow.domain.user.User;
+import com.kylas.sales.workflow.domain.workflow.action.webhook.Parameter;
+import com.kylas.sales.workflow.domain.workflow.action.webhook.WebhookAction;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class ParameterBuilderTest {
+
+  private UserService userService;
+  private IdNameResolver idNameResolver;
+
+  @BeforeEach
+  void init() {
+    userService = mock(UserService.class);
+    idNameResolver = mock(IdNameResolver.class);
+  }
+
+  @Test
+  public void givenAction_shouldCompilePlanOnce() {
+    var builder = new LeadParameterBuilder(userService, idNameResolver);
+    var action = action(new Parameter("name", LEAD, "firstName", true));
+
+    var plan = builder.planFor(action);
+
+    assertThat(builder.planFor(action)).isSameAs(plan);
+    assertThat(plan.getUsers()).isEmpty();
+    assertThat(plan.isTenantRequired()).isFalse();
+    assertThat(plan.getUriTemplate().getHost()).isEqualTo("some-host");
+  }
+
+  @Test
+  public void givenOnlyEntityParameters_shouldNotLookupUsersOrTenant() {
+    var builder = new LeadParameterBuilder(userService, idNameResolver);
+    var lead = new LeadDetail();
+    lead.setFirstName("Tony");
+    lead.setOwnerId(new IdName(1000L, "user"));
+    var action = action(new Parameter("name", LEAD, "firstName", true), new Parameter("source", CUSTOM, "workflow", false));
+
+    StepVerifier.create(builder.build(action, lead, "token"))
+        .assertNext(parameters -> assertThat(parameters)
+            .containsEntry("name", List.of("Tony"))
+            .containsEntry("source", List.of("workflow")))
+        .verifyComplete();
+
+    verify(userService, never()).getUserDetails(anyLong(), anyString());
+    verify(userService, never()).getTenantDetails(anyString());
+  }
+
+  @Test
+  public void givenCreatedByParameter_shouldLookupOnlyCreator() throws Exception {
+    var builder = new LeadParameterBuilder(userService, idNameResolver);
+    var lead = new LeadDetail();
+    lead.setOwnerId(new IdName(1000L, "owner"));
+    lead.setCreatedBy(new IdName(2000L, "creator"));
+    var creator = new ObjectMapper().readValue("{\"id\":2000,\"firstName\":\"Steve\",\"metaData\":{\"idNameStore\":{}}}", User.class);
+    given(userService.getUserDetails(eq(2000L), anyString())).willReturn(Mono.just(creator));
+    var action = action(new Parameter("creator", CREATED_BY, "firstName", true));
+
+    StepVerifier.create(builder.build(action, lead, "token"))
+        .assertNext(parameters -> assertThat(parameters).containsEntry("creator", List.of("Steve")))
+        .verifyComplete();
+
+    verify(userService, times(1)).getUserDetails(anyLong(), anyString());
+    verify(userService, never()).getTenantDetails(anyString());
+  }
+
+  @Test
+  public void givenMoneyParameters_shouldResolveCurrenciesInOneLookup() {
+    var builder = new DealParameterBuilder(userService, idNameResolver);
+    var deal = new DealDetail();
+    deal.setActualValue(new Money(1L, 100.0));
+    deal.setEstimatedValue(new Money(2L, 200.0));
+    given(idNameResolver.resolveAll(eq(Kind.CURRENCY), any(), anyString()))
+        .willReturn(Mono.just(Map.of(1L, new IdName(1L, "INR"), 2L, new IdName(2L, "USD"))));
+    var action = action(new Parameter("actual", DEAL, "actualValue", true), new Parameter("estimated", DEAL, "estimatedValue", true));
+
+    StepVerifier.create(builder.build(action, deal, "token"))
+        .assertNext(parameters -> assertThat(parameters)
+            .containsEntry("actual", List.of("INR 100.0"))
+            .containsEntry("estimated", List.of("USD 200.0")))
+        .verifyComplete();
+
+    verify(idNameResolver, times(1)).resolveAll(eq(Kind.CURRENCY), any(), anyString());
+  }
+
+  private WebhookAction action(Parameter... parameters) {
+    return new WebhookAction("webhook", "desc", GET, NONE, "https://some-host/hook", new ArrayList<>(List.of(parameters)), null);
+  }
+}
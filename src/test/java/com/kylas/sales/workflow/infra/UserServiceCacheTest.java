@@ -0,0 +1,72 @@
+package com.kylas.sales.workflow.infra;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.kylas.sales.workflow.config.WebClientFactory;
+import com.kylas.sales.workflow.domain.service.UserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+class UserServiceCacheTest {
+
+  private static final String TOKEN =
+      "eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9.eyJpc3MiOiJzZWxsIiwiZGF0YSI6eyJleHBpcmVzSW4iOjQzMTk5LCJleHBpcnkiOjE1NzY0OTM3MTAsInRva2VuVHlwZSI6ImJlYXJlciIsInBlcm1pc3Npb25zIjpbeyJpZCI6NCwibmFtZSI6ImxlYWQiLCJkZXNjcmlwdGlvbiI6ImhhcyBhY2Nlc3MgdG8gbGVhZCByZXNvdXJjZSIsImxpbWl0cyI6LTEsInVuaXRzIjoiY291bnQiLCJhY3Rpb24iOnsicmVhZCI6dHJ1ZSwid3JpdGUiOnRydWUsInVwZGF0ZSI6dHJ1ZSwiZGVsZXRlIjp0cnVlLCJlbWFpbCI6ZmFsc2UsImNhbGwiOmZhbHNlLCJzbXMiOmZhbHNlLCJ0YXNrIjp0cnVlLCJub3RlIjp0cnVlLCJyZWFkQWxsIjp0cnVlLCJ1cGRhdGVBbGwiOnRydWV9fSx7ImlkIjo3LCJuYW1lIjoicHJvZHVjdHMtc2VydmljZXMiLCJkZXNjcmlwdGlvbiI6ImhhcyBhY2Nlc3MgdG8gdGVhbSByZXNvdXJjZSIsImxpbWl0cyI6LTEsInVuaXRzIjoiY291bnQiLCJhY3Rpb24iOnsicmVhZCI6dHJ1ZSwid3JpdGUiOnRydWUsInVwZGF0ZSI6dHJ1ZSwiZGVsZXRlIjp0cnVlLCJlbWFpbCI6ZmFsc2UsImNhbGwiOmZhbHNlLCJzbXMiOmZhbHNlLCJ0YXNrIjpmYWxzZSwibm90ZSI6ZmFsc2UsInJlYWRBbGwiOnRydWUsInVwZGF0ZUFsbCI6dHJ1ZX19XSwidXNlcklkIjoiMTIiLCJ1c2VybmFtZSI6InRvbnlAc3RhcmsuY29tIiwidGVuYW50SWQiOiIxNCJ9fQ.Ac464gjHy_U0_B9r6NNr02zlrMXWSWQO1Fmp9jhm8ok";
+
+  private WireMockServer wireMockServer;
+  private SimpleMeterRegistry meterRegistry;
+  private UserService userService;
+
+  @BeforeEach
+  void init() {
+    wireMockServer = new WireMockServer(options().dynamicPort());
+    wireMockServer.start();
+    wireMockServer.stubFor(get("/v1/users/12")
+        .willReturn(aResponse()
+            .withFixedDelay(200)
+            .withHeader("Content-Type", "application/json")
+            .withBody("{\"id\":12,\"firstName\":\"Tony\",\"lastName\":\"Stark\"}")));
+    meterRegistry = new SimpleMeterRegistry();
+    var webClientFactory = new WebClientFactory(WebClient.builder(), meterRegistry, 10, 1000, 500, 5000);
+    userService = new UserService(wireMockServer.baseUrl(), webClientFactory, meterRegistry, true, 100, 60);
+  }
+
+  @AfterEach
+  void tearDown() {
+    wireMockServer.stop();
+  }
+
+  @Test
+  public void givenConcurrentLookupsForSameUser_shouldCallIamOnce() {
+    var users = Mono.zip(userService.getUserDetails(12L, TOKEN), userService.getUserDetails(12L, TOKEN))
+        .block(Duration.ofSeconds(5));
+    var cached = userService.getUserDetails(12L, TOKEN).block(Duration.ofSeconds(5));
+
+    assertThat(users.getT1().getId()).isEqualTo(12L);
+    assertThat(users.getT2()).isSameAs(users.getT1());
+    assertThat(cached).isSameAs(users.getT1());
+    wireMockServer.verify(1, getRequestedFor(urlEqualTo("/v1/users/12")));
+    assertThat(meterRegistry.get("cache.gets").tag("cache", "iam.users").tag("result", "hit").functionCounter().count())
+        .isEqualTo(2);
+  }
+
+  @Test
+  public void givenEvictedUser_shouldFetchItAgain() {
+    userService.getUserDetails(12L, TOKEN).block(Duration.ofSeconds(5));
+
+    userService.evictUser(14L, 12L);
+    userService.getUserDetails(12L, TOKEN).block(Duration.ofSeconds(5));
+
+    wireMockServer.verify(2, getRequestedFor(urlEqualTo("/v1/users/12")));
+  }
+}
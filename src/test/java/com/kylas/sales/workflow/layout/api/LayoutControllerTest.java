@@ -7,6 +7,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import com.kylas.sales.workflow.api.WorkflowService;
 import com.kylas.sales.workflow.layout.api.exception.LayoutNotFoundException;
+import com.kylas.sales.workflow.security.jwt.AuthenticationCache;
 import java.io.IOException;
 import org.apache.commons.io.FileUtils;
 import org.junit.jupiter.api.Test;
@@ -30,6 +31,8 @@ class LayoutControllerTest {
   private LayoutService layoutService;
   @MockBean
   WorkflowService workflowService;
+  @MockBean
+  AuthenticationCache authenticationCache;
   @Autowired
   private ResourceLoader resourceLoader;
 
@@ -15,9 +15,15 @@ import static com.kylas.sales.workflow.mq.event.EntityAction.UPDATED;
 import static com.kylas.sales.workflow.mq.event.LeadEvent.getLeadCreatedEventName;
 import static com.kylas.sales.workflow.mq.event.LeadEvent.getLeadUpdatedEventName;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.springframework.test.context.support.TestPropertySourceUtils.addInlinedPropertiesToEnvironment;
@@ -25,18 +31,24 @@ import static org.springframework.test.context.support.TestPropertySourceUtils.a
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.kylas.sales.workflow.config.TestDatabaseInitializer;
 import com.kylas.sales.workflow.domain.WorkflowFacade;
+import com.kylas.sales.workflow.domain.processor.EntityEventExecutor;
+import com.kylas.sales.workflow.domain.processor.EventDispatcher;
 import com.kylas.sales.workflow.domain.processor.WorkflowProcessor;
 import com.kylas.sales.workflow.domain.processor.deal.DealDetail;
+import com.kylas.sales.workflow.domain.service.UserService;
 import com.kylas.sales.workflow.domain.user.UserFacade;
 import com.kylas.sales.workflow.mq.EventListenerTest.TestMqSetup;
 import com.kylas.sales.workflow.mq.event.ContactEvent;
 import com.kylas.sales.workflow.mq.event.DealEvent;
+import com.kylas.sales.workflow.mq.event.EntityEvent;
 import com.kylas.sales.workflow.mq.event.LeadEvent;
 import com.kylas.sales.workflow.mq.event.Metadata;
 import com.kylas.sales.workflow.mq.event.UserNameUpdatedEvent;
 import java.io.IOException;
 import java.util.Date;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import org.apache.commons.io.FileUtils;
 import org.junit.jupiter.api.AfterAll;
@@ -52,6 +64,7 @@ import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabas
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.context.ApplicationContextInitializer;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.core.io.ClassPathResource;
@@ -78,12 +91,12 @@ class EventListenerTest {
   private WorkflowFacade workflowFacade;
   @MockBean
   private UserFacade userFacade;
+  @MockBean
+  private UserService userService;
+  @SpyBean
+  private EntityEventExecutor entityEventExecutor;
   @Captor
-  ArgumentCaptor<LeadEvent> leadEventArgumentCaptor;
-  @Captor
-  ArgumentCaptor<DealEvent> dealEventArgumentCaptor;
-  @Captor
-  ArgumentCaptor<ContactEvent> contactEventArgumentCaptor;
+  ArgumentCaptor<List<EntityEvent>> eventsArgumentCaptor;
 
   CountDownLatch latch = new CountDownLatch(1);
 
@@ -102,33 +115,83 @@ class EventListenerTest {
     //given
     String resourceAsString = getResourceAsString("/contracts/mq/events/lead-created-event.json");
     LeadEvent leadEvent = objectMapper.readValue(resourceAsString, LeadEvent.class);
-    doNothing().when(workflowProcessor).process(any(LeadEvent.class));
+    doNothing().when(workflowProcessor).process(anyList(), any());
     //when
     rabbitTemplate.convertAndSend(SALES_EXCHANGE, getLeadCreatedEventName(),
         leadEvent);
     //then
     latch.await(3, TimeUnit.SECONDS);
-    verify(workflowProcessor, times(1)).process(leadEventArgumentCaptor.capture());
-    LeadEvent eventReceived = leadEventArgumentCaptor.getValue();
+    verify(workflowProcessor, times(1)).process(eventsArgumentCaptor.capture(), any());
+    LeadEvent eventReceived = (LeadEvent) eventsArgumentCaptor.getValue().get(0);
     assertThat(eventReceived.getMetadata().getTenantId()).isEqualTo(99L);
     assertThat(eventReceived.getMetadata().getEntityAction()).isEqualTo(CREATED);
 
 
   }
 
+  @Test
+  public void givenLanesShutDown_shouldRequeueBatchBeforeDispatching() throws IOException {
+    //given
+    String resourceAsString = getResourceAsString("/contracts/mq/events/lead-created-event.json");
+    LeadEvent leadEvent = objectMapper.readValue(resourceAsString, LeadEvent.class);
+    doReturn(true).doCallRealMethod().when(entityEventExecutor).isShutdown();
+    doNothing().when(workflowProcessor).process(anyList(), any());
+    //when
+    rabbitTemplate.convertAndSend(SALES_EXCHANGE, getLeadCreatedEventName(), leadEvent);
+    //then
+    verify(workflowProcessor, timeout(5000).times(1)).process(anyList(), any());
+    verify(entityEventExecutor, times(2)).isShutdown();
+  }
+
+  @Test
+  public void givenLaneRejectsMidBatch_shouldRunEventOnListenerThreadWithoutRequeue() throws Exception {
+    //given
+    String resourceAsString = getResourceAsString("/contracts/mq/events/lead-created-event.json");
+    LeadEvent leadEvent = objectMapper.readValue(resourceAsString, LeadEvent.class);
+    var executed = new CountDownLatch(1);
+    doThrow(new RejectedExecutionException("Lane 0 is shut down")).when(entityEventExecutor).dispatch(any(), any());
+    doAnswer(invocation -> {
+      List<EntityEvent> events = invocation.getArgument(0);
+      EventDispatcher dispatcher = invocation.getArgument(1);
+      events.forEach(event -> dispatcher.dispatch(event, executed::countDown).join());
+      return null;
+    }).when(workflowProcessor).process(anyList(), any());
+    //when
+    rabbitTemplate.convertAndSend(SALES_EXCHANGE, getLeadCreatedEventName(), leadEvent);
+    //then
+    assertThat(executed.await(5, TimeUnit.SECONDS)).isTrue();
+    verify(workflowProcessor, after(1000).times(1)).process(anyList(), any());
+  }
+
+  @Test
+  public void givenLeadCreatedRequest_withIncompleteMetadata_shouldDropIt() throws IOException {
+    //given
+    String resourceAsString = getResourceAsString("/contracts/mq/events/lead-created-event.json");
+    LeadEvent leadEvent = objectMapper.readValue(resourceAsString, LeadEvent.class);
+    var metadata = leadEvent.getMetadata();
+    var incompleteEvent = new LeadEvent(leadEvent.getEntity(), null,
+        new Metadata(metadata.getTenantId(), metadata.getUserId(), metadata.getEntityType(), null, null, null));
+    doNothing().when(workflowProcessor).process(anyList(), any());
+    //when
+    rabbitTemplate.convertAndSend(SALES_EXCHANGE, getLeadCreatedEventName(), incompleteEvent);
+    //then
+    verify(workflowProcessor, timeout(5000).times(1)).process(eventsArgumentCaptor.capture(), any());
+    assertThat(eventsArgumentCaptor.getValue()).isEmpty();
+  }
+
   @Test
   public void givenLeadUpdatedRequest_shouldCaptureIt() throws Exception {
     //given
     String resourceAsString = getResourceAsString("/contracts/mq/events/lead-updated-event.json");
     LeadEvent leadEvent = objectMapper.readValue(resourceAsString, LeadEvent.class);
-    doNothing().when(workflowProcessor).process(any(LeadEvent.class));
+    doNothing().when(workflowProcessor).process(anyList(), any());
     //when
     rabbitTemplate.convertAndSend(SALES_EXCHANGE, getLeadUpdatedEventName(),
         leadEvent);
     //then
     latch.await(3, TimeUnit.SECONDS);
-    verify(workflowProcessor, times(1)).process(leadEventArgumentCaptor.capture());
-    LeadEvent eventReceived = leadEventArgumentCaptor.getValue();
+    verify(workflowProcessor, times(1)).process(eventsArgumentCaptor.capture(), any());
+    LeadEvent eventReceived = (LeadEvent) eventsArgumentCaptor.getValue().get(0);
     assertThat(eventReceived.getEntity().getOwnerId().getId()).isEqualTo(55);
     assertThat(eventReceived.getOldEntity().getSalutation().getId()).isEqualTo(473);
     assertThat(eventReceived.getMetadata().getTenantId()).isEqualTo(99L);
@@ -141,13 +204,13 @@ class EventListenerTest {
     //given
     String resourceAsString = getResourceAsString("/contracts/mq/events/deal-created-event.json");
     DealEvent dealEvent = objectMapper.readValue(resourceAsString, DealEvent.class);
-    doNothing().when(workflowProcessor).process(any(DealEvent.class));
+    doNothing().when(workflowProcessor).process(anyList(), any());
     //when
     rabbitTemplate.convertAndSend(DEAL_EXCHANGE, getDealCreatedEventName(), dealEvent);
     //then
     latch.await(3, TimeUnit.SECONDS);
-    verify(workflowProcessor, times(1)).process(dealEventArgumentCaptor.capture());
-    DealDetail entity = dealEventArgumentCaptor.getValue().getEntity();
+    verify(workflowProcessor, times(1)).process(eventsArgumentCaptor.capture(), any());
+    DealDetail entity = ((DealEvent) eventsArgumentCaptor.getValue().get(0)).getEntity();
     assertThat(entity.getId()).isEqualTo(999L);
     assertThat(entity.getOwnedBy().getId()).isEqualTo(12L);
     assertThat(entity.getOwnedBy().getName()).isEqualTo("James Bond");
@@ -169,9 +232,9 @@ class EventListenerTest {
     assertThat(entity.getAssociatedContacts().get(0).getId()).isEqualTo(14L);
     assertThat(entity.getAssociatedContacts().get(0).getName()).isEqualTo("Tony Stark");
 
-    assertThat(dealEventArgumentCaptor.getValue().getOldEntity()).isNull();
+    assertThat(((DealEvent) eventsArgumentCaptor.getValue().get(0)).getOldEntity()).isNull();
 
-    Metadata metadata = dealEventArgumentCaptor.getValue().getMetadata();
+    Metadata metadata = ((DealEvent) eventsArgumentCaptor.getValue().get(0)).getMetadata();
 
     assertThat(metadata.getEntityId()).isEqualTo(999L);
     assertThat(metadata.getEntityAction()).isEqualTo(CREATED);
@@ -187,13 +250,13 @@ class EventListenerTest {
     //given
     String resourceAsString = getResourceAsString("/contracts/mq/events/deal-updated-event.json");
     DealEvent dealEvent = objectMapper.readValue(resourceAsString, DealEvent.class);
-    doNothing().when(workflowProcessor).process(any(DealEvent.class));
+    doNothing().when(workflowProcessor).process(anyList(), any());
     //when
     rabbitTemplate.convertAndSend(DEAL_EXCHANGE, getDealUpdatedEventName(), dealEvent);
     //then
     latch.await(3, TimeUnit.SECONDS);
-    verify(workflowProcessor, times(1)).process(dealEventArgumentCaptor.capture());
-    DealDetail entity = dealEventArgumentCaptor.getValue().getEntity();
+    verify(workflowProcessor, times(1)).process(eventsArgumentCaptor.capture(), any());
+    DealDetail entity = ((DealEvent) eventsArgumentCaptor.getValue().get(0)).getEntity();
     assertThat(entity.getId()).isEqualTo(999L);
     assertThat(entity.getOwnedBy().getId()).isEqualTo(12L);
     assertThat(entity.getOwnedBy().getName()).isEqualTo("James Bond");
@@ -215,7 +278,7 @@ class EventListenerTest {
     assertThat(entity.getAssociatedContacts().get(0).getId()).isEqualTo(12L);
     assertThat(entity.getAssociatedContacts().get(0).getName()).isEqualTo("Tony Stark");
 
-    DealDetail oldEntity = dealEventArgumentCaptor.getValue().getOldEntity();
+    DealDetail oldEntity = ((DealEvent) eventsArgumentCaptor.getValue().get(0)).getOldEntity();
     assertThat(oldEntity.getId()).isEqualTo(999L);
     assertThat(oldEntity.getOwnedBy().getId()).isEqualTo(11L);
     assertThat(oldEntity.getOwnedBy().getName()).isEqualTo("James BondOld");
@@ -237,7 +300,7 @@ class EventListenerTest {
     assertThat(oldEntity.getAssociatedContacts().get(0).getId()).isEqualTo(11L);
     assertThat(oldEntity.getAssociatedContacts().get(0).getName()).isEqualTo("Tony StarkOld");
 
-    Metadata metadata = dealEventArgumentCaptor.getValue().getMetadata();
+    Metadata metadata = ((DealEvent) eventsArgumentCaptor.getValue().get(0)).getMetadata();
 
     assertThat(metadata.getEntityId()).isEqualTo(999L);
     assertThat(metadata.getEntityAction()).isEqualTo(UPDATED);
@@ -253,14 +316,14 @@ class EventListenerTest {
     //given
     String resourceAsString = getResourceAsString("/contracts/mq/events/contact-created-event.json");
     ContactEvent contactEvent = objectMapper.readValue(resourceAsString, ContactEvent.class);
-    doNothing().when(workflowProcessor).process(any(ContactEvent.class));
+    doNothing().when(workflowProcessor).process(anyList(), any());
     //when
     rabbitTemplate.convertAndSend(SALES_EXCHANGE, getContactCreatedEventName(),
         contactEvent);
     //then
     latch.await(3, TimeUnit.SECONDS);
-    verify(workflowProcessor, times(1)).process(contactEventArgumentCaptor.capture());
-    ContactEvent eventReceived = contactEventArgumentCaptor.getValue();
+    verify(workflowProcessor, times(1)).process(eventsArgumentCaptor.capture(), any());
+    ContactEvent eventReceived = (ContactEvent) eventsArgumentCaptor.getValue().get(0);
     assertThat(eventReceived.getMetadata().getTenantId()).isEqualTo(99L);
     assertThat(eventReceived.getMetadata().getEntityAction()).isEqualTo(CREATED);
   }
@@ -270,14 +333,14 @@ class EventListenerTest {
     //given
     String resourceAsString = getResourceAsString("/contracts/mq/events/contact-updated-event.json");
     ContactEvent contactEvent = objectMapper.readValue(resourceAsString, ContactEvent.class);
-    doNothing().when(workflowProcessor).process(any(ContactEvent.class));
+    doNothing().when(workflowProcessor).process(anyList(), any());
     //when
     rabbitTemplate.convertAndSend(SALES_EXCHANGE, getContactUpdatedEventName(),
         contactEvent);
     //then
     latch.await(3, TimeUnit.SECONDS);
-    verify(workflowProcessor, times(1)).process(contactEventArgumentCaptor.capture());
-    ContactEvent eventReceived = contactEventArgumentCaptor.getValue();
+    verify(workflowProcessor, times(1)).process(eventsArgumentCaptor.capture(), any());
+    ContactEvent eventReceived = (ContactEvent) eventsArgumentCaptor.getValue().get(0);
     assertThat(eventReceived.getEntity().getOwnerId().getId()).isEqualTo(55);
     assertThat(eventReceived.getOldEntity().getSalutation().getId()).isEqualTo(473);
     assertThat(eventReceived.getMetadata().getTenantId()).isEqualTo(99L);
@@ -312,6 +375,7 @@ class EventListenerTest {
     latch.await(3, TimeUnit.SECONDS);
     verify(userFacade, times(1)).tryUpdateUser(eq(userNameUpdatedEvent.getUserId()), eq(userNameUpdatedEvent.getTenantId()),
         eq(userNameUpdatedEvent.getFirstName()), eq(userNameUpdatedEvent.getLastName()));
+    verify(userService, times(1)).evictUser(userNameUpdatedEvent.getTenantId(), userNameUpdatedEvent.getUserId());
   }
 
 
@@ -3,6 +3,9 @@ package com.kylas.sales.workflow.security;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import com.kylas.sales.workflow.security.jwt.Authentication;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -11,7 +14,8 @@ import org.springframework.security.core.context.SecurityContextHolder;
 @ExtendWith(MockitoExtension.class)
 class InternalAuthProviderTest {
 
-  private final InternalAuthProvider internalAuthProvider = new InternalAuthProvider("test-jwt-key");
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final InternalAuthProvider internalAuthProvider = new InternalAuthProvider("test-jwt-key", meterRegistry, 10, 100, 2);
 
   @Test
   public void shouldCreateInternalAuthToken() {
@@ -28,4 +32,54 @@ class InternalAuthProviderTest {
     assertThat(authentication.getTenantId()).isEqualTo("10");
   }
 
-}
\ No newline at end of file
+  @Test
+  public void givenRepeatedLoginForSameUserAndTenant_shouldReuseMintedToken() {
+    internalAuthProvider.loginWith(1L, 10L);
+    var first = (Authentication) SecurityContextHolder.getContext().getAuthentication();
+    internalAuthProvider.loginWith(1L, 10L);
+    var second = (Authentication) SecurityContextHolder.getContext().getAuthentication();
+    internalAuthProvider.loginWith(2L, 10L);
+    var other = (Authentication) SecurityContextHolder.getContext().getAuthentication();
+
+    assertThat(second).isSameAs(first);
+    assertThat(other.getUserId()).isEqualTo("2");
+    assertThat(other.getJwtToken()).isNotEqualTo(first.getJwtToken());
+    assertThat(meterRegistry.get("cache.gets").tag("cache", "internal.auth.tokens").tag("result", "hit").functionCounter().count())
+        .isEqualTo(1);
+    assertThat(meterRegistry.get("cache.gets").tag("cache", "internal.auth.tokens").tag("result", "miss").functionCounter().count())
+        .isEqualTo(2);
+  }
+
+  @Test
+  public void givenNoRefreshWindow_shouldMintTokenOnEveryLogin() {
+    var provider = new InternalAuthProvider("test-jwt-key", new SimpleMeterRegistry(), 10, 100, 10);
+
+    provider.loginWith(1L, 10L);
+    var first = SecurityContextHolder.getContext().getAuthentication();
+    provider.loginWith(1L, 10L);
+
+    assertThat(SecurityContextHolder.getContext().getAuthentication()).isNotSameAs(first);
+  }
+
+  @Test
+  public void givenCachedToken_shouldAlwaysHandItOutWithTheRefreshMarginLeft() {
+    var elapsedNanos = new AtomicLong();
+    var provider = new InternalAuthProvider("test-jwt-key", new SimpleMeterRegistry(), 300, 100, 120, elapsedNanos::get);
+    var mintedAt = System.currentTimeMillis();
+    provider.loginWith(1L, 10L);
+    var minted = (Authentication) SecurityContextHolder.getContext().getAuthentication();
+
+    elapsedNanos.set(TimeUnit.SECONDS.toNanos(179));
+    provider.loginWith(1L, 10L);
+    var cached = (Authentication) SecurityContextHolder.getContext().getAuthentication();
+
+    assertThat(cached).isSameAs(minted);
+    var remainingMillis = cached.getExpiry().getTime() - (mintedAt + TimeUnit.SECONDS.toMillis(179));
+    assertThat(remainingMillis).isGreaterThanOrEqualTo(TimeUnit.SECONDS.toMillis(120));
+
+    elapsedNanos.set(TimeUnit.SECONDS.toNanos(181));
+    provider.loginWith(1L, 10L);
+
+    assertThat(SecurityContextHolder.getContext().getAuthentication()).isNotSameAs(minted);
+  }
+}
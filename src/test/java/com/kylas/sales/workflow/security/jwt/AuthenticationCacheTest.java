@@ -0,0 +1,49 @@
+package com.kylas.sales.workflow.security.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.kylas.sales.workflow.security.InternalAuthProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+class AuthenticationCacheTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  @Test
+  public void givenSameToken_shouldReuseVerifiedAuthentication() {
+    var cache = new AuthenticationCache("test", meterRegistry, true, 100, 300);
+    var token = new InternalAuthProvider("test", new SimpleMeterRegistry(), 60, 100, 2).create(12L, 14L);
+
+    var first = cache.from(token);
+    var second = cache.from(token);
+
+    assertThat(second).isSameAs(first);
+    assertThat(second.getUserId()).isEqualTo("12");
+    assertThat(second.getTenantId()).isEqualTo("14");
+    assertThat(meterRegistry.get("cache.gets").tag("cache", "jwt.authentications").tag("result", "hit").functionCounter().count())
+        .isEqualTo(1);
+    assertThat(meterRegistry.get("cache.gets").tag("cache", "jwt.authentications").tag("result", "miss").functionCounter().count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  public void givenExpiredToken_shouldNotRetainAuthentication() {
+    var cache = new AuthenticationCache("test", meterRegistry, true, 100, 300);
+    var token = new InternalAuthProvider("test", new SimpleMeterRegistry(), 0, 100, 0).create(12L, 14L);
+
+    var first = cache.from(token);
+    var second = cache.from(token);
+
+    assertThat(second).isNotSameAs(first);
+    assertThat(second.getJwtToken()).isEqualTo(token);
+  }
+
+  @Test
+  public void givenCacheDisabled_shouldVerifyTokenEveryTime() {
+    var cache = new AuthenticationCache("test", meterRegistry, false, 100, 300);
+    var token = new InternalAuthProvider("test", new SimpleMeterRegistry(), 60, 100, 2).create(12L, 14L);
+
+    assertThat(cache.from(token)).isNotSameAs(cache.from(token));
+  }
+}